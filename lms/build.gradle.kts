@@ -2,6 +2,7 @@ plugins {
 	java
     id("org.springframework.boot") version "3.4.0"
 	id("io.spring.dependency-management") version "1.1.6"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.main"
@@ -43,8 +44,18 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-security") // For security/authentication
     implementation("org.springframework.boot:spring-boot-starter-validation") // For validation support
     implementation("org.springframework.boot:spring-boot-starter-web") // For building web services (REST APIs)
+    implementation("org.springframework.boot:spring-boot-starter-actuator") // For metrics and health endpoints
+    implementation("org.springframework.boot:spring-boot-starter-aop") // For the service/repository timing aspects
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus") // For the Prometheus scrape endpoint
+    implementation("org.hibernate.orm:hibernate-jcache") // For the Hibernate second-level cache
+    implementation("org.ehcache:ehcache::jakarta") // JCache provider backing the second-level cache
+    runtimeOnly("org.glassfish.jaxb:jaxb-runtime") // Ehcache parses ehcache.xml with JAXB
+    implementation("org.hibernate.orm:hibernate-micrometer") // For second-level cache region statistics
     // implementation("org.xerial:sqlite-jdbc:3.39.2.0") // For SQLite database support
     implementation("mysql:mysql-connector-java:8.0.33") // For MySQL database support
+    implementation("org.flywaydb:flyway-core") // Schema migrations in src/main/resources/db/migration
+    implementation("org.flywaydb:flyway-mysql") // Flyway support for MySQL
+    jmhRuntimeOnly("com.h2database:h2") // For InsertBatchingBenchmark
     implementation("org.apache.poi:poi-ooxml:5.2.3") // For Excel file generation (POI OOXML)
     implementation("org.apache.poi:poi:5.2.3") // For legacy POI support (if needed)
     compileOnly("org.projectlombok:lombok") // For Lombok (reducing boilerplate code)
@@ -53,6 +64,7 @@ dependencies {
     testImplementation("org.springframework.boot:spring-boot-starter-test") // For Spring Boot tests
     testImplementation("org.springframework.security:spring-security-test") // For security-related tests
     testRuntimeOnly("org.junit.platform:junit-platform-launcher") // For test execution
+    testRuntimeOnly("com.h2database:h2") // Embedded databases for the datasource routing tests
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation ("org.powermock:powermock-module-junit4:2.0.9")
     testImplementation("org.springframework.security:spring-security-test")
@@ -63,3 +75,46 @@ dependencies {
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+// Benchmarks live in src/jmh/java and run with `./gradlew jmh`.
+// Use -PjmhInclude=<regex> to run a single benchmark class.
+jmh {
+    warmupIterations = 2
+    iterations = 5
+    fork = 1
+    resultFormat = "JSON"
+    providers.gradleProperty("jmhInclude").orNull?.let { includes = listOf(it) }
+}
+
+// Load-test server: the app plus H2, the loadtest profile and SyntheticDataGenerator from
+// src/loadtestServer, kept off the production classpath. Start it with ./gradlew bootRunLoadtest.
+val loadtestServer by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+    runtimeClasspath += sourceSets.main.get().output + sourceSets.main.get().runtimeClasspath
+}
+
+dependencies {
+    "loadtestServerAnnotationProcessor"("org.projectlombok:lombok")
+    "loadtestServerRuntimeOnly"("com.h2database:h2") // In-memory database for the loadtest profile
+}
+
+tasks.register<org.springframework.boot.gradle.tasks.run.BootRun>("bootRunLoadtest") {
+    group = "application"
+    description = "Runs the app against a seeded in-memory database for load tests."
+    classpath = loadtestServer.runtimeClasspath
+    mainClass = "com.main.lms.LmsApplication"
+    args("--spring.profiles.active=loadtest")
+}
+
+// Load-test scenario runner. Start the load-test server first, then run ./gradlew loadTest. Any -Ploadtest.<key>=<value> is passed to the runner,
+// e.g. -Ploadtest.concurrency=128 -Ploadtest.scenarios=login,quiz-submit
+val loadtest by sourceSets.creating
+
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Runs the load-test scenarios against a running instance."
+    classpath = loadtest.runtimeClasspath
+    mainClass = "com.main.lms.loadtest.LoadTestRunner"
+    workingDir = projectDir
+    systemProperties(project.properties.filterKeys { it.startsWith("loadtest.") })
+}
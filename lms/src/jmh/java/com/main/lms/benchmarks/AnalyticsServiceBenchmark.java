@@ -0,0 +1,85 @@
+package com.main.lms.benchmarks;
+
+import com.main.lms.dtos.StudentPerformanceDTO;
+import com.main.lms.entities.User;
+import com.main.lms.repositories.*;
+import com.main.lms.services.AnalyticsService;
+import com.main.lms.utility.ChartUtility;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Per-student aggregation in {@link AnalyticsService#getCourseAnalytics}. The repository
+ * calls are mocked, so the numbers show the Java-side cost per enrolled student.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AnalyticsServiceBenchmark {
+
+    @Param({"50", "500", "5000"})
+    public int courseSize;
+
+    @Mock
+    private CourseRepository courseRepository;
+    @Mock
+    private EnrolledCourseRepository enrollmentRepository;
+    @Mock
+    private StudentQuizRepository studentQuizRepository;
+    @Mock
+    private StudentAssignmentRepository studentAssignmentRepository;
+    @Mock
+    private StudentsLessonRepository studentsLessonRepository;
+    @Mock
+    private QuizRepository quizRepository;
+    @Mock
+    private AssignmentRepository assignmentRepository;
+    @Mock
+    private LessonRepository lessonRepository;
+    @Mock
+    private ChartUtility chartUtility;
+
+    @InjectMocks
+    private AnalyticsService analyticsService;
+
+    private CourseFixture fixture;
+    private AutoCloseable mocks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        fixture = CourseFixture.ofSize(courseSize);
+
+        when(courseRepository.findById(anyLong())).thenReturn(Optional.of(fixture.course));
+        when(enrollmentRepository.findByCourse(any())).thenReturn(fixture.enrollments);
+        when(quizRepository.findByCourseId(anyLong())).thenReturn(fixture.quizzes);
+        when(assignmentRepository.findByCourse(any())).thenReturn(fixture.assignments);
+        when(lessonRepository.findByCourse(any())).thenReturn(fixture.lessons);
+        when(studentQuizRepository.findByStudentAndQuiz_Course(any(), any()))
+                .thenAnswer(invocation -> fixture.quizRowsOf(invocation.getArgument(0)));
+        when(studentAssignmentRepository.findByStudentAndCourse(any(), any()))
+                .thenAnswer(invocation -> fixture.assignmentRowsOf(invocation.getArgument(0)));
+        when(studentsLessonRepository.findByStudentAndLesson_Course(any(), any()))
+                .thenAnswer(invocation -> fixture.lessonRowsOf(invocation.getArgument(0)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    @Benchmark
+    public List<StudentPerformanceDTO> courseAnalytics() {
+        User instructor = fixture.instructor;
+        return analyticsService.getCourseAnalytics(fixture.course.getId(), instructor);
+    }
+}
@@ -0,0 +1,68 @@
+package com.main.lms.benchmarks;
+
+import com.main.lms.dtos.StudentPerformanceDTO;
+import com.main.lms.utility.ChartUtility;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PNG rendering of the analytics charts with one bar per enrolled student.
+ * Charts are written to the same charts/ directory the application uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ChartUtilityBenchmark {
+
+    @Param({"50", "500", "2000"})
+    public int courseSize;
+
+    private final ChartUtility chartUtility = new ChartUtility();
+    private Map<String, Double> averages;
+    private List<StudentPerformanceDTO> performance;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("java.awt.headless", "true");
+        new File("charts").mkdirs();
+
+        Random random = new Random(42L);
+        averages = new LinkedHashMap<>();
+        performance = new ArrayList<>();
+        for (int i = 0; i < courseSize; i++) {
+            String name = "Student " + i;
+            averages.put(name, random.nextDouble() * 100.0);
+
+            StudentPerformanceDTO dto = new StudentPerformanceDTO();
+            dto.setStudentId((long) i);
+            dto.setStudentName(name);
+            dto.setIsCourseCompleted(random.nextBoolean());
+            performance.add(dto);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        new File("charts/benchmark_bar.png").delete();
+        new File("charts/benchmark_completion.png").delete();
+    }
+
+    @Benchmark
+    public void barChart() throws IOException {
+        chartUtility.generateBarChart("Quiz Averages (%)", "Students", "Average Percentage",
+                averages, "benchmark_bar.png");
+    }
+
+    @Benchmark
+    public void completionChart() throws IOException {
+        chartUtility.generateCompletionChart("Course Completion Status", performance, "benchmark_completion.png");
+    }
+}
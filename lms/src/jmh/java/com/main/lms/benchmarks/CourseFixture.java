@@ -0,0 +1,218 @@
+package com.main.lms.benchmarks;
+
+import com.main.lms.dtos.QuestionAnswerDTO;
+import com.main.lms.entities.*;
+import com.main.lms.enums.QuestionType;
+import com.main.lms.enums.UserRole;
+
+import java.util.*;
+
+/**
+ * Synthetic course used by the benchmarks. Everything is derived from the number of
+ * enrolled students and a fixed seed so runs are comparable between commits.
+ */
+public class CourseFixture {
+
+    public static final int QUIZZES = 10;
+    public static final int QUESTIONS_PER_QUIZ = 20;
+    public static final int QUESTION_BANK = 200;
+    public static final int ASSIGNMENTS = 8;
+    public static final int LESSONS = 24;
+
+    private static final double PARTICIPATION = 0.8;
+
+    public final User instructor;
+    public final Course course;
+    public final List<User> students = new ArrayList<>();
+    public final List<EnrolledCourse> enrollments = new ArrayList<>();
+    public final List<Question> questionBank = new ArrayList<>();
+    public final List<Quiz> quizzes = new ArrayList<>();
+    public final List<Assignment> assignments = new ArrayList<>();
+    public final List<Lesson> lessons = new ArrayList<>();
+
+    private final Map<Long, List<StudentQuiz>> studentQuizzes = new HashMap<>();
+    private final Map<Long, List<StudentAssignment>> studentAssignments = new HashMap<>();
+    private final Map<Long, List<StudentLesson>> studentLessons = new HashMap<>();
+
+    private CourseFixture(int studentCount, long seed) {
+        Random random = new Random(seed);
+
+        instructor = new User();
+        instructor.setId(1L);
+        instructor.setName("Instructor");
+        instructor.setEmail("instructor@lms.test");
+        instructor.setRole(UserRole.INSTRUCTOR);
+
+        course = new Course();
+        course.setId(1L);
+        course.setTitle("Benchmark Course");
+        course.setDescription("Synthetic course with " + studentCount + " students");
+        course.setDuration("12 weeks");
+        course.setInstructor(instructor);
+        course.setInstructorId(instructor.getId());
+        course.setMaterials(new ArrayList<>());
+
+        QuestionType[] types = QuestionType.values();
+        for (int i = 0; i < QUESTION_BANK; i++) {
+            Question question = new Question();
+            question.setQuestionId((long) i + 1);
+            question.setCourse(course);
+            question.setCourseId(course.getId());
+            question.setQuestionContent("Question " + i + " about topic " + random.nextInt(20));
+            question.setAnswer("answer-" + i);
+            question.setType(types[i % types.length]);
+            questionBank.add(question);
+        }
+
+        for (int i = 0; i < QUIZZES; i++) {
+            List<Question> selected = new ArrayList<>(questionBank);
+            Collections.shuffle(selected, random);
+            Quiz quiz = new Quiz();
+            quiz.setQuizId((long) i + 1);
+            quiz.setCourse(course);
+            quiz.setCourseId(course.getId());
+            quiz.setQuestions(new ArrayList<>(selected.subList(0, QUESTIONS_PER_QUIZ)));
+            quizzes.add(quiz);
+        }
+
+        for (int i = 0; i < ASSIGNMENTS; i++) {
+            Assignment assignment = new Assignment();
+            assignment.setAssignmentId((long) i + 1);
+            assignment.setCourse(course);
+            assignment.setCourseId(course.getId());
+            assignment.setInstructions("Assignment " + i);
+            assignment.setMaxGrade(100);
+            assignments.add(assignment);
+        }
+
+        for (int i = 0; i < LESSONS; i++) {
+            Lesson lesson = new Lesson();
+            lesson.setLessonId((long) i + 1);
+            lesson.setCourse(course);
+            lesson.setCourseId(course.getId());
+            lesson.setOtp(String.format("%06d", random.nextInt(1_000_000)));
+            lessons.add(lesson);
+        }
+
+        long rowId = 1;
+        for (int i = 0; i < studentCount; i++) {
+            User student = new User();
+            student.setId((long) i + 100);
+            student.setName("Student " + i);
+            student.setEmail("student" + i + "@lms.test");
+            student.setRole(UserRole.STUDENT);
+            students.add(student);
+
+            EnrolledCourse enrollment = new EnrolledCourse();
+            enrollment.setId((long) i + 1);
+            enrollment.setStudent(student);
+            enrollment.setStudentId(student.getId());
+            enrollment.setCourse(course);
+            enrollment.setCourseId(course.getId());
+            enrollment.setIsConfirmed(true);
+            enrollment.setIsCompleted(random.nextBoolean());
+            enrollments.add(enrollment);
+
+            List<StudentQuiz> quizRows = new ArrayList<>();
+            for (Quiz quiz : quizzes) {
+                if (random.nextDouble() < PARTICIPATION) {
+                    StudentQuiz row = new StudentQuiz();
+                    row.setId(rowId++);
+                    row.setQuiz(quiz);
+                    row.setQuizId(quiz.getQuizId());
+                    row.setStudent(student);
+                    row.setStudentId(student.getId());
+                    row.setGrade((double) random.nextInt(QUESTIONS_PER_QUIZ + 1));
+                    quizRows.add(row);
+                }
+            }
+            studentQuizzes.put(student.getId(), quizRows);
+
+            List<StudentAssignment> assignmentRows = new ArrayList<>();
+            for (Assignment assignment : assignments) {
+                if (random.nextDouble() < PARTICIPATION) {
+                    StudentAssignment row = new StudentAssignment();
+                    row.setId(rowId++);
+                    row.setAssignment(assignment);
+                    row.setAssignmentId(assignment.getAssignmentId());
+                    row.setStudent(student);
+                    row.setStudentId(student.getId());
+                    row.setCourse(course);
+                    row.setCourseId(course.getId());
+                    row.setFileNames(new ArrayList<>());
+                    row.setGrade(random.nextInt(assignment.getMaxGrade() + 1));
+                    row.setFeedback("Feedback for " + student.getName());
+                    assignmentRows.add(row);
+                }
+            }
+            studentAssignments.put(student.getId(), assignmentRows);
+
+            List<StudentLesson> lessonRows = new ArrayList<>();
+            for (Lesson lesson : lessons) {
+                if (random.nextDouble() < PARTICIPATION) {
+                    StudentLesson row = new StudentLesson();
+                    row.setStudentLessonId(rowId++);
+                    row.setLesson(lesson);
+                    row.setLessonId(lesson.getLessonId());
+                    row.setStudent(student);
+                    row.setStudentId(student.getId());
+                    lessonRows.add(row);
+                }
+            }
+            studentLessons.put(student.getId(), lessonRows);
+        }
+    }
+
+    public static CourseFixture ofSize(int studentCount) {
+        return new CourseFixture(studentCount, 42L);
+    }
+
+    public List<StudentQuiz> quizRowsOf(User student) {
+        return studentQuizzes.getOrDefault(student.getId(), List.of());
+    }
+
+    public List<StudentAssignment> assignmentRowsOf(User student) {
+        return studentAssignments.getOrDefault(student.getId(), List.of());
+    }
+
+    public List<StudentLesson> lessonRowsOf(User student) {
+        return studentLessons.getOrDefault(student.getId(), List.of());
+    }
+
+    public List<StudentAssignment> allAssignmentRows() {
+        List<StudentAssignment> rows = new ArrayList<>();
+        studentAssignments.values().forEach(rows::addAll);
+        return rows;
+    }
+
+    public Optional<StudentQuiz> quizRow(User student, Quiz quiz) {
+        return quizRowsOf(student).stream()
+                .filter(row -> row.getQuizId().equals(quiz.getQuizId()))
+                .findFirst();
+    }
+
+    public Optional<StudentAssignment> assignmentRow(Assignment assignment, User student) {
+        return assignmentRowsOf(student).stream()
+                .filter(row -> row.getAssignmentId().equals(assignment.getAssignmentId()))
+                .findFirst();
+    }
+
+    public Optional<StudentLesson> lessonRow(User student, Lesson lesson) {
+        return lessonRowsOf(student).stream()
+                .filter(row -> row.getLessonId().equals(lesson.getLessonId()))
+                .findFirst();
+    }
+
+    // Answers every question of the quiz, getting roughly half of them right
+    public List<QuestionAnswerDTO> answersFor(Quiz quiz) {
+        List<QuestionAnswerDTO> answers = new ArrayList<>();
+        int i = 0;
+        for (Question question : quiz.getQuestions()) {
+            QuestionAnswerDTO answer = new QuestionAnswerDTO();
+            answer.setQuestionId(question.getQuestionId());
+            answer.setAnswer(i++ % 2 == 0 ? question.getAnswer() : "wrong");
+            answers.add(answer);
+        }
+        return answers;
+    }
+}
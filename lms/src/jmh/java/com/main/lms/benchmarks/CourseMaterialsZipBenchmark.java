@@ -0,0 +1,87 @@
+package com.main.lms.benchmarks;
+
+import com.main.lms.repositories.CourseRepository;
+import com.main.lms.repositories.EnrolledCourseRepository;
+import com.main.lms.repositories.UserRepository;
+import com.main.lms.services.CourseService;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Zip building in {@link CourseService#downloadMaterialsZip} for a course with
+ * {@code materialCount} files of {@code materialKb} kilobytes each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CourseMaterialsZipBenchmark {
+
+    @Param({"5", "50"})
+    public int materialCount;
+
+    @Param({"64", "1024"})
+    public int materialKb;
+
+    @Mock
+    private CourseRepository courseRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private EnrolledCourseRepository enrolledCourseRepository;
+
+    @InjectMocks
+    private CourseService courseService;
+
+    private Path materialsDir;
+    private List<Path> materials;
+    private AutoCloseable mocks;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mocks = MockitoAnnotations.openMocks(this);
+        materialsDir = Files.createTempDirectory("lms-materials-bench");
+        materials = new ArrayList<>();
+        Random random = new Random(42L);
+        byte[] content = new byte[materialKb * 1024];
+        for (int i = 0; i < materialCount; i++) {
+            // Half random bytes (incompressible, like PDFs/videos), half repeated text
+            random.nextBytes(content);
+            byte[] text = ("lecture notes " + i + "\n").getBytes();
+            for (int j = content.length / 2; j < content.length; j++) {
+                content[j] = text[j % text.length];
+            }
+            Path file = materialsDir.resolve("1_Benchmark-Course_material" + i + ".bin");
+            Files.write(file, content);
+            materials.add(file);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        mocks.close();
+        try (Stream<Path> files = Files.walk(materialsDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long materialsZip() throws IOException {
+        Resource zip = courseService.downloadMaterialsZip(materials, 1L);
+        long length = zip.contentLength();
+        zip.getFile().delete();
+        return length;
+    }
+}
@@ -0,0 +1,72 @@
+package com.main.lms.benchmarks;
+
+import com.main.lms.dtos.*;
+import com.main.lms.entities.EnrolledCourse;
+import com.main.lms.entities.Quiz;
+import com.main.lms.entities.StudentAssignment;
+import com.main.lms.services.QuizService;
+import org.mockito.InjectMocks;
+import org.mockito.MockitoAnnotations;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping used by the list endpoints, measured per course.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoMappingBenchmark {
+
+    @Param({"50", "500", "5000"})
+    public int courseSize;
+
+    @InjectMocks
+    private QuizService quizService;
+
+    private CourseFixture fixture;
+    private List<StudentAssignment> studentAssignments;
+    private AutoCloseable mocks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        fixture = CourseFixture.ofSize(courseSize);
+        studentAssignments = fixture.allAssignmentRows();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    @Benchmark
+    public void enrollments(Blackhole blackhole) {
+        for (EnrolledCourse enrollment : fixture.enrollments) {
+            blackhole.consume(new EnrollmentResponseDTO(enrollment.getStudent(), enrollment.getCourse(),
+                    enrollment.getIsConfirmed()));
+        }
+    }
+
+    @Benchmark
+    public void studentAssignments(Blackhole blackhole) {
+        for (StudentAssignment studentAssignment : studentAssignments) {
+            blackhole.consume(StudentAssignmentResponseDTO.mapToResponseDTO(studentAssignment));
+        }
+    }
+
+    @Benchmark
+    public void users(Blackhole blackhole) {
+        fixture.students.forEach(student -> blackhole.consume(UserResponseDTO.mapToResponseDTO(student)));
+    }
+
+    @Benchmark
+    public void quizzes(Blackhole blackhole) {
+        for (Quiz quiz : fixture.quizzes) {
+            blackhole.consume(quizService.mapToResponseDTO(quiz));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.main.lms.benchmarks;
+
+import jakarta.persistence.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notification fan-out insert cost with IDENTITY ids against pooled sequence ids, on an
+ * in-memory H2 database in MySQL mode. The two entities mirror the notification table;
+ * only the id strategy differs. With IDENTITY Hibernate has to run every insert on its
+ * own to read the generated key, so the batch size has no effect.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InsertBatchingBenchmark {
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private SessionFactory sessionFactory;
+
+    @Entity
+    @Table(name = "identity_notification")
+    public static class IdentityNotification {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        public Long notificationId;
+        public Long userId;
+        public Boolean isRead;
+        public String notificationMessage;
+    }
+
+    @Entity
+    @Table(name = "pooled_notification")
+    public static class PooledNotification {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pooled_notification_seq")
+        @SequenceGenerator(name = "pooled_notification_seq", allocationSize = 50)
+        public Long notificationId;
+        public Long userId;
+        public Boolean isRead;
+        public String notificationMessage;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(IdentityNotification.class)
+                .addAnnotatedClass(PooledNotification.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:insert-batching;MODE=MySQL;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(batchSize))
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        sessionFactory.inTransaction(session -> {
+            session.createMutationQuery("delete from IdentityNotification").executeUpdate();
+            session.createMutationQuery("delete from PooledNotification").executeUpdate();
+        });
+    }
+
+    @Benchmark
+    public void identityIds() {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < rows; i++) {
+                IdentityNotification notification = new IdentityNotification();
+                notification.userId = (long) i;
+                notification.isRead = false;
+                notification.notificationMessage = "New Assignment has been posted for course " + i;
+                session.persist(notification);
+            }
+        });
+    }
+
+    @Benchmark
+    public void pooledIds() {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < rows; i++) {
+                PooledNotification notification = new PooledNotification();
+                notification.userId = (long) i;
+                notification.isRead = false;
+                notification.notificationMessage = "New Assignment has been posted for course " + i;
+                session.persist(notification);
+            }
+        });
+    }
+}
@@ -0,0 +1,89 @@
+package com.main.lms.benchmarks;
+
+import com.main.lms.entities.Question;
+import com.main.lms.enums.QuestionType;
+import com.main.lms.repositories.CourseRepository;
+import com.main.lms.repositories.QuestionRepository;
+import com.main.lms.services.NotificationService;
+import com.main.lms.services.QuestionService;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Random question selection from a course bank of {@code bankSize} questions, with and
+ * without a type filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QuestionServiceBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int bankSize;
+
+    @Param({"20"})
+    public int count;
+
+    @Mock
+    private QuestionRepository questionRepository;
+    @Mock
+    private CourseRepository courseRepository;
+    @Mock
+    private NotificationService notificationService;
+
+    @InjectMocks
+    private QuestionService questionService;
+
+    private AutoCloseable mocks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        CourseFixture fixture = CourseFixture.ofSize(1);
+        List<Question> bank = new ArrayList<>(bankSize);
+        for (int i = 0; i < bankSize; i++) {
+            Question template = fixture.questionBank.get(i % fixture.questionBank.size());
+            Question question = new Question();
+            question.setQuestionId((long) i + 1);
+            question.setCourse(fixture.course);
+            question.setCourseId(fixture.course.getId());
+            question.setQuestionContent(template.getQuestionContent());
+            question.setAnswer(template.getAnswer());
+            question.setType(template.getType());
+            bank.add(question);
+        }
+
+        when(courseRepository.existsById(anyLong())).thenReturn(true);
+        when(questionRepository.findByCourseId(anyLong())).thenAnswer(invocation -> new ArrayList<>(bank));
+        // the type filter runs in the database, so the mock hands back only matching rows
+        when(questionRepository.findByCourseIdAndType(anyLong(), any(QuestionType.class))).thenAnswer(invocation ->
+                bank.stream().filter(q -> q.getType() == invocation.getArgument(1)).collect(Collectors.toList()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    @Benchmark
+    public List<Question> randomQuestions() {
+        return questionService.getRandomQuestions(1L, Optional.empty(), count);
+    }
+
+    @Benchmark
+    public List<Question> randomQuestionsOfType() {
+        return questionService.getRandomQuestions(1L, Optional.of(QuestionType.MCQ), count);
+    }
+}
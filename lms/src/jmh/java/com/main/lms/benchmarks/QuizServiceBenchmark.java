@@ -0,0 +1,95 @@
+package com.main.lms.benchmarks;
+
+import com.main.lms.dtos.GradeDTO;
+import com.main.lms.dtos.QuestionAnswerDTO;
+import com.main.lms.entities.Quiz;
+import com.main.lms.entities.StudentQuiz;
+import com.main.lms.entities.User;
+import com.main.lms.repositories.*;
+import com.main.lms.services.ActivityLogService;
+import com.main.lms.services.GradeStatisticsService;
+import com.main.lms.services.LeaderboardService;
+import com.main.lms.services.QuestionService;
+import com.main.lms.services.QuizService;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Grading cost of {@link QuizService#submitQuiz} as the quiz grows. Repositories are
+ * mocked so only the in-memory answer matching is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QuizServiceBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int questionCount;
+
+    @Mock
+    private QuizRepository quizRepository;
+    @Mock
+    private QuestionRepository questionRepository;
+    @Mock
+    private StudentQuizRepository studentQuizRepository;
+    @Mock
+    private QuestionService questionService;
+    @Mock
+    private EnrolledCourseRepository enrolledCourseRepository;
+    @Mock
+    private CourseRepository courseRepository;
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private GradeStatisticsService gradeStatisticsService;
+
+    @Mock
+    private ActivityLogService activityLogService;
+
+    @InjectMocks
+    private QuizService quizService;
+
+    private User student;
+    private List<QuestionAnswerDTO> answers;
+    private AutoCloseable mocks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        CourseFixture fixture = CourseFixture.ofSize(1);
+        student = fixture.students.get(0);
+
+        Quiz quiz = new Quiz();
+        quiz.setQuizId(1L);
+        quiz.setCourse(fixture.course);
+        quiz.setCourseId(fixture.course.getId());
+        quiz.setQuestions(new ArrayList<>(fixture.questionBank.subList(0, questionCount)));
+        answers = fixture.answersFor(quiz);
+
+        when(quizRepository.findById(anyLong())).thenReturn(Optional.of(quiz));
+        when(enrolledCourseRepository.findByStudentAndCourse(any(), any())).thenReturn(fixture.enrollments);
+        when(studentQuizRepository.existsStudentQuizByStudentIdAndQuiz(anyLong(), any())).thenReturn(false);
+        when(studentQuizRepository.save(any(StudentQuiz.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    @Benchmark
+    public GradeDTO submitQuiz() {
+        return quizService.submitQuiz(1L, student, answers);
+    }
+}
@@ -0,0 +1,80 @@
+package com.main.lms.benchmarks;
+
+import com.main.lms.repositories.*;
+import com.main.lms.services.ReportService;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Excel workbook generation for the student performance report. Each enrolled student
+ * produces one row per quiz, assignment and lesson.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReportServiceBenchmark {
+
+    @Param({"50", "500", "2000"})
+    public int courseSize;
+
+    @Mock
+    private StudentQuizRepository studentQuizRepository;
+    @Mock
+    private StudentAssignmentRepository studentAssignmentRepository;
+    @Mock
+    private StudentsLessonRepository studentLessonRepository;
+    @Mock
+    private CourseRepository courseRepository;
+    @Mock
+    private EnrolledCourseRepository enrollmentRepository;
+    @Mock
+    private QuizRepository quizRepository;
+    @Mock
+    private AssignmentRepository assignmentRepository;
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @InjectMocks
+    private ReportService reportService;
+
+    private CourseFixture fixture;
+    private AutoCloseable mocks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        fixture = CourseFixture.ofSize(courseSize);
+
+        when(courseRepository.findById(anyLong())).thenReturn(Optional.of(fixture.course));
+        when(enrollmentRepository.findByCourse(any())).thenReturn(fixture.enrollments);
+        when(quizRepository.findByCourseId(anyLong())).thenReturn(fixture.quizzes);
+        when(assignmentRepository.findByCourse(any())).thenReturn(fixture.assignments);
+        when(lessonRepository.findByCourse(any())).thenReturn(fixture.lessons);
+        when(studentQuizRepository.findByStudentAndQuiz(any(), any()))
+                .thenAnswer(invocation -> fixture.quizRow(invocation.getArgument(0), invocation.getArgument(1)));
+        when(studentAssignmentRepository.findByAssignmentAndStudent(any(), any()))
+                .thenAnswer(invocation -> fixture.assignmentRow(invocation.getArgument(0), invocation.getArgument(1)));
+        when(studentLessonRepository.findByStudentAndLesson(any(), any()))
+                .thenAnswer(invocation -> fixture.lessonRow(invocation.getArgument(0), invocation.getArgument(1)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    @Benchmark
+    public ByteArrayInputStream performanceReport() throws IOException {
+        return reportService.generateStudentPerformanceReport(fixture.course.getId(), fixture.instructor);
+    }
+}
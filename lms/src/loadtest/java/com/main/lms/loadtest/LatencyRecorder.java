@@ -0,0 +1,83 @@
+package com.main.lms.loadtest;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects per-endpoint latencies and reports percentiles and throughput. Throughput is
+ * computed over the wall time between the first request start and the last response.
+ */
+public class LatencyRecorder {
+
+    private static class Samples {
+        final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+        final AtomicLong lastEnd = new AtomicLong(Long.MIN_VALUE);
+    }
+
+    private final Map<String, Samples> samplesByEndpoint = new ConcurrentHashMap<>();
+    private final List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+    public void record(String endpoint, long startNanos, long endNanos, boolean success) {
+        Samples samples = samplesByEndpoint.computeIfAbsent(endpoint, key -> {
+            order.add(key);
+            return new Samples();
+        });
+        samples.latencies.add(endNanos - startNanos);
+        if (!success) {
+            samples.errors.incrementAndGet();
+        }
+        samples.firstStart.accumulateAndGet(startNanos, Math::min);
+        samples.lastEnd.accumulateAndGet(endNanos, Math::max);
+    }
+
+    public List<String> report() {
+        List<String> rows = new ArrayList<>();
+        rows.add(String.format("%-55s %8s %7s %10s %9s %9s %9s %9s",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (String endpoint : order) {
+            Samples samples = samplesByEndpoint.get(endpoint);
+            long[] sorted = samples.latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            double seconds = Math.max(1, samples.lastEnd.get() - samples.firstStart.get()) / 1e9;
+            rows.add(String.format("%-55s %8d %7d %10.1f %9.2f %9.2f %9.2f %9.2f",
+                    endpoint, sorted.length, samples.errors.get(), sorted.length / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    percentile(sorted, 1.0)));
+        }
+        return rows;
+    }
+
+    public void writeCsv(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path))) {
+            out.println("endpoint,requests,errors,throughput,p50_ms,p95_ms,p99_ms,max_ms");
+            for (String endpoint : order) {
+                Samples samples = samplesByEndpoint.get(endpoint);
+                long[] sorted = samples.latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+                double seconds = Math.max(1, samples.lastEnd.get() - samples.firstStart.get()) / 1e9;
+                out.printf(Locale.ROOT, "\"%s\",%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f%n",
+                        endpoint, sorted.length, samples.errors.get(), sorted.length / seconds,
+                        percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                        percentile(sorted, 1.0));
+            }
+        }
+    }
+
+    // Nearest-rank percentile, in milliseconds
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))] / 1e6;
+    }
+}
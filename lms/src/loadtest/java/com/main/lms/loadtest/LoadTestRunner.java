@@ -0,0 +1,200 @@
+package com.main.lms.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Drives a running application (started with the loadtest profile) through a set of
+ * scenarios and prints latency percentiles and throughput per endpoint.
+ *
+ * <p>Scenarios:
+ * <ul>
+ *     <li>{@code login} - every student logs in at once</li>
+ *     <li>{@code quiz-submit} - every enrollment submits the course's open quiz</li>
+ *     <li>{@code check-in} - every enrollment checks in to the course's open lesson</li>
+ *     <li>{@code report} - instructors repeatedly download the performance report</li>
+ * </ul>
+ *
+ * <p>Configured with system properties, see {@code ./gradlew loadTest} in build.gradle.kts.
+ */
+public class LoadTestRunner {
+
+    private static final String JSON = "application/json";
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Manifest manifest;
+    private final int concurrency;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final Map<String, String> sessions = new ConcurrentHashMap<>();
+
+    public LoadTestRunner(String baseUrl, Manifest manifest, int concurrency) {
+        this.baseUrl = baseUrl;
+        this.manifest = manifest;
+        this.concurrency = concurrency;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(concurrency))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("loadtest.baseUrl", "http://localhost:8080");
+        Path manifestPath = Path.of(System.getProperty("loadtest.manifest", "build/loadtest/manifest.csv"));
+        int concurrency = Integer.parseInt(System.getProperty("loadtest.concurrency", "64"));
+        int reportRepeats = Integer.parseInt(System.getProperty("loadtest.reportRepeats", "5"));
+        List<String> scenarios = List.of(System.getProperty("loadtest.scenarios", "login,quiz-submit,check-in,report").split(","));
+        Path results = Path.of(System.getProperty("loadtest.results", "build/loadtest/results.csv"));
+
+        LoadTestRunner runner = new LoadTestRunner(baseUrl, Manifest.read(manifestPath), concurrency);
+        for (String scenario : scenarios) {
+            System.out.println("Running scenario " + scenario.trim() + " with concurrency " + concurrency);
+            switch (scenario.trim()) {
+                case "login" -> runner.loginStorm();
+                case "quiz-submit" -> runner.quizSubmitBurst();
+                case "check-in" -> runner.checkInBurst();
+                case "report" -> runner.reportGeneration(reportRepeats);
+                default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+            }
+        }
+
+        runner.recorder.report().forEach(System.out::println);
+        runner.recorder.writeCsv(results);
+        System.out.println("Results written to " + results.toAbsolutePath());
+        System.exit(0);
+    }
+
+    public void loginStorm() throws InterruptedException {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (String student : manifest.students()) {
+            tasks.add(() -> {
+                login(student, true);
+                return null;
+            });
+        }
+        burst(tasks);
+    }
+
+    public void quizSubmitBurst() throws InterruptedException {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Manifest.Enrollment enrollment : manifest.enrollments) {
+            Manifest.OpenQuiz quiz = manifest.quizByCourse.get(enrollment.courseId());
+            if (quiz == null) {
+                continue;
+            }
+            tasks.add(() -> {
+                String session = sessionOf(enrollment.student());
+                timed("POST /quizzes/{quizId}/submit",
+                        post("/quizzes/" + quiz.quizId() + "/submit", quiz.answersJson(), session), true);
+                return null;
+            });
+        }
+        burst(tasks);
+    }
+
+    public void checkInBurst() throws InterruptedException {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Manifest.Enrollment enrollment : manifest.enrollments) {
+            Manifest.OpenLesson lesson = manifest.lessonByCourse.get(enrollment.courseId());
+            if (lesson == null) {
+                continue;
+            }
+            String body = "{\"lessonId\":" + lesson.lessonId() + ",\"otp\":\"" + lesson.otp() + "\"}";
+            tasks.add(() -> {
+                String session = sessionOf(enrollment.student());
+                timed("POST /student-lessons", post("/student-lessons", body, session), true);
+                return null;
+            });
+        }
+        burst(tasks);
+    }
+
+    public void reportGeneration(int repeats) throws InterruptedException {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Map.Entry<Long, String> entry : manifest.instructorByCourse.entrySet()) {
+            for (int i = 0; i < repeats; i++) {
+                tasks.add(() -> {
+                    String session = sessionOf(entry.getValue());
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/questions/courses/" + entry.getKey() + "/performance-report"))
+                            .header("Cookie", session)
+                            .GET()
+                            .build();
+                    timed("GET /questions/courses/{courseId}/performance-report", request, false);
+                    return null;
+                });
+            }
+        }
+        burst(tasks);
+    }
+
+    // Submits every task at once and waits for all of them; the pool size caps in-flight requests
+    private void burst(List<Callable<Void>> tasks) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    System.err.println("Request failed: " + e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private String sessionOf(String name) throws IOException, InterruptedException {
+        String session = sessions.get(name);
+        return session != null ? session : login(name, false);
+    }
+
+    private String login(String name, boolean record) throws IOException, InterruptedException {
+        String body = "{\"name\":\"" + name + "\",\"password\":\"" + manifest.password + "\"}";
+        HttpRequest request = post("/auth/login", body, null);
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        long end = System.nanoTime();
+        boolean success = response.statusCode() == 200;
+        if (record) {
+            recorder.record("POST /auth/login", start, end, success);
+        }
+        if (!success) {
+            throw new IOException("Login failed for " + name + ": " + response.statusCode());
+        }
+        // Session fixation protection issues a new id on login, the last cookie wins
+        String session = response.headers().allValues("Set-Cookie").stream()
+                .filter(cookie -> cookie.startsWith("JSESSIONID="))
+                .reduce((first, second) -> second)
+                .map(cookie -> cookie.split(";", 2)[0])
+                .orElseThrow(() -> new IOException("No session cookie returned for " + name));
+        sessions.put(name, session);
+        return session;
+    }
+
+    private HttpRequest post(String path, String body, String session) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (session != null) {
+            builder.header("Cookie", session);
+        }
+        return builder.build();
+    }
+
+    private void timed(String endpoint, HttpRequest request, boolean apiResponse) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        long end = System.nanoTime();
+        boolean success = response.statusCode() / 100 == 2
+                && (!apiResponse || response.body().contains("\"success\":true"));
+        recorder.record(endpoint, start, end, success);
+    }
+}
@@ -0,0 +1,68 @@
+package com.main.lms.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Parsed form of the manifest written by {@code SyntheticDataGenerator} when the
+ * application starts with the loadtest profile.
+ */
+public class Manifest {
+
+    public record Enrollment(String student, long courseId) {
+    }
+
+    public record OpenQuiz(long quizId, String answersJson) {
+    }
+
+    public record OpenLesson(long lessonId, String otp) {
+    }
+
+    public String password;
+    public String admin;
+    public final Map<Long, String> instructorByCourse = new LinkedHashMap<>();
+    public final List<Enrollment> enrollments = new ArrayList<>();
+    public final Map<Long, OpenQuiz> quizByCourse = new HashMap<>();
+    public final Map<Long, OpenLesson> lessonByCourse = new HashMap<>();
+
+    public static Manifest read(Path path) throws IOException {
+        Manifest manifest = new Manifest();
+        for (String line : Files.readAllLines(path)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] parts = line.split(",", 4);
+            switch (parts[0]) {
+                case "password" -> manifest.password = parts[1];
+                case "admin" -> manifest.admin = parts[1];
+                case "instructor" -> manifest.instructorByCourse.put(Long.parseLong(parts[2]), parts[1]);
+                case "student" -> manifest.enrollments.add(new Enrollment(parts[1], Long.parseLong(parts[2])));
+                case "quiz" -> manifest.quizByCourse.put(Long.parseLong(parts[1]),
+                        new OpenQuiz(Long.parseLong(parts[2]), toAnswersJson(parts.length > 3 ? parts[3] : "")));
+                case "lesson" -> manifest.lessonByCourse.put(Long.parseLong(parts[1]),
+                        new OpenLesson(Long.parseLong(parts[2]), parts[3]));
+                default -> throw new IllegalArgumentException("Unknown manifest record: " + line);
+            }
+        }
+        return manifest;
+    }
+
+    public List<String> students() {
+        return enrollments.stream().map(Enrollment::student).distinct().toList();
+    }
+
+    // "12:answer-3 14:answer-9" -> [{"questionId":12,"answer":"answer-3"},...]
+    private static String toAnswersJson(String answers) {
+        StringJoiner json = new StringJoiner(",", "[", "]");
+        for (String pair : answers.trim().split(" ")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int colon = pair.indexOf(':');
+            json.add("{\"questionId\":" + pair.substring(0, colon) + ",\"answer\":\"" + pair.substring(colon + 1) + "\"}");
+        }
+        return json.toString();
+    }
+}
@@ -0,0 +1,294 @@
+package com.main.lms.loadtest;
+
+import com.main.lms.entities.*;
+import com.main.lms.enums.QuestionType;
+import com.main.lms.enums.UserRole;
+import com.main.lms.repositories.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Seeds the load-test database with users, courses, enrollments, lessons, questions,
+ * quizzes and historical submissions, then writes a manifest with the credentials and ids
+ * the scenario runner needs. The last quiz and lesson of every course are left untouched
+ * so the submit and check-in bursts have something to hit.
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final EnrolledCourseRepository enrolledCourseRepository;
+    private final LessonRepository lessonRepository;
+    private final QuestionRepository questionRepository;
+    private final QuizRepository quizRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final StudentQuizRepository studentQuizRepository;
+    private final StudentAssignmentRepository studentAssignmentRepository;
+    private final StudentsLessonRepository studentsLessonRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${lms.loadtest.students:2000}")
+    private int studentCount;
+
+    @Value("${lms.loadtest.instructors:10}")
+    private int instructorCount;
+
+    @Value("${lms.loadtest.courses:20}")
+    private int courseCount;
+
+    @Value("${lms.loadtest.courses-per-student:2}")
+    private int coursesPerStudent;
+
+    @Value("${lms.loadtest.lessons-per-course:24}")
+    private int lessonsPerCourse;
+
+    @Value("${lms.loadtest.questions-per-course:200}")
+    private int questionsPerCourse;
+
+    @Value("${lms.loadtest.quizzes-per-course:10}")
+    private int quizzesPerCourse;
+
+    @Value("${lms.loadtest.questions-per-quiz:20}")
+    private int questionsPerQuiz;
+
+    @Value("${lms.loadtest.assignments-per-course:8}")
+    private int assignmentsPerCourse;
+
+    @Value("${lms.loadtest.participation:0.8}")
+    private double participation;
+
+    @Value("${lms.loadtest.password:loadtest}")
+    private String password;
+
+    @Value("${lms.loadtest.seed:42}")
+    private long seed;
+
+    @Value("${lms.loadtest.manifest:build/loadtest/manifest.csv}")
+    private String manifestPath;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (userRepository.count() > 0) {
+            log.info("Database already populated, skipping synthetic data generation");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Random random = new Random(seed);
+
+        // BCrypt is deliberately slow, every synthetic user shares the same hash
+        String encodedPassword = passwordEncoder.encode(password);
+
+        User admin = newUser("admin", UserRole.ADMIN, encodedPassword);
+        userRepository.save(admin);
+
+        List<User> instructors = new ArrayList<>();
+        for (int i = 0; i < instructorCount; i++) {
+            instructors.add(newUser("instructor" + i, UserRole.INSTRUCTOR, encodedPassword));
+        }
+        userRepository.saveAll(instructors);
+
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < studentCount; i++) {
+            students.add(newUser("student" + i, UserRole.STUDENT, encodedPassword));
+        }
+        userRepository.saveAll(students);
+
+        List<Course> courses = new ArrayList<>();
+        for (int c = 0; c < courseCount; c++) {
+            Course course = new Course();
+            course.setTitle("Course " + c);
+            course.setDuration((4 + random.nextInt(12)) + " weeks");
+            course.setDescription("Synthetic course " + c + " for load testing");
+            course.setInstructor(instructors.get(c % instructors.size()));
+            course.setMaterials(new ArrayList<>());
+            courses.add(course);
+        }
+        courseRepository.saveAll(courses);
+
+        Map<Long, List<Lesson>> lessonsByCourse = new HashMap<>();
+        Map<Long, List<Quiz>> quizzesByCourse = new HashMap<>();
+        Map<Long, List<Assignment>> assignmentsByCourse = new HashMap<>();
+        QuestionType[] types = QuestionType.values();
+        for (Course course : courses) {
+            List<Lesson> lessons = new ArrayList<>();
+            for (int i = 0; i < lessonsPerCourse; i++) {
+                Lesson lesson = new Lesson();
+                lesson.setCourse(course);
+                lesson.setOtp(String.format("%06d", random.nextInt(1_000_000)));
+                lessons.add(lesson);
+            }
+            lessonsByCourse.put(course.getId(), lessonRepository.saveAll(lessons));
+
+            List<Question> questions = new ArrayList<>();
+            for (int i = 0; i < questionsPerCourse; i++) {
+                Question question = new Question();
+                question.setCourse(course);
+                question.setQuestionContent("Question " + i + " of " + course.getTitle());
+                question.setAnswer("answer-" + i);
+                question.setType(types[i % types.length]);
+                questions.add(question);
+            }
+            questions = questionRepository.saveAll(questions);
+
+            List<Quiz> quizzes = new ArrayList<>();
+            for (int i = 0; i < quizzesPerCourse; i++) {
+                List<Question> shuffled = new ArrayList<>(questions);
+                Collections.shuffle(shuffled, random);
+                Quiz quiz = new Quiz();
+                quiz.setCourse(course);
+                quiz.setQuestions(new ArrayList<>(shuffled.subList(0, Math.min(questionsPerQuiz, shuffled.size()))));
+                quizzes.add(quiz);
+            }
+            quizzesByCourse.put(course.getId(), quizRepository.saveAll(quizzes));
+
+            List<Assignment> assignments = new ArrayList<>();
+            for (int i = 0; i < assignmentsPerCourse; i++) {
+                Assignment assignment = new Assignment();
+                assignment.setCourse(course);
+                assignment.setInstructions("Assignment " + i + " of " + course.getTitle());
+                assignment.setMaxGrade(100);
+                assignments.add(assignment);
+            }
+            assignmentsByCourse.put(course.getId(), assignmentRepository.saveAll(assignments));
+        }
+
+        // Spread students over the courses so every course gets a similar roster
+        int stride = Math.max(1, courseCount / Math.max(1, coursesPerStudent));
+        List<EnrolledCourse> enrollments = new ArrayList<>();
+        for (int i = 0; i < students.size(); i++) {
+            Set<Integer> picked = new LinkedHashSet<>();
+            for (int k = 0; k < Math.min(coursesPerStudent, courseCount); k++) {
+                int c = (i + k * stride) % courseCount;
+                while (!picked.add(c)) {
+                    c = (c + 1) % courseCount;
+                }
+                EnrolledCourse enrollment = new EnrolledCourse();
+                enrollment.setStudent(students.get(i));
+                enrollment.setCourse(courses.get(c));
+                enrollment.setIsConfirmed(true);
+                enrollment.setIsCompleted(random.nextDouble() < 0.1);
+                enrollments.add(enrollment);
+            }
+        }
+        enrolledCourseRepository.saveAll(enrollments);
+
+        List<StudentQuiz> studentQuizzes = new ArrayList<>();
+        List<StudentLesson> studentLessons = new ArrayList<>();
+        List<StudentAssignment> studentAssignments = new ArrayList<>();
+        for (EnrolledCourse enrollment : enrollments) {
+            User student = enrollment.getStudent();
+            Course course = enrollment.getCourse();
+
+            List<Quiz> quizzes = quizzesByCourse.get(course.getId());
+            for (Quiz quiz : quizzes.subList(0, Math.max(0, quizzes.size() - 1))) {
+                if (random.nextDouble() < participation) {
+                    StudentQuiz studentQuiz = new StudentQuiz();
+                    studentQuiz.setQuiz(quiz);
+                    studentQuiz.setStudent(student);
+                    studentQuiz.setGrade((double) random.nextInt(quiz.getQuestions().size() + 1));
+                    studentQuizzes.add(studentQuiz);
+                }
+            }
+
+            List<Lesson> lessons = lessonsByCourse.get(course.getId());
+            for (Lesson lesson : lessons.subList(0, Math.max(0, lessons.size() - 1))) {
+                if (random.nextDouble() < participation) {
+                    StudentLesson studentLesson = new StudentLesson();
+                    studentLesson.setLesson(lesson);
+                    studentLesson.setStudent(student);
+                    studentLessons.add(studentLesson);
+                }
+            }
+
+            for (Assignment assignment : assignmentsByCourse.get(course.getId())) {
+                if (random.nextDouble() < participation) {
+                    StudentAssignment studentAssignment = new StudentAssignment();
+                    studentAssignment.setAssignment(assignment);
+                    studentAssignment.setStudent(student);
+                    studentAssignment.setCourse(course);
+                    studentAssignment.setFileNames(new ArrayList<>());
+                    studentAssignment.setGrade(random.nextInt(assignment.getMaxGrade() + 1));
+                    studentAssignment.setGraded(true);
+                    studentAssignment.setFeedback("Synthetic feedback");
+                    studentAssignments.add(studentAssignment);
+                }
+            }
+        }
+        studentQuizRepository.saveAll(studentQuizzes);
+        studentsLessonRepository.saveAll(studentLessons);
+        studentAssignmentRepository.saveAll(studentAssignments);
+
+        writeManifest(admin, courses, enrollments, lessonsByCourse, quizzesByCourse);
+
+        log.info("Generated {} students, {} courses, {} enrollments, {} quiz submissions, {} check-ins and {} assignment submissions in {} ms",
+                students.size(), courses.size(), enrollments.size(), studentQuizzes.size(), studentLessons.size(),
+                studentAssignments.size(), System.currentTimeMillis() - start);
+    }
+
+    private User newUser(String name, UserRole role, String encodedPassword) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@loadtest.lms");
+        user.setRole(role);
+        user.setPassword(encodedPassword);
+        return user;
+    }
+
+    // One record per line:
+    //   password,<password>
+    //   admin,<name>
+    //   instructor,<name>,<courseId>
+    //   student,<name>,<courseId>
+    //   quiz,<courseId>,<quizId>,<questionId>:<answer> <questionId>:<answer> ...
+    //   lesson,<courseId>,<lessonId>,<otp>
+    private void writeManifest(User admin, List<Course> courses, List<EnrolledCourse> enrollments,
+                               Map<Long, List<Lesson>> lessonsByCourse, Map<Long, List<Quiz>> quizzesByCourse) throws IOException {
+        Path path = Path.of(manifestPath);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path))) {
+            out.println("password," + password);
+            out.println("admin," + admin.getName());
+            for (Course course : courses) {
+                out.println("instructor," + course.getInstructor().getName() + "," + course.getId());
+            }
+            for (EnrolledCourse enrollment : enrollments) {
+                out.println("student," + enrollment.getStudent().getName() + "," + enrollment.getCourse().getId());
+            }
+            for (Course course : courses) {
+                List<Quiz> quizzes = quizzesByCourse.get(course.getId());
+                if (!quizzes.isEmpty()) {
+                    Quiz openQuiz = quizzes.get(quizzes.size() - 1);
+                    String answers = openQuiz.getQuestions().stream()
+                            .map(q -> q.getQuestionId() + ":" + q.getAnswer())
+                            .collect(Collectors.joining(" "));
+                    out.println("quiz," + course.getId() + "," + openQuiz.getQuizId() + "," + answers);
+                }
+                List<Lesson> lessons = lessonsByCourse.get(course.getId());
+                if (!lessons.isEmpty()) {
+                    Lesson openLesson = lessons.get(lessons.size() - 1);
+                    out.println("lesson," + course.getId() + "," + openLesson.getLessonId() + "," + openLesson.getOtp());
+                }
+            }
+        }
+        log.info("Load-test manifest written to {}", path.toAbsolutePath());
+    }
+}
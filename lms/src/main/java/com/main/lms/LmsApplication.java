@@ -3,10 +3,12 @@ package com.main.lms;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import java.util.Optional;
 
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
 public class LmsApplication {
 
 	public static void main(String[] args) {
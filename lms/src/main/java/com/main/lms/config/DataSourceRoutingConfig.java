@@ -0,0 +1,76 @@
+package com.main.lms.config;
+
+import com.main.lms.datasource.ReplicaDataSourceProperties;
+import com.main.lms.datasource.ReplicaLagGuard;
+import com.main.lms.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Objects;
+
+// Replaces the auto-configured DataSource with primary/replica pools behind a routing proxy
+// when lms.datasource.replica.url is set. Without it the single spring.datasource pool is used.
+@Configuration
+@ConditionalOnProperty(prefix = "lms.datasource.replica", name = "url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    HikariDataSource replicaDataSource(ReplicaDataSourceProperties replica, DataSourceProperties primary) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(Objects.requireNonNullElse(replica.getDriverClassName(), primary.determineDriverClassName()))
+                .url(replica.getUrl())
+                .username(Objects.requireNonNullElse(replica.getUsername(), primary.determineUsername()))
+                .password(Objects.requireNonNullElse(replica.getPassword(), primary.determinePassword()))
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    ReplicaLagGuard replicaLagGuard(@Qualifier("replicaDataSource") DataSource replica, ReplicaDataSourceProperties properties) {
+        return new ReplicaLagGuard(replica, ReplicaLagGuard::mysqlReplicaLag, properties.getMaxLag(),
+                properties.getLagCheckInterval());
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                          @Qualifier("replicaDataSource") DataSource replica, ReplicaLagGuard lagGuard) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, lagGuard));
+    }
+
+    // The request-scoped EntityManager of open-in-view would otherwise hold the first connection
+    // it gets for the whole request, so a write after a read-only lookup (QuizService.submitQuiz
+    // runs its repository calls each in their own transaction) would go to the replica. Released
+    // after every transaction, each one gets a connection routed by its own read-only flag.
+    @Bean
+    HibernatePropertiesCustomizer connectionReleaseAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,147 @@
+package com.main.lms.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+// Startup report of derived finders (findBy..., existsBy...) whose WHERE columns are not the
+// leading columns of any index on the entity's table. @Query methods are not checked.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "lms.index-check.enabled", havingValue = "true", matchIfMissing = true)
+public class FinderIndexCoverageCheck {
+
+    private final ListableBeanFactory beanFactory;
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+
+    record Finder(String name, String table, Set<String> columns) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        try {
+            List<Finder> finders = finders();
+            Set<String> tables = new HashSet<>();
+            finders.forEach(finder -> tables.add(finder.table()));
+            List<Finder> uncovered = uncovered(finders, indexes(tables));
+            if (uncovered.isEmpty()) {
+                log.info("All {} derived finders have a covering index", finders.size());
+            }
+            for (Finder finder : uncovered) {
+                log.warn("No index covers {} on {} {}", finder.name(), finder.table(), finder.columns());
+            }
+        } catch (Exception e) {
+            log.warn("Finder index coverage check failed: {}", e.getMessage());
+        }
+    }
+
+    static List<Finder> uncovered(List<Finder> finders, Map<String, List<List<String>>> indexesByTable) {
+        List<Finder> uncovered = new ArrayList<>();
+        for (Finder finder : finders) {
+            List<List<String>> indexes = indexesByTable.getOrDefault(finder.table(), List.of());
+            if (indexes.stream().noneMatch(index -> covers(index, finder.columns()))) {
+                uncovered.add(finder);
+            }
+        }
+        return uncovered;
+    }
+
+    // The finder's columns, in any order, must be exactly the first columns of the index
+    static boolean covers(List<String> index, Set<String> columns) {
+        if (columns.isEmpty()) {
+            return true;
+        }
+        if (index.size() < columns.size()) {
+            return false;
+        }
+        return new HashSet<>(index.subList(0, columns.size())).equals(columns);
+    }
+
+    private List<Finder> finders() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Repositories repositories = new Repositories(beanFactory);
+        List<Finder> finders = new ArrayList<>();
+        for (Class<?> domainType : repositories) {
+            Optional<RepositoryInformation> information = repositories.getRepositoryInformationFor(domainType);
+            if (information.isEmpty()) {
+                continue;
+            }
+            AbstractEntityPersister persister = (AbstractEntityPersister) sessionFactory.getMappingMetamodel()
+                    .getEntityDescriptor(domainType);
+            String table = normalize(persister.getTableName());
+            String repository = information.get().getRepositoryInterface().getSimpleName();
+            for (Method method : information.get().getQueryMethods()) {
+                if (AnnotatedElementUtils.hasAnnotation(method, Query.class)) {
+                    continue;
+                }
+                PartTree tree;
+                try {
+                    tree = new PartTree(method.getName(), domainType);
+                } catch (RuntimeException e) {
+                    continue;
+                }
+                // Nested paths (quiz.course.id) are filtered through the join column of their first hop
+                Set<String> columns = new LinkedHashSet<>();
+                for (Part part : tree.getParts()) {
+                    for (String column : persister.getPropertyColumnNames(part.getProperty().getSegment())) {
+                        columns.add(normalize(column));
+                    }
+                }
+                finders.add(new Finder(repository + "." + method.getName(), table, columns));
+            }
+        }
+        return finders;
+    }
+
+    private Map<String, List<List<String>>> indexes(Set<String> tables) throws SQLException {
+        Map<String, List<List<String>>> indexesByTable = new HashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String table : tables) {
+                Map<String, TreeMap<Short, String>> columnsByIndex = new HashMap<>();
+                try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null, table, false, true)) {
+                    while (rs.next()) {
+                        String index = rs.getString("INDEX_NAME");
+                        String column = rs.getString("COLUMN_NAME");
+                        if (index == null || column == null) {
+                            continue;
+                        }
+                        columnsByIndex.computeIfAbsent(index, name -> new TreeMap<>())
+                                .put(rs.getShort("ORDINAL_POSITION"), normalize(column));
+                    }
+                }
+                List<List<String>> indexes = new ArrayList<>();
+                columnsByIndex.values().forEach(columns -> indexes.add(new ArrayList<>(columns.values())));
+                indexesByTable.put(table, indexes);
+            }
+        }
+        return indexesByTable;
+    }
+
+    private static String normalize(String name) {
+        return name.replace("`", "").replace("\"", "").toLowerCase(Locale.ROOT);
+    }
+}
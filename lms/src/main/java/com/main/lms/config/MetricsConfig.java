@@ -0,0 +1,44 @@
+package com.main.lms.config;
+
+import com.main.lms.metrics.QueryBudgetFilter;
+import com.main.lms.metrics.QueryBudgetProperties;
+import com.main.lms.metrics.QueryCountingStatementInspector;
+import com.main.lms.metrics.RepositoryInvocationsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class MetricsConfig {
+
+    @Bean
+    FilterRegistrationBean<RepositoryInvocationsFilter> repositoryInvocationsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RepositoryInvocationsFilter> registration =
+                new FilterRegistrationBean<>(new RepositoryInvocationsFilter(meterRegistry));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer queryCountingStatementInspector() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingStatementInspector());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "lms.query-budget", name = "enabled", matchIfMissing = true)
+    FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(QueryBudgetProperties properties, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryBudgetFilter> registration =
+                new FilterRegistrationBean<>(new QueryBudgetFilter(properties, meterRegistry));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 11);
+        return registration;
+    }
+}
@@ -57,7 +57,7 @@ public class SecurityConfig {
 
                         .requestMatchers("/quizzes/courses/{courseId}").authenticated()
 
-                        .requestMatchers("/quizzes/{quizId}/grades")
+                        .requestMatchers("/quizzes/{quizId}/grades", "/quizzes/{quizId}/leaderboard")
                         .hasAnyAuthority("ROLE_" + UserRole.INSTRUCTOR.name(), "ROLE_" + UserRole.ADMIN.name())
 
                         // Question endpoints
@@ -104,6 +104,12 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.DELETE, "/student-assignments/{id}")
                         .hasAnyAuthority("ROLE_" + UserRole.INSTRUCTOR.name(), "ROLE_" + UserRole.ADMIN.name())
 
+                        .requestMatchers(HttpMethod.GET, "/student-assignments/assignments/{assignmentId}/similarity")
+                        .hasAuthority("ROLE_" + UserRole.INSTRUCTOR.name())
+
+                        .requestMatchers(HttpMethod.PUT, "/student-assignments/grades")
+                        .hasAuthority("ROLE_" + UserRole.INSTRUCTOR.name())
+
                         .requestMatchers(HttpMethod.PUT, "/student-assignments/grade/{id}")
                         .hasAnyAuthority("ROLE_" + UserRole.INSTRUCTOR.name(), "ROLE_" + UserRole.ADMIN.name())
 
@@ -111,7 +117,7 @@ public class SecurityConfig {
                         .authenticated()
 
                         // Student endpoints
-                        .requestMatchers("/students/me/quiz-grades")
+                        .requestMatchers("/students/me/quiz-grades", "/students/me/dashboard")
                         .hasAuthority("ROLE_" + UserRole.STUDENT.name())
 
                         .requestMatchers("/students/{studentId}/quiz-grades")
@@ -131,6 +137,9 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.DELETE, "/courses/{id}")
                         .hasAnyAuthority("ROLE_" + UserRole.ADMIN.name(), "ROLE_" + UserRole.INSTRUCTOR.name())
 
+                        .requestMatchers(HttpMethod.GET, "/courses/{id}/gradebook", "/courses/{id}/leaderboard")
+                        .hasAnyAuthority("ROLE_" + UserRole.INSTRUCTOR.name(), "ROLE_" + UserRole.ADMIN.name())
+
                         .requestMatchers(HttpMethod.GET, "/courses/{id}/material")
                         .authenticated()
 
@@ -140,7 +149,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/courses")
                         .hasAnyAuthority("ROLE_" + UserRole.INSTRUCTOR.name(), "ROLE_" + UserRole.ADMIN.name())
 
-                        .requestMatchers(HttpMethod.GET, "/courses", "/courses/{id}")
+                        .requestMatchers(HttpMethod.GET, "/courses", "/courses/{id}", "/courses/search/suggest")
                         .authenticated()
 
                         // Enrollment endpoints
@@ -150,12 +159,21 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/enrollments")
                         .hasAuthority("ROLE_" + UserRole.ADMIN.name())
 
+                        .requestMatchers(HttpMethod.POST, "/enrollments/bulk")
+                        .hasAuthority("ROLE_" + UserRole.ADMIN.name())
+
+                        .requestMatchers(HttpMethod.GET, "/enrollments/recommendations")
+                        .hasAuthority("ROLE_" + UserRole.STUDENT.name())
+
                         .requestMatchers("/enrollments/{id}")
                         .authenticated()
 
                         .requestMatchers(HttpMethod.GET, "/enrollments/courses/{courseId}")
                         .hasAuthority("ROLE_" + UserRole.INSTRUCTOR.name())
 
+                        .requestMatchers(HttpMethod.PUT, "/enrollments/courses/{courseId}/capacity")
+                        .hasAnyAuthority("ROLE_" + UserRole.INSTRUCTOR.name(), "ROLE_" + UserRole.ADMIN.name())
+
                         .requestMatchers(HttpMethod.GET, "/enrollments/students/{studentId}")
                         .authenticated()
 
@@ -169,6 +187,14 @@ public class SecurityConfig {
                         .requestMatchers("/analytics/**")
                         .hasAnyAuthority("ROLE_" + UserRole.INSTRUCTOR.name(), "ROLE_" + UserRole.ADMIN.name())
 
+                        // Admin listings and exports
+                        .requestMatchers("/admin/**")
+                        .hasAuthority("ROLE_" + UserRole.ADMIN.name())
+
+                        // Monitoring endpoints
+                        .requestMatchers("/actuator/health", "/actuator/prometheus")
+                        .permitAll()
+
                         // Allow admin to access all endpoints
                         .requestMatchers("/**").hasAuthority("ROLE_" + UserRole.ADMIN.name())
                 )
@@ -0,0 +1,59 @@
+package com.main.lms.controller;
+
+import com.main.lms.dtos.ActivityBucketDTO;
+import com.main.lms.dtos.ApiResponse;
+import com.main.lms.enums.ActivityGranularity;
+import com.main.lms.exceptions.CourseNotFoundException;
+import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.services.ActivityRollupService;
+import com.main.lms.utility.SessionIdUtility;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/analytics")
+@RequiredArgsConstructor
+public class ActivityController {
+
+    private final ActivityRollupService activityRollupService;
+    private final SessionIdUtility sessionIdUtility;
+
+    // instructor, admin (admin only without a course)
+    // e.g. /analytics/activity?courseId=3&granularity=HOUR&from=2024-05-01T00:00:00Z&to=2024-05-02T00:00:00Z
+    @GetMapping("/activity")
+    public ResponseEntity<ApiResponse<?>> getActivity(@RequestParam(required = false) Long courseId,
+            @RequestParam ActivityGranularity granularity, @RequestParam Instant from, @RequestParam Instant to) {
+        try {
+            List<ActivityBucketDTO> buckets = activityRollupService.getActivity(courseId, granularity, from, to,
+                    sessionIdUtility.getUserFromSessionId().getUser());
+            return new ResponseEntity<>(new ApiResponse<>(true, "Activity fetched successfully", buckets, null),
+                    HttpStatus.OK);
+        } catch (ClassCastException e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "User is not authenticated", null,
+                            new String[] { "User is not authenticated" }),
+                    HttpStatus.UNAUTHORIZED);
+        } catch (InvalidUser e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "User is not authorized", null, new String[] { e.getMessage() }),
+                    HttpStatus.FORBIDDEN);
+        } catch (CourseNotFoundException e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "Course not found", null, new String[] { e.getMessage() }),
+                    HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, e.getMessage(), null, new String[] { e.getMessage() }),
+                    HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, e.getMessage(), null, new String[] { e.getMessage() }),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.main.lms.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.main.lms.dtos.*;
+import com.main.lms.services.CourseService;
+import com.main.lms.services.EnrollmentService;
+import com.main.lms.services.LessonService;
+import com.main.lms.services.StudentAssignmentService;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// admin
+// Table-wide listings: keyset pages (?after=<last id>&size=) and NDJSON exports streamed row by row
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class AdminListingController {
+
+    static final int MAX_PAGE_SIZE = 1000;
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final EnrollmentService enrollmentService;
+    private final StudentAssignmentService studentAssignmentService;
+    private final LessonService lessonService;
+    private final CourseService courseService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/enrollments")
+    public ResponseEntity<ApiResponse<?>> getEnrollmentsPage(@RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int size) {
+        return page("Enrollments", () -> enrollmentService.getEnrollmentsPage(after, clamp(size)));
+    }
+
+    @GetMapping("/enrollments/export")
+    public ResponseEntity<StreamingResponseBody> exportEnrollments() {
+        return export("enrollments", out -> enrollmentService.exportEnrollments(ndjsonWriter(out)));
+    }
+
+    @GetMapping("/student-assignments")
+    public ResponseEntity<ApiResponse<?>> getStudentAssignmentsPage(@RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int size) {
+        return page("Student assignments", () -> studentAssignmentService.getStudentAssignmentsPage(after, clamp(size)));
+    }
+
+    @GetMapping("/student-assignments/export")
+    public ResponseEntity<StreamingResponseBody> exportStudentAssignments() {
+        return export("student-assignments", out -> studentAssignmentService.exportStudentAssignments(ndjsonWriter(out)));
+    }
+
+    @GetMapping("/lessons")
+    public ResponseEntity<ApiResponse<?>> getLessonsPage(@RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int size) {
+        return page("Lessons", () -> lessonService.getLessonsPage(after, clamp(size)));
+    }
+
+    @GetMapping("/lessons/export")
+    public ResponseEntity<StreamingResponseBody> exportLessons() {
+        return export("lessons", out -> lessonService.exportLessons(ndjsonWriter(out)));
+    }
+
+    @GetMapping("/courses")
+    public ResponseEntity<ApiResponse<?>> getCoursesPage(@RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int size) {
+        return page("Courses", () -> courseService.getCoursesPage(after, clamp(size)));
+    }
+
+    @GetMapping("/courses/export")
+    public ResponseEntity<StreamingResponseBody> exportCourses() {
+        return export("courses", out -> courseService.exportCourses(ndjsonWriter(out)));
+    }
+
+    private static int clamp(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private ResponseEntity<ApiResponse<?>> page(String name, Supplier<KeysetPage<?>> fetch) {
+        try {
+            return new ResponseEntity<>(new ApiResponse<>(true, name + " fetched successfully", fetch.get(), null),
+                    HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "Failed to fetch " + name.toLowerCase(), null, new String[]{e.getMessage()}),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // The body runs on an async request thread after the controller returns
+    private ResponseEntity<StreamingResponseBody> export(String name, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + name + ".ndjson")
+                .contentType(NDJSON)
+                .body(body);
+    }
+
+    // One JSON document per line
+    private <T> Consumer<T> ndjsonWriter(OutputStream out) {
+        return row -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(row));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+}
@@ -1,15 +1,20 @@
 package com.main.lms.controller;
 
+import com.main.lms.dtos.ActiveStudentSummaryDTO;
+import com.main.lms.dtos.ActiveStudentsDTO;
 import com.main.lms.dtos.ApiResponse;
 import com.main.lms.dtos.StudentPerformanceDTO;
 import com.main.lms.entities.User;
+import com.main.lms.exceptions.CourseNotFoundException;
 import com.main.lms.exceptions.InvalidUser;
 import com.main.lms.exceptions.ResourceNotFoundException;
+import com.main.lms.services.ActiveStudentService;
 import com.main.lms.services.AnalyticsService;
 import com.main.lms.services.ReportService;
 import com.main.lms.utility.SessionIdUtility;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.InputStreamResource;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,18 +22,21 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
 
 @RestController
-@RequestMapping("/questions")
+@RequestMapping
 @RequiredArgsConstructor
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
     private final SessionIdUtility sessionIdUtility;
     private final ReportService reportService;
+    private final ActiveStudentService activeStudentService;
 
-    @GetMapping("/courses/{courseId}")
+    @GetMapping("/questions/courses/{courseId}")
     public ResponseEntity<ApiResponse<List<StudentPerformanceDTO>>> getCourseAnalytics(@PathVariable Long courseId) {
         User user = sessionIdUtility.getUserFromSessionId().getUser();
         List<StudentPerformanceDTO> analyticsData = analyticsService.getCourseAnalytics(courseId, user);
@@ -53,7 +61,7 @@ public class AnalyticsController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
-    @PostMapping("/courses/{courseId}/charts")
+    @PostMapping("/questions/courses/{courseId}/charts")
     public ResponseEntity<?> generateCharts(@PathVariable Long courseId) {
         try {
             User user = sessionIdUtility.getUserFromSessionId().getUser();
@@ -108,7 +116,7 @@ public class AnalyticsController {
         }
     }
 
-    @GetMapping("/courses/{courseId}/performance-report")
+    @GetMapping("/questions/courses/{courseId}/performance-report")
     public ResponseEntity<?> generateStudentPerformanceReport(@PathVariable Long courseId) {
         try {
             User user = sessionIdUtility.getUserFromSessionId().getUser();
@@ -134,4 +142,63 @@ public class AnalyticsController {
             return new ResponseEntity<>(new ApiResponse<>(false, "Error generating report", null, new String[]{e.getMessage()}), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    // admin
+    // Distinct active students over a range of days, both included; without a course, platform-wide
+    @GetMapping("/admin/analytics/active-students")
+    public ResponseEntity<ApiResponse<?>> getActiveStudents(@RequestParam(required = false) Long courseId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            ActiveStudentsDTO activeStudents = activeStudentService.getActiveStudents(courseId, from, to,
+                    sessionIdUtility.getUserFromSessionId().getUser());
+            return new ResponseEntity<>(new ApiResponse<>(true, "Active students fetched successfully", activeStudents,
+                    null), HttpStatus.OK);
+        } catch (ClassCastException e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, "User is not authenticated", null, null),
+                    HttpStatus.UNAUTHORIZED);
+        } catch (InvalidUser e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "User is not authorized", null, new String[]{e.getMessage()}),
+                    HttpStatus.FORBIDDEN);
+        } catch (CourseNotFoundException e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "Course not found", null, new String[]{e.getMessage()}),
+                    HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, e.getMessage(), null, new String[]{e.getMessage()}),
+                    HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, e.getMessage(), null, new String[]{e.getMessage()}),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // admin
+    // DAU, WAU and MAU for the days ending with date, today (UTC) by default
+    @GetMapping("/admin/analytics/active-students/summary")
+    public ResponseEntity<ApiResponse<?>> getActiveStudentSummary(@RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            ActiveStudentSummaryDTO summary = activeStudentService.getSummary(courseId,
+                    date == null ? LocalDate.now(ZoneOffset.UTC) : date,
+                    sessionIdUtility.getUserFromSessionId().getUser());
+            return new ResponseEntity<>(new ApiResponse<>(true, "Active students fetched successfully", summary, null),
+                    HttpStatus.OK);
+        } catch (ClassCastException e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, "User is not authenticated", null, null),
+                    HttpStatus.UNAUTHORIZED);
+        } catch (InvalidUser e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "User is not authorized", null, new String[]{e.getMessage()}),
+                    HttpStatus.FORBIDDEN);
+        } catch (CourseNotFoundException e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "Course not found", null, new String[]{e.getMessage()}),
+                    HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, e.getMessage(), null, new String[]{e.getMessage()}),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
 }
\ No newline at end of file
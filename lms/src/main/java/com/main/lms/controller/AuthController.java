@@ -18,8 +18,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.main.lms.entities.User;
+import com.main.lms.enums.ActivityType;
+import com.main.lms.enums.UserRole;
 import com.main.lms.dtos.ApiResponse;
 import com.main.lms.dtos.LoginRequest;
+import com.main.lms.services.ActivityLogService;
 import com.main.lms.services.UserService;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -37,6 +40,7 @@ public class AuthController {
 
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
+    private final ActivityLogService activityLogService;
     private final SecurityContextRepository securityContextRepository = new HttpSessionSecurityContextRepository();
 
     @PostMapping("/login")
@@ -61,6 +65,9 @@ public class AuthController {
             SecurityContextHolder.setContext(context);
 
             securityContextRepository.saveContext(context, request, response);
+            if (user.get().getRole() == UserRole.STUDENT) {
+                activityLogService.record(ActivityType.LOGGED_IN, user.get().getId(), null, null);
+            }
             return new ResponseEntity<>(
                     new ApiResponse<>(
                             true,
@@ -3,10 +3,17 @@ package com.main.lms.controller;
 import com.main.lms.dtos.ApiResponse;
 import com.main.lms.dtos.CourseRequestDTO;
 import com.main.lms.dtos.CourseResponseDTO;
+import com.main.lms.dtos.CourseSearchHitDTO;
+import com.main.lms.dtos.GradebookDTO;
+import com.main.lms.dtos.GradebookQuery;
+import com.main.lms.dtos.LeaderboardDTO;
 import com.main.lms.entities.CustomUserDetails;
 import com.main.lms.exceptions.CourseNotFoundException;
 import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.services.CourseSearchService;
 import com.main.lms.services.CourseService;
+import com.main.lms.services.GradebookService;
+import com.main.lms.services.LeaderboardService;
 import com.main.lms.utility.SessionIdUtility;
 
 import lombok.RequiredArgsConstructor;
@@ -27,6 +34,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CourseController {
     private final CourseService courseService;
+    private final GradebookService gradebookService;
+    private final CourseSearchService courseSearchService;
+    private final LeaderboardService leaderboardService;
     private final SessionIdUtility sessionIdUtility;
 
     // instructor
@@ -101,6 +111,97 @@ public class CourseController {
         }
     }
 
+    // instructor, admin
+    // e.g. /courses/1/gradebook?types=QUIZ,ASSIGNMENT&students=4,9&offset=0&limit=100
+    @GetMapping("/{id}/gradebook")
+    public ResponseEntity<ApiResponse<?>> getGradebook(@PathVariable Long id, GradebookQuery query) {
+        try {
+            GradebookDTO gradebook = gradebookService.getGradebook(id,
+                    sessionIdUtility.getUserFromSessionId().getUser(), query);
+            return new ResponseEntity<>(new ApiResponse<>(true, "Gradebook fetched successfully", gradebook, null),
+                    HttpStatus.OK);
+        } catch (ClassCastException e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "User is not authenticated", null,
+                            new String[] { "User is not authenticated" }),
+                    HttpStatus.UNAUTHORIZED);
+        } catch (InvalidUser e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "User is not authorized", null, new String[] { e.getMessage() }),
+                    HttpStatus.FORBIDDEN);
+        } catch (CourseNotFoundException e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "Course not found", null, new String[] { e.getMessage() }),
+                    HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "Invalid gradebook query", null, new String[] { e.getMessage() }),
+                    HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, e.getMessage(), null, new String[] { e.getMessage() }),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // instructor, admin
+    // Students ranked by quiz and assignment points; e.g. /courses/1/leaderboard?limit=10&studentId=4
+    @GetMapping("/{id}/leaderboard")
+    public ResponseEntity<ApiResponse<?>> getLeaderboard(@PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit, @RequestParam(required = false) Long studentId) {
+        try {
+            LeaderboardDTO leaderboard = leaderboardService.getCourseLeaderboard(id, limit, studentId,
+                    sessionIdUtility.getUserFromSessionId().getUser());
+            return new ResponseEntity<>(new ApiResponse<>(true, "Leaderboard fetched successfully", leaderboard, null),
+                    HttpStatus.OK);
+        } catch (ClassCastException e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "User is not authenticated", null,
+                            new String[] { "User is not authenticated" }),
+                    HttpStatus.UNAUTHORIZED);
+        } catch (InvalidUser e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "User is not authorized", null, new String[] { e.getMessage() }),
+                    HttpStatus.FORBIDDEN);
+        } catch (CourseNotFoundException e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "Course not found", null, new String[] { e.getMessage() }),
+                    HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, e.getMessage(), null, new String[] { e.getMessage() }),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // any
+    // e.g. /courses/search?q=intro%20algebra&limit=20
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<?>> searchCourses(@RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            List<CourseSearchHitDTO> hits = courseSearchService.search(q, limit);
+            return new ResponseEntity<>(new ApiResponse<>(true, "Courses fetched successfully", hits, null),
+                    HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, e.getMessage(), null, new String[] { e.getMessage() }),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // any
+    // completions for a search box, e.g. /courses/search/suggest?q=intro%20alg
+    @GetMapping("/search/suggest")
+    public ResponseEntity<ApiResponse<?>> suggestCourseSearches(@RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<String> suggestions = courseSearchService.suggest(q, limit);
+            return new ResponseEntity<>(new ApiResponse<>(true, "Suggestions fetched successfully", suggestions, null),
+                    HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, e.getMessage(), null, new String[] { e.getMessage() }),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
 //    // any
 //    @GetMapping
 //    public ResponseEntity<ApiResponse<List<CourseResponseDTO>>> getAllCourses() {
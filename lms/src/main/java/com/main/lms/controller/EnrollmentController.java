@@ -1,21 +1,34 @@
 package com.main.lms.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.main.lms.dtos.ApiResponse;
+import com.main.lms.dtos.BulkEnrollmentReportDTO;
+import com.main.lms.dtos.BulkEnrollmentRow;
+import com.main.lms.dtos.CourseRecommendationDTO;
 import com.main.lms.dtos.EnrollmentRequestDTO;
 import com.main.lms.dtos.EnrollmentResponseDTO;
 import com.main.lms.entities.CustomUserDetails;
+import com.main.lms.exceptions.CourseNotFoundException;
 import com.main.lms.exceptions.InvalidUser;
 import com.main.lms.exceptions.ResourceNotFoundException;
+import com.main.lms.services.BulkEnrollmentService;
+import com.main.lms.services.CourseRecommendationService;
 import com.main.lms.services.EnrollmentService;
+import com.main.lms.utility.BulkEnrollmentReader;
 import com.main.lms.utility.SessionIdUtility;
 import com.main.lms.utility.SessionIdUtility;
 import jakarta.annotation.Resource;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.web.bind.annotation.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +41,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 public class EnrollmentController {
     private final EnrollmentService enrollmentService;
     private final SessionIdUtility sessionIdUtility;
+    private final BulkEnrollmentService bulkEnrollmentService;
+    private final ObjectMapper objectMapper;
+    private final CourseRecommendationService courseRecommendationService;
 
     // student
     // SH8AAAAALAAAAA
@@ -35,6 +51,10 @@ public class EnrollmentController {
     public ResponseEntity<ApiResponse<?>> createEnrollment(@PathVariable Long courseId) {
         try {
             EnrollmentResponseDTO response = enrollmentService.addEnrollment(courseId, sessionIdUtility.getUserFromSessionId().getUser().getId());
+            if (response.getWaitlistPosition() != null) {
+                return new ResponseEntity<>(new ApiResponse<>(true, "Course is full, student added to the waitlist",
+                        response, null), HttpStatus.ACCEPTED);
+            }
             return new ResponseEntity<>(new ApiResponse<>(true, "Student Enrolled Successfully", response, null),
                     HttpStatus.CREATED);
 
@@ -49,6 +69,83 @@ public class EnrollmentController {
         }
     }
 
+    // student
+    // Courses often taken together with the student's own, for the enrollment page
+    @GetMapping("/recommendations")
+    public ResponseEntity<ApiResponse<?>> getRecommendations(@RequestParam(defaultValue = "10") int limit) {
+        try {
+            CustomUserDetails user = sessionIdUtility.getUserFromSessionId();
+            List<CourseRecommendationDTO> recommendations = courseRecommendationService
+                    .recommend(user.getUser().getId(), limit);
+            return new ResponseEntity<>(new ApiResponse<>(true, "Recommended courses", recommendations, null),
+                    HttpStatus.OK);
+        } catch (ClassCastException e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "Failed to get recommendations", null, new String[]{"User is not logged in"}),
+                    HttpStatus.UNAUTHORIZED);
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "Failed to get recommendations", null, new String[]{e.getMessage()}),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // instructor of the course, admin
+    // No capacity parameter removes the limit
+    @PutMapping("/courses/{courseId}/capacity")
+    public ResponseEntity<ApiResponse<?>> setCapacity(@PathVariable Long courseId,
+            @RequestParam(required = false) Integer capacity) {
+        try {
+            CustomUserDetails user = sessionIdUtility.getUserFromSessionId();
+            enrollmentService.setCourseCapacity(courseId, capacity, user.getUser().getId());
+            return new ResponseEntity<>(new ApiResponse<>(true, "Course capacity updated", capacity, null),
+                    HttpStatus.OK);
+        } catch (ClassCastException e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "Failed to update capacity", null, new String[]{"User is not logged in"}),
+                    HttpStatus.UNAUTHORIZED);
+        } catch (InvalidUser e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "Failed to update capacity", null, new String[]{e.getMessage()}),
+                    HttpStatus.FORBIDDEN);
+        } catch (CourseNotFoundException e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "Failed to update capacity", null, new String[]{e.getMessage()}),
+                    HttpStatus.NOT_FOUND);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "Failed to update capacity", null, new String[]{e.getMessage()}),
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // admin
+    // Registrar import: CSV (studentId,courseId per line) or JSON (array, or one object per line).
+    // Every row gets a status in the report; one bad row does not stop the rest. An upload that breaks
+    // off partway is answered with 207 and the report up to the row where it stopped.
+    @PostMapping(value = "/bulk", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<ApiResponse<?>> bulkEnroll(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        try {
+            Iterator<BulkEnrollmentRow> rows = contentType.startsWith("text/csv")
+                    ? BulkEnrollmentReader.csv(body)
+                    : BulkEnrollmentReader.json(body, objectMapper);
+            BulkEnrollmentReportDTO report = bulkEnrollmentService.enroll(rows);
+            if (report.getError() != null) {
+                // the rows before the failed one are committed, the report says which
+                return new ResponseEntity<>(new ApiResponse<>(false, "Import stopped at row " + report.getFailedRow()
+                        + ", " + report.getEnrolled() + " students enrolled before it", report,
+                        new String[]{report.getError()}), HttpStatus.MULTI_STATUS);
+            }
+            return new ResponseEntity<>(new ApiResponse<>(true, report.getEnrolled() + " of " + report.getTotal()
+                    + " students enrolled", report, null), HttpStatus.OK);
+        } catch (IOException | RuntimeException e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "Failed to import enrollments", null, new String[]{e.getMessage()}),
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
+
     // admin
     // SH8AAAAAAALAAAAAA
     @GetMapping
@@ -0,0 +1,116 @@
+package com.main.lms.controller;
+
+import com.main.lms.dtos.ApiResponse;
+import com.main.lms.dtos.GradeStatisticsDTO;
+import com.main.lms.exceptions.CourseNotFoundException;
+import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.exceptions.ResourceNotFoundException;
+import com.main.lms.services.GradeStatisticsService;
+import com.main.lms.utility.SessionIdUtility;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/analytics")
+@RequiredArgsConstructor
+public class GradeStatisticsController {
+
+    private final GradeStatisticsService gradeStatisticsService;
+    private final SessionIdUtility sessionIdUtility;
+
+    // instructor, admin
+    @GetMapping("/quizzes/{quizId}/grades")
+    public ResponseEntity<ApiResponse<?>> getQuizStatistics(@PathVariable Long quizId) {
+        try {
+            GradeStatisticsDTO statistics = gradeStatisticsService.getQuizStatistics(quizId,
+                    sessionIdUtility.getUserFromSessionId().getUser());
+            return new ResponseEntity<>(new ApiResponse<>(true, "Grade statistics fetched successfully", statistics,
+                    null), HttpStatus.OK);
+        } catch (ClassCastException e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "User is not authenticated", null,
+                            new String[] { "User is not authenticated" }),
+                    HttpStatus.UNAUTHORIZED);
+        } catch (InvalidUser e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "User is not authorized", null, new String[] { e.getMessage() }),
+                    HttpStatus.FORBIDDEN);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, "Not Found", null, new String[] { e.getMessage() }),
+                    HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, e.getMessage(), null, new String[] { e.getMessage() }),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // instructor, admin
+    @GetMapping("/assignments/{assignmentId}/grades")
+    public ResponseEntity<ApiResponse<?>> getAssignmentStatistics(@PathVariable Long assignmentId) {
+        try {
+            GradeStatisticsDTO statistics = gradeStatisticsService.getAssignmentStatistics(assignmentId,
+                    sessionIdUtility.getUserFromSessionId().getUser());
+            return new ResponseEntity<>(new ApiResponse<>(true, "Grade statistics fetched successfully", statistics,
+                    null), HttpStatus.OK);
+        } catch (ClassCastException e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "User is not authenticated", null,
+                            new String[] { "User is not authenticated" }),
+                    HttpStatus.UNAUTHORIZED);
+        } catch (InvalidUser e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "User is not authorized", null, new String[] { e.getMessage() }),
+                    HttpStatus.FORBIDDEN);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, "Not Found", null, new String[] { e.getMessage() }),
+                    HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, e.getMessage(), null, new String[] { e.getMessage() }),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // instructor, admin
+    // Every quiz and assignment grade of the course
+    @GetMapping("/courses/{courseId}/grades")
+    public ResponseEntity<ApiResponse<?>> getCourseStatistics(@PathVariable Long courseId) {
+        return getMergedStatistics(List.of(courseId));
+    }
+
+    // instructor, admin
+    // Several courses together, e.g. a department: /analytics/grades?courses=1,4,7
+    @GetMapping("/grades")
+    public ResponseEntity<ApiResponse<?>> getMergedStatistics(@RequestParam("courses") List<Long> courseIds) {
+        try {
+            GradeStatisticsDTO statistics = gradeStatisticsService.getMergedStatistics(courseIds,
+                    sessionIdUtility.getUserFromSessionId().getUser());
+            return new ResponseEntity<>(new ApiResponse<>(true, "Grade statistics fetched successfully", statistics,
+                    null), HttpStatus.OK);
+        } catch (ClassCastException e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "User is not authenticated", null,
+                            new String[] { "User is not authenticated" }),
+                    HttpStatus.UNAUTHORIZED);
+        } catch (InvalidUser e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "User is not authorized", null, new String[] { e.getMessage() }),
+                    HttpStatus.FORBIDDEN);
+        } catch (CourseNotFoundException e) {
+            return new ResponseEntity<>(
+                    new ApiResponse<>(false, "Course not found", null, new String[] { e.getMessage() }),
+                    HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, e.getMessage(), null, new String[] { e.getMessage() }),
+                    HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, e.getMessage(), null, new String[] { e.getMessage() }),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -1,20 +1,24 @@
 package com.main.lms.controller;
 
 import com.main.lms.dtos.ApiResponse;
+import com.main.lms.dtos.LessonOtpDTO;
 import com.main.lms.dtos.LessonRequestDTO;
 import com.main.lms.dtos.LessonResponseDTO;
 import com.main.lms.entities.CustomUserDetails;
 import com.main.lms.entities.Lesson;
 import com.main.lms.exceptions.InvalidUser;
 import com.main.lms.exceptions.ResourceNotFoundException;
+import com.main.lms.services.LessonOtpService;
 import com.main.lms.services.LessonService;
 import com.main.lms.utility.SessionIdUtility;
 
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -26,6 +30,7 @@ public class LessonController {
 
     private final LessonService lessonService;
     private final SessionIdUtility sessionIdUtility;
+    private final LessonOtpService lessonOtpService;
 
     // Create a new lesson
     // instructor
@@ -103,6 +108,38 @@ public class LessonController {
 
     }
 
+    // instructor of the course
+    // The code students enter right now and when it stops being shown
+    @GetMapping("/{id}/otp")
+    public ResponseEntity<ApiResponse<LessonOtpDTO>> getCurrentOtp(@PathVariable Long id) {
+        try {
+            CustomUserDetails user = sessionIdUtility.getUserFromSessionId();
+            Lesson lesson = lessonService.getLessonForOtpDisplay(id, user.getUser().getId());
+            return ResponseEntity.ok(new ApiResponse<>(true, "Current lesson code", lessonOtpService.current(lesson), null));
+        } catch (InvalidUser e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, "User is not authorized", null, new String[] { e.getMessage() }),
+                    HttpStatus.FORBIDDEN);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, "Failed to get lesson code", null, new String[] { e.getMessage() }));
+        }
+    }
+
+    // instructor of the course
+    // Live display: an "otp" server-sent event with each new code
+    @GetMapping(value = "/{id}/otp/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamOtp(@PathVariable Long id) {
+        try {
+            CustomUserDetails user = sessionIdUtility.getUserFromSessionId();
+            Lesson lesson = lessonService.getLessonForOtpDisplay(id, user.getUser().getId());
+            return ResponseEntity.ok(lessonOtpService.stream(lesson));
+        } catch (InvalidUser e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
 //    // Delete a lesson by ID
 //    @DeleteMapping("/{id}")
 //    public ResponseEntity<Void> deleteLesson(@PathVariable Long id) {
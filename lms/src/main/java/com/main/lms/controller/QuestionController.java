@@ -3,8 +3,10 @@ package com.main.lms.controller;
 import com.main.lms.dtos.ApiResponse;
 import com.main.lms.dtos.QuestionRequestDTO;
 import com.main.lms.dtos.QuestionResponseDTO;
+import com.main.lms.dtos.SimilarQuestionDTO;
 import com.main.lms.dtos.StudentPerformanceDTO;
 import com.main.lms.entities.CustomUserDetails;
+import com.main.lms.entities.Question;
 import com.main.lms.entities.User;
 import com.main.lms.enums.QuestionType;
 import com.main.lms.exceptions.CourseNotFoundException;
@@ -45,7 +47,9 @@ public class QuestionController {
         response.setSuccess(false);
         try {
             CustomUserDetails user = sessionIdUtility.getUserFromSessionId();
-            QuestionResponseDTO createdQuestion = questionService.mapToResponseDTO(questionService.createQuestion(requestDTO, user.getUser().getId()));
+            Question question = questionService.createQuestion(requestDTO, user.getUser().getId());
+            QuestionResponseDTO createdQuestion = questionService.mapToResponseDTO(question);
+            createdQuestion.setPossibleDuplicates(questionService.findPossibleDuplicates(question));
             response.setSuccess(true);
             response.setMessage("Question created successfully");
             response.setData(createdQuestion);
@@ -101,6 +105,73 @@ public class QuestionController {
         }
     }
 
+    // instructor
+    // e.g. /questions/course/1/search?q=derivative%20of&questionType=MCQ&limit=20
+    @GetMapping("/questions/course/{courseId}/search")
+    public ResponseEntity<ApiResponse<List<QuestionResponseDTO>>> searchQuestions(@PathVariable Long courseId,
+            @RequestParam String q, @RequestParam Optional<QuestionType> questionType,
+            @RequestParam(defaultValue = "20") int limit) {
+        ApiResponse<List<QuestionResponseDTO>> response = new ApiResponse<>();
+        response.setSuccess(false);
+        try {
+            CustomUserDetails user = sessionIdUtility.getUserFromSessionId();
+            List<QuestionResponseDTO> questions = questionService.searchQuestions(courseId, q, questionType, limit,
+                            user.getUser().getId())
+                    .stream()
+                    .map(questionService::mapToResponseDTO)
+                    .toList();
+
+            response.setSuccess(true);
+            response.setMessage("Questions fetched successfully");
+            response.setData(questions);
+            return ResponseEntity.ok(response);
+        } catch (ClassCastException e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, "User is not authenticated", null, null),
+                    HttpStatus.UNAUTHORIZED);
+        } catch (InvalidUser e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, "User is not authorized", null, new String[]{e.getMessage()}),
+                    HttpStatus.FORBIDDEN);
+        } catch (CourseNotFoundException ex) {
+            response.setMessage("Not Found");
+            response.setErrors(new String[]{ex.getMessage()});
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        } catch (Exception ex) {
+            response.setMessage("Internal Server Error");
+            response.setErrors(new String[]{ex.getMessage()});
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    // instructor
+    @GetMapping("/questions/{id}/similar")
+    public ResponseEntity<ApiResponse<List<SimilarQuestionDTO>>> getSimilarQuestions(@PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit) {
+        ApiResponse<List<SimilarQuestionDTO>> response = new ApiResponse<>();
+        response.setSuccess(false);
+        try {
+            CustomUserDetails user = sessionIdUtility.getUserFromSessionId();
+            List<SimilarQuestionDTO> similar = questionService.getSimilarQuestions(id, limit, user.getUser().getId());
+            response.setSuccess(true);
+            response.setMessage("Similar questions fetched successfully");
+            response.setData(similar);
+            return ResponseEntity.ok(response);
+        } catch (ClassCastException e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, "User is not authenticated", null, null),
+                    HttpStatus.UNAUTHORIZED);
+        } catch (InvalidUser e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, "User is not authorized", null, new String[]{e.getMessage()}),
+                    HttpStatus.FORBIDDEN);
+        } catch (ResourceNotFoundException ex) {
+            response.setMessage("Not Found");
+            response.setErrors(new String[]{ex.getMessage()});
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        } catch (Exception ex) {
+            response.setMessage("Internal Server Error");
+            response.setErrors(new String[]{ex.getMessage()});
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     // sh8aalaa
     @GetMapping("/questions/{id}")
     public ResponseEntity<ApiResponse<QuestionResponseDTO>> getQuestionById(@PathVariable Long id) {
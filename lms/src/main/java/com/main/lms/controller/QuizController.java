@@ -5,6 +5,7 @@ import com.main.lms.entities.User;
 import com.main.lms.exceptions.InvalidUser;
 import com.main.lms.exceptions.ResourceNotFoundException;
 import com.main.lms.entities.CustomUserDetails;
+import com.main.lms.services.LeaderboardService;
 import com.main.lms.services.QuizService;
 import com.main.lms.utility.SessionIdUtility;
 import lombok.RequiredArgsConstructor;
@@ -13,7 +14,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/quizzes")
@@ -21,6 +21,7 @@ import java.util.stream.Collectors;
 public class QuizController {
     private final QuizService quizService;
     private final SessionIdUtility sessionIdUtility;
+    private final LeaderboardService leaderboardService;
 
     // sh8aalaa
     @GetMapping("/{quizId}")
@@ -142,6 +143,38 @@ public class QuizController {
         }
     }
 
+    // instructor, admin
+    // e.g. /quizzes/3/leaderboard?limit=10&studentId=4
+    @GetMapping("/{quizId}/leaderboard")
+    public ResponseEntity<ApiResponse<LeaderboardDTO>> getQuizLeaderboard(@PathVariable Long quizId,
+            @RequestParam(defaultValue = "10") int limit, @RequestParam(required = false) Long studentId) {
+        ApiResponse<LeaderboardDTO> response = new ApiResponse<>();
+        response.setSuccess(false);
+        try {
+            CustomUserDetails user = sessionIdUtility.getUserFromSessionId();
+            response.setSuccess(true);
+            response.setMessage("Leaderboard fetched successfully");
+            response.setData(leaderboardService.getQuizLeaderboard(quizId, limit, studentId, user.getUser()));
+            return ResponseEntity.ok(response);
+        } catch (ClassCastException e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, "User is not authenticated", null, null),
+                    HttpStatus.UNAUTHORIZED);
+        } catch (InvalidUser e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, "User is not authorized", null, new String[] { e.getMessage() }),
+                    HttpStatus.FORBIDDEN);
+        } catch (ResourceNotFoundException e) {
+            response.setSuccess(false);
+            response.setMessage(e.getMessage());
+            response.setErrors(new String[]{e.getMessage()});
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        } catch (Exception e) {
+            response.setSuccess(false);
+            response.setMessage(e.getMessage());
+            response.setErrors(new String[]{e.getMessage()});
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
     @GetMapping("/courses/{courseId}")
     public ResponseEntity<ApiResponse<List<Long>>> getQuizzesForCourse(@PathVariable Long courseId) {
         ApiResponse<List<Long>> response = new ApiResponse<>();
@@ -149,9 +182,7 @@ public class QuizController {
         try {
             User user = sessionIdUtility.getUserFromSessionId().getUser();
 
-            List<Long> quizzes = quizService.getQuizzesForCourse(courseId, user).stream()
-                    .map(quiz -> quiz.getQuizId())
-                    .collect(Collectors.toList());
+            List<Long> quizzes = quizService.getQuizIdsForCourse(courseId, user);
 
             response.setSuccess(true);
             response.setMessage("Quizzes fetched successfully");
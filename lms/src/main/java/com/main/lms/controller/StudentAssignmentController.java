@@ -2,13 +2,23 @@ package com.main.lms.controller;
 
 import com.main.lms.dtos.*;
 import com.main.lms.entities.CustomUserDetails;
+import com.main.lms.enums.SimilarityReportStatus;
 import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.exceptions.ResourceNotFoundException;
+import com.main.lms.services.BulkGradingService;
 import com.main.lms.services.StudentAssignmentService;
+import com.main.lms.services.SubmissionSimilarityService;
+import com.main.lms.utility.BulkGradeReader;
 import com.main.lms.utility.SessionIdUtility;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import lombok.RequiredArgsConstructor;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -27,6 +37,9 @@ public class StudentAssignmentController {
 
         private final StudentAssignmentService studentAssignmentService;
         private final SessionIdUtility sessiondIdUtility;
+        private final BulkGradingService bulkGradingService;
+        private final ObjectMapper objectMapper;
+        private final SubmissionSimilarityService submissionSimilarityService;
 
         // student
         //sh8aaalaa
@@ -212,4 +225,72 @@ public class StudentAssignmentController {
                                         HttpStatus.INTERNAL_SERVER_ERROR);
                 }
         }
+
+        // instructor only
+        // Graded sheet: CSV (submissionId,grade,feedback per line) or JSON (array, or one object per line).
+        // Every row gets a status in the report; one bad row does not stop the rest. A sheet that breaks
+        // off partway is answered with 207 and the report up to the row where it stopped.
+        @PutMapping(value = "/grades", consumes = { "text/csv", MediaType.APPLICATION_JSON_VALUE,
+                        "application/x-ndjson" })
+        public ResponseEntity<ApiResponse<?>> gradeStudentAssignments(
+                        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+                try {
+                        Long userId = sessiondIdUtility.getUserFromSessionId().getUser().getId();
+                        Iterator<BulkGradeRow> rows = contentType.startsWith("text/csv")
+                                        ? BulkGradeReader.csv(body)
+                                        : BulkGradeReader.json(body, objectMapper);
+                        BulkGradeReportDTO report = bulkGradingService.grade(rows, userId);
+                        if (report.getError() != null) {
+                                // the rows before the failed one are committed, the report says which
+                                return new ResponseEntity<>(new ApiResponse<>(false, "Grading stopped at row "
+                                                + report.getFailedRow() + ", " + report.getGraded()
+                                                + " submissions graded before it", report,
+                                                new String[] { report.getError() }), HttpStatus.MULTI_STATUS);
+                        }
+                        return new ResponseEntity<>(new ApiResponse<>(true, report.getGraded() + " of "
+                                        + report.getTotal() + " submissions graded", report, null), HttpStatus.OK);
+                } catch (ClassCastException e) {
+                        return new ResponseEntity<>(
+                                        new ApiResponse<>(false, "User is not authenticated", null, null),
+                                        HttpStatus.UNAUTHORIZED);
+                } catch (IOException | RuntimeException e) {
+                        return new ResponseEntity<>(
+                                        new ApiResponse<>(false, "Failed to import grades", null,
+                                                        new String[] { e.getMessage() }),
+                                        HttpStatus.BAD_REQUEST);
+                }
+        }
+
+        // instructor only
+        // Submissions to the assignment that look copied from each other. 202 while the report is
+        // being computed; it then carries the previous run's pairs, if any.
+        @GetMapping("/assignments/{assignmentId}/similarity")
+        public ResponseEntity<ApiResponse<?>> getSimilarityReport(@PathVariable Long assignmentId) {
+                try {
+                        Long userId = sessiondIdUtility.getUserFromSessionId().getUser().getId();
+                        SimilarityReportDTO report = submissionSimilarityService.getReport(assignmentId, userId);
+                        boolean running = report.getStatus() == SimilarityReportStatus.RUNNING;
+                        return new ResponseEntity<>(new ApiResponse<>(true,
+                                        running ? "Similarity report is being computed" : "Similarity report fetched",
+                                        report, null), running ? HttpStatus.ACCEPTED : HttpStatus.OK);
+                } catch (ClassCastException e) {
+                        return new ResponseEntity<>(
+                                        new ApiResponse<>(false, "User is not authenticated", null, null),
+                                        HttpStatus.UNAUTHORIZED);
+                } catch (InvalidUser e) {
+                        return new ResponseEntity<>(
+                                        new ApiResponse<>(false, "User is not authorized", null,
+                                                        new String[] { e.getMessage() }),
+                                        HttpStatus.FORBIDDEN);
+                } catch (ResourceNotFoundException e) {
+                        return new ResponseEntity<>(
+                                        new ApiResponse<>(false, "Assignment not found", null,
+                                                        new String[] { e.getMessage() }),
+                                        HttpStatus.NOT_FOUND);
+                } catch (Exception e) {
+                        return new ResponseEntity<>(
+                                        new ApiResponse<>(false, e.getMessage(), null, new String[] { e.getMessage() }),
+                                        HttpStatus.INTERNAL_SERVER_ERROR);
+                }
+        }
 }
@@ -4,6 +4,7 @@ import com.main.lms.dtos.*;
 import com.main.lms.entities.CustomUserDetails;
 import com.main.lms.exceptions.ResourceNotFoundException;
 import com.main.lms.services.QuizService;
+import com.main.lms.services.StudentDashboardService;
 import com.main.lms.utility.SessionIdUtility;
 
 import lombok.RequiredArgsConstructor;
@@ -19,6 +20,21 @@ import java.util.List;
 public class StudentController {
     private final QuizService quizService;
     private final SessionIdUtility sessionIdUtility;
+    private final StudentDashboardService studentDashboardService;
+
+    // student
+    // Replaces the separate enrollments, assignments, grades, attendance and unread notification calls
+    @GetMapping("/me/dashboard")
+    public ResponseEntity<ApiResponse<StudentDashboardDTO>> getDashboardForCurrentUser() {
+        try {
+            CustomUserDetails user = sessionIdUtility.getUserFromSessionId();
+            StudentDashboardDTO dashboard = studentDashboardService.getDashboard(user.getUser().getId());
+            return ResponseEntity.ok(new ApiResponse<>(true, "Dashboard fetched successfully", dashboard, null));
+        } catch (ClassCastException e) {
+            return new ResponseEntity<>(new ApiResponse<>(false, "User is not authenticated", null, null),
+                    HttpStatus.UNAUTHORIZED);
+        }
+    }
 
     @GetMapping("/me/quiz-grades")
     public ResponseEntity<ApiResponse<List<GradeDTO>>> getQuizGradesForCurrentUser() {
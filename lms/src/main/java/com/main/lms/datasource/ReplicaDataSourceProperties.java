@@ -0,0 +1,32 @@
+package com.main.lms.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Read replica used for {@code @Transactional(readOnly = true)} work. Routing is only
+ * enabled when {@code lms.datasource.replica.url} is set; username, password and driver
+ * default to the primary's.
+ */
+@Data
+@ConfigurationProperties(prefix = "lms.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private String driverClassName;
+
+    private int maximumPoolSize = 10;
+
+    // Read-only work goes back to the primary while the replica is further behind than this
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // How often the replica's lag is measured
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,86 @@
+package com.main.lms.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether the replica is fresh enough to serve reads. The lag is measured at most
+ * once per check interval by whichever caller gets there first; everyone else reuses the
+ * last answer. A failed or unknown measurement counts as too far behind.
+ */
+@Slf4j
+public class ReplicaLagGuard {
+
+    @FunctionalInterface
+    public interface LagProbe {
+        // null when the lag is unknown, e.g. replication is stopped
+        Duration lag(DataSource replica) throws SQLException;
+    }
+
+    private final DataSource replica;
+    private final LagProbe probe;
+    private final Duration maxLag;
+    private final long checkIntervalNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong nextCheck;
+    private volatile boolean usable;
+
+    public ReplicaLagGuard(DataSource replica, LagProbe probe, Duration maxLag, Duration checkInterval) {
+        this(replica, probe, maxLag, checkInterval, System::nanoTime);
+    }
+
+    ReplicaLagGuard(DataSource replica, LagProbe probe, Duration maxLag, Duration checkInterval, LongSupplier nanoClock) {
+        this.replica = replica;
+        this.probe = probe;
+        this.maxLag = maxLag;
+        this.checkIntervalNanos = checkInterval.toNanos();
+        this.nanoClock = nanoClock;
+        this.nextCheck = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    public boolean replicaUsable() {
+        long now = nanoClock.getAsLong();
+        long next = nextCheck.get();
+        if (now - next >= 0 && nextCheck.compareAndSet(next, now + checkIntervalNanos)) {
+            usable = measure();
+        }
+        return usable;
+    }
+
+    private boolean measure() {
+        try {
+            Duration lag = probe.lag(replica);
+            boolean withinLimit = lag != null && lag.compareTo(maxLag) <= 0;
+            if (usable && !withinLimit) {
+                log.warn("Replica lag {} exceeds {}, reading from primary", lag, maxLag);
+            }
+            return withinLimit;
+        } catch (SQLException e) {
+            if (usable) {
+                log.warn("Replica lag check failed, reading from primary: {}", e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    // MySQL 8.0.22+. A server that is not replicating reports no rows and has no lag.
+    public static Duration mysqlReplicaLag(DataSource replica) throws SQLException {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!rs.next()) {
+                return Duration.ZERO;
+            }
+            long seconds = rs.getLong("Seconds_Behind_Source");
+            return rs.wasNull() ? null : Duration.ofSeconds(seconds);
+        }
+    }
+}
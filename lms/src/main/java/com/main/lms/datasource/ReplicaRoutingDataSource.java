@@ -0,0 +1,41 @@
+package com.main.lms.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to the replica while it is within the lag
+ * limit, everything else to the primary. Must sit behind a LazyConnectionDataSourceProxy:
+ * the transaction manager asks for a connection before the read-only flag of the new
+ * transaction is visible, the proxy defers the lookup to the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagGuard lagGuard;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagGuard lagGuard) {
+        this.lagGuard = lagGuard;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Target.PRIMARY, primary);
+        targets.put(Target.REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && lagGuard.replicaUsable()) {
+            return Target.REPLICA;
+        }
+        return Target.PRIMARY;
+    }
+}
@@ -0,0 +1,17 @@
+package com.main.lms.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+// Estimated distinct students active on the day, the 7 days and the 30 days ending with it
+@Data
+@AllArgsConstructor
+public class ActiveStudentSummaryDTO {
+    private Long courseId;
+    private LocalDate date;
+    private long daily;
+    private long weekly;
+    private long monthly;
+}
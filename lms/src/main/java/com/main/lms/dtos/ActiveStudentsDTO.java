@@ -0,0 +1,17 @@
+package com.main.lms.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+// Estimated distinct students active from one day to another, both included; no course is the
+// whole platform
+@Data
+@AllArgsConstructor
+public class ActiveStudentsDTO {
+    private Long courseId;
+    private LocalDate from;
+    private LocalDate to;
+    private long activeStudents;
+}
@@ -0,0 +1,23 @@
+package com.main.lms.dtos;
+
+import com.main.lms.enums.ActivityType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+// Events of one type in one rollup bucket, filled by a JPQL constructor query
+@Data
+@AllArgsConstructor
+public class ActivityBucketDTO {
+    private Instant bucketStart;
+    private ActivityType type;
+    private long count;
+
+    public ActivityBucketDTO(Long bucketStart, ActivityType type, Number count) {
+        this.bucketStart = Instant.ofEpochMilli(bucketStart);
+        this.type = type;
+        this.count = count == null ? 0 : count.longValue();
+    }
+}
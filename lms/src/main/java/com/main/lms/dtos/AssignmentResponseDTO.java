@@ -24,4 +24,14 @@ public class AssignmentResponseDTO {
         assignmentResponseDTO.setMaxGrade(maxGrade);
         return assignmentResponseDTO;
     }
+
+    public static AssignmentResponseDTO mapToResponseDTO(AssignmentRow row) {
+        AssignmentResponseDTO assignmentResponseDTO = new AssignmentResponseDTO();
+        assignmentResponseDTO.setId(row.getAssignmentId());
+        assignmentResponseDTO.setCourse(CourseResponseDTO.mapToResponseDTO(row.getCourseId(), row.getInstructorName(),
+                row.getCourseTitle(), row.getCourseDuration(), row.getCourseDescription()));
+        assignmentResponseDTO.setInstructions(row.getInstructions());
+        assignmentResponseDTO.setMaxGrade(row.getMaxGrade());
+        return assignmentResponseDTO;
+    }
 }
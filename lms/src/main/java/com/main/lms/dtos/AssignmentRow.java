@@ -0,0 +1,18 @@
+package com.main.lms.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Flat read model for assignment lists, filled by a single JPQL constructor query
+@Data
+@AllArgsConstructor
+public class AssignmentRow {
+    private Long assignmentId;
+    private Long courseId;
+    private String instructorName;
+    private String courseTitle;
+    private String courseDuration;
+    private String courseDescription;
+    private String instructions;
+    private int maxGrade;
+}
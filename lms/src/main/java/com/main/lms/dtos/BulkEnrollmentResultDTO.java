@@ -0,0 +1,14 @@
+package com.main.lms.dtos;
+
+import com.main.lms.enums.BulkEnrollmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkEnrollmentResultDTO {
+    private int row;
+    private Long studentId;
+    private Long courseId;
+    private BulkEnrollmentStatus status;
+}
@@ -0,0 +1,18 @@
+package com.main.lms.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One line of a bulk enrollment upload
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BulkEnrollmentRow {
+    private int row; // 1-based position in the upload, header excluded
+    private Long studentId;
+    private Long courseId;
+    private String error; // set when the line could not be parsed
+}
@@ -0,0 +1,33 @@
+package com.main.lms.dtos;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkGradeReportDTO {
+    private int total;
+    private int graded;
+    private int rejected;
+    private List<BulkGradeResultDTO> results = new ArrayList<>();
+    // Set when grading stopped early: the first row without a result and why.
+    // The rows reported before it are committed.
+    private Integer failedRow;
+    private String error;
+
+    public void add(BulkGradeResultDTO result) {
+        results.add(result);
+        total++;
+        if (result.getStatus().isSuccess()) {
+            graded++;
+        } else {
+            rejected++;
+        }
+    }
+
+    public void fail(RuntimeException cause) {
+        failedRow = results.isEmpty() ? 1 : results.get(results.size() - 1).getRow() + 1;
+        error = cause.getMessage();
+    }
+}
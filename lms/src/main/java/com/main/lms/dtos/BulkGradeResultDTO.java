@@ -0,0 +1,13 @@
+package com.main.lms.dtos;
+
+import com.main.lms.enums.BulkGradeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkGradeResultDTO {
+    private int row;
+    private Long submissionId;
+    private BulkGradeStatus status;
+}
@@ -0,0 +1,19 @@
+package com.main.lms.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One line of a graded sheet
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BulkGradeRow {
+    private int row; // 1-based position in the upload, header excluded
+    private Long submissionId;
+    private Long grade;
+    private String feedback; // null keeps the current feedback
+    private String error; // set when the line could not be parsed
+}
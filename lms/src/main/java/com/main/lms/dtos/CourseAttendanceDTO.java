@@ -0,0 +1,14 @@
+package com.main.lms.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// A student's attendance in one enrolled course, filled by a single JPQL constructor query
+@Data
+@AllArgsConstructor
+public class CourseAttendanceDTO {
+    private Long courseId;
+    private String courseTitle;
+    private Long totalLessons;
+    private Long attendedLessons;
+}
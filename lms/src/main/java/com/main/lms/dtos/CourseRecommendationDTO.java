@@ -0,0 +1,13 @@
+package com.main.lms.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// A course suggested to a student; score sums the course's similarity to each course the student
+// takes, 0 for popular courses filling out a short list
+@Data
+@AllArgsConstructor
+public class CourseRecommendationDTO {
+    private Long courseId;
+    private double score;
+}
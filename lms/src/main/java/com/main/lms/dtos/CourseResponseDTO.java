@@ -4,11 +4,13 @@ import java.util.List;
 
 import com.main.lms.entities.Course;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 
 @Data
 @RequiredArgsConstructor
+@AllArgsConstructor
 public class CourseResponseDTO {
     private Long id;
     private String instructorName;
@@ -25,4 +27,15 @@ public class CourseResponseDTO {
         courseResponseDTO.setDescription(course.getDescription());
         return courseResponseDTO;
     }
+
+    public static CourseResponseDTO mapToResponseDTO(Long id, String instructorName, String title, String duration,
+            String description) {
+        CourseResponseDTO courseResponseDTO = new CourseResponseDTO();
+        courseResponseDTO.setId(id);
+        courseResponseDTO.setInstructorName(instructorName);
+        courseResponseDTO.setTitle(title);
+        courseResponseDTO.setDuration(duration);
+        courseResponseDTO.setDescription(description);
+        return courseResponseDTO;
+    }
 }
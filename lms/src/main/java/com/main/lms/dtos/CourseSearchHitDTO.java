@@ -0,0 +1,12 @@
+package com.main.lms.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// One catalog search result; scores only compare within the same search
+@Data
+@AllArgsConstructor
+public class CourseSearchHitDTO {
+    private CourseResponseDTO course;
+    private double score;
+}
@@ -0,0 +1,12 @@
+package com.main.lms.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// (student, course) pair of an enrollment, filled by EnrolledCourseRepository.findKeys
+@Data
+@AllArgsConstructor
+public class EnrollmentKey {
+    private Long studentId;
+    private Long courseId;
+}
@@ -12,6 +12,8 @@ public class EnrollmentResponseDTO {
     private String courseTitle;
     private Long courseId;
     private boolean isConfirmed;
+    // set while the student is waiting for a seat, 1 being next in line
+    private Long waitlistPosition;
 
     public EnrollmentResponseDTO() {
     }
@@ -23,4 +25,14 @@ public class EnrollmentResponseDTO {
         this.courseId = course.getId();
         this.isConfirmed = isConfirmed;
     }
+
+    // Used by the JPQL constructor queries in EnrolledCourseRepository
+    public EnrollmentResponseDTO(Long studentId, String studentName, String courseTitle, Long courseId,
+            Boolean isConfirmed) {
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.courseTitle = courseTitle;
+        this.courseId = courseId;
+        this.isConfirmed = Boolean.TRUE.equals(isConfirmed);
+    }
 }
@@ -0,0 +1,17 @@
+package com.main.lms.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Flat read model for enrollment listings and exports, filled by a single JPQL constructor query
+@Data
+@AllArgsConstructor
+public class EnrollmentRow {
+    private Long id;
+    private Long studentId;
+    private String studentName;
+    private Long courseId;
+    private String courseTitle;
+    private Boolean isConfirmed;
+    private Boolean isCompleted;
+}
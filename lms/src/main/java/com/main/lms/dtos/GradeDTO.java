@@ -1,11 +1,21 @@
 package com.main.lms.dtos;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 public class GradeDTO {
     private Long studentId;
     private Long quizId;
     private Double grade;
     private int maxGrade;
+
+    // Used by the JPQL constructor query in StudentQuizRepository
+    public GradeDTO(Long studentId, Long quizId, Double grade, Number maxGrade) {
+        this.studentId = studentId;
+        this.quizId = quizId;
+        this.grade = grade;
+        this.maxGrade = maxGrade == null ? 0 : maxGrade.intValue();
+    }
 }
@@ -0,0 +1,21 @@
+package com.main.lms.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Grade distribution of a quiz, an assignment, a course or several courses, in percent of the
+// item's maximum; the statistics are null while nothing is graded. histogram[i] counts the grades
+// from 10 * i up to 10 * (i + 1) percent, 100 falling in the last bucket
+@Data
+@AllArgsConstructor
+public class GradeStatisticsDTO {
+    private long count;
+    private Double mean;
+    private Double min;
+    private Double p25;
+    private Double median;
+    private Double p75;
+    private Double p90;
+    private Double max;
+    private long[] histogram;
+}
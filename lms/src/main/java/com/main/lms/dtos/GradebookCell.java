@@ -0,0 +1,18 @@
+package com.main.lms.dtos;
+
+import lombok.Data;
+
+// One graded (or attended) item of one student, filled by a JPQL constructor query
+@Data
+public class GradebookCell {
+    private Long studentId;
+    private Long itemId;
+    // NaN when the item was submitted but not graded yet
+    private double score;
+
+    public GradebookCell(Long studentId, Long itemId, Number score) {
+        this.studentId = studentId;
+        this.itemId = itemId;
+        this.score = score == null ? Double.NaN : score.doubleValue();
+    }
+}
@@ -0,0 +1,15 @@
+package com.main.lms.dtos;
+
+import lombok.Data;
+
+// One gradebook column (a quiz, assignment or lesson of the course), filled by a JPQL constructor query
+@Data
+public class GradebookColumn {
+    private Long itemId;
+    private double maxScore;
+
+    public GradebookColumn(Long itemId, Number maxScore) {
+        this.itemId = itemId;
+        this.maxScore = maxScore == null ? 0 : maxScore.doubleValue();
+    }
+}
@@ -0,0 +1,25 @@
+package com.main.lms.dtos;
+
+import com.main.lms.enums.GradebookItemType;
+
+import lombok.Data;
+
+// A page of the course gradebook in columnar form: row headers, column headers and a score
+// matrix as parallel arrays. scores[row][column] is null when the student has no grade for it.
+@Data
+public class GradebookDTO {
+    private Long courseId;
+    // matching rows and columns before paging
+    private int totalStudents;
+    private int totalColumns;
+    private int offset;
+    private int columnOffset;
+    // null when this page holds the last rows
+    private Integer nextOffset;
+    private long[] studentIds;
+    private String[] studentNames;
+    private GradebookItemType[] columnTypes;
+    private long[] columnIds;
+    private double[] maxScores;
+    private Double[][] scores;
+}
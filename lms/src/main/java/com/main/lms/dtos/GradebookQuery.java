@@ -0,0 +1,20 @@
+package com.main.lms.dtos;
+
+import com.main.lms.enums.GradebookItemType;
+
+import lombok.Data;
+
+import java.util.List;
+
+// Gradebook filters and paging, bound from the query string
+@Data
+public class GradebookQuery {
+    // columns of these kinds only; all kinds when empty
+    private List<GradebookItemType> types;
+    // rows of these students only; every enrolled student when empty
+    private List<Long> students;
+    private int offset = 0;
+    private int limit = 100;
+    private int columnOffset = 0;
+    private int columnLimit = 200;
+}
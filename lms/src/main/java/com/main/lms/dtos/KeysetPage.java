@@ -0,0 +1,15 @@
+package com.main.lms.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// One page of a keyset-paginated listing; pass nextAfter as ?after= to fetch the next page
+@Data
+@AllArgsConstructor
+public class KeysetPage<T> {
+    private List<T> items;
+    // null when this page was the last one
+    private Long nextAfter;
+}
@@ -0,0 +1,15 @@
+package com.main.lms.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// Top of a quiz or course leaderboard; student is the requested student's place, if asked for and ranked
+@Data
+@AllArgsConstructor
+public class LeaderboardDTO {
+    private int participants;
+    private List<LeaderboardEntryDTO> top;
+    private LeaderboardEntryDTO student;
+}
@@ -0,0 +1,13 @@
+package com.main.lms.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LeaderboardEntryDTO {
+    // students with equal scores share a rank
+    private int rank;
+    private Long studentId;
+    private double score;
+}
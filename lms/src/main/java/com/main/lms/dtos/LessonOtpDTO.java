@@ -0,0 +1,14 @@
+package com.main.lms.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+public class LessonOtpDTO {
+    private Long lessonId;
+    private String code;
+    private Instant validUntil;
+}
@@ -15,4 +15,10 @@ public class LessonResponseDTO {
         this.lessonId = lesson.getLessonId();
         this.CourseTitle = lesson.getCourse().getTitle();
     }
+
+    // Used by the JPQL constructor queries in LessonRepository
+    public LessonResponseDTO(Long lessonId, String courseTitle) {
+        this.lessonId = lessonId;
+        this.CourseTitle = courseTitle;
+    }
 }
@@ -0,0 +1,15 @@
+package com.main.lms.dtos;
+
+import com.main.lms.enums.QuestionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// The parts of a question the per-course question bank index keeps, loaded with one JPQL constructor query
+@Data
+@AllArgsConstructor
+public class QuestionBankEntry {
+    private Long questionId;
+    private String content;
+    private QuestionType type;
+}
@@ -3,6 +3,8 @@ package com.main.lms.dtos;
 import com.main.lms.enums.QuestionType;
 import lombok.Data;
 
+import java.util.List;
+
 @Data
 public class QuestionResponseDTO {
     private Long questionId;
@@ -10,4 +12,6 @@ public class QuestionResponseDTO {
     private QuestionType type;
     private String courseTitle;
     private String answer;
+    // Set when the question is created: existing questions of the course worded almost the same
+    private List<SimilarQuestionDTO> possibleDuplicates;
 }
@@ -0,0 +1,16 @@
+package com.main.lms.dtos;
+
+import com.main.lms.enums.QuestionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// A question whose wording overlaps another's; similarity is the estimated Jaccard similarity, 0 to 1
+@Data
+@AllArgsConstructor
+public class SimilarQuestionDTO {
+    private Long questionId;
+    private String content;
+    private QuestionType type;
+    private double similarity;
+}
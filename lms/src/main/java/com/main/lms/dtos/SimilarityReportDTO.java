@@ -0,0 +1,24 @@
+package com.main.lms.dtos;
+
+import com.main.lms.enums.SimilarityReportStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class SimilarityReportDTO {
+    private Long assignmentId;
+    private SimilarityReportStatus status;
+    // when the pairs were computed, null before the first run finishes
+    private Instant computedAt;
+    // submissions with readable text that were compared
+    private int submissions;
+    // most similar first
+    private List<SubmissionPairDTO> pairs;
+    // submissions whose files could not be read, left out of the comparison
+    private List<Long> unreadable;
+}
@@ -13,6 +13,7 @@ public class StudentAssignmentResponseDTO {
     private CourseResponseDTO course;
     private UserResponseDTO student;
     private long Grade;
+    private boolean graded;
     private double score;
     private String feedback;
 
@@ -24,8 +25,26 @@ public class StudentAssignmentResponseDTO {
         studentAssignmentResponseDTO.setCourse(courseResponseDTO);
         studentAssignmentResponseDTO.setStudent(studentResponseDTO);
         studentAssignmentResponseDTO.setGrade(studentAssignment.getGrade());
+        studentAssignmentResponseDTO.setGraded(studentAssignment.isGraded());
         studentAssignmentResponseDTO.setScore(((double)studentAssignment.getGrade()/(double)studentAssignment.getAssignment().getMaxGrade())*100);
         studentAssignmentResponseDTO.setFeedback(studentAssignment.getFeedback());
         return studentAssignmentResponseDTO;
     }
+
+    public static StudentAssignmentResponseDTO mapToResponseDTO(StudentAssignmentRow row) {
+        UserResponseDTO studentResponseDTO = new UserResponseDTO();
+        studentResponseDTO.setName(row.getStudentName());
+        studentResponseDTO.setEmail(row.getStudentEmail());
+        studentResponseDTO.setRole(row.getStudentRole().name());
+        StudentAssignmentResponseDTO studentAssignmentResponseDTO = new StudentAssignmentResponseDTO();
+        studentAssignmentResponseDTO.setId(row.getId());
+        studentAssignmentResponseDTO.setCourse(CourseResponseDTO.mapToResponseDTO(row.getCourseId(),
+                row.getInstructorName(), row.getCourseTitle(), row.getCourseDuration(), row.getCourseDescription()));
+        studentAssignmentResponseDTO.setStudent(studentResponseDTO);
+        studentAssignmentResponseDTO.setGrade(row.getGrade());
+        studentAssignmentResponseDTO.setGraded(row.isGraded());
+        studentAssignmentResponseDTO.setScore(((double) row.getGrade() / (double) row.getMaxGrade()) * 100);
+        studentAssignmentResponseDTO.setFeedback(row.getFeedback());
+        return studentAssignmentResponseDTO;
+    }
 }
@@ -0,0 +1,25 @@
+package com.main.lms.dtos;
+
+import com.main.lms.enums.UserRole;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Flat read model for student assignment lists, filled by a single JPQL constructor query
+@Data
+@AllArgsConstructor
+public class StudentAssignmentRow {
+    private Long id;
+    private Long courseId;
+    private String instructorName;
+    private String courseTitle;
+    private String courseDuration;
+    private String courseDescription;
+    private String studentName;
+    private String studentEmail;
+    private UserRole studentRole;
+    private long grade;
+    private boolean graded;
+    private int maxGrade;
+    private String feedback;
+}
@@ -0,0 +1,21 @@
+package com.main.lms.dtos;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Everything the student home page shows, in one response
+@Data
+public class StudentDashboardDTO {
+    private Long studentId;
+    private List<EnrollmentResponseDTO> enrollments;
+    // assignments of enrolled courses the student has not started yet
+    private List<AssignmentResponseDTO> pendingAssignments;
+    // latest quiz grades, newest first
+    private List<GradeDTO> recentGrades;
+    private List<CourseAttendanceDTO> attendance;
+    private Long unreadNotifications;
+    // sections that failed or missed the deadline; they are null above
+    private List<String> unavailable = new ArrayList<>();
+}
@@ -0,0 +1,16 @@
+package com.main.lms.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Two submissions to the same assignment whose files overlap; similarity is the estimated Jaccard
+// similarity of their five-word shingles, 0 to 1
+@Data
+@AllArgsConstructor
+public class SubmissionPairDTO {
+    private Long firstSubmissionId;
+    private Long firstStudentId;
+    private Long secondSubmissionId;
+    private Long secondStudentId;
+    private double similarity;
+}
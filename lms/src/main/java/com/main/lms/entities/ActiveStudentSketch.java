@@ -0,0 +1,36 @@
+package com.main.lms.entities;
+
+import com.main.lms.utility.HyperLogLog;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+// HyperLogLog sketch of the students active in one course on one UTC day, built from the activity
+// log by ActiveStudentService. Course 0 holds the whole platform, logins included.
+@Entity
+@Data
+@Table(name = "active_student_sketch",
+        uniqueConstraints = @UniqueConstraint(name = "uk_active_student_sketch_day",
+                columnNames = { "course_id", "activity_day" }))
+public class ActiveStudentSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "activity_day", nullable = false)
+    private LocalDate day;
+
+    // HyperLogLog.toBytes: three bytes per register set, at most MAX_BYTES
+    @Column(nullable = false, length = HyperLogLog.MAX_BYTES)
+    private byte[] registers;
+
+    // rollups from several instances merge into the same rows
+    @Version
+    private Long version;
+}
@@ -0,0 +1,23 @@
+package com.main.lms.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// How far an instance has rolled up its activity log. Saved in the same transaction as the
+// rollup counts, so a failed rollup is redone from here and no event is counted twice.
+@Entity
+@Data
+@Table(name = "activity_log_checkpoint")
+public class ActivityLogCheckpoint {
+
+    // lms.activity.node of the instance owning the log
+    @Id
+    @Column(length = 64)
+    private String node;
+
+    @Column(nullable = false)
+    private Long segment;
+
+    @Column(name = "segment_offset", nullable = false)
+    private Long offset;
+}
@@ -0,0 +1,45 @@
+package com.main.lms.entities;
+
+import com.main.lms.enums.ActivityGranularity;
+import com.main.lms.enums.ActivityType;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Number of activity events of one type in one course over one minute, hour or day, rolled up
+// from the activity log by ActivityRollupService
+@Entity
+@Data
+@Table(name = "activity_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_activity_rollup_bucket",
+                columnNames = { "granularity", "bucket_start", "activity_type", "course_id" }),
+        indexes = @Index(name = "idx_activity_rollup_course",
+                columnList = "course_id, granularity, bucket_start"))
+public class ActivityRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ActivityGranularity granularity;
+
+    // epoch millis, UTC
+    @Column(name = "bucket_start", nullable = false)
+    private Long bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "activity_type", nullable = false)
+    private ActivityType activityType;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "event_count", nullable = false)
+    private Long eventCount = 0L;
+
+    // rollups from several instances add to the same rows
+    @Version
+    private Long version;
+}
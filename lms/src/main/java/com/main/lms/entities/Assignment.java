@@ -2,11 +2,16 @@ package com.main.lms.entities;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
 @Data
+@Table(indexes = @Index(name = "idx_assignment_course", columnList = "course_id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Assignment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -2,6 +2,8 @@ package com.main.lms.entities;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -9,6 +11,9 @@ import java.util.List;
 
 @Entity
 @Data
+@Table(indexes = @Index(name = "idx_course_instructor", columnList = "instructor_id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Course {
 
     @Id
@@ -33,6 +38,7 @@ public class Course {
     private String description;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @CollectionTable(name = "course_materials", joinColumns = @JoinColumn(name = "course_id"))
     @Column(name = "material")
     private List<String> materials;
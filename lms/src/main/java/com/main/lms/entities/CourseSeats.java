@@ -0,0 +1,25 @@
+package com.main.lms.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Seat ledger for a course with a capacity. Kept apart from Course so the counter row that every
+// enrollment updates is not the cached, widely read course row. Courses without a ledger are uncapped.
+@Entity
+@Data
+@Table(name = "course_seats")
+public class CourseSeats {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    // null means no limit
+    private Integer capacity;
+
+    @Column(nullable = false)
+    private Integer taken = 0;
+
+    @Version
+    private Long version;
+}
@@ -7,10 +7,15 @@ import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
 @Data
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_enrolled_course_student_course", columnNames = {"student_id", "course_id"}),
+        indexes = @Index(name = "idx_enrolled_course_course", columnList = "course_id")
+)
 public class EnrolledCourse {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrolled_course_seq")
+    @SequenceGenerator(name = "enrolled_course_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "student_id", nullable = false, insertable = false, updatable = false)
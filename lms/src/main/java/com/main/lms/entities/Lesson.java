@@ -1,12 +1,18 @@
 package com.main.lms.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
 @Data
+@Table(indexes = @Index(name = "idx_lesson_course", columnList = "course_id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Lesson {
 
     @Id
@@ -16,6 +22,11 @@ public class Lesson {
     @Column(nullable = false)
     private String otp;
 
+    // Set once the lesson uses rotating codes; the static otp is then no longer accepted
+    @JsonIgnore
+    @Column(name = "otp_secret", length = 64)
+    private String otpSecret;
+
     @Column(name = "course_id", nullable = false, insertable = false, updatable = false)
     private Long courseId;
 
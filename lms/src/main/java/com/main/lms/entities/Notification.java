@@ -7,9 +7,11 @@ import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
 @Data
+@Table(indexes = @Index(name = "idx_notification_user_read", columnList = "user_id, is_read"))
 public class Notification {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", allocationSize = 50)
     private Long notificationId;
 
     @Column(name = "user_id", nullable = false, insertable = false, updatable = false)
@@ -3,11 +3,16 @@ package com.main.lms.entities;
 import com.main.lms.enums.QuestionType;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
 @Data
+@Table(indexes = @Index(name = "idx_question_course_type", columnList = "course_id, type"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Question {
 
     @Id
@@ -2,6 +2,8 @@ package com.main.lms.entities;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -9,6 +11,9 @@ import java.util.List;
 
 @Entity
 @Data
+@Table(indexes = @Index(name = "idx_quiz_course", columnList = "course_id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Quiz {
 
     @Id
@@ -24,6 +29,7 @@ public class Quiz {
     private Course course;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(
             name = "quiz_questions",
             joinColumns = @JoinColumn(name = "quiz_id"),
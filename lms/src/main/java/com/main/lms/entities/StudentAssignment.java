@@ -9,9 +9,17 @@ import java.util.List;
 
 @Entity
 @Data
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_student_assignment_assignment_student", columnNames = {"assignment_id", "student_id"}),
+        indexes = {
+                @Index(name = "idx_student_assignment_student_course", columnList = "student_id, course_id"),
+                @Index(name = "idx_student_assignment_course", columnList = "course_id")
+        }
+)
 public class StudentAssignment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_assignment_seq")
+    @SequenceGenerator(name = "student_assignment_seq", allocationSize = 50)
     @Column(nullable = false)
     private Long id;
 
@@ -49,4 +57,8 @@ public class StudentAssignment {
 
     @Column
     private long Grade;
+
+    // Grade stays 0 until the instructor grades the submission
+    @Column(nullable = false)
+    private boolean graded;
 }
@@ -7,10 +7,15 @@ import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
 @Data
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_student_lesson_student_lesson", columnNames = {"student_id", "lesson_id"}),
+        indexes = @Index(name = "idx_student_lesson_lesson", columnList = "lesson_id")
+)
 public class StudentLesson {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_lesson_seq")
+    @SequenceGenerator(name = "student_lesson_seq", allocationSize = 50)
     private Long studentLessonId;
 
     @Column(name = "student_id", nullable = false, insertable = false, updatable = false)
@@ -7,10 +7,15 @@ import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
 @Data
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_student_quiz_student_quiz", columnNames = {"student_id", "quiz_id"}),
+        indexes = @Index(name = "idx_student_quiz_quiz", columnList = "quiz_id")
+)
 public class StudentQuiz {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_quiz_seq")
+    @SequenceGenerator(name = "student_quiz_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "quiz_id", nullable = false, insertable = false, updatable = false)
@@ -0,0 +1,32 @@
+package com.main.lms.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// MinHash signature of a submission's files, computed once per upload so copied work can be
+// found without rereading every file. Kept apart from StudentAssignment, which is loaded far
+// more often than this is.
+@Entity
+@Data
+@Table(name = "submission_signature",
+        indexes = @Index(name = "idx_submission_signature_assignment", columnList = "assignment_id"))
+public class SubmissionSignature {
+
+    @Id
+    @Column(name = "student_assignment_id")
+    private Long studentAssignmentId;
+
+    @Column(name = "assignment_id", nullable = false)
+    private Long assignmentId;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    // MinHash.HASHES ints, big-endian
+    @Column(nullable = false, length = 256)
+    private byte[] signature;
+
+    // 0 when the files held no readable text
+    @Column(nullable = false)
+    private Integer shingles;
+}
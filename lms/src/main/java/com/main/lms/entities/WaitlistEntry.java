@@ -0,0 +1,36 @@
+package com.main.lms.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+// A student waiting for a seat; entries are served oldest id first
+@Entity
+@Data
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_waitlist_entry_course_student", columnNames = {"course_id", "student_id"}),
+        indexes = @Index(name = "idx_waitlist_entry_course", columnList = "course_id, id")
+)
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "course_id", nullable = false, insertable = false, updatable = false)
+    private Long courseId;
+
+    @Column(name = "student_id", nullable = false, insertable = false, updatable = false)
+    private Long studentId;
+
+    @ManyToOne
+    @JoinColumn(name = "course_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Course course;
+
+    @ManyToOne
+    @JoinColumn(name = "student_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User student;
+}
@@ -0,0 +1,23 @@
+package com.main.lms.enums;
+
+// Rollup bucket sizes; buckets start at whole minutes, hours and days (UTC) since the epoch
+public enum ActivityGranularity {
+    MINUTE(60_000L),
+    HOUR(3_600_000L),
+    DAY(86_400_000L);
+
+    private final long millis;
+
+    ActivityGranularity(long millis) {
+        this.millis = millis;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    // Start of the bucket holding the instant
+    public long bucketOf(long epochMillis) {
+        return Math.floorDiv(epochMillis, millis) * millis;
+    }
+}
@@ -0,0 +1,13 @@
+package com.main.lms.enums;
+
+// Stored by ordinal in the activity log segments: add new types at the end only
+public enum ActivityType {
+    QUIZ_SUBMITTED,         // item is the quiz
+    LESSON_ATTENDED,        // item is the lesson
+    ASSIGNMENT_SUBMITTED,   // item is the assignment
+    ASSIGNMENT_GRADED,      // item is the assignment, user the student
+    ENROLLED,
+    UNENROLLED,
+    LOGGED_IN,              // students only; no course
+    MATERIAL_DOWNLOADED     // students only
+}
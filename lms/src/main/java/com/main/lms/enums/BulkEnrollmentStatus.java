@@ -0,0 +1,15 @@
+package com.main.lms.enums;
+
+public enum BulkEnrollmentStatus {
+    ENROLLED,
+    ALREADY_ENROLLED,   // enrolled before this upload
+    DUPLICATE_ROW,      // same student and course earlier in the upload
+    STUDENT_NOT_FOUND,
+    NOT_A_STUDENT,
+    COURSE_NOT_FOUND,
+    INVALID_ROW;
+
+    public boolean isSuccess() {
+        return this == ENROLLED;
+    }
+}
@@ -0,0 +1,14 @@
+package com.main.lms.enums;
+
+public enum BulkGradeStatus {
+    GRADED,
+    DUPLICATE_ROW,      // same submission earlier in the upload
+    SUBMISSION_NOT_FOUND,
+    NOT_INSTRUCTOR,     // the submission belongs to another instructor's course
+    GRADE_OUT_OF_RANGE, // below 0 or above the assignment's max grade
+    INVALID_ROW;
+
+    public boolean isSuccess() {
+        return this == GRADED;
+    }
+}
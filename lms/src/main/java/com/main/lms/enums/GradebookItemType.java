@@ -0,0 +1,7 @@
+package com.main.lms.enums;
+
+public enum GradebookItemType {
+    QUIZ,       // score is the quiz grade out of its question count
+    ASSIGNMENT, // score is the assignment grade out of its max grade
+    LESSON;     // score is 1 when the student attended, 0 otherwise
+}
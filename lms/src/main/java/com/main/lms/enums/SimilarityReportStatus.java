@@ -0,0 +1,7 @@
+package com.main.lms.enums;
+
+public enum SimilarityReportStatus {
+    RUNNING,    // being computed in the background; pairs are from the previous run, if any
+    DONE,
+    FAILED      // retried on the next request
+}
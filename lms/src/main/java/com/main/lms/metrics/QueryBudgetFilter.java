@@ -0,0 +1,71 @@
+package com.main.lms.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the SQL statements each request executes and flags requests over their
+ * {@link QueryBudgetProperties budget}: a warning is logged and
+ * {@code lms.query.budget.exceeded} is incremented. The count is also left on the request
+ * under {@link #QUERY_COUNT_ATTRIBUTE} so tests can assert on it.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_ATTRIBUTE = QueryBudgetFilter.class.getName() + ".queryCount";
+
+    private final QueryBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+    private final Map<String, Counter> exceeded = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long before = QueryCounter.current();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long statements = QueryCounter.current() - before;
+            request.setAttribute(QUERY_COUNT_ATTRIBUTE, statements);
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String method = request.getMethod();
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            String endpoint = method + " " + uri;
+
+            summaries.computeIfAbsent(endpoint, key -> DistributionSummary.builder("lms.sql.statements.per.request")
+                            .description("SQL statements executed while handling one request")
+                            .tag("method", method)
+                            .tag("uri", uri)
+                            .register(meterRegistry))
+                    .record(statements);
+
+            int budget = properties.budgetFor(endpoint);
+            if (statements > budget) {
+                exceeded.computeIfAbsent(endpoint, key -> Counter.builder("lms.query.budget.exceeded")
+                                .description("Requests that executed more SQL statements than their budget")
+                                .tag("method", method)
+                                .tag("uri", uri)
+                                .register(meterRegistry))
+                        .increment();
+                log.warn("Query budget exceeded: {} {} executed {} SQL statements (budget {})",
+                        method, request.getRequestURI(), statements, budget);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.main.lms.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statement budgets per endpoint. Keys are the HTTP method and URI template, e.g.
+ * {@code lms.query-budget.endpoints[GET /quizzes/{quizId}]=4}.
+ */
+@Data
+@ConfigurationProperties(prefix = "lms.query-budget")
+public class QueryBudgetProperties {
+
+    private boolean enabled = true;
+
+    // Budget for endpoints without an explicit entry
+    private int defaultBudget = 20;
+
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    public int budgetFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultBudget);
+    }
+}
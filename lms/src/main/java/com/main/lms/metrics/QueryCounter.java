@@ -0,0 +1,44 @@
+package com.main.lms.metrics;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Running count of SQL statements prepared on the current thread, fed by
+ * {@link QueryCountingStatementInspector}. The count is never reset; callers measure a unit
+ * of work by taking the difference, which keeps nested measurements independent.
+ *
+ * <pre>
+ * QueryCounter.Result&lt;List&lt;Quiz&gt;&gt; result = QueryCounter.count(() -&gt; quizService.getQuizzesForCourse(id, user));
+ * assertTrue(result.statements() &lt;= 2);
+ * </pre>
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<long[]> STATEMENTS = ThreadLocal.withInitial(() -> new long[1]);
+
+    public record Result<T>(T value, long statements) {
+    }
+
+    private QueryCounter() {
+    }
+
+    public static long current() {
+        return STATEMENTS.get()[0];
+    }
+
+    public static <T> Result<T> count(Callable<T> work) throws Exception {
+        long before = current();
+        T value = work.call();
+        return new Result<>(value, current() - before);
+    }
+
+    public static long count(Runnable work) {
+        long before = current();
+        work.run();
+        return current() - before;
+    }
+
+    static void increment() {
+        STATEMENTS.get()[0]++;
+    }
+}
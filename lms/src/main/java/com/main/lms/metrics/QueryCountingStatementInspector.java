@@ -0,0 +1,16 @@
+package com.main.lms.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate hook that sees every SQL statement before it is prepared. It only counts;
+ * the SQL is returned unchanged.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.increment();
+        return sql;
+    }
+}
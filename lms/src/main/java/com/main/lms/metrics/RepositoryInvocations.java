@@ -0,0 +1,35 @@
+package com.main.lms.metrics;
+
+/**
+ * Per-request count of repository invocations. The counter only exists while
+ * {@link RepositoryInvocationsFilter} is handling a request on the current thread.
+ */
+public final class RepositoryInvocations {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private RepositoryInvocations() {
+    }
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    public static int current() {
+        int[] count = COUNT.get();
+        return count == null ? 0 : count[0];
+    }
+
+    static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.main.lms.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how many repository invocations each request made as
+ * {@code lms.repository.invocations.per.request}, tagged with the HTTP method and the
+ * matched URI template. A high count on a list endpoint is the usual sign of an N+1.
+ */
+@RequiredArgsConstructor
+public class RepositoryInvocationsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RepositoryInvocations.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int count = RepositoryInvocations.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            String method = request.getMethod();
+            summaries.computeIfAbsent(method + " " + uri, key -> DistributionSummary
+                            .builder("lms.repository.invocations.per.request")
+                            .description("Repository invocations made while handling one request")
+                            .tag("method", method)
+                            .tag("uri", uri)
+                            .register(meterRegistry))
+                    .record(count);
+        }
+    }
+}
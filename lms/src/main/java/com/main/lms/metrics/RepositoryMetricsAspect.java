@@ -0,0 +1,55 @@
+package com.main.lms.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts repository invocations as {@code lms.repository.invocations} (per repository and
+ * method) and feeds the per-request count kept by {@link RepositoryInvocations}.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object count(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryInvocations.increment();
+        String repository = repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(),
+                proxyClass -> repositoryName(joinPoint.getThis()));
+        String key = repository + "." + joinPoint.getSignature().getName();
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key, k -> Counter.builder("lms.repository.invocations")
+                    .description("Repository method invocations")
+                    .tag("repository", repository)
+                    .tag("method", joinPoint.getSignature().getName())
+                    .register(meterRegistry));
+        }
+        counter.increment();
+        return joinPoint.proceed();
+    }
+
+    // Repository beans are proxies, name them after our interface rather than the proxy class
+    private String repositoryName(Object proxy) {
+        for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+            if (type.getName().startsWith("com.main.lms")) {
+                return type.getSimpleName();
+            }
+        }
+        return proxy.getClass().getSimpleName();
+    }
+}
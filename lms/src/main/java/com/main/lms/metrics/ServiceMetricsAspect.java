@@ -0,0 +1,61 @@
+package com.main.lms.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the beans in com.main.lms.services as {@code lms.service},
+ * tagged with class, method and the exception thrown (if any).
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    // Timers are looked up once per method/outcome instead of being rebuilt on every call
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    private record TimerKey(Method method, String exception) {
+    }
+
+    @Around("within(com.main.lms.services..*)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            timerFor(new TimerKey(method, exception)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timerFor(TimerKey key) {
+        Timer timer = timers.get(key);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(key, k -> Timer.builder("lms.service")
+                    .description("Service method execution time")
+                    .tag("class", k.method().getDeclaringClass().getSimpleName())
+                    .tag("method", k.method().getName())
+                    .tag("exception", k.exception())
+                    .register(meterRegistry));
+        }
+        return timer;
+    }
+}
@@ -0,0 +1,18 @@
+package com.main.lms.repositories;
+
+import com.main.lms.entities.ActiveStudentSketch;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface ActiveStudentSketchRepository extends JpaRepository<ActiveStudentSketch, Long> {
+
+    // The rows a rollup run merges into
+    List<ActiveStudentSketch> findByDayInAndCourseIdIn(Collection<LocalDate> days, Collection<Long> courseIds);
+
+    // Uses uk_active_student_sketch_day
+    List<ActiveStudentSketch> findByCourseIdAndDayBetween(Long courseId, LocalDate from, LocalDate to);
+}
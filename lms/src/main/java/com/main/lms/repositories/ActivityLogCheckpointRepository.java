@@ -0,0 +1,7 @@
+package com.main.lms.repositories;
+
+import com.main.lms.entities.ActivityLogCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ActivityLogCheckpointRepository extends JpaRepository<ActivityLogCheckpoint, String> {
+}
@@ -0,0 +1,39 @@
+package com.main.lms.repositories;
+
+import com.main.lms.dtos.ActivityBucketDTO;
+import com.main.lms.entities.ActivityRollup;
+import com.main.lms.enums.ActivityGranularity;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ActivityRollupRepository extends JpaRepository<ActivityRollup, Long> {
+
+    // The rows a rollup run adds to; uses the leading columns of uk_activity_rollup_bucket
+    List<ActivityRollup> findByGranularityAndBucketStartIn(ActivityGranularity granularity,
+                                                           Collection<Long> bucketStarts);
+
+    @Query("select new com.main.lms.dtos.ActivityBucketDTO(r.bucketStart, r.activityType, r.eventCount) " +
+            "from ActivityRollup r where r.courseId = :courseId and r.granularity = :granularity " +
+            "and r.bucketStart >= :from and r.bucketStart < :to order by r.bucketStart, r.activityType")
+    List<ActivityBucketDTO> findCourseBuckets(@Param("courseId") Long courseId,
+                                              @Param("granularity") ActivityGranularity granularity,
+                                              @Param("from") Long from, @Param("to") Long to);
+
+    // Every course together
+    @Query("select new com.main.lms.dtos.ActivityBucketDTO(r.bucketStart, r.activityType, sum(r.eventCount)) " +
+            "from ActivityRollup r where r.granularity = :granularity " +
+            "and r.bucketStart >= :from and r.bucketStart < :to " +
+            "group by r.bucketStart, r.activityType order by r.bucketStart, r.activityType")
+    List<ActivityBucketDTO> findTotalBuckets(@Param("granularity") ActivityGranularity granularity,
+                                             @Param("from") Long from, @Param("to") Long to);
+
+    @Modifying
+    @Query("delete from ActivityRollup r where r.granularity = :granularity and r.bucketStart < :before")
+    int deleteOlderThan(@Param("granularity") ActivityGranularity granularity, @Param("before") Long before);
+}
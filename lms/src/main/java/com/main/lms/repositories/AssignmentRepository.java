@@ -1,12 +1,33 @@
  package com.main.lms.repositories;
 
+ import com.main.lms.dtos.AssignmentRow;
+ import com.main.lms.dtos.GradebookColumn;
  import com.main.lms.entities.Assignment;
  import com.main.lms.entities.Course;
  import org.springframework.data.jpa.repository.JpaRepository;
+ import org.springframework.data.jpa.repository.Query;
+ import org.springframework.data.repository.query.Param;
 
  import java.util.List;
 
 
  public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     List<Assignment> findByCourse(Course course);
- }
\ No newline at end of file
+
+    @Query("select new com.main.lms.dtos.AssignmentRow(a.assignmentId, c.id, i.name, c.title, c.duration, " +
+            "c.description, a.instructions, a.maxGrade) " +
+            "from Assignment a join a.course c join c.instructor i where c.id = :courseId")
+    List<AssignmentRow> findRowsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("select new com.main.lms.dtos.GradebookColumn(a.assignmentId, a.maxGrade) from Assignment a " +
+            "where a.courseId = :courseId order by a.assignmentId")
+    List<GradebookColumn> findGradebookColumns(@Param("courseId") Long courseId);
+
+    // Assignments of the student's courses with no submission record yet
+    @Query("select new com.main.lms.dtos.AssignmentRow(a.assignmentId, c.id, i.name, c.title, c.duration, " +
+            "c.description, a.instructions, a.maxGrade) " +
+            "from Assignment a join a.course c join c.instructor i " +
+            "where exists (select 1 from EnrolledCourse e where e.course = c and e.student.id = :studentId) " +
+            "and not exists (select 1 from StudentAssignment sa where sa.assignment = a and sa.student.id = :studentId)")
+    List<AssignmentRow> findPendingRowsByStudentId(@Param("studentId") Long studentId);
+ }
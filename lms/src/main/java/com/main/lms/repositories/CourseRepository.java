@@ -1,15 +1,37 @@
 package com.main.lms.repositories;
 
+import com.main.lms.dtos.CourseResponseDTO;
 import com.main.lms.entities.*;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findByInstructorId(Long instructorId);
 
+    // Served from the second-level cache (region com.main.lms.entities.Course)
     @NonNull
     Optional<Course> findById(@NonNull Long courseId);
-}
\ No newline at end of file
+
+    String RESPONSE_SELECT = "select new com.main.lms.dtos.CourseResponseDTO(c.id, i.name, c.title, c.duration, " +
+            "c.description) from Course c join c.instructor i ";
+
+    @Query(RESPONSE_SELECT + "where c.id > :after order by c.id")
+    List<CourseResponseDTO> findResponsesAfter(@Param("after") Long after, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(RESPONSE_SELECT + "order by c.id")
+    Stream<CourseResponseDTO> streamAllResponses();
+}
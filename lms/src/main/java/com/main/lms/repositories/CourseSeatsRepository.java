@@ -0,0 +1,37 @@
+package com.main.lms.repositories;
+
+import com.main.lms.entities.CourseSeats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+// Every counter change is a single guarded UPDATE: the check and the write happen in one statement,
+// so the row is locked only for that statement and never across a read-modify-write.
+public interface CourseSeatsRepository extends JpaRepository<CourseSeats, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("update CourseSeats s set s.taken = s.taken + 1, s.version = s.version + 1 " +
+            "where s.courseId = :courseId and (s.capacity is null or s.taken < s.capacity)")
+    int takeSeat(@Param("courseId") Long courseId);
+
+    @Transactional
+    @Modifying
+    @Query("update CourseSeats s set s.taken = s.taken - 1, s.version = s.version + 1 " +
+            "where s.courseId = :courseId and s.taken > 0")
+    int releaseSeat(@Param("courseId") Long courseId);
+
+    // Registrar imports may go past the capacity; the ledger still has to count them
+    @Transactional
+    @Modifying
+    @Query("update CourseSeats s set s.taken = s.taken + :seats, s.version = s.version + 1 " +
+            "where s.courseId = :courseId")
+    int addTaken(@Param("courseId") Long courseId, @Param("seats") int seats);
+
+    @Transactional
+    @Modifying
+    @Query("update CourseSeats s set s.capacity = :capacity, s.version = s.version + 1 where s.courseId = :courseId")
+    int updateCapacity(@Param("courseId") Long courseId, @Param("capacity") Integer capacity);
+}
@@ -1,12 +1,71 @@
 package com.main.lms.repositories;
 
+import com.main.lms.dtos.CourseAttendanceDTO;
+import com.main.lms.dtos.EnrollmentKey;
+import com.main.lms.dtos.EnrollmentResponseDTO;
+import com.main.lms.dtos.EnrollmentRow;
 import com.main.lms.entities.*;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface EnrolledCourseRepository extends JpaRepository<EnrolledCourse, Long> {
     List<EnrolledCourse> findByStudent(User student);
     List<EnrolledCourse> findByCourse(Course course);
     List<EnrolledCourse> findByStudentAndCourse(User student, Course course);
-}
\ No newline at end of file
+    boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
+    long countByCourseId(Long courseId);
+
+    @Query("select e.student.id from EnrolledCourse e where e.course.id = :courseId")
+    List<Long> findStudentIdsByCourseId(@Param("courseId") Long courseId);
+
+    // Existing pairs among the given students and courses (a superset of any requested pairs)
+    @Query("select new com.main.lms.dtos.EnrollmentKey(e.student.id, e.course.id) from EnrolledCourse e " +
+            "where e.student.id in :studentIds and e.course.id in :courseIds")
+    List<EnrollmentKey> findKeys(@Param("studentIds") Collection<Long> studentIds,
+                                 @Param("courseIds") Collection<Long> courseIds);
+
+    @Query("select new com.main.lms.dtos.EnrollmentResponseDTO(s.id, s.name, c.title, c.id, e.isConfirmed) " +
+            "from EnrolledCourse e join e.student s join e.course c where s.id = :studentId")
+    List<EnrollmentResponseDTO> findResponsesByStudentId(@Param("studentId") Long studentId);
+
+    @Query("select new com.main.lms.dtos.EnrollmentResponseDTO(s.id, s.name, c.title, c.id, e.isConfirmed) " +
+            "from EnrolledCourse e join e.student s join e.course c where c.id = :courseId")
+    List<EnrollmentResponseDTO> findResponsesByCourseId(@Param("courseId") Long courseId);
+
+    // Lessons held and attended per enrolled course; a student attends a lesson at most once
+    @Query("select new com.main.lms.dtos.CourseAttendanceDTO(c.id, c.title, count(l.lessonId), count(sl.studentLessonId)) " +
+            "from EnrolledCourse e join e.course c left join Lesson l on l.course = c " +
+            "left join StudentLesson sl on sl.lesson = l and sl.student.id = :studentId " +
+            "where e.student.id = :studentId group by c.id, c.title")
+    List<CourseAttendanceDTO> findAttendanceByStudentId(@Param("studentId") Long studentId);
+
+    String ROW_SELECT = "select new com.main.lms.dtos.EnrollmentRow(e.id, s.id, s.name, c.id, c.title, " +
+            "e.isConfirmed, e.isCompleted) from EnrolledCourse e join e.student s join e.course c ";
+
+    // Keyset page: rows with id > after, in id order
+    @Query(ROW_SELECT + "where e.id > :after order by e.id")
+    List<EnrollmentRow> findRowsAfter(@Param("after") Long after, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(ROW_SELECT + "order by e.id")
+    Stream<EnrollmentRow> streamAllRows();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.main.lms.dtos.EnrollmentKey(e.student.id, e.course.id) from EnrolledCourse e")
+    Stream<EnrollmentKey> streamAllKeys();
+}
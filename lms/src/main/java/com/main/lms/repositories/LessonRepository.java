@@ -1,10 +1,40 @@
 package com.main.lms.repositories;
 
+import com.main.lms.dtos.GradebookColumn;
+import com.main.lms.dtos.LessonResponseDTO;
 import com.main.lms.entities.*;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface LessonRepository extends JpaRepository<Lesson, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.lessons-by-course")
+    })
     List<Lesson> findByCourse(Course course);
+
+    @Query("select new com.main.lms.dtos.GradebookColumn(l.lessonId, 1) from Lesson l " +
+            "where l.courseId = :courseId order by l.lessonId")
+    List<GradebookColumn> findGradebookColumns(@Param("courseId") Long courseId);
+
+    String RESPONSE_SELECT = "select new com.main.lms.dtos.LessonResponseDTO(l.lessonId, c.title) " +
+            "from Lesson l join l.course c ";
+
+    @Query(RESPONSE_SELECT + "where l.lessonId > :after order by l.lessonId")
+    List<LessonResponseDTO> findResponsesAfter(@Param("after") Long after, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(RESPONSE_SELECT + "order by l.lessonId")
+    Stream<LessonResponseDTO> streamAllResponses();
 }
@@ -10,4 +10,6 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByUserIdAndIsRead(Long userId, Boolean isRead);
 
     List<Notification> findByUserId(Long userId);
+
+    long countByUserIdAndIsRead(Long userId, Boolean isRead);
 }
\ No newline at end of file
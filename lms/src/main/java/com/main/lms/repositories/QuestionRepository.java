@@ -1,7 +1,11 @@
 package com.main.lms.repositories;
 
+import com.main.lms.dtos.QuestionBankEntry;
 import com.main.lms.entities.Question;
+import com.main.lms.enums.QuestionType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +13,10 @@ import java.util.List;
 @Repository
 public interface QuestionRepository extends JpaRepository<Question, Long> {
     List<Question> findByCourseId(Long courseId);
+
+    List<Question> findByCourseIdAndType(Long courseId, QuestionType type);
+
+    @Query("select new com.main.lms.dtos.QuestionBankEntry(q.questionId, q.questionContent, q.type) "
+            + "from Question q where q.courseId = :courseId")
+    List<QuestionBankEntry> findBankEntries(@Param("courseId") Long courseId);
 }
@@ -1,9 +1,27 @@
 package com.main.lms.repositories;
 
+import com.main.lms.dtos.GradebookColumn;
 import com.main.lms.entities.*;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.quizzes-by-course")
+    })
     List<Quiz> findByCourseId(Long courseId);
+
+    @Query("select q.quizId from Quiz q where q.course.id = :courseId")
+    List<Long> findQuizIdsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("select new com.main.lms.dtos.GradebookColumn(q.quizId, size(q.questions)) from Quiz q " +
+            "where q.courseId = :courseId order by q.quizId")
+    List<GradebookColumn> findGradebookColumns(@Param("courseId") Long courseId);
 }
@@ -1,14 +1,24 @@
 package com.main.lms.repositories;
 
+import com.main.lms.dtos.GradebookCell;
+import com.main.lms.dtos.StudentAssignmentRow;
 import com.main.lms.entities.Assignment;
 import com.main.lms.entities.Course;
 import com.main.lms.entities.StudentAssignment;
 import com.main.lms.entities.User;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface StudentAssignmentRepository extends JpaRepository<StudentAssignment, Long> {
     List<StudentAssignment> findByStudentId(Long studentId);
@@ -18,4 +28,44 @@ public interface StudentAssignmentRepository extends JpaRepository<StudentAssign
     Optional<StudentAssignment> findByCourseAndStudent(Course course, User student);
     Optional<StudentAssignment> findByAssignmentAndStudent(Assignment assignment, User student);
     List<StudentAssignment> findByStudentAndCourse(User student, Course course);
+
+    // No score for a submission that is not graded yet
+    @Query("select new com.main.lms.dtos.GradebookCell(sa.studentId, sa.assignmentId, " +
+            "case when sa.graded = true then sa.Grade end) " +
+            "from StudentAssignment sa where sa.courseId = :courseId")
+    List<GradebookCell> findGradebookCells(@Param("courseId") Long courseId);
+
+    // Submissions with everything grading checks, in one query
+    @Query("select sa from StudentAssignment sa join fetch sa.course c join fetch c.instructor " +
+            "join fetch sa.assignment join fetch sa.student where sa.id in :ids")
+    List<StudentAssignment> findForGrading(@Param("ids") Collection<Long> ids);
+
+    // Submissions without a signature yet (uploaded before signatures were kept, or signing failed), with their files
+    @Query("select distinct sa from StudentAssignment sa left join fetch sa.fileNames " +
+            "where sa.assignmentId = :assignmentId " +
+            "and not exists (select 1 from SubmissionSignature s where s.studentAssignmentId = sa.id)")
+    List<StudentAssignment> findUnsignedByAssignmentId(@Param("assignmentId") Long assignmentId);
+
+    String ROW_SELECT = "select new com.main.lms.dtos.StudentAssignmentRow(sa.id, c.id, i.name, c.title, " +
+            "c.duration, c.description, s.name, s.email, s.role, sa.Grade, sa.graded, a.maxGrade, sa.feedback) " +
+            "from StudentAssignment sa join sa.course c join c.instructor i join sa.student s join sa.assignment a ";
+
+    @Query(ROW_SELECT)
+    List<StudentAssignmentRow> findAllRows();
+
+    @Query(ROW_SELECT + "where c.id = :courseId")
+    List<StudentAssignmentRow> findRowsByCourseId(@Param("courseId") Long courseId);
+
+    @Query(ROW_SELECT + "where s.id = :studentId")
+    List<StudentAssignmentRow> findRowsByStudentId(@Param("studentId") Long studentId);
+
+    @Query(ROW_SELECT + "where sa.id > :after order by sa.id")
+    List<StudentAssignmentRow> findRowsAfter(@Param("after") Long after, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(ROW_SELECT + "order by sa.id")
+    Stream<StudentAssignmentRow> streamAllRows();
 }
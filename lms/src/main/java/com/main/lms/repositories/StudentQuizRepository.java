@@ -1,10 +1,15 @@
 package com.main.lms.repositories;
 
+import com.main.lms.dtos.GradeDTO;
+import com.main.lms.dtos.GradebookCell;
 import com.main.lms.entities.Course;
 import com.main.lms.entities.Quiz;
 import com.main.lms.entities.StudentQuiz;
 import com.main.lms.entities.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,4 +21,14 @@ public interface StudentQuizRepository extends JpaRepository<StudentQuiz, Long>
     List<StudentQuiz> findByQuiz(Quiz quiz);
     Optional<StudentQuiz> findByStudentAndQuiz(User student, Quiz quiz);
     List<StudentQuiz> findByStudentAndQuiz_Course(User student, Course course);
+
+    @Query("select new com.main.lms.dtos.GradebookCell(sq.studentId, sq.quizId, sq.grade) " +
+            "from StudentQuiz sq join sq.quiz q where q.courseId = :courseId")
+    List<GradebookCell> findGradebookCells(@Param("courseId") Long courseId);
+
+    // Highest ids first. Ids are handed out in pooled sequence blocks per instance, so this is only
+    // roughly submission order; StudentQuiz keeps no submission time to sort on
+    @Query("select new com.main.lms.dtos.GradeDTO(sq.studentId, sq.quizId, sq.grade, size(q.questions)) " +
+            "from StudentQuiz sq join sq.quiz q where sq.studentId = :studentId order by sq.id desc")
+    List<GradeDTO> findRecentGrades(@Param("studentId") Long studentId, Pageable pageable);
 }
@@ -1,7 +1,10 @@
 package com.main.lms.repositories;
 
+import com.main.lms.dtos.GradebookCell;
 import com.main.lms.entities.*;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,5 +18,12 @@ public interface StudentsLessonRepository extends JpaRepository<StudentLesson, L
 
     List<StudentLesson> findByStudentAndLesson_Course(User student, Course course);
 
+    @Query("select sl.student.id from StudentLesson sl where sl.lesson.lessonId = :lessonId")
+    List<Long> findStudentIdsByLessonId(@Param("lessonId") Long lessonId);
+
+    @Query("select new com.main.lms.dtos.GradebookCell(sl.studentId, sl.lessonId, 1) " +
+            "from StudentLesson sl join sl.lesson l where l.courseId = :courseId")
+    List<GradebookCell> findGradebookCells(@Param("courseId") Long courseId);
+
 }
 
@@ -0,0 +1,10 @@
+package com.main.lms.repositories;
+
+import com.main.lms.entities.SubmissionSignature;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface SubmissionSignatureRepository extends JpaRepository<SubmissionSignature, Long> {
+    List<SubmissionSignature> findByAssignmentId(Long assignmentId);
+}
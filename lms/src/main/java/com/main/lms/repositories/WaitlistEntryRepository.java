@@ -0,0 +1,23 @@
+package com.main.lms.repositories;
+
+import com.main.lms.entities.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+    Optional<WaitlistEntry> findFirstByCourseIdOrderByIdAsc(Long courseId);
+    boolean existsByCourseId(Long courseId);
+    boolean existsByCourseIdAndStudentId(Long courseId, Long studentId);
+    long countByCourseIdAndIdLessThan(Long courseId, Long id);
+
+    // 1 for the caller that removed the entry, 0 if another promotion got to it first
+    @Transactional
+    @Modifying
+    @Query("delete from WaitlistEntry w where w.id = :id")
+    int claim(@Param("id") Long id);
+}
@@ -0,0 +1,145 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.ActiveStudentSummaryDTO;
+import com.main.lms.dtos.ActiveStudentsDTO;
+import com.main.lms.entities.ActiveStudentSketch;
+import com.main.lms.entities.User;
+import com.main.lms.enums.ActivityGranularity;
+import com.main.lms.enums.ActivityType;
+import com.main.lms.enums.UserRole;
+import com.main.lms.exceptions.CourseNotFoundException;
+import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.repositories.ActiveStudentSketchRepository;
+import com.main.lms.repositories.CourseRepository;
+import com.main.lms.utility.ActivityLog.Event;
+import com.main.lms.utility.HyperLogLog;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+// Distinct active students (DAU, WAU, MAU and any range of days) per course and platform-wide.
+// The students behind logins, quiz and assignment submissions, lesson check-ins and material
+// downloads are added to a HyperLogLog sketch per UTC day and course, and one per day for the
+// platform under course 0. ActivityRollupService passes the events it reads from the activity log
+// in, and the sketches are merged into their rows in the rollup's transaction. A range merges its
+// day sketches; merging is idempotent, so a student active on several days or courses counts once.
+// Counts are estimates within a few percent and trail the services like the rollups do.
+@Service
+@RequiredArgsConstructor
+public class ActiveStudentService {
+
+    public static final long PLATFORM = 0;
+    static final int MAX_DAYS = 366;
+    private static final Set<ActivityType> STUDENT_ACTIVITY = EnumSet.of(ActivityType.LOGGED_IN,
+            ActivityType.QUIZ_SUBMITTED, ActivityType.ASSIGNMENT_SUBMITTED, ActivityType.LESSON_ATTENDED,
+            ActivityType.MATERIAL_DOWNLOADED);
+
+    private final ActiveStudentSketchRepository sketchRepository;
+    private final CourseRepository courseRepository;
+
+    public record Key(LocalDate day, long courseId) {
+    }
+
+    // Adds the student behind the event, if any, to its day's sketches for the course and the platform
+    public static void collect(Map<Key, HyperLogLog> sketches, Event event) {
+        if (!STUDENT_ACTIVITY.contains(event.type()) || event.userId() == 0) {
+            return;
+        }
+        LocalDate day = LocalDate.ofEpochDay(Math.floorDiv(event.timestamp(), ActivityGranularity.DAY.getMillis()));
+        sketches.computeIfAbsent(new Key(day, PLATFORM), key -> new HyperLogLog()).add(event.userId());
+        if (event.courseId() != PLATFORM) {
+            sketches.computeIfAbsent(new Key(day, event.courseId()), key -> new HyperLogLog()).add(event.userId());
+        }
+    }
+
+    // Unions the sketches into their rows, one query for the rows that exist already
+    @Transactional
+    public void merge(Map<Key, HyperLogLog> sketches) {
+        Set<LocalDate> days = new HashSet<>();
+        Set<Long> courseIds = new HashSet<>();
+        sketches.keySet().forEach(key -> {
+            days.add(key.day());
+            courseIds.add(key.courseId());
+        });
+        Map<Key, ActiveStudentSketch> rows = new HashMap<>();
+        for (ActiveStudentSketch row : sketchRepository.findByDayInAndCourseIdIn(days, courseIds)) {
+            rows.put(new Key(row.getDay(), row.getCourseId()), row);
+        }
+        List<ActiveStudentSketch> created = new ArrayList<>();
+        sketches.forEach((key, sketch) -> {
+            ActiveStudentSketch row = rows.get(key);
+            if (row == null) {
+                row = new ActiveStudentSketch();
+                row.setDay(key.day());
+                row.setCourseId(key.courseId());
+                row.setRegisters(sketch.toBytes());
+                created.add(row);
+                return;
+            }
+            HyperLogLog stored = HyperLogLog.fromBytes(row.getRegisters());
+            // only rows that gained a student are written, by dirty checking
+            if (stored.merge(sketch)) {
+                row.setRegisters(stored.toBytes());
+            }
+        });
+        sketchRepository.saveAll(created);
+    }
+
+    // Students active from one day to the other, both included; without a course, on the whole platform
+    @Transactional(readOnly = true)
+    public ActiveStudentsDTO getActiveStudents(Long courseId, LocalDate from, LocalDate to, User user) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new IllegalArgumentException("At most " + MAX_DAYS + " days can be counted at once");
+        }
+        long course = checkAccess(courseId, user);
+        HyperLogLog union = new HyperLogLog();
+        for (ActiveStudentSketch row : sketchRepository.findByCourseIdAndDayBetween(course, from, to)) {
+            union.merge(HyperLogLog.fromBytes(row.getRegisters()));
+        }
+        return new ActiveStudentsDTO(courseId, from, to, union.estimate());
+    }
+
+    // Daily, weekly and monthly active students for the days ending with date
+    @Transactional(readOnly = true)
+    public ActiveStudentSummaryDTO getSummary(Long courseId, LocalDate date, User user) {
+        long course = checkAccess(courseId, user);
+        LocalDate weekStart = date.minusDays(6);
+        HyperLogLog daily = new HyperLogLog();
+        HyperLogLog weekly = new HyperLogLog();
+        HyperLogLog monthly = new HyperLogLog();
+        List<ActiveStudentSketch> rows = sketchRepository.findByCourseIdAndDayBetween(course, date.minusDays(29), date);
+        for (ActiveStudentSketch row : rows) {
+            HyperLogLog sketch = HyperLogLog.fromBytes(row.getRegisters());
+            monthly.merge(sketch);
+            if (!row.getDay().isBefore(weekStart)) {
+                weekly.merge(sketch);
+            }
+            if (row.getDay().equals(date)) {
+                daily.merge(sketch);
+            }
+        }
+        return new ActiveStudentSummaryDTO(courseId, date, daily.estimate(), weekly.estimate(), monthly.estimate());
+    }
+
+    private long checkAccess(Long courseId, User user) {
+        if (user.getRole() != UserRole.ADMIN) {
+            throw new InvalidUser("Only admins can view active student counts");
+        }
+        if (courseId == null) {
+            return PLATFORM;
+        }
+        if (!courseRepository.existsById(courseId)) {
+            throw new CourseNotFoundException("Course not found with ID: " + courseId);
+        }
+        return courseId;
+    }
+}
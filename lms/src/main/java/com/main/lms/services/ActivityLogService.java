@@ -0,0 +1,131 @@
+package com.main.lms.services;
+
+import com.main.lms.enums.ActivityType;
+import com.main.lms.utility.ActivityLog;
+import com.main.lms.utility.ActivityLog.Event;
+import com.main.lms.utility.ActivityLog.Position;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+// Timestamped record of what students do (logins, quiz submissions, lesson check-ins, assignment
+// submissions and grades, enrollments, material downloads), for activity-over-time analytics; the
+// entities themselves carry no timestamps. The services record events into an in-memory queue
+// without waiting on disk, and the queue is appended to the on-disk ActivityLog every
+// lms.activity.flush-interval. ActivityRollupService turns the log into per-minute, per-hour and
+// per-day counts.
+@Slf4j
+@Service
+public class ActivityLogService {
+
+    static final int MAX_PENDING = 100_000;
+
+    // Resolved against the working directory, like the uploads directory
+    @Value("${lms.activity.directory:activity-log}")
+    private String directory = "activity-log";
+
+    @Value("${lms.activity.segment-size:64MB}")
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    LongSupplier clock = System::currentTimeMillis;
+
+    ActivityLog activityLog;
+    private final Queue<Event> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @PostConstruct
+    void open() throws IOException {
+        activityLog = new ActivityLog(Path.of(System.getProperty("user.dir")).resolve(directory),
+                segmentSize.toBytes());
+    }
+
+    // Ids not known to the caller are recorded as 0
+    public void record(ActivityType type, Long userId, Long courseId, Long itemId) {
+        if (pendingCount.incrementAndGet() > MAX_PENDING) {
+            // the log is not keeping up; analytics lose the event rather than the heap filling up
+            pendingCount.decrementAndGet();
+            log.warn("Activity log queue is full, dropping a {} event", type);
+            return;
+        }
+        pending.add(new Event(clock.getAsLong(), type, id(userId), id(courseId), id(itemId)));
+    }
+
+    @Scheduled(fixedDelayString = "${lms.activity.flush-interval:1s}")
+    public void flush() {
+        // one flusher at a time; a tick that finds it busy leaves its events to that flush or the next
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            List<Event> batch = new ArrayList<>();
+            Event next;
+            while ((next = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                batch.add(next);
+            }
+            batch.sort(Comparator.comparingLong(Event::timestamp));
+            int written = 0;
+            try {
+                while (written < batch.size()) {
+                    written += activityLog.append(batch.subList(written, batch.size()));
+                }
+            } catch (IOException e) {
+                log.error("Failed to write {} activity events, retrying on the next flush: {}",
+                        batch.size() - written, e.getMessage());
+                batch.subList(written, batch.size()).forEach(event -> {
+                    pending.add(event);
+                    pendingCount.incrementAndGet();
+                });
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public Position start() {
+        return activityLog.start();
+    }
+
+    public Position end() {
+        return activityLog.end();
+    }
+
+    public boolean hasSegment(long segment) {
+        return activityLog.hasSegment(segment);
+    }
+
+    // Events written after from, for ActivityRollupService; returns where the next scan starts
+    public Position scan(Position from, Consumer<Event> sink) throws IOException {
+        return activityLog.scan(from, sink);
+    }
+
+    public int deleteBefore(Position position, long beforeMillis) throws IOException {
+        return activityLog.deleteBefore(position, beforeMillis);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        flush();
+        activityLog.close();
+    }
+
+    private static long id(Long id) {
+        return id == null ? 0 : id;
+    }
+}
@@ -0,0 +1,190 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.ActivityBucketDTO;
+import com.main.lms.entities.ActivityLogCheckpoint;
+import com.main.lms.entities.ActivityRollup;
+import com.main.lms.entities.Course;
+import com.main.lms.entities.User;
+import com.main.lms.enums.ActivityGranularity;
+import com.main.lms.enums.ActivityType;
+import com.main.lms.enums.UserRole;
+import com.main.lms.exceptions.CourseNotFoundException;
+import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.repositories.ActivityLogCheckpointRepository;
+import com.main.lms.repositories.ActivityRollupRepository;
+import com.main.lms.repositories.CourseRepository;
+import com.main.lms.utility.ActivityLog.Position;
+import com.main.lms.utility.HyperLogLog;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.LongSupplier;
+
+// Activity over time: every lms.activity.rollup-interval the events this instance logged since
+// its checkpoint are counted per minute, hour and day (UTC), per course and type, and added to the
+// activity_rollup rows in one transaction with the new checkpoint. A run that fails is rolled back
+// whole and redone by the next one, so no event is counted twice or lost. Minute rows are kept for
+// lms.activity.minute-retention and log segments for lms.activity.log-retention; hour and day rows
+// are kept. Counts trail the services by up to a flush interval plus a rollup interval. The same
+// runs feed ActiveStudentService its distinct-student sketches.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ActivityRollupService {
+
+    static final int MAX_BUCKETS = 10_000;
+    // 4 KB each while a run builds them
+    static final int MAX_SKETCHES = 1_000;
+
+    private final ActivityLogService activityLogService;
+    private final ActiveStudentService activeStudentService;
+    private final ActivityRollupRepository rollupRepository;
+    private final ActivityLogCheckpointRepository checkpointRepository;
+    private final CourseRepository courseRepository;
+
+    // Names this instance's log; instances sharing a database need different names
+    @Value("${lms.activity.node:local}")
+    private String node = "local";
+
+    @Value("${lms.activity.minute-retention:2d}")
+    private Duration minuteRetention = Duration.ofDays(2);
+
+    @Value("${lms.activity.log-retention:30d}")
+    private Duration logRetention = Duration.ofDays(30);
+
+    LongSupplier clock = System::currentTimeMillis;
+
+    record Bucket(ActivityGranularity granularity, long start, ActivityType type, long courseId) {
+    }
+
+    @Scheduled(fixedDelayString = "${lms.activity.rollup-interval:1m}",
+            initialDelayString = "${lms.activity.rollup-interval:1m}")
+    @Transactional
+    public void rollup() {
+        ActivityLogCheckpoint checkpoint = checkpointRepository.findById(node).orElseGet(() -> {
+            ActivityLogCheckpoint first = new ActivityLogCheckpoint();
+            first.setNode(node);
+            Position start = activityLogService.start();
+            first.setSegment(start.segment());
+            first.setOffset(start.offset());
+            return first;
+        });
+        Position from = new Position(checkpoint.getSegment(), checkpoint.getOffset());
+        if (from.isAfter(activityLogService.end())) {
+            if (activityLogService.hasSegment(from.segment())) {
+                // events lost from the end of the log; everything before the checkpoint is counted
+                log.warn("Activity log of {} ends before its checkpoint, resuming from its end", node);
+                from = activityLogService.end();
+            } else {
+                // the log directory was replaced; everything in it is new
+                log.warn("Activity log of {} is behind its checkpoint, rolling it up from the start", node);
+                from = activityLogService.start();
+            }
+        }
+        Map<Bucket, Long> counts = new HashMap<>();
+        Map<ActiveStudentService.Key, HyperLogLog> sketches = new HashMap<>();
+        Position to;
+        try {
+            to = activityLogService.scan(from, event -> {
+                for (ActivityGranularity granularity : ActivityGranularity.values()) {
+                    counts.merge(new Bucket(granularity, granularity.bucketOf(event.timestamp()), event.type(),
+                            event.courseId()), 1L, Long::sum);
+                }
+                ActiveStudentService.collect(sketches, event);
+                if (sketches.size() >= MAX_SKETCHES) {
+                    // a long backlog touches many days and courses; merging twice is harmless
+                    activeStudentService.merge(sketches);
+                    sketches.clear();
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Activity rollup could not read the log", e);
+        }
+        if (!counts.isEmpty()) {
+            add(counts);
+        }
+        if (!sketches.isEmpty()) {
+            activeStudentService.merge(sketches);
+        }
+        checkpoint.setSegment(to.segment());
+        checkpoint.setOffset(to.offset());
+        checkpointRepository.save(checkpoint);
+
+        long now = clock.getAsLong();
+        rollupRepository.deleteOlderThan(ActivityGranularity.MINUTE,
+                ActivityGranularity.MINUTE.bucketOf(now - minuteRetention.toMillis()));
+        try {
+            // only segments already behind the stored checkpoint, in case this transaction rolls back
+            activityLogService.deleteBefore(from, now - logRetention.toMillis());
+        } catch (IOException e) {
+            log.warn("Failed to delete old activity log segments: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Event counts per bucket and type in [from, to). Without a course every course is summed,
+     * which only admins may see.
+     */
+    @Transactional(readOnly = true)
+    public List<ActivityBucketDTO> getActivity(Long courseId, ActivityGranularity granularity, Instant from,
+                                               Instant to, User user) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if ((to.toEpochMilli() - from.toEpochMilli()) / granularity.getMillis() > MAX_BUCKETS) {
+            throw new IllegalArgumentException("At most " + MAX_BUCKETS + " buckets can be fetched at once");
+        }
+        if (courseId == null) {
+            if (user.getRole() != UserRole.ADMIN) {
+                throw new InvalidUser("Only admins can view activity across all courses");
+            }
+            return rollupRepository.findTotalBuckets(granularity, from.toEpochMilli(), to.toEpochMilli());
+        }
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new CourseNotFoundException("Course not found with ID: " + courseId));
+        if (user.getRole() != UserRole.ADMIN && !course.getInstructor().getId().equals(user.getId())) {
+            throw new InvalidUser("You are not the instructor of this course");
+        }
+        return rollupRepository.findCourseBuckets(courseId, granularity, from.toEpochMilli(), to.toEpochMilli());
+    }
+
+    // Adds the counts to their rows, one query per granularity for the rows that exist already
+    private void add(Map<Bucket, Long> counts) {
+        Map<ActivityGranularity, Set<Long>> starts = new EnumMap<>(ActivityGranularity.class);
+        counts.keySet().forEach(bucket ->
+                starts.computeIfAbsent(bucket.granularity(), g -> new HashSet<>()).add(bucket.start()));
+        Map<Bucket, ActivityRollup> rows = new HashMap<>();
+        starts.forEach((granularity, bucketStarts) -> {
+            for (ActivityRollup row : rollupRepository.findByGranularityAndBucketStartIn(granularity, bucketStarts)) {
+                rows.put(new Bucket(row.getGranularity(), row.getBucketStart(), row.getActivityType(),
+                        row.getCourseId()), row);
+            }
+        });
+        List<ActivityRollup> created = new ArrayList<>();
+        counts.forEach((bucket, count) -> {
+            ActivityRollup row = rows.get(bucket);
+            if (row == null) {
+                row = new ActivityRollup();
+                row.setGranularity(bucket.granularity());
+                row.setBucketStart(bucket.start());
+                row.setActivityType(bucket.type());
+                row.setCourseId(bucket.courseId());
+                created.add(row);
+            }
+            // existing rows are written by dirty checking, as JDBC update batches
+            row.setEventCount(row.getEventCount() + count);
+        });
+        rollupRepository.saveAll(created);
+    }
+}
@@ -9,6 +9,7 @@ import com.main.lms.repositories.*;
 import com.main.lms.utility.ChartUtility;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.File;
 import java.io.IOException;
@@ -34,6 +35,7 @@ public class AnalyticsService {
     private final ChartUtility chartUtility;
 
 
+    @Transactional(readOnly = true)
     public List<StudentPerformanceDTO> getCourseAnalytics(Long courseId, User user) {
         // Check authorization
         Course course = courseRepository.findById(courseId)
@@ -121,6 +123,7 @@ public class AnalyticsService {
         return analyticsDataList;
     }
 
+    @Transactional(readOnly = true)
     public File generateCharts(Long courseId, User user) throws IOException {
         // Get analytics data
         List<StudentPerformanceDTO> analyticsDataList = getCourseAnalytics(courseId, user);
@@ -1,6 +1,7 @@
 package com.main.lms.services;
 
 import com.main.lms.dtos.AssignmentResponseDTO;
+import com.main.lms.dtos.AssignmentRow;
 import com.main.lms.dtos.CreateAssignmentDTO;
 import com.main.lms.entities.Assignment;
 import com.main.lms.entities.Course;
@@ -15,6 +16,7 @@ import com.main.lms.repositories.EnrolledCourseRepository;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -49,10 +51,8 @@ public class AssignmentService {
         List<EnrolledCourse> enrolledStudents = enrolledCourseRepository.findByCourse(course);
         notificationService.notifyUser(course.getInstructor().getId(),
                 "New Assignment Created Successfully for course " + course.getTitle());
-        for (EnrolledCourse enrolledCourse : enrolledStudents) {
-            notificationService.notifyUser(enrolledCourse.getStudent().getId(),
-                    "New Assignment has been posted for course " + course.getTitle());
-        }
+        notificationService.notifyUsers(enrolledStudents.stream().map(EnrolledCourse::getStudent).toList(),
+                "New Assignment has been posted for course " + course.getTitle());
 
         return AssignmentResponseDTO.mapToResponseDTO(assignmentRepository.save(assignment));
     }
@@ -83,10 +83,8 @@ public class AssignmentService {
         notificationService.notifyUser(course.getInstructor().getId(),
                 "Assignment Updated Successfully for course " + course.getTitle());
         List<EnrolledCourse> enrolledStudents = enrolledCourseRepository.findByCourse(course);
-        for (EnrolledCourse enrolledCourse : enrolledStudents) {
-            notificationService.notifyUser(enrolledCourse.getStudent().getId(),
-                    "Assignment Updated Successfully for course " + course.getTitle());
-        }
+        notificationService.notifyUsers(enrolledStudents.stream().map(EnrolledCourse::getStudent).toList(),
+                "Assignment Updated Successfully for course " + course.getTitle());
 
         AssignmentResponseDTO.mapToResponseDTO(assignmentRepository.save(curAssignment));
     }
@@ -109,13 +107,15 @@ public class AssignmentService {
                 "Assignment Deleted Successfully for course " + curAssignment.getCourse().getTitle());
     }
 
+    @Transactional(readOnly = true)
     public List<AssignmentResponseDTO> getAssignmentbyCourseId(long courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found with ID: " + courseId));
+        List<AssignmentRow> cur = assignmentRepository.findRowsByCourseId(courseId);
+        if (cur.isEmpty() && !courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found with ID: " + courseId);
+        }
 
-        List<Assignment> cur = assignmentRepository.findByCourse(course);
         List<AssignmentResponseDTO> ret = new ArrayList<>();
-        for (Assignment x : cur) {
+        for (AssignmentRow x : cur) {
             ret.add(AssignmentResponseDTO.mapToResponseDTO(x));
         }
         return ret;
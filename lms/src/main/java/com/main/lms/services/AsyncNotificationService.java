@@ -0,0 +1,36 @@
+package com.main.lms.services;
+
+import com.main.lms.entities.Notification;
+import com.main.lms.entities.User;
+import com.main.lms.repositories.NotificationRepository;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Notification fan-out off the request thread, for bulk operations that should not wait on it.
+// NotificationService is request scoped and cannot be used from the async executor.
+@Service
+@RequiredArgsConstructor
+public class AsyncNotificationService {
+    private final NotificationRepository notificationRepository;
+
+    @Async
+    @Transactional
+    public void notifyUsers(List<User> users, String message) {
+        List<Notification> notifications = new ArrayList<>(users.size());
+        for (User user : users) {
+            Notification notification = new Notification();
+            notification.setIsRead(false);
+            notification.setNotificationMessage(message);
+            notification.setUser(user);
+            notifications.add(notification);
+        }
+        notificationRepository.saveAll(notifications);
+    }
+}
@@ -0,0 +1,202 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.BulkEnrollmentReportDTO;
+import com.main.lms.dtos.BulkEnrollmentResultDTO;
+import com.main.lms.dtos.BulkEnrollmentRow;
+import com.main.lms.dtos.EnrollmentKey;
+import com.main.lms.entities.Course;
+import com.main.lms.entities.EnrolledCourse;
+import com.main.lms.entities.User;
+import com.main.lms.enums.ActivityType;
+import com.main.lms.enums.BulkEnrollmentStatus;
+import com.main.lms.enums.UserRole;
+import com.main.lms.repositories.CourseRepository;
+import com.main.lms.repositories.EnrolledCourseRepository;
+import com.main.lms.repositories.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+// Registrar imports. Rows are handled in chunks: students, courses and existing enrollments
+// are looked up with one IN-list query each per chunk, new rows go out in one batched saveAll.
+// Each chunk commits on its own; if the upload or the database fails partway, the report ends
+// at the first row that was not imported so the rest can be uploaded again.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkEnrollmentService {
+
+    static final int CHUNK_SIZE = 1000;
+
+    private final EnrolledCourseRepository enrollmentRepository;
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final AsyncNotificationService asyncNotificationService;
+    private final CourseSeatService courseSeatService;
+    private final CourseRecommendationService courseRecommendationService;
+    private final ActivityLogService activityLogService;
+
+    public BulkEnrollmentReportDTO enroll(Iterator<BulkEnrollmentRow> rows) {
+        BulkEnrollmentReportDTO report = new BulkEnrollmentReportDTO();
+        Map<Long, Course> courses = new HashMap<>();
+        Set<EnrollmentKey> seen = new HashSet<>();
+        List<BulkEnrollmentRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        try {
+            while (rows.hasNext()) {
+                chunk.add(rows.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    enrollChunk(chunk, courses, seen, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                enrollChunk(chunk, courses, seen, report);
+            }
+        } catch (RuntimeException e) {
+            report.fail(e);
+            log.warn("Bulk enrollment stopped at row {} after {} enrollments", report.getFailedRow(),
+                    report.getEnrolled(), e);
+        }
+        return report;
+    }
+
+    private void enrollChunk(List<BulkEnrollmentRow> chunk, Map<Long, Course> courses, Set<EnrollmentKey> seen,
+                             BulkEnrollmentReportDTO report) {
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> courseIds = new HashSet<>();
+        for (BulkEnrollmentRow row : chunk) {
+            if (isValid(row)) {
+                studentIds.add(row.getStudentId());
+                courseIds.add(row.getCourseId());
+            }
+        }
+
+        Map<Long, User> students = new HashMap<>();
+        Set<EnrollmentKey> existing = new HashSet<>();
+        if (!studentIds.isEmpty()) {
+            userRepository.findAllById(studentIds).forEach(student -> students.put(student.getId(), student));
+
+            Set<Long> unknownCourses = new HashSet<>(courseIds);
+            unknownCourses.removeAll(courses.keySet());
+            if (!unknownCourses.isEmpty()) {
+                courseRepository.findAllById(unknownCourses).forEach(course -> courses.put(course.getId(), course));
+            }
+            existing.addAll(enrollmentRepository.findKeys(studentIds, courseIds));
+        }
+
+        BulkEnrollmentStatus[] statuses = new BulkEnrollmentStatus[chunk.size()];
+        List<EnrolledCourse> enrollments = new ArrayList<>();
+        List<Integer> enrolledRows = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            BulkEnrollmentRow row = chunk.get(i);
+            statuses[i] = check(row, students, courses, existing, seen);
+            if (statuses[i].isSuccess()) {
+                enrollments.add(newEnrollment(students.get(row.getStudentId()), courses.get(row.getCourseId())));
+                enrolledRows.add(i);
+            }
+        }
+
+        List<EnrolledCourse> saved = save(enrollments);
+        for (int i = 0; i < saved.size(); i++) {
+            if (saved.get(i) == null) {
+                statuses[enrolledRows.get(i)] = BulkEnrollmentStatus.ALREADY_ENROLLED;
+            }
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            report.add(result(chunk.get(i), statuses[i]));
+        }
+        recordEnrolled(saved);
+    }
+
+    private BulkEnrollmentStatus check(BulkEnrollmentRow row, Map<Long, User> students, Map<Long, Course> courses,
+                                       Set<EnrollmentKey> existing, Set<EnrollmentKey> seen) {
+        if (!isValid(row)) {
+            return BulkEnrollmentStatus.INVALID_ROW;
+        }
+        User student = students.get(row.getStudentId());
+        if (student == null) {
+            return BulkEnrollmentStatus.STUDENT_NOT_FOUND;
+        }
+        if (student.getRole() != UserRole.STUDENT) {
+            return BulkEnrollmentStatus.NOT_A_STUDENT;
+        }
+        if (!courses.containsKey(row.getCourseId())) {
+            return BulkEnrollmentStatus.COURSE_NOT_FOUND;
+        }
+        EnrollmentKey key = new EnrollmentKey(row.getStudentId(), row.getCourseId());
+        if (existing.contains(key)) {
+            return BulkEnrollmentStatus.ALREADY_ENROLLED;
+        }
+        if (!seen.add(key)) {
+            return BulkEnrollmentStatus.DUPLICATE_ROW;
+        }
+        return BulkEnrollmentStatus.ENROLLED;
+    }
+
+    // Saved rows in input order, null where the student was enrolled concurrently
+    private List<EnrolledCourse> save(List<EnrolledCourse> enrollments) {
+        if (enrollments.isEmpty()) {
+            return enrollments;
+        }
+        try {
+            return enrollmentRepository.saveAll(enrollments);
+        } catch (DataIntegrityViolationException e) {
+            // Someone enrolled one of these students since the lookup; the batch rolled back, retry row by row
+            List<EnrolledCourse> saved = new ArrayList<>(enrollments.size());
+            for (EnrolledCourse enrollment : enrollments) {
+                try {
+                    saved.add(enrollmentRepository.save(newEnrollment(enrollment.getStudent(), enrollment.getCourse())));
+                } catch (DataIntegrityViolationException duplicate) {
+                    saved.add(null);
+                }
+            }
+            return saved;
+        }
+    }
+
+    // Registrar imports are not held to the capacity but still count against it.
+    // One notification per student, one summary per instructor.
+    private void recordEnrolled(List<EnrolledCourse> saved) {
+        Map<Long, List<User>> studentsByCourse = new LinkedHashMap<>();
+        Map<Long, Course> courses = new HashMap<>();
+        for (EnrolledCourse enrollment : saved) {
+            if (enrollment != null) {
+                studentsByCourse.computeIfAbsent(enrollment.getCourse().getId(), id -> new ArrayList<>())
+                        .add(enrollment.getStudent());
+                courses.put(enrollment.getCourse().getId(), enrollment.getCourse());
+                courseRecommendationService.enrolled(enrollment.getStudent().getId(), enrollment.getCourse().getId());
+                activityLogService.record(ActivityType.ENROLLED, enrollment.getStudent().getId(),
+                        enrollment.getCourse().getId(), null);
+            }
+        }
+        studentsByCourse.forEach((courseId, students) -> {
+            Course course = courses.get(courseId);
+            courseSeatService.add(courseId, students.size());
+            asyncNotificationService.notifyUsers(students,
+                    "You have been enrolled in a the following course: " + course.getTitle());
+            asyncNotificationService.notifyUsers(List.of(course.getInstructor()),
+                    students.size() + " new students have been enrolled in your course: " + course.getTitle());
+        });
+    }
+
+    private static boolean isValid(BulkEnrollmentRow row) {
+        return row.getError() == null && row.getStudentId() != null && row.getCourseId() != null;
+    }
+
+    private static EnrolledCourse newEnrollment(User student, Course course) {
+        EnrolledCourse enrollment = new EnrolledCourse();
+        enrollment.setStudent(student);
+        enrollment.setCourse(course);
+        enrollment.setIsConfirmed(true);
+        return enrollment;
+    }
+
+    private static BulkEnrollmentResultDTO result(BulkEnrollmentRow row, BulkEnrollmentStatus status) {
+        return new BulkEnrollmentResultDTO(row.getRow(), row.getStudentId(), row.getCourseId(), status);
+    }
+}
@@ -0,0 +1,154 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.BulkGradeReportDTO;
+import com.main.lms.dtos.BulkGradeResultDTO;
+import com.main.lms.dtos.BulkGradeRow;
+import com.main.lms.entities.StudentAssignment;
+import com.main.lms.enums.ActivityType;
+import com.main.lms.enums.BulkGradeStatus;
+import com.main.lms.repositories.StudentAssignmentRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+// Graded sheets. Rows are handled in chunks: the chunk's submissions are loaded with one
+// IN-list query, ownership is decided once per course, and the changed rows are flushed
+// together so Hibernate sends them as JDBC update batches. Each chunk commits in its own
+// transaction and is then cleared from the persistence context, so a large sheet holds one
+// chunk of submissions at a time. If the upload or the database fails partway, the report
+// ends at the first row that was not graded; the chunks before it stay committed.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkGradingService {
+
+    static final int CHUNK_SIZE = 1000;
+
+    private final StudentAssignmentRepository studentAssignmentRepository;
+    private final LeaderboardService leaderboardService;
+    private final GradeStatisticsService gradeStatisticsService;
+    private final ActivityLogService activityLogService;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+
+    // A chunk's graded submissions, with their grade before this sheet
+    private record Graded(StudentAssignment submission, long previousGrade) {
+    }
+
+    public BulkGradeReportDTO grade(Iterator<BulkGradeRow> rows, Long instructorId) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        BulkGradeReportDTO report = new BulkGradeReportDTO();
+        Map<Long, Boolean> ownsCourse = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+        List<BulkGradeRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        try {
+            while (rows.hasNext()) {
+                chunk.add(rows.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    commitChunk(transaction, chunk, instructorId, ownsCourse, seen, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                commitChunk(transaction, chunk, instructorId, ownsCourse, seen, report);
+            }
+        } catch (RuntimeException e) {
+            report.fail(e);
+            log.warn("Bulk grading stopped at row {} after {} grades", report.getFailedRow(), report.getGraded(), e);
+        }
+        return report;
+    }
+
+    // The chunk's results are reported, and leaderboards and statistics told, once it has committed
+    private void commitChunk(TransactionTemplate transaction, List<BulkGradeRow> chunk, Long instructorId,
+                            Map<Long, Boolean> ownsCourse, Set<Long> seen, BulkGradeReportDTO report) {
+        List<BulkGradeResultDTO> results = new ArrayList<>(chunk.size());
+        List<Graded> graded = new ArrayList<>();
+        long write = leaderboardService.beginWrite();
+        try {
+            transaction.executeWithoutResult(status ->
+                    gradeChunk(chunk, instructorId, ownsCourse, seen, results, graded));
+        } finally {
+            // with open-in-view the request's persistence context would otherwise keep every chunk
+            entityManager.clear();
+        }
+        results.forEach(report::add);
+        for (Graded change : graded) {
+            StudentAssignment submission = change.submission();
+            leaderboardService.assignmentGraded(submission.getCourse().getId(), submission.getStudentId(),
+                    change.previousGrade(), submission.getGrade(), write);
+            activityLogService.record(ActivityType.ASSIGNMENT_GRADED, submission.getStudentId(),
+                    submission.getCourse().getId(), submission.getAssignmentId());
+        }
+        graded.stream()
+                .map(change -> change.submission().getCourse().getId())
+                .distinct()
+                .forEach(gradeStatisticsService::assignmentGraded);
+    }
+
+    private void gradeChunk(List<BulkGradeRow> chunk, Long instructorId, Map<Long, Boolean> ownsCourse,
+                            Set<Long> seen, List<BulkGradeResultDTO> results, List<Graded> graded) {
+        Set<Long> ids = new HashSet<>();
+        for (BulkGradeRow row : chunk) {
+            if (isValid(row)) {
+                ids.add(row.getSubmissionId());
+            }
+        }
+        Map<Long, StudentAssignment> submissions = new HashMap<>();
+        if (!ids.isEmpty()) {
+            studentAssignmentRepository.findForGrading(ids)
+                    .forEach(submission -> submissions.put(submission.getId(), submission));
+        }
+
+        for (BulkGradeRow row : chunk) {
+            BulkGradeStatus status = check(row, submissions, instructorId, ownsCourse, seen);
+            if (status.isSuccess()) {
+                StudentAssignment submission = submissions.get(row.getSubmissionId());
+                graded.add(new Graded(submission, submission.getGrade()));
+                submission.setGrade(row.getGrade());
+                submission.setGraded(true);
+                if (row.getFeedback() != null) {
+                    submission.setFeedback(row.getFeedback());
+                }
+            }
+            results.add(new BulkGradeResultDTO(row.getRow(), row.getSubmissionId(), status));
+        }
+        if (!graded.isEmpty()) {
+            studentAssignmentRepository.flush();
+        }
+    }
+
+    private BulkGradeStatus check(BulkGradeRow row, Map<Long, StudentAssignment> submissions, Long instructorId,
+                                  Map<Long, Boolean> ownsCourse, Set<Long> seen) {
+        if (!isValid(row)) {
+            return BulkGradeStatus.INVALID_ROW;
+        }
+        StudentAssignment submission = submissions.get(row.getSubmissionId());
+        if (submission == null) {
+            return BulkGradeStatus.SUBMISSION_NOT_FOUND;
+        }
+        boolean owns = ownsCourse.computeIfAbsent(submission.getCourse().getId(),
+                courseId -> Objects.equals(submission.getCourse().getInstructor().getId(), instructorId));
+        if (!owns) {
+            return BulkGradeStatus.NOT_INSTRUCTOR;
+        }
+        if (row.getGrade() < 0 || row.getGrade() > submission.getAssignment().getMaxGrade()) {
+            return BulkGradeStatus.GRADE_OUT_OF_RANGE;
+        }
+        if (!seen.add(row.getSubmissionId())) {
+            return BulkGradeStatus.DUPLICATE_ROW;
+        }
+        return BulkGradeStatus.GRADED;
+    }
+
+    private static boolean isValid(BulkGradeRow row) {
+        return row.getError() == null && row.getSubmissionId() != null && row.getGrade() != null;
+    }
+}
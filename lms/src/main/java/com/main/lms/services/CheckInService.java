@@ -0,0 +1,298 @@
+package com.main.lms.services;
+
+import com.main.lms.entities.Lesson;
+import com.main.lms.entities.StudentLesson;
+import com.main.lms.entities.User;
+import com.main.lms.enums.ActivityType;
+import com.main.lms.exceptions.CourseNotFoundException;
+import com.main.lms.repositories.EnrolledCourseRepository;
+import com.main.lms.repositories.LessonRepository;
+import com.main.lms.repositories.StudentsLessonRepository;
+import com.main.lms.repositories.UserRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Lesson attendance when the whole class submits the OTP at once. Each lesson gets an in-memory
+// roster (the lesson with its OTP secret, enrolled students, who has checked in) loaded with three
+// queries; after that a check-in is validated and de-duplicated without touching the database.
+// Accepted check-ins are queued and written as batched StudentLesson inserts.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CheckInService {
+
+    private final LessonRepository lessonRepository;
+    private final EnrolledCourseRepository enrollmentRepository;
+    private final StudentsLessonRepository studentLessonsRepository;
+    private final UserRepository userRepository;
+    private final LessonOtpService lessonOtpService;
+    private final ActivityLogService activityLogService;
+
+    @Value("${lms.check-in.batch-size:50}")
+    private int batchSize = 50;
+
+    // Rosters are reloaded after this long so enrollment and OTP changes made elsewhere are picked up
+    @Value("${lms.check-in.roster-ttl:1m}")
+    private Duration rosterTtl = Duration.ofMinutes(1);
+
+    // A rejected check-in reloads a roster at most this often, e.g. for a student who just enrolled
+    @Value("${lms.check-in.reload-on-miss-after:5s}")
+    private Duration reloadOnMissAfter = Duration.ofSeconds(5);
+
+    LongSupplier nanoClock = System::nanoTime;
+
+    final Map<Long, Roster> rosters = new ConcurrentHashMap<>();
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    record Pending(Long studentId, Long lessonId) {
+    }
+
+    // The returned StudentLesson is written by the next flush, within lms.check-in.flush-interval ms
+    public StudentLesson checkIn(Long lessonId, String otp, User student) {
+        Roster roster = roster(lessonId);
+        if (!accepts(roster, otp, student.getId()) && roster.age(nanoClock) > reloadOnMissAfter.toNanos()) {
+            roster = reload(lessonId, roster);
+        }
+        int seat = roster.seatOf(student.getId());
+        if (seat < 0) {
+            throw new CourseNotFoundException("Student is not enrolled in this course");
+        }
+        // verified from the roster's copy of the lesson, no read per check-in
+        if (!lessonOtpService.matches(roster.lesson, otp)) {
+            throw new RuntimeException("OTP is invalid");
+        }
+        if (!roster.attend(seat)) {
+            throw new RuntimeException("Student is already enrolled in this lesson");
+        }
+
+        pending.add(new Pending(student.getId(), lessonId));
+        activityLogService.record(ActivityType.LESSON_ATTENDED, student.getId(), roster.lesson.getCourseId(), lessonId);
+        // every batchSize check-ins, not each one past it while a failed batch waits for the next tick
+        if (pendingCount.incrementAndGet() % batchSize == 0) {
+            flush();
+        }
+
+        StudentLesson studentLesson = new StudentLesson();
+        studentLesson.setStudent(student);
+        studentLesson.setLesson(roster.lesson);
+        return studentLesson;
+    }
+
+    // Drops the cached roster, e.g. after the lesson's OTP changed
+    public void evict(Long lessonId) {
+        rosters.remove(lessonId);
+    }
+
+    // An attendance row was deleted; the student may check in to the lesson again
+    public void attendanceDeleted(Long lessonId, Long studentId) {
+        Roster roster = rosters.get(lessonId);
+        if (roster != null) {
+            int seat = roster.seatOf(studentId);
+            if (seat >= 0) {
+                roster.leave(seat);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${lms.check-in.flush-interval:500}")
+    public void flushPending() {
+        flush();
+        evictExpiredRosters();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    void flush() {
+        // one flusher at a time; a caller that finds it busy leaves its rows to that flush or the next tick
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            // only what was queued when it started; a failed batch put back waits for the next tick
+            int queued = pendingCount.get();
+            List<Pending> batch = new ArrayList<>(batchSize);
+            Pending next;
+            while (queued-- > 0 && (next = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                batch.add(next);
+                if (batch.size() == batchSize) {
+                    if (!write(batch)) {
+                        // the database is down, the rest would fail the same way
+                        return;
+                    }
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Rosters past their TTL would be reloaded by the next check-in anyway; dropping them keeps the
+    // map to the lessons being checked in to. One with check-ins still queued after a failed write
+    // stays, its marks are all that stops those students from being accepted twice.
+    private void evictExpiredRosters() {
+        Set<Long> queued = new HashSet<>();
+        pending.forEach(checkIn -> queued.add(checkIn.lessonId()));
+        rosters.entrySet().removeIf(entry ->
+                entry.getValue().age(nanoClock) > rosterTtl.toNanos() && !queued.contains(entry.getKey()));
+    }
+
+    // false when the batch could not be written and was queued again
+    private boolean write(List<Pending> batch) {
+        List<StudentLesson> rows = new ArrayList<>(batch.size());
+        for (Pending checkIn : batch) {
+            rows.add(row(checkIn));
+        }
+        try {
+            studentLessonsRepository.saveAll(rows);
+        } catch (DataIntegrityViolationException e) {
+            // another instance recorded some of these already; keep the rest
+            for (Pending checkIn : batch) {
+                try {
+                    studentLessonsRepository.save(row(checkIn));
+                } catch (DataIntegrityViolationException duplicate) {
+                    // already attended
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to record {} lesson check-ins, retrying on the next flush: {}", batch.size(), e.getMessage());
+            batch.forEach(checkIn -> {
+                pending.add(checkIn);
+                pendingCount.incrementAndGet();
+            });
+            return false;
+        }
+        return true;
+    }
+
+    // References only: the ids were validated against the roster, no need to load the rows
+    private StudentLesson row(Pending checkIn) {
+        StudentLesson studentLesson = new StudentLesson();
+        studentLesson.setStudent(userRepository.getReferenceById(checkIn.studentId()));
+        studentLesson.setLesson(lessonRepository.getReferenceById(checkIn.lessonId()));
+        return studentLesson;
+    }
+
+    private boolean accepts(Roster roster, String otp, Long studentId) {
+        return roster.seatOf(studentId) >= 0 && lessonOtpService.matches(roster.lesson, otp);
+    }
+
+    private Roster roster(Long lessonId) {
+        Roster roster = rosters.computeIfAbsent(lessonId, this::load);
+        return roster.age(nanoClock) > rosterTtl.toNanos() ? reload(lessonId, roster) : roster;
+    }
+
+    // Check-ins marked on the old roster but not yet flushed are carried over
+    private Roster reload(Long lessonId, Roster stale) {
+        return rosters.compute(lessonId, (id, current) -> {
+            if (current != null && current != stale) {
+                return current;
+            }
+            Roster fresh = load(id);
+            fresh.carryOver(stale);
+            return fresh;
+        });
+    }
+
+    private Roster load(Long lessonId) {
+        Lesson lesson = lessonRepository.findById(lessonId)
+                .orElseThrow(() -> new RuntimeException("Lesson not found with ID: " + lessonId));
+        List<Long> enrolled = enrollmentRepository.findStudentIdsByCourseId(lesson.getCourse().getId());
+        List<Long> attended = studentLessonsRepository.findStudentIdsByLessonId(lessonId);
+        return new Roster(lesson, enrolled, attended, nanoClock.getAsLong());
+    }
+
+    // Enrolled students numbered 0..n-1, attendance as one bit per student
+    static final class Roster {
+        final Lesson lesson;
+        private final Map<Long, Integer> seats;
+        private final long[] studentIds;
+        private final AtomicLongArray attended;
+        private final long loadedAt;
+
+        Roster(Lesson lesson, List<Long> enrolled, List<Long> alreadyAttended, long loadedAt) {
+            this.lesson = lesson;
+            this.loadedAt = loadedAt;
+            this.seats = new HashMap<>(enrolled.size() * 2);
+            this.studentIds = new long[enrolled.size()];
+            for (Long studentId : enrolled) {
+                studentIds[seats.size()] = studentId;
+                seats.put(studentId, seats.size());
+            }
+            this.attended = new AtomicLongArray((enrolled.size() + 63) / 64);
+            for (Long studentId : alreadyAttended) {
+                int seat = seatOf(studentId);
+                if (seat >= 0) {
+                    attend(seat);
+                }
+            }
+        }
+
+        int seatOf(Long studentId) {
+            Integer seat = seats.get(studentId);
+            return seat == null ? -1 : seat;
+        }
+
+        long age(LongSupplier nanoClock) {
+            return nanoClock.getAsLong() - loadedAt;
+        }
+
+        // true for the first check-in of this seat
+        boolean attend(int seat) {
+            int word = seat >>> 6;
+            long bit = 1L << seat;
+            long current;
+            do {
+                current = attended.get(word);
+                if ((current & bit) != 0) {
+                    return false;
+                }
+            } while (!attended.compareAndSet(word, current, current | bit));
+            return true;
+        }
+
+        void leave(int seat) {
+            attended.getAndUpdate(seat >>> 6, current -> current & ~(1L << seat));
+        }
+
+        boolean hasAttended(int seat) {
+            return (attended.get(seat >>> 6) & (1L << seat)) != 0;
+        }
+
+        void carryOver(Roster stale) {
+            for (int seat = 0; seat < stale.studentIds.length; seat++) {
+                if (stale.hasAttended(seat)) {
+                    int moved = seatOf(stale.studentIds[seat]);
+                    if (moved >= 0) {
+                        attend(moved);
+                    }
+                }
+            }
+        }
+    }
+}
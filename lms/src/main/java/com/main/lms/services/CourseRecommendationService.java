@@ -0,0 +1,216 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.CourseRecommendationDTO;
+import com.main.lms.dtos.EnrollmentKey;
+import com.main.lms.repositories.EnrolledCourseRepository;
+import com.main.lms.utility.CoEnrollmentMatrix;
+import com.main.lms.utility.CoEnrollmentMatrix.Neighbors;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// "Students who took this also took" recommendations served from memory. The co-enrollment
+// matrix is built from one streaming scan once the application is up and kept current by the
+// enrollment services. Every lms.recommendations.refresh-interval the top TOP_K similar courses
+// are recomputed for the courses whose rows changed, spread over the fork/join common pool; a
+// full rebuild every lms.recommendations.rebuild-interval picks up enrollments removed with their
+// course or student.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseRecommendationService {
+
+    static final int TOP_K = 20;
+    static final int MIN_CO_ENROLLED = 2;
+    static final int MAX_LIMIT = 50;
+
+    private final EnrolledCourseRepository enrollmentRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // one refresh or rebuild at a time
+    private final ReentrantLock jobLock = new ReentrantLock();
+    private CoEnrollmentMatrix matrix = new CoEnrollmentMatrix();
+    // changes made while a rebuild is scanning, replayed onto the new matrix before it goes live
+    private List<Consumer<CoEnrollmentMatrix>> missed;
+
+    // course id -> its most similar courses; read without the lock
+    private volatile Map<Long, Neighbors> neighbors = new ConcurrentHashMap<>();
+    private volatile long[] popular = new long[0];
+
+    public List<CourseRecommendationDTO> recommend(Long studentId, int limit) {
+        limit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        long[] taken;
+        lock.readLock().lock();
+        try {
+            taken = matrix.courses(studentId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        Set<Long> excluded = new HashSet<>();
+        for (long courseId : taken) {
+            excluded.add(courseId);
+        }
+        Map<Long, Neighbors> current = neighbors;
+        Map<Long, Double> scores = new HashMap<>();
+        for (long courseId : taken) {
+            Neighbors similar = current.get(courseId);
+            if (similar == null) {
+                continue;
+            }
+            for (int i = 0; i < similar.courseIds().length; i++) {
+                if (!excluded.contains(similar.courseIds()[i])) {
+                    scores.merge(similar.courseIds()[i], similar.scores()[i], Double::sum);
+                }
+            }
+        }
+        List<CourseRecommendationDTO> recommendations = new ArrayList<>();
+        scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .forEach(entry -> recommendations.add(new CourseRecommendationDTO(entry.getKey(), entry.getValue())));
+        // new students and thin neighborhoods get the most taken courses
+        for (long courseId : popular) {
+            if (recommendations.size() == limit) {
+                break;
+            }
+            if (!excluded.contains(courseId) && !scores.containsKey(courseId)) {
+                recommendations.add(new CourseRecommendationDTO(courseId, 0));
+            }
+        }
+        return recommendations;
+    }
+
+    public void enrolled(Long studentId, Long courseId) {
+        apply(m -> m.add(studentId, courseId));
+    }
+
+    public void unenrolled(Long studentId, Long courseId) {
+        apply(m -> m.remove(studentId, courseId));
+    }
+
+    @Scheduled(fixedDelayString = "${lms.recommendations.refresh-interval:30s}")
+    public void refresh() {
+        // a tick that finds a rebuild running has nothing to add
+        if (!jobLock.tryLock()) {
+            return;
+        }
+        try {
+            recompute();
+        } finally {
+            jobLock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${lms.recommendations.rebuild-interval:1h}",
+            initialDelayString = "${lms.recommendations.rebuild-interval:1h}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        jobLock.lock();
+        try {
+            setMissed(new ArrayList<>());
+            CoEnrollmentMatrix fresh = new CoEnrollmentMatrix();
+            try (Stream<EnrollmentKey> keys = enrollmentRepository.streamAllKeys()) {
+                keys.forEach(key -> fresh.add(key.getStudentId(), key.getCourseId()));
+            } catch (RuntimeException e) {
+                // keep serving the old matrix rather than an empty or half-built one
+                setMissed(null);
+                log.error("Course recommendation rebuild failed: {}", e.getMessage());
+                return;
+            }
+            // the fresh matrix is this thread's alone until it is swapped in, so every list is
+            // computed without the lock and enrollments keep going to the old matrix meanwhile
+            Map<Long, Neighbors> freshNeighbors = new ConcurrentHashMap<>();
+            computeInto(fresh, fresh.takeDirty(), freshNeighbors);
+            long[] freshPopular = fresh.popular(MAX_LIMIT);
+            lock.writeLock().lock();
+            try {
+                // the replayed changes mark their rows dirty for the refresh below
+                missed.forEach(change -> change.accept(fresh));
+                missed = null;
+                matrix = fresh;
+                neighbors = freshNeighbors;
+                popular = freshPopular;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            recompute();
+        } finally {
+            jobLock.unlock();
+        }
+    }
+
+    // Recomputes the lists of the rows changed since the last refresh
+    private void recompute() {
+        int[] dirty;
+        lock.writeLock().lock();
+        try {
+            dirty = matrix.takeDirty();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (dirty.length == 0) {
+            return;
+        }
+        // rows only change under the write lock, so workers can read while this thread holds the
+        // read lock; enrollments wait for the few rows changed since the last refresh
+        lock.readLock().lock();
+        try {
+            computeInto(matrix, dirty, neighbors);
+            popular = matrix.popular(MAX_LIMIT);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void computeInto(CoEnrollmentMatrix source, int[] rows, Map<Long, Neighbors> target) {
+        Neighbors[] computed = new Neighbors[rows.length];
+        IntStream.range(0, rows.length).parallel()
+                .forEach(i -> computed[i] = source.neighbors(rows[i], TOP_K, MIN_CO_ENROLLED));
+        for (int i = 0; i < rows.length; i++) {
+            long courseId = source.courseId(rows[i]);
+            if (computed[i].courseIds().length == 0) {
+                target.remove(courseId);
+            } else {
+                target.put(courseId, computed[i]);
+            }
+        }
+    }
+
+    private void apply(Consumer<CoEnrollmentMatrix> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(matrix);
+            if (missed != null) {
+                missed.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setMissed(List<Consumer<CoEnrollmentMatrix>> changes) {
+        lock.writeLock().lock();
+        try {
+            missed = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.CourseResponseDTO;
+import com.main.lms.dtos.CourseSearchHitDTO;
+import com.main.lms.repositories.CourseRepository;
+import com.main.lms.utility.CourseSearchIndex;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Catalog search served from memory. The index is built from one streaming scan once the
+// application is up and kept current by CourseService on every add, update and delete. Changes
+// that bypass CourseService (an instructor renamed or deleted with their courses) are picked up
+// by the periodic rebuild every lms.course-search.rebuild-interval.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseSearchService {
+
+    static final int MAX_LIMIT = 50;
+
+    private final CourseRepository courseRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private CourseSearchIndex index = new CourseSearchIndex();
+    // changes made while a rebuild is scanning, replayed onto the new index before it goes live
+    private List<Consumer<CourseSearchIndex>> missed;
+
+    public List<CourseSearchHitDTO> search(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.search(query, clamp(limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<String> suggest(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.complete(query, clamp(limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(CourseResponseDTO course) {
+        apply(idx -> idx.put(course));
+    }
+
+    public void remove(Long courseId) {
+        apply(idx -> idx.remove(courseId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${lms.course-search.rebuild-interval:10m}",
+            initialDelayString = "${lms.course-search.rebuild-interval:10m}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        // one rebuild at a time; a tick that finds one running has nothing to add
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            setMissed(new ArrayList<>());
+            CourseSearchIndex fresh = new CourseSearchIndex();
+            try (Stream<CourseResponseDTO> courses = courseRepository.streamAllResponses()) {
+                courses.forEach(fresh::put);
+            } catch (RuntimeException e) {
+                // keep serving the old index rather than an empty or half-built one
+                setMissed(null);
+                log.error("Course search index rebuild failed: {}", e.getMessage());
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                missed.forEach(change -> change.accept(fresh));
+                missed = null;
+                index = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void apply(Consumer<CourseSearchIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (missed != null) {
+                missed.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setMissed(List<Consumer<CourseSearchIndex>> changes) {
+        lock.writeLock().lock();
+        try {
+            missed = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
@@ -0,0 +1,56 @@
+package com.main.lms.services;
+
+import com.main.lms.entities.CourseSeats;
+import com.main.lms.repositories.CourseSeatsRepository;
+import com.main.lms.repositories.EnrolledCourseRepository;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+// Seat accounting for capped courses. Each call is one guarded UPDATE committed on its own, so
+// a burst of sign-ups holds the ledger row for a statement at a time instead of queuing behind
+// whole enrollment transactions. A seat taken for an enrollment that then fails is released again.
+@Service
+@RequiredArgsConstructor
+public class CourseSeatService {
+    private final CourseSeatsRepository seatsRepository;
+    private final EnrolledCourseRepository enrollmentRepository;
+
+    // true when the caller now holds a seat; courses without a ledger always have one
+    public boolean take(Long courseId) {
+        return seatsRepository.takeSeat(courseId) == 1 || !seatsRepository.existsById(courseId);
+    }
+
+    public void release(Long courseId) {
+        seatsRepository.releaseSeat(courseId);
+    }
+
+    // Counts seats filled outside take(), e.g. by a registrar import
+    public void add(Long courseId, int seats) {
+        if (seats > 0) {
+            seatsRepository.addTaken(courseId, seats);
+        }
+    }
+
+    // null removes the limit. The first call creates the ledger from the enrollments already there.
+    public void setCapacity(Long courseId, Integer capacity) {
+        if (capacity != null && capacity < 0) {
+            throw new RuntimeException("Capacity cannot be negative");
+        }
+        if (seatsRepository.updateCapacity(courseId, capacity) == 1) {
+            return;
+        }
+        CourseSeats seats = new CourseSeats();
+        seats.setCourseId(courseId);
+        seats.setCapacity(capacity);
+        seats.setTaken((int) enrollmentRepository.countByCourseId(courseId));
+        try {
+            seatsRepository.save(seats);
+        } catch (DataIntegrityViolationException e) {
+            // created by a concurrent call
+            seatsRepository.updateCapacity(courseId, capacity);
+        }
+    }
+}
@@ -2,19 +2,24 @@ package com.main.lms.services;
 
 import com.main.lms.dtos.CourseRequestDTO;
 import com.main.lms.dtos.CourseResponseDTO;
+import com.main.lms.dtos.KeysetPage;
 import com.main.lms.entities.Course;
 import com.main.lms.entities.EnrolledCourse;
 import com.main.lms.entities.User;
+import com.main.lms.enums.ActivityType;
 import com.main.lms.enums.UserRole;
 import com.main.lms.exceptions.CourseNotFoundException;
 import com.main.lms.exceptions.InvalidUser;
 import com.main.lms.repositories.CourseRepository;
 import com.main.lms.repositories.EnrolledCourseRepository;
 import com.main.lms.repositories.UserRepository;
+import com.main.lms.utility.CacheInvalidator;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
@@ -27,6 +32,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -36,8 +43,12 @@ public class CourseService {
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
     private final EnrolledCourseRepository enrolledCourseRepository;
+    private final CacheInvalidator cacheInvalidator;
+    private final CourseSearchService courseSearchService;
+    private final ActivityLogService activityLogService;
 
     // Get All Courses
+    @Transactional(readOnly = true)
     public List<CourseResponseDTO> getAllCourses() {
         List<CourseResponseDTO> courses = new ArrayList<>();
         for (Course crs : courseRepository.findAll()) {
@@ -46,6 +57,23 @@ public class CourseService {
         return courses;
     }
 
+    // Keyset page of all courses in id order, one query regardless of the table size
+    @Transactional(readOnly = true)
+    public KeysetPage<CourseResponseDTO> getCoursesPage(Long after, int size) {
+        List<CourseResponseDTO> courses = courseRepository.findResponsesAfter(after == null ? 0L : after,
+                PageRequest.of(0, size));
+        Long nextAfter = courses.size() == size ? courses.get(courses.size() - 1).getId() : null;
+        return new KeysetPage<>(courses, nextAfter);
+    }
+
+    // Streams every course to the sink without holding the table in memory
+    @Transactional(readOnly = true)
+    public void exportCourses(Consumer<CourseResponseDTO> sink) {
+        try (Stream<CourseResponseDTO> courses = courseRepository.streamAllResponses()) {
+            courses.forEach(sink);
+        }
+    }
+
     public CourseResponseDTO updateCourse(Long id, CourseRequestDTO courseRequestDTO, Long instructorId) {
         Course crs = courseRepository.findById(id).get();
         if(crs == null) {
@@ -59,7 +87,9 @@ public class CourseService {
         crs.setDuration(courseRequestDTO.getDuration() == null ? crs.getDuration() : courseRequestDTO.getDuration());
         
         crs = courseRepository.save(crs);
-        return mapResponseDTO(crs);
+        CourseResponseDTO dto = mapResponseDTO(crs);
+        courseSearchService.index(dto);
+        return dto;
     }
 
     // Get Course by ID
@@ -84,7 +114,9 @@ public class CourseService {
         }
         crs.setInstructor(instructor.get());
         crs = courseRepository.save(crs);
-        return mapResponseDTO(crs);
+        CourseResponseDTO dto = mapResponseDTO(crs);
+        courseSearchService.index(dto);
+        return dto;
     }
 
     // Delete Course
@@ -94,6 +126,8 @@ public class CourseService {
             throw new InvalidUser("You are not the instructor of this course");
         }
         courseRepository.deleteById(id);
+        cacheInvalidator.evictCourse(id);
+        courseSearchService.remove(id);
     }
 
     public CourseResponseDTO addMaterials(long id, long instructorId, List<MultipartFile> materials) throws CourseNotFoundException {
@@ -139,6 +173,9 @@ public class CourseService {
         if(user.getRole() == UserRole.STUDENT && enrollment.getStudent().getId() != userId) {
             throw new InvalidUser("You are not enrolled in this course");
         }
+        if (user.getRole() == UserRole.STUDENT) {
+            activityLogService.record(ActivityType.MATERIAL_DOWNLOADED, userId, id, null);
+        }
 
         String path = System.getProperty("user.dir") + "/uploads/" + "courses-materials/";
         List<Path> materials = new ArrayList<>();
@@ -2,25 +2,36 @@ package com.main.lms.services;
 
 import com.main.lms.dtos.EnrollmentRequestDTO;
 import com.main.lms.dtos.EnrollmentResponseDTO;
+import com.main.lms.dtos.EnrollmentRow;
+import com.main.lms.dtos.KeysetPage;
 import com.main.lms.entities.Course;
 import com.main.lms.entities.EnrolledCourse;
 import com.main.lms.entities.User;
+import com.main.lms.entities.WaitlistEntry;
+import com.main.lms.enums.ActivityType;
 import com.main.lms.enums.UserRole;
 import com.main.lms.exceptions.CourseNotFoundException;
 import com.main.lms.exceptions.InvalidUser;
 import com.main.lms.exceptions.ResourceNotFoundException;
+import com.main.lms.exceptions.UserNotFoundException;
 import com.main.lms.repositories.CourseRepository;
 import com.main.lms.repositories.EnrolledCourseRepository;
 import com.main.lms.repositories.UserRepository;
+import com.main.lms.repositories.WaitlistEntryRepository;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -29,8 +40,13 @@ public class EnrollmentService {
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
     private final NotificationService notificationService;
+    private final CourseSeatService courseSeatService;
+    private final WaitlistEntryRepository waitlistRepository;
+    private final CourseRecommendationService courseRecommendationService;
+    private final ActivityLogService activityLogService;
 
     // Get All Enrollments
+    @Transactional(readOnly = true)
     public List<EnrollmentResponseDTO> getAllEnrollments() {
         List<EnrollmentResponseDTO> enrollments = new ArrayList<>();
         for (EnrolledCourse crs : enrollmentRepository.findAll()) {
@@ -39,6 +55,28 @@ public class EnrollmentService {
         return enrollments;
     }
 
+    // Keyset page of all enrollments in id order
+    @Transactional(readOnly = true)
+    public KeysetPage<EnrollmentResponseDTO> getEnrollmentsPage(Long after, int size) {
+        List<EnrollmentRow> rows = enrollmentRepository.findRowsAfter(after == null ? 0L : after,
+                PageRequest.of(0, size));
+        List<EnrollmentResponseDTO> enrollments = new ArrayList<>(rows.size());
+        for (EnrollmentRow row : rows) {
+            enrollments.add(new EnrollmentResponseDTO(row.getStudentId(), row.getStudentName(), row.getCourseTitle(),
+                    row.getCourseId(), row.getIsConfirmed()));
+        }
+        Long nextAfter = rows.size() == size ? rows.get(rows.size() - 1).getId() : null;
+        return new KeysetPage<>(enrollments, nextAfter);
+    }
+
+    // Streams every enrollment to the sink; rows are never collected into a list
+    @Transactional(readOnly = true)
+    public void exportEnrollments(Consumer<EnrollmentRow> sink) {
+        try (Stream<EnrollmentRow> rows = enrollmentRepository.streamAllRows()) {
+            rows.forEach(sink);
+        }
+    }
+
     // Get Enrollment by ID
     public Optional<EnrollmentResponseDTO> getEnrollmentById(Long id) {
         Optional<EnrolledCourse> crs = enrollmentRepository.findById(id);
@@ -58,20 +96,21 @@ public class EnrollmentService {
 
     }
 
+    @Transactional(readOnly = true)
     public List<EnrollmentResponseDTO> getEnrollmentsByStudent(Long userId) {
-        List<EnrolledCourse> crs = enrollmentRepository.findByStudent(userRepository.findById(userId).get());
-        List<EnrollmentResponseDTO> enrollments = new ArrayList<>();
-        for (EnrolledCourse cr : crs) {
-            enrollments.add(mapResponseDTO(cr));
+        List<EnrollmentResponseDTO> enrollments = enrollmentRepository.findResponsesByStudentId(userId);
+        // an empty list is only an error when the student itself does not exist
+        if (enrollments.isEmpty() && !userRepository.existsById(userId)) {
+            throw new UserNotFoundException("User not found with ID: " + userId);
         }
         return enrollments;
     }
 
+    @Transactional(readOnly = true)
     public List<EnrollmentResponseDTO> getEnrollmentsByCourse(Long courseId) {
-        List<EnrolledCourse> crs = enrollmentRepository.findByCourse(courseRepository.findById(courseId).get());
-        List<EnrollmentResponseDTO> enrollments = new ArrayList<>();
-        for (EnrolledCourse cr : crs) {
-            enrollments.add(mapResponseDTO(cr));
+        List<EnrollmentResponseDTO> enrollments = enrollmentRepository.findResponsesByCourseId(courseId);
+        if (enrollments.isEmpty() && !courseRepository.existsById(courseId)) {
+            throw new CourseNotFoundException("Course not found with ID: " + courseId);
         }
         return enrollments;
     }
@@ -101,6 +140,8 @@ public class EnrollmentService {
         return mapResponseDTO(updatedCrs);
     }
 
+    // Not transactional on purpose: the seat, the enrollment and the waitlist entry are each committed
+    // by their own statement so no lock is held across them under a sign-up burst.
     public EnrollmentResponseDTO addEnrollment(Long courseId, Long studentId) {
         Optional<Course> course = courseRepository.findById(courseId);
         Optional<User> student = userRepository.findById(studentId);
@@ -115,16 +156,104 @@ public class EnrollmentService {
         if (!existingEnrollment.isEmpty()) {
             throw new RuntimeException("Student is already enrolled in this course");
         }
+        if (waitlistRepository.existsByCourseIdAndStudentId(courseId, studentId)) {
+            throw new RuntimeException("Student is already on the waitlist for this course");
+        }
+
+        // Students already waiting keep their place, newcomers queue behind them
+        if (waitlistRepository.existsByCourseId(courseId) || !courseSeatService.take(courseId)) {
+            return joinWaitlist(student.get(), course.get());
+        }
 
         EnrolledCourse crs = new EnrolledCourse();
         crs.setStudent(student.get());
         crs.setCourse(course.get());
         crs.setIsConfirmed(true);
+        EnrolledCourse saved;
+        try {
+            saved = enrollmentRepository.save(crs);
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent request enrolled the same student
+            courseSeatService.release(courseId);
+            throw new RuntimeException("Student is already enrolled in this course");
+        }
+        courseRecommendationService.enrolled(studentId, courseId);
+        activityLogService.record(ActivityType.ENROLLED, studentId, courseId, null);
 
         notificationService.notifyUser(student.get().getId(), "You have been enrolled in a the following course: " + course.get().getTitle());
         notificationService.notifyUser(course.get().getInstructor().getId(), "A new student has been enrolled in your course: " + course.get().getTitle());
 
-        return mapResponseDTO(enrollmentRepository.save(crs));
+        return mapResponseDTO(saved);
+    }
+
+    // Sets or removes (null) the seat limit of a course and fills any seats it opens from the waitlist
+    public void setCourseCapacity(Long courseId, Integer capacity, Long userId) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new CourseNotFoundException("Course not found with ID: " + courseId));
+        User user = userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        if (user.getRole() != UserRole.ADMIN && !Objects.equals(course.getInstructor().getId(), userId)) {
+            throw new InvalidUser("You are not the instructor of this course");
+        }
+        courseSeatService.setCapacity(courseId, capacity);
+        fillFromWaitlist(course);
+    }
+
+    private EnrollmentResponseDTO joinWaitlist(User student, Course course) {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setStudent(student);
+        entry.setCourse(course);
+        try {
+            entry = waitlistRepository.save(entry);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Student is already on the waitlist for this course");
+        }
+
+        // a seat may have been released while this request was joining the queue
+        fillFromWaitlist(course);
+        if (enrollmentRepository.existsByStudentIdAndCourseId(student.getId(), course.getId())) {
+            return new EnrollmentResponseDTO(student, course, true);
+        }
+
+        EnrollmentResponseDTO response = new EnrollmentResponseDTO(student, course, false);
+        response.setWaitlistPosition(waitlistRepository.countByCourseIdAndIdLessThan(course.getId(), entry.getId()) + 1);
+        notificationService.notifyUser(student.getId(), "The following course is full, you have been added to its waitlist: " + course.getTitle());
+        return response;
+    }
+
+    // Moves waiting students into free seats, oldest entry first
+    private void fillFromWaitlist(Course course) {
+        Optional<WaitlistEntry> next;
+        while ((next = waitlistRepository.findFirstByCourseIdOrderByIdAsc(course.getId())).isPresent()
+                && courseSeatService.take(course.getId())) {
+            if (!promote(next.get(), course)) {
+                courseSeatService.release(course.getId());
+            }
+        }
+    }
+
+    // false if the seat was not used: another request promoted this entry first, or the student got in another way
+    private boolean promote(WaitlistEntry entry, Course course) {
+        if (waitlistRepository.claim(entry.getId()) == 0) {
+            return false;
+        }
+        User student = entry.getStudent();
+        if (enrollmentRepository.existsByStudentIdAndCourseId(student.getId(), course.getId())) {
+            return false;
+        }
+        EnrolledCourse crs = new EnrolledCourse();
+        crs.setStudent(student);
+        crs.setCourse(course);
+        crs.setIsConfirmed(true);
+        try {
+            enrollmentRepository.save(crs);
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+        courseRecommendationService.enrolled(student.getId(), course.getId());
+        activityLogService.record(ActivityType.ENROLLED, student.getId(), course.getId(), null);
+        notificationService.notifyUser(student.getId(), "A seat opened up and you have been enrolled in the following course: " + course.getTitle());
+        notificationService.notifyUser(course.getInstructor().getId(), "A student from the waitlist has been enrolled in your course: " + course.getTitle());
+        return true;
     }
 
     // Delete Enrollment
@@ -145,6 +274,11 @@ public class EnrollmentService {
         notificationService.notifyUser(crs.get().getCourse().getInstructor().getId(), "A student has been unenrolled from your course: " + crs.get().getCourse().getTitle());
 
         enrollmentRepository.deleteById(id);
+        courseRecommendationService.unenrolled(crs.get().getStudent().getId(), crs.get().getCourse().getId());
+        activityLogService.record(ActivityType.UNENROLLED, crs.get().getStudent().getId(), crs.get().getCourse().getId(),
+                null);
+        courseSeatService.release(crs.get().getCourse().getId());
+        fillFromWaitlist(crs.get().getCourse());
     }
 
     private EnrollmentResponseDTO mapResponseDTO(EnrolledCourse crs) {
@@ -0,0 +1,274 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.GradeStatisticsDTO;
+import com.main.lms.dtos.GradebookCell;
+import com.main.lms.dtos.GradebookColumn;
+import com.main.lms.entities.Assignment;
+import com.main.lms.entities.Course;
+import com.main.lms.entities.Quiz;
+import com.main.lms.entities.User;
+import com.main.lms.enums.UserRole;
+import com.main.lms.exceptions.CourseNotFoundException;
+import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.exceptions.ResourceNotFoundException;
+import com.main.lms.repositories.AssignmentRepository;
+import com.main.lms.repositories.CourseRepository;
+import com.main.lms.repositories.QuizRepository;
+import com.main.lms.repositories.StudentAssignmentRepository;
+import com.main.lms.repositories.StudentQuizRepository;
+import com.main.lms.utility.GradeSketch;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Grade distributions (percentiles and a histogram) per quiz, assignment and course, served from
+// sketches instead of sorting every grade on each request. A course's sketches are built from the
+// two gradebook queries the first time one is asked for; ungraded assignment submissions are left
+// out until they are graded. Loads read the primary, outside the map's locks. Quiz submissions are
+// final, so QuizService adds each one to the loaded sketches, or to sketches still loading before
+// they go live. One written while its course was loading may be in the sketches already (told apart
+// by a beginWrite stamp); it drops the course's sketches instead, to be rebuilt on the next read.
+// An assignment grade replaces an earlier one, which a t-digest cannot take back out, so the
+// grading services drop the course's sketches, and any still loading are served once without
+// being kept. Sketches are also rebuilt after lms.grade-statistics.ttl so deleted items and
+// students do not linger. Department views merge the sketches of several courses.
+@Service
+@RequiredArgsConstructor
+public class GradeStatisticsService {
+
+    static final int MAX_COURSES = 500;
+    static final int MAX_MERGED = 100;
+
+    private final CourseRepository courseRepository;
+    private final QuizRepository quizRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final StudentQuizRepository studentQuizRepository;
+    private final StudentAssignmentRepository studentAssignmentRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${lms.grade-statistics.ttl:10m}")
+    private Duration ttl = Duration.ofMinutes(10);
+
+    LongSupplier nanoClock = System::nanoTime;
+
+    private final Map<Long, Sketches> courses = new ConcurrentHashMap<>();
+    // course -> its loads in flight. A course's changes and installs run under its entry here, so a
+    // submission made during a load is replayed onto the new sketches or added to them, never both.
+    private final Map<Long, List<Loading>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong writes = new AtomicLong();
+
+    // Guarded by synchronizing on the record. lastWrite is the newest beginWrite stamp when the
+    // load's queries had finished; submissions stamped after it are not in the sketches.
+    record Sketches(GradeSketch course, Map<Long, GradeSketch> quizzes, Map<Long, GradeSketch> assignments,
+                    long loadedAt, long lastWrite) {
+    }
+
+    private record Submission(long write, Long quizId, double percent) {
+    }
+
+    // Quiz submissions made to the course while the load runs, replayed onto its sketches before
+    // they go live; stale once an assignment grade of the course changed meanwhile
+    private static final class Loading {
+        final List<Submission> missed = new ArrayList<>();
+        boolean stale;
+    }
+
+    @Transactional(readOnly = true)
+    public GradeStatisticsDTO getQuizStatistics(Long quizId, User user) {
+        Quiz quiz = quizRepository.findById(quizId)
+                .orElseThrow(() -> new ResourceNotFoundException("Quiz not found with ID: " + quizId));
+        checkInstructor(quiz.getCourse(), user);
+        Sketches sketches = sketches(quiz.getCourse().getId());
+        synchronized (sketches) {
+            return statistics(sketches.quizzes().get(quizId));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public GradeStatisticsDTO getAssignmentStatistics(Long assignmentId, User user) {
+        Assignment assignment = assignmentRepository.findById(assignmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Assignment not found with ID: " + assignmentId));
+        checkInstructor(assignment.getCourse(), user);
+        Sketches sketches = sketches(assignment.getCourse().getId());
+        synchronized (sketches) {
+            return statistics(sketches.assignments().get(assignmentId));
+        }
+    }
+
+    // Every quiz and assignment grade of the courses together
+    @Transactional(readOnly = true)
+    public GradeStatisticsDTO getMergedStatistics(Collection<Long> courseIds, User user) {
+        Set<Long> ids = new LinkedHashSet<>(courseIds);
+        if (ids.isEmpty() || ids.size() > MAX_MERGED) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_MERGED + " courses can be merged");
+        }
+        Map<Long, Course> found = new HashMap<>();
+        courseRepository.findAllById(ids).forEach(course -> found.put(course.getId(), course));
+        for (Long courseId : ids) {
+            Course course = found.get(courseId);
+            if (course == null) {
+                throw new CourseNotFoundException("Course not found with ID: " + courseId);
+            }
+            checkInstructor(course, user);
+        }
+        GradeSketch merged = new GradeSketch();
+        for (Long courseId : ids) {
+            Sketches sketches = sketches(courseId);
+            synchronized (sketches) {
+                merged.merge(sketches.course());
+            }
+        }
+        return merged.toStatistics();
+    }
+
+    // Taken before a quiz submission is saved, and passed to quizSubmitted once it is
+    public long beginWrite() {
+        return writes.incrementAndGet();
+    }
+
+    // Courses whose sketches are not loaded yet pick the submission up when they are
+    public void quizSubmitted(Long courseId, Long quizId, double grade, int questions, long write) {
+        if (questions <= 0) {
+            return;
+        }
+        Submission submission = new Submission(write, quizId, grade * 100 / questions);
+        loading.compute(courseId, (id, loads) -> {
+            if (loads != null) {
+                loads.forEach(load -> load.missed.add(submission));
+            }
+            courses.computeIfPresent(id, (key, sketches) -> {
+                if (write <= sketches.lastWrite()) {
+                    // the load may have read this submission already
+                    return null;
+                }
+                synchronized (sketches) {
+                    add(sketches, submission);
+                }
+                return sketches;
+            });
+            return loads;
+        });
+    }
+
+    // An assignment grade was written or replaced
+    public void assignmentGraded(Long courseId) {
+        loading.compute(courseId, (id, loads) -> {
+            if (loads != null) {
+                loads.forEach(load -> load.stale = true);
+            }
+            courses.remove(id);
+            return loads;
+        });
+    }
+
+    private static void add(Sketches sketches, Submission submission) {
+        sketches.quizzes().computeIfAbsent(submission.quizId(), key -> new GradeSketch())
+                .add(submission.percent());
+        sketches.course().add(submission.percent());
+    }
+
+    private static GradeStatisticsDTO statistics(GradeSketch sketch) {
+        return sketch == null ? new GradeSketch().toStatistics() : sketch.toStatistics();
+    }
+
+    private static void checkInstructor(Course course, User user) {
+        if (user.getRole() != UserRole.ADMIN && !course.getInstructor().getId().equals(user.getId())) {
+            throw new InvalidUser("You are not the instructor of this course");
+        }
+    }
+
+    private Sketches sketches(Long courseId) {
+        long now = nanoClock.getAsLong();
+        Sketches sketches = courses.get(courseId);
+        if (sketches != null && now - sketches.loadedAt() <= ttl.toNanos()) {
+            return sketches;
+        }
+        if (sketches == null && courses.size() >= MAX_COURSES) {
+            courses.values().removeIf(stale -> now - stale.loadedAt() > ttl.toNanos());
+            if (courses.size() >= MAX_COURSES) {
+                // served once without being kept
+                return load(courseId, now);
+            }
+        }
+        Loading load = new Loading();
+        loading.compute(courseId, (id, loads) -> {
+            List<Loading> running = loads == null ? new ArrayList<>() : loads;
+            running.add(load);
+            return running;
+        });
+        Sketches fresh;
+        try {
+            fresh = load(courseId, now);
+        } catch (RuntimeException e) {
+            loading.computeIfPresent(courseId, (id, loads) -> {
+                loads.remove(load);
+                return loads.isEmpty() ? null : loads;
+            });
+            throw e;
+        }
+        Sketches[] installed = { fresh };
+        loading.compute(courseId, (id, loads) -> {
+            loads.remove(load);
+            // after a changed assignment grade, or a submission the load may or may not have read,
+            // the sketches are served once without being kept
+            boolean complete = !load.stale
+                    && load.missed.stream().allMatch(submission -> submission.write() > fresh.lastWrite());
+            if (complete) {
+                load.missed.forEach(submission -> add(fresh, submission));
+                installed[0] = courses.compute(id,
+                        (key, current) -> current != null && current != sketches ? current : fresh);
+            }
+            return loads.isEmpty() ? null : loads;
+        });
+        return installed[0];
+    }
+
+    // From the primary: a lagging replica could miss submissions stamped before the load finished
+    private Sketches load(Long courseId, long now) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transaction.execute(status -> read(courseId, now));
+    }
+
+    private Sketches read(Long courseId, long now) {
+        GradeSketch course = new GradeSketch();
+        Map<Long, GradeSketch> quizzes = new HashMap<>();
+        Map<Long, GradeSketch> assignments = new HashMap<>();
+        addCells(quizzes, course, quizRepository.findGradebookColumns(courseId),
+                studentQuizRepository.findGradebookCells(courseId));
+        addCells(assignments, course, assignmentRepository.findGradebookColumns(courseId),
+                studentAssignmentRepository.findGradebookCells(courseId));
+        return new Sketches(course, quizzes, assignments, now, writes.get());
+    }
+
+    // Grades as percent of their column's maximum; columns without one (no questions) are skipped,
+    // as are ungraded submissions, whose cells are NaN
+    private static void addCells(Map<Long, GradeSketch> items, GradeSketch course, List<GradebookColumn> columns,
+                                 List<GradebookCell> cells) {
+        Map<Long, Double> maxScores = new HashMap<>();
+        for (GradebookColumn column : columns) {
+            maxScores.put(column.getItemId(), column.getMaxScore());
+        }
+        for (GradebookCell cell : cells) {
+            Double maxScore = maxScores.get(cell.getItemId());
+            if (maxScore == null || maxScore <= 0 || Double.isNaN(cell.getScore())) {
+                continue;
+            }
+            double percent = cell.getScore() * 100 / maxScore;
+            items.computeIfAbsent(cell.getItemId(), id -> new GradeSketch()).add(percent);
+            course.add(percent);
+        }
+    }
+}
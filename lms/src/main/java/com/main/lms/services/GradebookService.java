@@ -0,0 +1,170 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.EnrollmentResponseDTO;
+import com.main.lms.dtos.GradebookCell;
+import com.main.lms.dtos.GradebookColumn;
+import com.main.lms.dtos.GradebookDTO;
+import com.main.lms.dtos.GradebookQuery;
+import com.main.lms.entities.Course;
+import com.main.lms.entities.User;
+import com.main.lms.enums.GradebookItemType;
+import com.main.lms.enums.UserRole;
+import com.main.lms.exceptions.CourseNotFoundException;
+import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.repositories.*;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+// The course gradebook: enrolled students x (quizzes, assignments, lessons). Rows and columns
+// are filtered and paged first, then each kind of column is filled from one course-wide query
+// straight into a primitive score matrix.
+@Service
+@RequiredArgsConstructor
+public class GradebookService {
+
+    static final int MAX_LIMIT = 1000;
+
+    private final CourseRepository courseRepository;
+    private final EnrolledCourseRepository enrollmentRepository;
+    private final QuizRepository quizRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final LessonRepository lessonRepository;
+    private final StudentQuizRepository studentQuizRepository;
+    private final StudentAssignmentRepository studentAssignmentRepository;
+    private final StudentsLessonRepository studentsLessonRepository;
+
+    @Transactional(readOnly = true)
+    public GradebookDTO getGradebook(Long courseId, User user, GradebookQuery query) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new CourseNotFoundException("Course not found with ID: " + courseId));
+        if (user.getRole() != UserRole.ADMIN && !course.getInstructor().getId().equals(user.getId())) {
+            throw new InvalidUser("You are not the instructor of this course");
+        }
+        if (query.getOffset() < 0 || query.getColumnOffset() < 0
+                || query.getLimit() < 1 || query.getLimit() > MAX_LIMIT
+                || query.getColumnLimit() < 1 || query.getColumnLimit() > MAX_LIMIT) {
+            throw new IllegalArgumentException("Offsets must not be negative and limits must be between 1 and " + MAX_LIMIT);
+        }
+
+        // Rows: enrolled students in id order, filtered, then paged
+        Set<Long> onlyStudents = query.getStudents() == null || query.getStudents().isEmpty()
+                ? null : new HashSet<>(query.getStudents());
+        List<EnrollmentResponseDTO> students = new ArrayList<>();
+        for (EnrollmentResponseDTO enrollment : enrollmentRepository.findResponsesByCourseId(courseId)) {
+            if (onlyStudents == null || onlyStudents.contains(enrollment.getStudentId())) {
+                students.add(enrollment);
+            }
+        }
+        students.sort(Comparator.comparing(EnrollmentResponseDTO::getStudentId));
+        List<EnrollmentResponseDTO> rows = page(students, query.getOffset(), query.getLimit());
+
+        // Columns: quizzes, then assignments, then lessons, each in id order
+        Set<GradebookItemType> types = query.getTypes() == null || query.getTypes().isEmpty()
+                ? EnumSet.allOf(GradebookItemType.class) : EnumSet.copyOf(query.getTypes());
+        List<GradebookItemType> columnTypes = new ArrayList<>();
+        List<GradebookColumn> columns = new ArrayList<>();
+        for (GradebookItemType type : types) {
+            for (GradebookColumn column : columns(type, courseId)) {
+                columnTypes.add(type);
+                columns.add(column);
+            }
+        }
+        int from = Math.min(query.getColumnOffset(), columns.size());
+        int to = Math.min(from + query.getColumnLimit(), columns.size());
+
+        GradebookDTO gradebook = new GradebookDTO();
+        gradebook.setCourseId(courseId);
+        gradebook.setTotalStudents(students.size());
+        gradebook.setTotalColumns(columns.size());
+        gradebook.setOffset(query.getOffset());
+        gradebook.setColumnOffset(query.getColumnOffset());
+        int end = query.getOffset() + rows.size();
+        gradebook.setNextOffset(end < students.size() ? end : null);
+
+        int width = to - from;
+        long[] studentIds = new long[rows.size()];
+        String[] studentNames = new String[rows.size()];
+        Map<Long, Integer> rowOf = new HashMap<>(rows.size() * 2);
+        for (int row = 0; row < rows.size(); row++) {
+            studentIds[row] = rows.get(row).getStudentId();
+            studentNames[row] = rows.get(row).getStudentName();
+            rowOf.put(studentIds[row], row);
+        }
+        GradebookItemType[] pageTypes = new GradebookItemType[width];
+        long[] columnIds = new long[width];
+        double[] maxScores = new double[width];
+        EnumMap<GradebookItemType, Map<Long, Integer>> columnOf = new EnumMap<>(GradebookItemType.class);
+        for (int column = 0; column < width; column++) {
+            pageTypes[column] = columnTypes.get(from + column);
+            columnIds[column] = columns.get(from + column).getItemId();
+            maxScores[column] = columns.get(from + column).getMaxScore();
+            columnOf.computeIfAbsent(pageTypes[column], type -> new HashMap<>()).put(columnIds[column], column);
+        }
+
+        // Row-major, NaN for no grade; attendance starts at 0 since every enrolled student has a value
+        double[] matrix = new double[rows.size() * width];
+        Arrays.fill(matrix, Double.NaN);
+        Map<Long, Integer> lessons = columnOf.get(GradebookItemType.LESSON);
+        if (lessons != null) {
+            for (int row = 0; row < rows.size(); row++) {
+                for (int column : lessons.values()) {
+                    matrix[row * width + column] = 0;
+                }
+            }
+        }
+        // Only the kinds on this page are queried
+        if (!rows.isEmpty()) {
+            columnOf.forEach((type, columnIndex) -> {
+                for (GradebookCell cell : cells(type, courseId)) {
+                    Integer row = rowOf.get(cell.getStudentId());
+                    Integer column = columnIndex.get(cell.getItemId());
+                    if (row != null && column != null) {
+                        matrix[row * width + column] = cell.getScore();
+                    }
+                }
+            });
+        }
+
+        Double[][] scores = new Double[rows.size()][width];
+        for (int row = 0; row < rows.size(); row++) {
+            for (int column = 0; column < width; column++) {
+                double score = matrix[row * width + column];
+                scores[row][column] = Double.isNaN(score) ? null : score;
+            }
+        }
+
+        gradebook.setStudentIds(studentIds);
+        gradebook.setStudentNames(studentNames);
+        gradebook.setColumnTypes(pageTypes);
+        gradebook.setColumnIds(columnIds);
+        gradebook.setMaxScores(maxScores);
+        gradebook.setScores(scores);
+        return gradebook;
+    }
+
+    private List<GradebookColumn> columns(GradebookItemType type, Long courseId) {
+        return switch (type) {
+            case QUIZ -> quizRepository.findGradebookColumns(courseId);
+            case ASSIGNMENT -> assignmentRepository.findGradebookColumns(courseId);
+            case LESSON -> lessonRepository.findGradebookColumns(courseId);
+        };
+    }
+
+    private List<GradebookCell> cells(GradebookItemType type, Long courseId) {
+        return switch (type) {
+            case QUIZ -> studentQuizRepository.findGradebookCells(courseId);
+            case ASSIGNMENT -> studentAssignmentRepository.findGradebookCells(courseId);
+            case LESSON -> studentsLessonRepository.findGradebookCells(courseId);
+        };
+    }
+
+    private static <T> List<T> page(List<T> items, int offset, int limit) {
+        int from = Math.min(offset, items.size());
+        return items.subList(from, Math.min(from + limit, items.size()));
+    }
+}
@@ -0,0 +1,225 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.GradebookCell;
+import com.main.lms.dtos.LeaderboardDTO;
+import com.main.lms.dtos.LeaderboardEntryDTO;
+import com.main.lms.entities.Course;
+import com.main.lms.entities.Quiz;
+import com.main.lms.entities.User;
+import com.main.lms.enums.UserRole;
+import com.main.lms.exceptions.CourseNotFoundException;
+import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.exceptions.ResourceNotFoundException;
+import com.main.lms.repositories.CourseRepository;
+import com.main.lms.repositories.QuizRepository;
+import com.main.lms.repositories.StudentAssignmentRepository;
+import com.main.lms.repositories.StudentQuizRepository;
+import com.main.lms.utility.RankTree;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+// Live quiz and course leaderboards. A course's boards (one per quiz, plus the course board
+// ranking students by quiz and assignment points together) are built from the two gradebook
+// queries the first time one of them is asked for, then kept current by QuizService on every
+// submission and by the grading services. Boards are rebuilt after lms.leaderboard.ttl so rows
+// removed with a quiz, an assignment or a student do not linger. Loads read the primary, outside
+// the map's locks, and grades reported meanwhile are replayed onto the new boards before they go
+// live. A grade written while its course was loading may already be in the boards, so instead of
+// being added a second time it drops them to be loaded again; the writers take a beginWrite stamp
+// to tell which is which.
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+
+    static final int MAX_LIMIT = 100;
+    static final int MAX_COURSES = 1_000;
+
+    private final CourseRepository courseRepository;
+    private final QuizRepository quizRepository;
+    private final StudentQuizRepository studentQuizRepository;
+    private final StudentAssignmentRepository studentAssignmentRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${lms.leaderboard.ttl:10m}")
+    private Duration ttl = Duration.ofMinutes(10);
+
+    LongSupplier nanoClock = System::nanoTime;
+
+    private final Map<Long, Boards> courses = new ConcurrentHashMap<>();
+    // course -> its loads in flight. A course's changes and installs run under its entry here, so a
+    // change made during a load is replayed onto the new boards or applied to them, never both.
+    private final Map<Long, List<Loading>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong writes = new AtomicLong();
+
+    // Guarded by synchronizing on the record. lastWrite is the newest beginWrite stamp when the
+    // load's queries had finished; writes stamped after it are not in the boards.
+    record Boards(RankTree course, Map<Long, RankTree> quizzes, long loadedAt, long lastWrite) {
+    }
+
+    private record Update(long write, Consumer<Boards> change) {
+    }
+
+    // Changes made to the course while the load runs, replayed onto its boards before they go live
+    private static final class Loading {
+        final List<Update> missed = new ArrayList<>();
+    }
+
+    @Transactional(readOnly = true)
+    public LeaderboardDTO getQuizLeaderboard(Long quizId, int limit, Long studentId, User user) {
+        Quiz quiz = quizRepository.findById(quizId)
+                .orElseThrow(() -> new ResourceNotFoundException("Quiz not found with ID: " + quizId));
+        checkInstructor(quiz.getCourse(), user);
+        Boards boards = boards(quiz.getCourse().getId());
+        synchronized (boards) {
+            return leaderboard(boards.quizzes().computeIfAbsent(quizId, id -> new RankTree()), limit, studentId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public LeaderboardDTO getCourseLeaderboard(Long courseId, int limit, Long studentId, User user) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new CourseNotFoundException("Course not found with ID: " + courseId));
+        checkInstructor(course, user);
+        Boards boards = boards(courseId);
+        synchronized (boards) {
+            return leaderboard(boards.course(), limit, studentId);
+        }
+    }
+
+    // Taken before a grade is written, and passed to quizSubmitted or assignmentGraded once it is
+    public long beginWrite() {
+        return writes.incrementAndGet();
+    }
+
+    // Courses whose boards are not loaded yet pick the submission up when they are
+    public void quizSubmitted(Long courseId, Long quizId, Long studentId, double grade, long write) {
+        update(courseId, write, boards -> {
+            RankTree quiz = boards.quizzes().computeIfAbsent(quizId, key -> new RankTree());
+            // a resubmission replaces the earlier grade in the course total
+            LeaderboardEntryDTO previous = quiz.entry(studentId);
+            quiz.put(studentId, grade);
+            boards.course().add(studentId, previous == null ? grade : grade - previous.getScore());
+        });
+    }
+
+    public void assignmentGraded(Long courseId, Long studentId, double previousGrade, double grade, long write) {
+        update(courseId, write, boards -> boards.course().add(studentId, grade - previousGrade));
+    }
+
+    private void update(Long courseId, long write, Consumer<Boards> change) {
+        loading.compute(courseId, (id, loads) -> {
+            if (loads != null) {
+                loads.forEach(load -> load.missed.add(new Update(write, change)));
+            }
+            courses.computeIfPresent(id, (key, boards) -> {
+                if (write <= boards.lastWrite()) {
+                    // the load may have read this write already
+                    return null;
+                }
+                synchronized (boards) {
+                    change.accept(boards);
+                }
+                return boards;
+            });
+            return loads;
+        });
+    }
+
+    private static LeaderboardDTO leaderboard(RankTree board, int limit, Long studentId) {
+        limit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return new LeaderboardDTO(board.size(), board.top(limit), studentId == null ? null : board.entry(studentId));
+    }
+
+    private static void checkInstructor(Course course, User user) {
+        if (user.getRole() != UserRole.ADMIN && !course.getInstructor().getId().equals(user.getId())) {
+            throw new InvalidUser("You are not the instructor of this course");
+        }
+    }
+
+    private Boards boards(Long courseId) {
+        long now = nanoClock.getAsLong();
+        Boards boards = courses.get(courseId);
+        if (boards != null && now - boards.loadedAt() <= ttl.toNanos()) {
+            return boards;
+        }
+        if (boards == null && courses.size() >= MAX_COURSES) {
+            courses.values().removeIf(stale -> now - stale.loadedAt() > ttl.toNanos());
+            if (courses.size() >= MAX_COURSES) {
+                // served once without being kept
+                return load(courseId, now);
+            }
+        }
+        Loading load = new Loading();
+        loading.compute(courseId, (id, loads) -> {
+            List<Loading> running = loads == null ? new ArrayList<>() : loads;
+            running.add(load);
+            return running;
+        });
+        Boards fresh;
+        try {
+            fresh = load(courseId, now);
+        } catch (RuntimeException e) {
+            loading.computeIfPresent(courseId, (id, loads) -> {
+                loads.remove(load);
+                return loads.isEmpty() ? null : loads;
+            });
+            throw e;
+        }
+        Boards[] installed = { fresh };
+        loading.compute(courseId, (id, loads) -> {
+            loads.remove(load);
+            // after a grade the load may or may not have read, the boards are served once without being kept
+            boolean complete = load.missed.stream().allMatch(update -> update.write() > fresh.lastWrite());
+            if (complete) {
+                load.missed.forEach(update -> update.change().accept(fresh));
+                installed[0] = courses.compute(id,
+                        (key, current) -> current != null && current != boards ? current : fresh);
+            }
+            return loads.isEmpty() ? null : loads;
+        });
+        return installed[0];
+    }
+
+    // From the primary: a lagging replica could miss grades stamped before the load finished
+    private Boards load(Long courseId, long now) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transaction.execute(status -> read(courseId, now));
+    }
+
+    private Boards read(Long courseId, long now) {
+        RankTree course = new RankTree();
+        Map<Long, RankTree> quizzes = new HashMap<>();
+        for (GradebookCell cell : studentQuizRepository.findGradebookCells(courseId)) {
+            if (!Double.isNaN(cell.getScore())) {
+                quizzes.computeIfAbsent(cell.getItemId(), id -> new RankTree())
+                        .put(cell.getStudentId(), cell.getScore());
+                course.add(cell.getStudentId(), cell.getScore());
+            }
+        }
+        for (GradebookCell cell : studentAssignmentRepository.findGradebookCells(courseId)) {
+            // ungraded submissions are NaN and count for nothing yet
+            if (!Double.isNaN(cell.getScore())) {
+                course.add(cell.getStudentId(), cell.getScore());
+            }
+        }
+        return new Boards(course, quizzes, now, writes.get());
+    }
+}
@@ -0,0 +1,109 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.LessonOtpDTO;
+import com.main.lms.entities.Lesson;
+import com.main.lms.utility.Totp;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+// Rotating lesson codes. A lesson with an OTP secret shows a new code every step; a code is
+// accepted for its own step and skew steps either side, computed from the secret alone.
+// Lessons created before rotation existed keep their static OTP until the instructor opens the display.
+@Service
+public class LessonOtpService {
+
+    // Displays are pushed from their own threads: Boot's shared TaskScheduler has a single one,
+    // and the @Scheduled flushes and rebuilds run on it
+    private final ThreadPoolTaskScheduler displayScheduler = new ThreadPoolTaskScheduler();
+
+    @Value("${lms.otp.display-threads:2}")
+    private int displayThreads = 2;
+
+    @Value("${lms.otp.step:30s}")
+    private Duration step = Duration.ofSeconds(30);
+
+    @Value("${lms.otp.skew:1}")
+    private int skew = 1;
+
+    // Live displays are closed after this long; the page reconnects if the lesson is still running
+    @Value("${lms.otp.display-timeout:2h}")
+    private Duration displayTimeout = Duration.ofHours(2);
+
+    LongSupplier clock = System::currentTimeMillis;
+
+    @PostConstruct
+    void startDisplayScheduler() {
+        displayScheduler.setPoolSize(displayThreads);
+        displayScheduler.setThreadNamePrefix("otp-display-");
+        // closed displays cancel their next push, don't keep it queued until it would have run
+        displayScheduler.setRemoveOnCancelPolicy(true);
+        displayScheduler.initialize();
+    }
+
+    @PreDestroy
+    void stopDisplayScheduler() {
+        displayScheduler.shutdown();
+    }
+
+    public boolean matches(Lesson lesson, String code) {
+        if (lesson.getOtpSecret() == null) {
+            return lesson.getOtp().equals(code);
+        }
+        return Totp.verify(lesson.getOtpSecret(), code, Totp.counter(clock.getAsLong(), step.toMillis()), skew);
+    }
+
+    public LessonOtpDTO current(Lesson lesson) {
+        return current(lesson.getLessonId(), lesson.getOtpSecret());
+    }
+
+    // Pushes the current code now and the next one as each step starts
+    public SseEmitter stream(Lesson lesson) {
+        Long lessonId = lesson.getLessonId();
+        String secret = lesson.getOtpSecret();
+        SseEmitter emitter = new SseEmitter(displayTimeout.toMillis());
+        AtomicReference<ScheduledFuture<?>> next = new AtomicReference<>();
+        Runnable push = new Runnable() {
+            @Override
+            public void run() {
+                LessonOtpDTO otp = current(lessonId, secret);
+                try {
+                    emitter.send(SseEmitter.event().name("otp").data(otp));
+                    next.set(displayScheduler.schedule(this, otp.getValidUntil()));
+                } catch (IOException | IllegalStateException e) {
+                    // the display went away
+                    emitter.completeWithError(e);
+                }
+            }
+        };
+        Runnable stop = () -> {
+            ScheduledFuture<?> scheduled = next.get();
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        };
+        emitter.onCompletion(stop);
+        emitter.onTimeout(stop);
+        emitter.onError(e -> stop.run());
+        push.run();
+        return emitter;
+    }
+
+    private LessonOtpDTO current(Long lessonId, String secret) {
+        long stepMillis = step.toMillis();
+        long counter = Totp.counter(clock.getAsLong(), stepMillis);
+        return new LessonOtpDTO(lessonId, Totp.code(secret, counter), Instant.ofEpochMilli((counter + 1) * stepMillis));
+    }
+}
@@ -1,17 +1,24 @@
 package com.main.lms.services;
 
+import com.main.lms.dtos.KeysetPage;
 import com.main.lms.dtos.LessonRequestDTO;
+import com.main.lms.dtos.LessonResponseDTO;
 import com.main.lms.entities.Course;
 import com.main.lms.entities.Lesson;
 import com.main.lms.exceptions.InvalidUser;
 import com.main.lms.repositories.CourseRepository;
 import com.main.lms.repositories.LessonRepository;
+import com.main.lms.utility.Totp;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +27,7 @@ public class LessonService {
     private final LessonRepository lessonRepository;
     private final CourseRepository courseRepository;
     private final NotificationService notificationService;
+    private final CheckInService checkInService;
 
 
     public Lesson createLesson(LessonRequestDTO lessonRequestDTO, Long userId) {
@@ -32,6 +40,7 @@ public class LessonService {
         }
         Lesson lesson = new Lesson();
         lesson.setOtp(lessonRequestDTO.getOtp());
+        lesson.setOtpSecret(Totp.newSecret());
         lesson.setCourse(course);
 
         notificationService.notifyUser(course.getInstructor().getId(), "New Lesson Created Successfully for course " + course.getTitle());
@@ -40,10 +49,26 @@ public class LessonService {
     }
 
     // Retrieve all lessons
+    @Transactional(readOnly = true)
     public List<Lesson> getAllLessons() {
         return lessonRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public KeysetPage<LessonResponseDTO> getLessonsPage(Long after, int size) {
+        List<LessonResponseDTO> lessons = lessonRepository.findResponsesAfter(after == null ? 0L : after,
+                PageRequest.of(0, size));
+        Long nextAfter = lessons.size() == size ? lessons.get(lessons.size() - 1).getLessonId() : null;
+        return new KeysetPage<>(lessons, nextAfter);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportLessons(Consumer<LessonResponseDTO> sink) {
+        try (Stream<LessonResponseDTO> lessons = lessonRepository.streamAllResponses()) {
+            lessons.forEach(sink);
+        }
+    }
+
     // Retrieve a single lesson by ID
     public Lesson getLessonById(Long id) {
         Optional<Lesson> lesson = lessonRepository.findById(id);
@@ -74,9 +99,27 @@ public class LessonService {
 
         notificationService.notifyUser(course.getInstructor().getId(), "Lesson Updated Successfully for course " + course.getTitle());
 
-        return lessonRepository.save(existingLesson);
+        Lesson saved = lessonRepository.save(existingLesson);
+        // a new OTP must stop the old one from checking students in
+        checkInService.evict(id);
+        return saved;
+    }
+
+    // The lesson for the instructor's live code display. Older lessons switch to rotating codes here.
+    public Lesson getLessonForOtpDisplay(Long id, Long userId) {
+        Lesson lesson = getLessonById(id);
+        if (!lesson.getCourse().getInstructor().getId().equals(userId)) {
+            throw new InvalidUser("You are not the instructor of this course");
+        }
+        if (lesson.getOtpSecret() == null) {
+            lesson.setOtpSecret(Totp.newSecret());
+            lesson = lessonRepository.save(lesson);
+            checkInService.evict(id);
+        }
+        return lesson;
     }
 
+    @Transactional(readOnly = true)
     public List<Lesson> getLessonsByCourseId(Long id) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found with ID: " + id));
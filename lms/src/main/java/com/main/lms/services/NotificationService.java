@@ -1,9 +1,11 @@
 package com.main.lms.services;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.annotation.RequestScope;
 
 import com.main.lms.entities.Notification;
@@ -41,6 +43,21 @@ public class NotificationService {
         }
     }
 
+    // Fan-out: one transaction, inserted in JDBC batches
+    @Transactional
+    public void notifyUsers(List<User> users, String message) {
+        List<Notification> notifications = new ArrayList<>(users.size());
+        for (User user : users) {
+            Notification notification = new Notification();
+            notification.setIsRead(false);
+            notification.setNotificationMessage(message);
+            notification.setUser(user);
+            notifications.add(notification);
+        }
+        notificationRepository.saveAll(notifications);
+    }
+
+    @Transactional(readOnly = true)
     public List<Notification> GetNotifications(Long userId, NotificationFlag flag) {
         List<Notification> notifications;
         switch (flag) {
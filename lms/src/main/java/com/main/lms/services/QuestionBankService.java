@@ -0,0 +1,102 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.QuestionBankEntry;
+import com.main.lms.dtos.SimilarQuestionDTO;
+import com.main.lms.entities.Question;
+import com.main.lms.enums.QuestionType;
+import com.main.lms.repositories.QuestionRepository;
+import com.main.lms.utility.QuestionBankIndex;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+// Per-course question bank indexes for keyword search and near-duplicate detection. A course's
+// bank is loaded with one projection query the first time it is searched, then kept current by
+// QuestionService as questions are created and deleted. Banks are reloaded after
+// lms.question-bank.ttl so changes made elsewhere (a course deleted with its questions, a
+// rolled-back create) do not linger.
+@Service
+@RequiredArgsConstructor
+public class QuestionBankService {
+
+    static final int MAX_BANKS = 1_000;
+
+    private final QuestionRepository questionRepository;
+
+    @Value("${lms.question-bank.ttl:10m}")
+    private Duration ttl = Duration.ofMinutes(10);
+
+    LongSupplier nanoClock = System::nanoTime;
+
+    private final Map<Long, Bank> banks = new ConcurrentHashMap<>();
+
+    record Bank(QuestionBankIndex index, long loadedAt) {
+    }
+
+    public List<Long> search(Long courseId, String query, QuestionType type, int limit) {
+        QuestionBankIndex index = bank(courseId).index();
+        synchronized (index) {
+            return index.search(query, type, limit);
+        }
+    }
+
+    // Questions of the course worded like the text; excludeId (may be null) is left out
+    public List<SimilarQuestionDTO> similar(Long courseId, String content, Long excludeId, double minSimilarity,
+                                            int limit) {
+        QuestionBankIndex index = bank(courseId).index();
+        synchronized (index) {
+            return index.similar(content, excludeId, minSimilarity, limit);
+        }
+    }
+
+    // Banks not loaded yet pick the question up when they are
+    public void add(Question question) {
+        banks.computeIfPresent(question.getCourse().getId(), (courseId, bank) -> {
+            synchronized (bank.index()) {
+                bank.index().put(new QuestionBankEntry(question.getQuestionId(), question.getQuestionContent(),
+                        question.getType()));
+            }
+            return bank;
+        });
+    }
+
+    public void remove(Long courseId, Long questionId) {
+        banks.computeIfPresent(courseId, (id, bank) -> {
+            synchronized (bank.index()) {
+                bank.index().remove(questionId);
+            }
+            return bank;
+        });
+    }
+
+    private Bank bank(Long courseId) {
+        long now = nanoClock.getAsLong();
+        Bank bank = banks.get(courseId);
+        if (bank != null && now - bank.loadedAt() <= ttl.toNanos()) {
+            return bank;
+        }
+        if (bank == null && banks.size() >= MAX_BANKS) {
+            banks.values().removeIf(stale -> now - stale.loadedAt() > ttl.toNanos());
+            if (banks.size() >= MAX_BANKS) {
+                // served once without being kept
+                return load(courseId, now);
+            }
+        }
+        return banks.compute(courseId,
+                (id, current) -> current != null && current != bank ? current : load(id, now));
+    }
+
+    private Bank load(Long courseId, long now) {
+        QuestionBankIndex index = new QuestionBankIndex();
+        questionRepository.findBankEntries(courseId).forEach(index::put);
+        return new Bank(index, now);
+    }
+}
@@ -2,6 +2,7 @@ package com.main.lms.services;
 
 import com.main.lms.dtos.QuestionRequestDTO;
 import com.main.lms.dtos.QuestionResponseDTO;
+import com.main.lms.dtos.SimilarQuestionDTO;
 import com.main.lms.entities.Course;
 import com.main.lms.entities.Question;
 import com.main.lms.exceptions.CourseNotFoundException;
@@ -16,20 +17,27 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.main.lms.enums.QuestionType;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class QuestionService {
 
+    // At this estimated similarity a new question is reported as a possible duplicate
+    static final double DUPLICATE_SIMILARITY = 0.8;
+    static final double SIMILAR_SIMILARITY = 0.5;
+    static final int MAX_DUPLICATES = 5;
+    static final int MAX_LIMIT = 100;
+
     private final QuestionRepository questionRepository;
     private final CourseRepository courseRepository;
     private final NotificationService notificationService;
-
+    private final QuestionBankService questionBankService;
 
 
     @Transactional
@@ -49,6 +57,7 @@ public class QuestionService {
         question.setAnswer(requestDTO.getAnswer());
 
         Question savedQuestion = questionRepository.save(question);
+        questionBankService.add(savedQuestion);
 
         notificationService.notifyUser(course.getInstructor().getId(), "New Question has been posted for course " + course.getTitle());
 
@@ -69,6 +78,7 @@ public class QuestionService {
         return q;
     }
 
+    @Transactional(readOnly = true)
     public List<Question> getFilteredQuestions(Long courseId, Optional<QuestionType> questionType, long userId) {
         if (!courseRepository.existsById(courseId)) {
             throw new CourseNotFoundException("Course not found with ID: " + courseId);
@@ -83,23 +93,51 @@ public class QuestionService {
         }
 
         List<Question> questions;
-        questions = questionType.map(type -> questionRepository.findByCourseId(courseId)
-                .stream()
-                .filter(q -> q.getType().equals(type))
-                .collect(Collectors.toList())).orElseGet(() -> questionRepository.findByCourseId(courseId));
+        questions = questionType.map(type -> questionRepository.findByCourseIdAndType(courseId, type))
+                .orElseGet(() -> questionRepository.findByCourseId(courseId));
+
+        return questions;
+    }
+
+    // Questions of the course containing every word of the query, newest first
+    @Transactional(readOnly = true)
+    public List<Question> searchQuestions(Long courseId, String query, Optional<QuestionType> questionType,
+                                          int limit, long userId) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new CourseNotFoundException("Course not found with ID: " + courseId));
+
+        // not the instructor of the course
+        if (course.getInstructor().getId() != userId) {
+            throw new InvalidUser("You are not the instructor of this course");
+        }
 
+        List<Long> ids = questionBankService.search(courseId, query, questionType.orElse(null),
+                Math.max(1, Math.min(limit, MAX_LIMIT)));
+        List<Question> questions = new ArrayList<>(questionRepository.findAllById(ids));
+        questions.sort(Comparator.comparingInt(q -> ids.indexOf(q.getQuestionId())));
         return questions;
     }
 
+    // Questions of the same course worded like this one, most similar first
+    public List<SimilarQuestionDTO> getSimilarQuestions(Long questionId, int limit, long userId) {
+        Question question = getQuestionById(questionId, userId);
+        return questionBankService.similar(question.getCourse().getId(), question.getQuestionContent(), questionId,
+                SIMILAR_SIMILARITY, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    // Existing questions a newly created one nearly repeats
+    public List<SimilarQuestionDTO> findPossibleDuplicates(Question question) {
+        return questionBankService.similar(question.getCourse().getId(), question.getQuestionContent(),
+                question.getQuestionId(), DUPLICATE_SIMILARITY, MAX_DUPLICATES);
+    }
+
     public List<Question> getRandomQuestions(Long courseId, Optional<QuestionType> questionType, int count) {
         if (!courseRepository.existsById(courseId)) {
             throw new CourseNotFoundException("Course not found with ID: " + courseId);
         }
         List<Question> filteredQuestions;
-        filteredQuestions = questionType.map(type -> questionRepository.findByCourseId(courseId)
-                .stream()
-                .filter(q -> q.getType().equals(type))
-                .collect(Collectors.toList())).orElseGet(() -> questionRepository.findByCourseId(courseId));
+        filteredQuestions = questionType.map(type -> questionRepository.findByCourseIdAndType(courseId, type))
+                .orElseGet(() -> questionRepository.findByCourseId(courseId));
 
         Collections.shuffle(filteredQuestions, new Random());
         List<Question> selectedQuestions = filteredQuestions.stream()
@@ -128,6 +166,7 @@ public class QuestionService {
         Question question = questionRepository.findById(questionId).get();
 
         questionRepository.deleteById(questionId);
+        questionBankService.remove(course.getId(), questionId);
 
         notificationService.notifyUser(question.getCourse().getInstructor().getId(), "Question Deleted Successfully for course " + question.getCourse().getTitle() );
     }
@@ -2,6 +2,7 @@ package com.main.lms.services;
 
 import com.main.lms.dtos.*;
 import com.main.lms.entities.*;
+import com.main.lms.enums.ActivityType;
 import com.main.lms.enums.UserRole;
 import com.main.lms.exceptions.InvalidQuizGenerationException;
 import com.main.lms.exceptions.InvalidUser;
@@ -11,6 +12,7 @@ import com.main.lms.repositories.*;
 import lombok.RequiredArgsConstructor;
 import org.antlr.v4.runtime.misc.Pair;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -26,6 +28,9 @@ public class QuizService {
     private final QuestionService questionService;
     private final EnrolledCourseRepository enrolledCourseRepository;
     private final CourseRepository courseRepository;
+    private final LeaderboardService leaderboardService;
+    private final GradeStatisticsService gradeStatisticsService;
+    private final ActivityLogService activityLogService;
 
     public Quiz getQuizById(Long quizId, User user)  {
         Quiz q = quizRepository.findById(quizId)
@@ -67,6 +72,7 @@ public class QuizService {
         return quiz;
     }
 
+    @Transactional(readOnly = true)
     public List<GradeDTO> getStudentQuizGrades(Long studentId) {
         List<StudentQuiz> studentQuizzes = studentQuizRepository.findByStudentId(studentId);
         if (studentQuizzes.isEmpty()) {
@@ -102,10 +108,18 @@ public class QuizService {
         studentQuiz.setQuiz(quiz);
         studentQuiz.setStudent(student);
         studentQuiz.setGrade((double) score);
+        long leaderboardWrite = leaderboardService.beginWrite();
+        long statisticsWrite = gradeStatisticsService.beginWrite();
         studentQuizRepository.save(studentQuiz);
+        leaderboardService.quizSubmitted(quiz.getCourse().getId(), quizId, student.getId(), score,
+                leaderboardWrite);
+        gradeStatisticsService.quizSubmitted(quiz.getCourse().getId(), quizId, score, questions.size(),
+                statisticsWrite);
+        activityLogService.record(ActivityType.QUIZ_SUBMITTED, student.getId(), quiz.getCourse().getId(), quizId);
         return mapToResponseDTO(studentQuiz);
     }
 
+    @Transactional(readOnly = true)
     public List<Quiz> getQuizzesForCourse(Long courseId, User user) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with ID: " + courseId));
@@ -123,6 +137,21 @@ public class QuizService {
         return quizzes;
     }
 
+    // Same checks as getQuizzesForCourse, but only the ids are read from the database
+    @Transactional(readOnly = true)
+    public List<Long> getQuizIdsForCourse(Long courseId, User user) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with ID: " + courseId));
+
+        if (!user.getRole().equals(UserRole.ADMIN) && !course.getInstructor().getId().equals(user.getId()) &&
+                enrolledCourseRepository.findByStudentAndCourse(user, course).isEmpty()) {
+            throw new InvalidUser("You are not authorized to view quizzes for this course");
+        }
+
+        return quizRepository.findQuizIdsByCourseId(courseId);
+    }
+
+    @Transactional(readOnly = true)
     public List<GradeDTO> getQuizGrades(Long quizId, User user) {
         Quiz quiz = getQuizById(quizId, user);
 
@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -29,6 +30,7 @@ public class ReportService {
     private final AssignmentRepository assignmentRepository;
     private final LessonRepository lessonRepository;
 
+    @Transactional(readOnly = true)
     public ByteArrayInputStream generateStudentPerformanceReport(Long courseId, User user) throws IOException {
         // Check authorization
         Course course = courseRepository.findById(courseId)
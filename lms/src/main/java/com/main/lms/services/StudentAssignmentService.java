@@ -2,8 +2,11 @@ package com.main.lms.services;
 
 import com.main.lms.dtos.CreateStudentAssignmentDTO;
 import com.main.lms.dtos.GradeAssignmentDTO;
+import com.main.lms.dtos.KeysetPage;
 import com.main.lms.dtos.StudentAssignmentResponseDTO;
+import com.main.lms.dtos.StudentAssignmentRow;
 import com.main.lms.entities.*;
+import com.main.lms.enums.ActivityType;
 import com.main.lms.exceptions.CourseNotFoundException;
 import com.main.lms.exceptions.InvalidUser;
 import com.main.lms.repositories.*;
@@ -12,7 +15,9 @@ import lombok.RequiredArgsConstructor;
 
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
@@ -22,6 +27,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import java.io.FileInputStream;
 import java.util.zip.ZipEntry;
@@ -31,11 +38,18 @@ import java.util.zip.ZipOutputStream;
 @RequiredArgsConstructor
 public class StudentAssignmentService {
 
+    // Submitted files, named <studentId>_<course title>_<original name>
+    static final String SUBMISSIONS_DIRECTORY = System.getProperty("user.dir") + "/uploads/" + "students-assignments/";
+
     private final StudentAssignmentRepository studentAssignmentRepository;
     private final UserRepository userRepository;
     private final AssignmentRepository assignmentRepository;
     private final CourseRepository courseRepository;
     private final EnrollmentService enrollmentService;
+    private final SubmissionSimilarityService submissionSimilarityService;
+    private final LeaderboardService leaderboardService;
+    private final GradeStatisticsService gradeStatisticsService;
+    private final ActivityLogService activityLogService;
 
     boolean exists(User user, Assignment assignment) {
         Optional<StudentAssignment> x = studentAssignmentRepository.findByAssignmentAndStudent(assignment, user);
@@ -71,11 +85,13 @@ public class StudentAssignmentService {
         studentAssignment.setStudent(student);
 
         studentAssignmentRepository.save(studentAssignment);
+        activityLogService.record(ActivityType.ASSIGNMENT_SUBMITTED, student.getId(), course.getId(),
+                assignment.getAssignmentId());
         return StudentAssignmentResponseDTO.mapToResponseDTO(studentAssignment);
     }
 
     public boolean saveStudentSubmissionFile(List<MultipartFile> files, Long id, Long studentId) {
-        String path = System.getProperty("user.dir") + "/uploads/" + "students-assignments/";
+        String path = SUBMISSIONS_DIRECTORY;
         File dir = new File(path);
 
         if (!dir.exists()) {
@@ -96,6 +112,8 @@ public class StudentAssignmentService {
                 return false;
             }
         }
+        // for copy detection; the submission is already in the persistence context
+        submissionSimilarityService.signSubmission(studentAssignmentRepository.findById(id).get());
         return true;
     }
 
@@ -110,7 +128,7 @@ public class StudentAssignmentService {
             throw new RuntimeException("You are not the instructor of this course");
         }
         List<String> fileNames = submission.getFileNames();
-        String path = System.getProperty("user.dir") + "/uploads/" + "students-assignments/";
+        String path = SUBMISSIONS_DIRECTORY;
         List<Path> submissions = new ArrayList<>();
         for (String fileName : fileNames) {
             Path submissionPath = new File(path + fileName).toPath();
@@ -142,21 +160,43 @@ public class StudentAssignmentService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<StudentAssignmentResponseDTO> getAllStudentAssignments() {
-        List<StudentAssignment> studentAssignments = studentAssignmentRepository.findAll();
+        List<StudentAssignmentRow> studentAssignments = studentAssignmentRepository.findAllRows();
         List<StudentAssignmentResponseDTO> studentAssignmentResponseDTOs = new ArrayList<>();
-        for (StudentAssignment studentAssignment : studentAssignments) {
+        for (StudentAssignmentRow studentAssignment : studentAssignments) {
             studentAssignmentResponseDTOs.add(StudentAssignmentResponseDTO.mapToResponseDTO(studentAssignment));
         }
         return studentAssignmentResponseDTOs;
     }
 
+    @Transactional(readOnly = true)
+    public KeysetPage<StudentAssignmentResponseDTO> getStudentAssignmentsPage(Long after, int size) {
+        List<StudentAssignmentRow> rows = studentAssignmentRepository.findRowsAfter(after == null ? 0L : after,
+                PageRequest.of(0, size));
+        List<StudentAssignmentResponseDTO> studentAssignmentResponseDTOs = new ArrayList<>(rows.size());
+        for (StudentAssignmentRow row : rows) {
+            studentAssignmentResponseDTOs.add(StudentAssignmentResponseDTO.mapToResponseDTO(row));
+        }
+        Long nextAfter = rows.size() == size ? rows.get(rows.size() - 1).getId() : null;
+        return new KeysetPage<>(studentAssignmentResponseDTOs, nextAfter);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportStudentAssignments(Consumer<StudentAssignmentResponseDTO> sink) {
+        try (Stream<StudentAssignmentRow> rows = studentAssignmentRepository.streamAllRows()) {
+            rows.map(StudentAssignmentResponseDTO::mapToResponseDTO).forEach(sink);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public List<StudentAssignmentResponseDTO> getStudentAssignmentsByCourseId(Long courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found with ID: " + courseId));
-        List<StudentAssignment> studentAssignments = studentAssignmentRepository.findByCourse(course);
+        List<StudentAssignmentRow> studentAssignments = studentAssignmentRepository.findRowsByCourseId(courseId);
+        if (studentAssignments.isEmpty() && !courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found with ID: " + courseId);
+        }
         List<StudentAssignmentResponseDTO> studentAssignmentResponseDTOs = new ArrayList<>();
-        for (StudentAssignment studentAssignment : studentAssignments) {
+        for (StudentAssignmentRow studentAssignment : studentAssignments) {
             studentAssignmentResponseDTOs.add(StudentAssignmentResponseDTO.mapToResponseDTO(studentAssignment));
         }
         return studentAssignmentResponseDTOs;
@@ -182,12 +222,14 @@ public class StudentAssignmentService {
             throw new RuntimeException("Student Assignment not found with ID: " + id);
         }
         studentAssignmentRepository.delete(studentAssignment.get());
+        gradeStatisticsService.assignmentGraded(studentAssignment.get().getCourse().getId());
     }
 
+    @Transactional(readOnly = true)
     public List<StudentAssignmentResponseDTO> getAssignmentsForStudent(Long studentId) {
-        List<StudentAssignment> studentAssignments = studentAssignmentRepository.findByStudentId(studentId);
+        List<StudentAssignmentRow> studentAssignments = studentAssignmentRepository.findRowsByStudentId(studentId);
         List<StudentAssignmentResponseDTO> studentAssignmentResponseDTOs = new ArrayList<>();
-        for (StudentAssignment studentAssignment : studentAssignments) {
+        for (StudentAssignmentRow studentAssignment : studentAssignments) {
             studentAssignmentResponseDTOs.add(StudentAssignmentResponseDTO.mapToResponseDTO(studentAssignment));
         }
         return studentAssignmentResponseDTOs;
@@ -204,9 +246,18 @@ public class StudentAssignmentService {
         }
 
         // Update the student assignment
+        long previousGrade = studentAssignment.getGrade();
         studentAssignment.setGrade(dto.getGrade());
+        studentAssignment.setGraded(true);
         studentAssignment.setFeedback(dto.getFeedback());
 
-        return StudentAssignmentResponseDTO.mapToResponseDTO(studentAssignmentRepository.save(studentAssignment));
+        long write = leaderboardService.beginWrite();
+        StudentAssignment saved = studentAssignmentRepository.save(studentAssignment);
+        leaderboardService.assignmentGraded(studentAssignment.getCourse().getId(),
+                studentAssignment.getStudentId(), previousGrade, dto.getGrade(), write);
+        gradeStatisticsService.assignmentGraded(studentAssignment.getCourse().getId());
+        activityLogService.record(ActivityType.ASSIGNMENT_GRADED, studentAssignment.getStudentId(),
+                studentAssignment.getCourse().getId(), studentAssignment.getAssignmentId());
+        return StudentAssignmentResponseDTO.mapToResponseDTO(saved);
     }
 }
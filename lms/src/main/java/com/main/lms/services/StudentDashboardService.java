@@ -0,0 +1,148 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.AssignmentResponseDTO;
+import com.main.lms.dtos.AssignmentRow;
+import com.main.lms.dtos.CourseAttendanceDTO;
+import com.main.lms.dtos.EnrollmentResponseDTO;
+import com.main.lms.dtos.GradeDTO;
+import com.main.lms.dtos.StudentDashboardDTO;
+import com.main.lms.repositories.AssignmentRepository;
+import com.main.lms.repositories.EnrolledCourseRepository;
+import com.main.lms.repositories.NotificationRepository;
+import com.main.lms.repositories.StudentQuizRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.LongSupplier;
+
+// The student home page in one call. The sections are independent queries, so they run at the
+// same time on virtual threads and the page takes as long as the slowest one, capped by
+// lms.dashboard.deadline. Virtual threads are unbounded but connections are not: across all
+// dashboards at most lms.dashboard.max-concurrent-queries sections hold a connection at once,
+// half the Hikari pool by default, and the rest wait for a permit within the same deadline.
+// Complete dashboards are kept for lms.dashboard.cache-ttl per student.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudentDashboardService {
+
+    static final int RECENT_GRADES = 10;
+    static final int MAX_CACHED = 10_000;
+
+    private final EnrolledCourseRepository enrollmentRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final StudentQuizRepository studentQuizRepository;
+    private final NotificationRepository notificationRepository;
+
+    // Sections still running at the deadline are left out of the response
+    @Value("${lms.dashboard.deadline:2s}")
+    private Duration deadline = Duration.ofSeconds(2);
+
+    @Value("${lms.dashboard.cache-ttl:30s}")
+    private Duration cacheTtl = Duration.ofSeconds(30);
+
+    @Value("${lms.dashboard.max-concurrent-queries:#{${spring.datasource.hikari.maximum-pool-size:10} / 2}}")
+    private int maxConcurrentQueries = 5;
+
+    LongSupplier nanoClock = System::nanoTime;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private Semaphore queryPermits;
+    private final Map<Long, Cached> cache = new ConcurrentHashMap<>();
+
+    record Cached(StudentDashboardDTO dashboard, long expiresAt) {
+    }
+
+    public StudentDashboardDTO getDashboard(Long studentId) {
+        long now = nanoClock.getAsLong();
+        Cached cached = cache.get(studentId);
+        if (cached != null && cached.expiresAt() - now > 0) {
+            return cached.dashboard();
+        }
+        StudentDashboardDTO dashboard = load(studentId, now + deadline.toNanos());
+        // a partial dashboard is not cached, the next visit tries again
+        if (dashboard.getUnavailable().isEmpty()) {
+            if (cache.size() >= MAX_CACHED) {
+                cache.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+            }
+            if (cache.size() < MAX_CACHED) {
+                cache.put(studentId, new Cached(dashboard, now + cacheTtl.toNanos()));
+            }
+        }
+        return dashboard;
+    }
+
+    @PostConstruct
+    void start() {
+        queryPermits = new Semaphore(Math.max(1, maxConcurrentQueries));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private StudentDashboardDTO load(Long studentId, long deadlineAt) {
+        Future<List<EnrollmentResponseDTO>> enrollments =
+                submit(() -> enrollmentRepository.findResponsesByStudentId(studentId));
+        Future<List<AssignmentRow>> pendingAssignments =
+                submit(() -> assignmentRepository.findPendingRowsByStudentId(studentId));
+        Future<List<GradeDTO>> recentGrades = submit(
+                () -> studentQuizRepository.findRecentGrades(studentId, PageRequest.of(0, RECENT_GRADES)));
+        Future<List<CourseAttendanceDTO>> attendance =
+                submit(() -> enrollmentRepository.findAttendanceByStudentId(studentId));
+        Future<Long> unreadNotifications =
+                submit(() -> notificationRepository.countByUserIdAndIsRead(studentId, false));
+
+        StudentDashboardDTO dashboard = new StudentDashboardDTO();
+        dashboard.setStudentId(studentId);
+        dashboard.setEnrollments(await(enrollments, "enrollments", deadlineAt, dashboard));
+        List<AssignmentRow> pending = await(pendingAssignments, "pendingAssignments", deadlineAt, dashboard);
+        dashboard.setPendingAssignments(pending == null ? null
+                : pending.stream().map(AssignmentResponseDTO::mapToResponseDTO).toList());
+        dashboard.setRecentGrades(await(recentGrades, "recentGrades", deadlineAt, dashboard));
+        dashboard.setAttendance(await(attendance, "attendance", deadlineAt, dashboard));
+        dashboard.setUnreadNotifications(await(unreadNotifications, "unreadNotifications", deadlineAt, dashboard));
+        return dashboard;
+    }
+
+    // A section cancelled at the deadline while waiting for its permit is interrupted out of acquire
+    private <T> Future<T> submit(Callable<T> query) {
+        return executor.submit(() -> {
+            queryPermits.acquire();
+            try {
+                return query.call();
+            } finally {
+                queryPermits.release();
+            }
+        });
+    }
+
+    // The section's result, or null with the section listed as unavailable
+    private <T> T await(Future<T> section, String name, long deadlineAt, StudentDashboardDTO dashboard) {
+        try {
+            return section.get(Math.max(0, deadlineAt - nanoClock.getAsLong()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            section.cancel(true);
+            log.error("Dashboard section {} missed the {} deadline", name, deadline);
+        } catch (ExecutionException e) {
+            log.error("Dashboard section {} failed: {}", name, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            section.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        dashboard.getUnavailable().add(name);
+        return null;
+    }
+}
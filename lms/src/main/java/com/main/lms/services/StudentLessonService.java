@@ -11,6 +11,7 @@ import com.main.lms.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -23,6 +24,7 @@ public class StudentLessonService {
     private final LessonRepository lessonRepository;
     private final UserRepository userRepository;
     private final EnrollmentService enrollmentService;
+    private final CheckInService checkInService;
 
     boolean exists(User user, Lesson lesson) {
         Optional<StudentLesson> x = studentLessonsRepository.findByStudentAndLesson(user, lesson);
@@ -33,31 +35,9 @@ public class StudentLessonService {
         }
     }
 
-    // Create StudentLesson
+    // Create StudentLesson (lesson check-in)
     public StudentLesson createStudentLesson(CreateStudentLessonDTO createStudentLessonDTO, User student) {
-        // Retrieve the lesson
-        Lesson lesson = lessonRepository.findById(createStudentLessonDTO.getLessonId())
-                .orElseThrow(() -> new RuntimeException(
-                        "Lesson not found with ID: " + createStudentLessonDTO.getLessonId()));
-
-        if (enrollmentService.getEnrollmentByStudentAndCourse(student.getId(), lesson.getCourse().getId()).isEmpty()) {
-            throw new CourseNotFoundException("Student is not enrolled in this course");
-        }
-
-        if (!createStudentLessonDTO.getOtp().equals(lesson.getOtp())) {
-            throw new RuntimeException("OTP is invalid");
-        }
-
-        if (exists(student, lesson)) {
-            throw new RuntimeException("Student is already enrolled in this lesson");
-        }
-
-        // Create StudentLesson entity
-        StudentLesson studentLesson = new StudentLesson();
-        studentLesson.setStudent(student);
-        studentLesson.setLesson(lesson);
-
-        return studentLessonsRepository.save(studentLesson);
+        return checkInService.checkIn(createStudentLessonDTO.getLessonId(), createStudentLessonDTO.getOtp(), student);
     }
 
     // Get a StudentLesson by ID
@@ -68,10 +48,12 @@ public class StudentLessonService {
     }
 
     // Get All Lessons by Student
+    @Transactional(readOnly = true)
     public List<StudentLesson> getLessonsByStudent(Long studentId) {
         return studentLessonsRepository.findByStudentId(studentId);
     }
 
+    @Transactional(readOnly = true)
     public List<StudentLesson> getLessonsByStudentInCourse(Long studentId, Long courseId, Long instructorId) {
 
         List<StudentLesson> studentLessons = studentLessonsRepository.findByStudentId(studentId);
@@ -84,5 +66,6 @@ public class StudentLessonService {
    public void deleteStudentLessonById(Long id) {
        StudentLesson sl = getStudentLessonById(id);
        studentLessonsRepository.delete(sl);
+       checkInService.attendanceDeleted(sl.getLessonId(), sl.getStudentId());
    }
 }
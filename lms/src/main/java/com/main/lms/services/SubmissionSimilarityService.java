@@ -0,0 +1,190 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.SimilarityReportDTO;
+import com.main.lms.dtos.SubmissionPairDTO;
+import com.main.lms.entities.Assignment;
+import com.main.lms.entities.StudentAssignment;
+import com.main.lms.entities.SubmissionSignature;
+import com.main.lms.enums.SimilarityReportStatus;
+import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.exceptions.ResourceNotFoundException;
+import com.main.lms.repositories.AssignmentRepository;
+import com.main.lms.repositories.StudentAssignmentRepository;
+import com.main.lms.repositories.SubmissionSignatureRepository;
+import com.main.lms.utility.MinHash;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Copy detection for assignment submissions. Each upload is signed once, in the background:
+// the files are read as a stream of five-word shingles into a MinHash signature that is stored
+// with the submission. An assignment's report then needs only the stored signatures; LSH buckets
+// them so only submissions sharing a bucket are compared, instead of every pair. Reports are
+// computed in the background on request and reused until a submission of the assignment changes.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SubmissionSimilarityService {
+
+    static final int SHINGLE_WORDS = 5;
+    static final int MAX_PAIRS = 1_000;
+
+    private final SubmissionSignatureRepository signatureRepository;
+    private final StudentAssignmentRepository studentAssignmentRepository;
+    private final AssignmentRepository assignmentRepository;
+
+    // Pairs at or above this estimated similarity are reported
+    @Value("${lms.similarity.threshold:0.5}")
+    private double threshold = 0.5;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Long, SimilarityReportDTO> reports = new ConcurrentHashMap<>();
+    // assignments with a submission signed since their report was started
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+    // Signs the submission's current files in the background
+    public void signSubmission(StudentAssignment submission) {
+        Long id = submission.getId();
+        Long assignmentId = submission.getAssignmentId();
+        Long studentId = submission.getStudentId();
+        List<String> fileNames = List.copyOf(submission.getFileNames());
+        executor.execute(() -> {
+            try {
+                sign(id, assignmentId, studentId, fileNames);
+                changed.add(assignmentId);
+            } catch (Exception e) {
+                // left unsigned, the next report signs it
+                log.error("Signing submission {} failed: {}", id, e.getMessage());
+            }
+        });
+    }
+
+    // The latest report; a missing, failed or outdated one is recomputed in the background and
+    // returned as RUNNING meanwhile
+    public SimilarityReportDTO getReport(Long assignmentId, Long instructorId) {
+        Assignment assignment = assignmentRepository.findById(assignmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Assignment not found with ID: " + assignmentId));
+        if (!Objects.equals(assignment.getCourse().getInstructor().getId(), instructorId)) {
+            throw new InvalidUser("You are not the instructor of this course");
+        }
+        return reports.compute(assignmentId, (id, current) -> {
+            if (current != null && (current.getStatus() == SimilarityReportStatus.RUNNING
+                    || current.getStatus() == SimilarityReportStatus.DONE && !changed.contains(id))) {
+                return current;
+            }
+            changed.remove(id);
+            executor.execute(() -> compare(id));
+            return current == null
+                    ? new SimilarityReportDTO(id, SimilarityReportStatus.RUNNING, null, 0, List.of(), List.of())
+                    : new SimilarityReportDTO(id, SimilarityReportStatus.RUNNING, current.getComputedAt(),
+                            current.getSubmissions(), current.getPairs(), current.getUnreadable());
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void compare(Long assignmentId) {
+        SimilarityReportDTO report;
+        try {
+            List<Long> unreadable = new ArrayList<>();
+            for (StudentAssignment submission : studentAssignmentRepository.findUnsignedByAssignmentId(assignmentId)) {
+                try {
+                    sign(submission.getId(), assignmentId, submission.getStudentId(), submission.getFileNames());
+                } catch (IOException e) {
+                    // left out of this report and unsigned, the next report tries again
+                    log.warn("Submission {} could not be read: {}", submission.getId(), e.getMessage());
+                    unreadable.add(submission.getId());
+                }
+            }
+            List<SubmissionSignature> rows = signatureRepository.findByAssignmentId(assignmentId).stream()
+                    .filter(row -> row.getShingles() > 0)
+                    .toList();
+            report = new SimilarityReportDTO(assignmentId, SimilarityReportStatus.DONE, Instant.now(), rows.size(),
+                    pairs(rows), unreadable);
+        } catch (Exception e) {
+            log.error("Similarity report for assignment {} failed: {}", assignmentId, e.getMessage());
+            report = new SimilarityReportDTO(assignmentId, SimilarityReportStatus.FAILED, null, 0, List.of(),
+                    List.of());
+        }
+        reports.put(assignmentId, report);
+    }
+
+    void sign(Long submissionId, Long assignmentId, Long studentId, List<String> fileNames) throws IOException {
+        int[] signature = MinHash.newSignature();
+        int shingles = 0;
+        for (String fileName : fileNames) {
+            Path path = Path.of(StudentAssignmentService.SUBMISSIONS_DIRECTORY, fileName);
+            if (!Files.isRegularFile(path)) {
+                continue;
+            }
+            // undecodable bytes become replacement characters rather than failing the file
+            try (Reader reader = new BufferedReader(
+                    new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8))) {
+                shingles += MinHash.addWordShingles(signature, reader, SHINGLE_WORDS);
+            }
+        }
+        SubmissionSignature row = new SubmissionSignature();
+        row.setStudentAssignmentId(submissionId);
+        row.setAssignmentId(assignmentId);
+        row.setStudentId(studentId);
+        row.setSignature(MinHash.toBytes(signature));
+        row.setShingles(shingles);
+        signatureRepository.save(row);
+    }
+
+    // Pairs sharing at least one LSH band, kept when their estimated similarity reaches the threshold
+    private List<SubmissionPairDTO> pairs(List<SubmissionSignature> rows) {
+        int[][] signatures = new int[rows.size()][];
+        for (int i = 0; i < rows.size(); i++) {
+            signatures[i] = MinHash.fromBytes(rows.get(i).getSignature());
+        }
+        Set<Long> compared = new HashSet<>();
+        List<SubmissionPairDTO> pairs = new ArrayList<>();
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            Map<Integer, List<Integer>> buckets = new HashMap<>();
+            for (int i = 0; i < signatures.length; i++) {
+                buckets.computeIfAbsent(MinHash.bandKey(signatures[i], band), key -> new ArrayList<>()).add(i);
+            }
+            for (List<Integer> bucket : buckets.values()) {
+                for (int a = 0; a < bucket.size(); a++) {
+                    for (int b = a + 1; b < bucket.size(); b++) {
+                        int i = bucket.get(a);
+                        int j = bucket.get(b);
+                        if (!compared.add((long) i * signatures.length + j)) {
+                            continue;
+                        }
+                        double similarity = MinHash.estimate(signatures[i], signatures[j]);
+                        if (similarity >= threshold) {
+                            SubmissionSignature first = rows.get(i);
+                            SubmissionSignature second = rows.get(j);
+                            pairs.add(new SubmissionPairDTO(first.getStudentAssignmentId(), first.getStudentId(),
+                                    second.getStudentAssignmentId(), second.getStudentId(), similarity));
+                        }
+                    }
+                }
+            }
+        }
+        pairs.sort(Comparator.comparingDouble(SubmissionPairDTO::getSimilarity).reversed());
+        return pairs.size() > MAX_PAIRS ? List.copyOf(pairs.subList(0, MAX_PAIRS)) : pairs;
+    }
+}
@@ -14,6 +14,7 @@ import com.main.lms.enums.UserRole;
 import com.main.lms.dtos.RegisterUserDTO;
 import com.main.lms.dtos.UpdateUserDTO;
 import com.main.lms.repositories.UserRepository;
+import com.main.lms.utility.CacheInvalidator;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,6 +23,7 @@ import lombok.RequiredArgsConstructor;
 public class UserService implements UserDetailsService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CacheInvalidator cacheInvalidator;
 
 
 
@@ -45,6 +47,9 @@ public class UserService implements UserDetailsService {
         if (userRepository.findByEmail(requestBody.getEmail()).isPresent()) {
             throw new RuntimeException("Email already in use");
         }
+        if (userRepository.findByName(requestBody.getName()).isPresent()) {
+            throw new RuntimeException("Name already in use");
+        }
 
         User user = new User();
         user.setName(requestBody.getName());
@@ -57,6 +62,9 @@ public class UserService implements UserDetailsService {
         if(userRepository.findByEmail(userDto.getEmail()).isPresent()){
             throw new RuntimeException("Email already in use");
         }
+        if(userRepository.findByName(userDto.getName()).isPresent()){
+            throw new RuntimeException("Name already in use");
+        }
         User user = new User();
         user.setName(userDto.getName());
         user.setEmail(userDto.getEmail());
@@ -97,6 +105,7 @@ public class UserService implements UserDetailsService {
             throw new RuntimeException("User not found");
         }
         userRepository.deleteById(id);
+        cacheInvalidator.evictUser(id);
     }
 
     @Override
@@ -0,0 +1,286 @@
+package com.main.lms.utility;
+
+import com.main.lms.enums.ActivityType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Append-only log of activity events, kept as numbered segment files in one directory.
+ *
+ * <p>A segment is a 16-byte header (magic, format version, segment number) followed by
+ * fixed-width 36-byte records: timestamp, user id, course id and item id as longs, then the
+ * {@link ActivityType} ordinal as an int, big-endian. Fixed-width records need no framing or
+ * index, and a record torn by a crash is cut off when the log is reopened. Appends go through a
+ * {@link FileChannel}; scans map the written part of each segment read-only and walk it in place.
+ *
+ * <p>Timestamps never decrease along the log: an event stamped before the last one written is
+ * written with that timestamp instead. Callers sort each batch, so this only evens out events
+ * queued on different threads a few milliseconds apart.
+ *
+ * <p>Appends are forced to disk before they move {@link #end()}, so a position handed out by a
+ * scan is never past what survives a crash.
+ *
+ * <p>Appends are serialized. A scan may run alongside them and reads the records written
+ * before it started.
+ */
+public final class ActivityLog implements Closeable {
+
+    public static final int HEADER_BYTES = 16;
+    public static final int RECORD_BYTES = 36;
+    private static final int MAGIC = 0x4C4D5341; // "LMSA"
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".seg";
+    private static final ActivityType[] TYPES = ActivityType.values();
+
+    public record Event(long timestamp, ActivityType type, long userId, long courseId, long itemId) {
+    }
+
+    // A point in the log: a segment number and a byte offset within it
+    public record Position(long segment, long offset) {
+
+        public boolean isAfter(Position other) {
+            return segment > other.segment || segment == other.segment && offset > other.offset;
+        }
+    }
+
+    private final Path directory;
+    private final long segmentBytes;
+    // segment number -> file, oldest first
+    private final ConcurrentSkipListMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+    // the newest segment, open for appends; guarded by this
+    private FileChannel channel;
+    private long lastTimestamp = Long.MIN_VALUE;
+    // end of the whole records written so far
+    private volatile Position end;
+
+    /**
+     * Opens the log in {@code directory}, creating it if needed. Segments are rolled once they
+     * hold {@code segmentBytes}, rounded down to whole records.
+     */
+    public ActivityLog(Path directory, long segmentBytes) throws IOException {
+        if (segmentBytes < HEADER_BYTES + RECORD_BYTES || segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size must be between " + (HEADER_BYTES + RECORD_BYTES)
+                    + " and " + Integer.MAX_VALUE + " bytes");
+        }
+        this.directory = directory;
+        this.segmentBytes = whole(segmentBytes);
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String number = name.substring(0, name.length() - SUFFIX.length());
+                if (!number.isEmpty() && number.chars().allMatch(Character::isDigit)) {
+                    segments.put(Long.parseLong(number), file);
+                }
+            }
+        }
+        if (segments.isEmpty()) {
+            openSegment(0);
+        } else {
+            reopen(segments.lastKey());
+        }
+    }
+
+    public Position start() {
+        return new Position(segments.firstKey(), HEADER_BYTES);
+    }
+
+    public Position end() {
+        return end;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public boolean hasSegment(long number) {
+        return segments.containsKey(number);
+    }
+
+    /**
+     * Appends events in the given order, rolling to a new segment first if they do not fit in the
+     * current one. Returns how many were written, fewer than given only when they would not fit
+     * in an empty segment; either all of those are written or, on an exception, none.
+     */
+    public synchronized int append(List<Event> events) throws IOException {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        long written = end.offset();
+        if (written + (long) events.size() * RECORD_BYTES > segmentBytes && written > HEADER_BYTES) {
+            openSegment(end.segment() + 1);
+            written = HEADER_BYTES;
+        }
+        int count = (int) Math.min(events.size(), (segmentBytes - written) / RECORD_BYTES);
+        ByteBuffer buffer = ByteBuffer.allocate(count * RECORD_BYTES);
+        long timestamp = lastTimestamp;
+        for (Event event : events.subList(0, count)) {
+            timestamp = Math.max(timestamp, event.timestamp());
+            buffer.putLong(timestamp)
+                    .putLong(event.userId())
+                    .putLong(event.courseId())
+                    .putLong(event.itemId())
+                    .putInt(event.type().ordinal());
+        }
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            // drop whatever part of the batch made it to the file
+            channel.truncate(written);
+            channel.position(written);
+            throw e;
+        }
+        lastTimestamp = timestamp;
+        end = new Position(end.segment(), written + (long) count * RECORD_BYTES);
+        return count;
+    }
+
+    /**
+     * Passes every event from {@code from} up to the end of the log, as of the call, to the sink
+     * and returns that end, where the next scan picks up. Segments deleted since {@code from}
+     * are skipped.
+     */
+    public Position scan(Position from, Consumer<Event> sink) throws IOException {
+        Position to = end;
+        for (Map.Entry<Long, Path> segment
+                : segments.subMap(from.segment(), true, to.segment(), true).entrySet()) {
+            long number = segment.getKey();
+            long start = number == from.segment() ? Math.max(from.offset(), HEADER_BYTES) : HEADER_BYTES;
+            try (FileChannel file = FileChannel.open(segment.getValue(), StandardOpenOption.READ)) {
+                long stop = number == to.segment() ? to.offset() : whole(file.size());
+                if (stop <= start) {
+                    continue;
+                }
+                // the mapping stays valid after the channel is closed
+                MappedByteBuffer mapped = file.map(FileChannel.MapMode.READ_ONLY, 0, stop);
+                checkHeader(mapped, segment.getValue());
+                for (int at = (int) start; at < stop; at += RECORD_BYTES) {
+                    sink.accept(read(mapped, at, segment.getValue()));
+                }
+            }
+        }
+        return to;
+    }
+
+    /**
+     * Deletes the segments wholly before {@code position} whose last event is older than
+     * {@code beforeMillis}; returns how many were deleted.
+     */
+    public int deleteBefore(Position position, long beforeMillis) throws IOException {
+        int deleted = 0;
+        for (Map.Entry<Long, Path> segment : segments.headMap(position.segment(), false).entrySet()) {
+            if (segment.getKey() >= end.segment() || lastTimestamp(segment.getValue()) >= beforeMillis) {
+                break;
+            }
+            segments.remove(segment.getKey());
+            Files.deleteIfExists(segment.getValue());
+            deleted++;
+        }
+        return deleted;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void openSegment(long number) throws IOException {
+        Path file = directory.resolve(String.format("%020d", number) + SUFFIX);
+        FileChannel opened = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).putLong(number);
+            header.flip();
+            while (header.hasRemaining()) {
+                opened.write(header);
+            }
+            opened.force(false);
+        } catch (IOException e) {
+            opened.close();
+            throw e;
+        }
+        if (channel != null) {
+            channel.close();
+        }
+        channel = opened;
+        segments.put(number, file);
+        end = new Position(number, HEADER_BYTES);
+    }
+
+    // Picks up appending to the newest segment after a restart
+    private void reopen(long number) throws IOException {
+        Path file = segments.get(number);
+        FileChannel opened = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = opened.size();
+        if (size < HEADER_BYTES) {
+            // crashed while creating it
+            opened.close();
+            openSegment(number);
+            return;
+        }
+        checkHeader(opened.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES), file);
+        long written = whole(size);
+        if (written < size) {
+            // a record torn by a crash
+            opened.truncate(written);
+        }
+        opened.position(written);
+        channel = opened;
+        end = new Position(number, written);
+        if (written > HEADER_BYTES) {
+            lastTimestamp = lastTimestamp(file);
+        }
+    }
+
+    private long lastTimestamp(Path file) throws IOException {
+        try (FileChannel opened = FileChannel.open(file, StandardOpenOption.READ)) {
+            long written = whole(opened.size());
+            if (written == HEADER_BYTES) {
+                return Long.MIN_VALUE;
+            }
+            ByteBuffer timestamp = ByteBuffer.allocate(Long.BYTES);
+            while (timestamp.hasRemaining()) {
+                if (opened.read(timestamp, written - RECORD_BYTES + timestamp.position()) < 0) {
+                    throw new IOException("Unexpected end of activity log segment " + file);
+                }
+            }
+            return timestamp.getLong(0);
+        }
+    }
+
+    private static Event read(ByteBuffer buffer, int at, Path file) throws IOException {
+        int type = buffer.getInt(at + 32);
+        if (type < 0 || type >= TYPES.length) {
+            throw new IOException("Unknown activity type " + type + " in " + file);
+        }
+        return new Event(buffer.getLong(at), TYPES[type], buffer.getLong(at + 8), buffer.getLong(at + 16),
+                buffer.getLong(at + 24));
+    }
+
+    private static void checkHeader(ByteBuffer header, Path file) throws IOException {
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("Not an activity log segment: " + file);
+        }
+    }
+
+    // The size rounded down to whole records
+    private static long whole(long size) {
+        return size <= HEADER_BYTES ? HEADER_BYTES : HEADER_BYTES + (size - HEADER_BYTES) / RECORD_BYTES * RECORD_BYTES;
+    }
+}
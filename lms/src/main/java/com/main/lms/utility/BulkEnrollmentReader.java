@@ -0,0 +1,136 @@
+package com.main.lms.utility;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.main.lms.dtos.BulkEnrollmentRow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams the rows of a bulk enrollment upload without holding the whole body in memory.
+ *
+ * <p>CSV: one {@code studentId,courseId} pair per line. An optional header line may name
+ * the columns ({@code studentId}/{@code student_id}, {@code courseId}/{@code course_id})
+ * in either order. Lines that do not parse become rows with an error.
+ *
+ * <p>JSON: either an array of {@code {"studentId": .., "courseId": ..}} objects or one
+ * object per line. Malformed JSON fails the whole upload.
+ */
+public final class BulkEnrollmentReader {
+
+    private BulkEnrollmentReader() {
+    }
+
+    public static Iterator<BulkEnrollmentRow> csv(InputStream in) {
+        return new CsvRows(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+    }
+
+    public static Iterator<BulkEnrollmentRow> json(InputStream in, ObjectMapper objectMapper) throws IOException {
+        MappingIterator<BulkEnrollmentRow> rows = objectMapper.readerFor(BulkEnrollmentRow.class).readValues(in);
+        return new Iterator<>() {
+            private int row;
+
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public BulkEnrollmentRow next() {
+                BulkEnrollmentRow next = rows.next();
+                next.setRow(++row);
+                next.setError(null);
+                return next;
+            }
+        };
+    }
+
+    private static final class CsvRows implements Iterator<BulkEnrollmentRow> {
+        private final BufferedReader reader;
+        private int studentColumn = 0;
+        private int courseColumn = 1;
+        private boolean firstLine = true;
+        private int row;
+        private BulkEnrollmentRow next;
+
+        CsvRows(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = readNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public BulkEnrollmentRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            BulkEnrollmentRow current = next;
+            next = null;
+            return current;
+        }
+
+        private BulkEnrollmentRow readNext() {
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    String[] fields = line.split(",", -1);
+                    if (firstLine) {
+                        firstLine = false;
+                        if (isHeader(fields)) {
+                            continue;
+                        }
+                    }
+                    return parse(fields);
+                }
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private boolean isHeader(String[] fields) {
+            boolean header = false;
+            for (int i = 0; i < fields.length; i++) {
+                String name = fields[i].trim().replace("_", "").toLowerCase(Locale.ROOT);
+                if (name.equals("studentid")) {
+                    studentColumn = i;
+                    header = true;
+                } else if (name.equals("courseid")) {
+                    courseColumn = i;
+                    header = true;
+                }
+            }
+            return header;
+        }
+
+        private BulkEnrollmentRow parse(String[] fields) {
+            row++;
+            if (fields.length <= Math.max(studentColumn, courseColumn)) {
+                return new BulkEnrollmentRow(row, null, null, "Expected studentId and courseId");
+            }
+            try {
+                return new BulkEnrollmentRow(row, Long.parseLong(fields[studentColumn].trim()),
+                        Long.parseLong(fields[courseColumn].trim()), null);
+            } catch (NumberFormatException e) {
+                return new BulkEnrollmentRow(row, null, null, "Ids must be numbers");
+            }
+        }
+    }
+}
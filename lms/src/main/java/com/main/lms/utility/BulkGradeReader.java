@@ -0,0 +1,189 @@
+package com.main.lms.utility;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.main.lms.dtos.BulkGradeRow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams the rows of a graded sheet without holding the whole body in memory.
+ *
+ * <p>CSV: one {@code submissionId,grade[,feedback]} record per line. Fields may be quoted,
+ * so feedback can contain commas, doubled quotes and line breaks. An optional header line may
+ * name the columns ({@code submissionId}/{@code submission_id}/{@code id}, {@code grade},
+ * {@code feedback}) in any order. Records that do not parse become rows with an error.
+ *
+ * <p>JSON: either an array of {@code {"submissionId": .., "grade": .., "feedback": ..}}
+ * objects or one object per line. Malformed JSON fails the whole upload.
+ *
+ * <p>Empty or missing feedback keeps the submission's current feedback.
+ */
+public final class BulkGradeReader {
+
+    private BulkGradeReader() {
+    }
+
+    public static Iterator<BulkGradeRow> csv(InputStream in) {
+        return new CsvRows(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+    }
+
+    public static Iterator<BulkGradeRow> json(InputStream in, ObjectMapper objectMapper) throws IOException {
+        MappingIterator<BulkGradeRow> rows = objectMapper.readerFor(BulkGradeRow.class).readValues(in);
+        return new Iterator<>() {
+            private int row;
+
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public BulkGradeRow next() {
+                BulkGradeRow next = rows.next();
+                next.setRow(++row);
+                next.setError(null);
+                if (next.getFeedback() != null && next.getFeedback().isBlank()) {
+                    next.setFeedback(null);
+                }
+                return next;
+            }
+        };
+    }
+
+    private static final class CsvRows implements Iterator<BulkGradeRow> {
+        private final Reader reader;
+        private int submissionColumn = 0;
+        private int gradeColumn = 1;
+        private int feedbackColumn = 2;
+        private boolean firstRecord = true;
+        private int row;
+        private BulkGradeRow next;
+
+        CsvRows(Reader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = readNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public BulkGradeRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            BulkGradeRow current = next;
+            next = null;
+            return current;
+        }
+
+        private BulkGradeRow readNext() {
+            try {
+                List<String> fields;
+                while ((fields = readRecord()) != null) {
+                    if (fields.size() == 1 && fields.get(0).isBlank()) {
+                        continue;
+                    }
+                    if (firstRecord) {
+                        firstRecord = false;
+                        if (isHeader(fields)) {
+                            continue;
+                        }
+                    }
+                    return parse(fields);
+                }
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // One record, or null at the end of the input. A quoted field runs to its closing quote,
+        // across line breaks; "" inside it is a literal quote.
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean read = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                read = true;
+                if (quoted) {
+                    if (c != '"') {
+                        field.append((char) c);
+                        continue;
+                    }
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            if (!read) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        private boolean isHeader(List<String> fields) {
+            boolean header = false;
+            for (int i = 0; i < fields.size(); i++) {
+                String name = fields.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT);
+                if (name.equals("submissionid") || name.equals("id")) {
+                    submissionColumn = i;
+                    header = true;
+                } else if (name.equals("grade")) {
+                    gradeColumn = i;
+                    header = true;
+                } else if (name.equals("feedback")) {
+                    feedbackColumn = i;
+                    header = true;
+                }
+            }
+            return header;
+        }
+
+        private BulkGradeRow parse(List<String> fields) {
+            row++;
+            if (fields.size() <= Math.max(submissionColumn, gradeColumn)) {
+                return new BulkGradeRow(row, null, null, null, "Expected submissionId and grade");
+            }
+            String feedback = fields.size() > feedbackColumn ? fields.get(feedbackColumn).trim() : "";
+            try {
+                return new BulkGradeRow(row, Long.parseLong(fields.get(submissionColumn).trim()),
+                        Long.parseLong(fields.get(gradeColumn).trim()), feedback.isEmpty() ? null : feedback, null);
+            } catch (NumberFormatException e) {
+                return new BulkGradeRow(row, null, null, null, "Ids and grades must be whole numbers");
+            }
+        }
+    }
+}
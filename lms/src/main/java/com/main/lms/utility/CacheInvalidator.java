@@ -0,0 +1,38 @@
+package com.main.lms.utility;
+
+import com.main.lms.entities.*;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Service;
+
+// Rows removed by @OnDelete(CASCADE) are deleted by the database, so Hibernate never
+// evicts them from the second-level cache. Call these after the owning row is deleted.
+@Service
+@RequiredArgsConstructor
+public class CacheInvalidator {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictCourse(Long courseId) {
+        Cache cache = cache();
+        cache.evictEntityData(Course.class, courseId);
+        cache.evictCollectionData(Course.class.getName() + ".materials", courseId);
+        // Course deletions are rare, dropping the child regions is cheaper than looking up their ids first
+        cache.evictEntityData(Lesson.class);
+        cache.evictEntityData(Assignment.class);
+        cache.evictEntityData(Quiz.class);
+        cache.evictEntityData(Question.class);
+        cache.evictCollectionData(Quiz.class.getName() + ".questions");
+        cache.evictQueryRegions();
+    }
+
+    // A user owns courses as instructor, which in turn own everything else
+    public void evictUser(Long userId) {
+        cache().evictAllRegions();
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+}
@@ -0,0 +1,288 @@
+package com.main.lms.utility;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Sparse item-item co-occurrence matrix over the student-course enrollment graph.
+ *
+ * <p>Courses get dense int indexes on first sight. Each course row is a primitive open-addressing
+ * map from co-enrolled course index to the number of students taking both, so a row costs two
+ * int arrays rather than a map of boxed entries. Enrolling or dropping a student updates only the
+ * rows of that student's courses and marks the rows whose similarities changed as dirty;
+ * {@link #neighbors} is then recomputed for those rows alone.
+ *
+ * <p>Similarity is the cosine of the two courses' student sets,
+ * {@code both / sqrt(enrolledA * enrolledB)}, so a course everyone takes does not top every list.
+ *
+ * <p>Not thread-safe; callers guard it. {@link #neighbors} only reads and may run on several
+ * threads at once while no writer holds the matrix.
+ */
+public final class CoEnrollmentMatrix {
+
+    private static final int[] NONE = new int[0];
+
+    public record Neighbors(long[] courseIds, double[] scores) {
+    }
+
+    private final Map<Long, Integer> indexes = new HashMap<>();
+    private long[] courseIds = new long[16];
+    private int[] enrolled = new int[16];
+    private IntCounts[] rows = new IntCounts[16];
+    private int courses;
+    // student -> indexes of the courses they take; students take few courses, so a plain array
+    private final Map<Long, int[]> students = new HashMap<>();
+    private final BitSet dirty = new BitSet();
+
+    public int size() {
+        return courses;
+    }
+
+    // false if the student already takes the course
+    public boolean add(long studentId, long courseId) {
+        int course = indexOf(courseId);
+        int[] taken = students.getOrDefault(studentId, NONE);
+        for (int other : taken) {
+            if (other == course) {
+                return false;
+            }
+        }
+        for (int other : taken) {
+            rows[course].add(other, 1);
+            rows[other].add(course, 1);
+        }
+        enrolled[course]++;
+        touch(course);
+        int[] grown = Arrays.copyOf(taken, taken.length + 1);
+        grown[taken.length] = course;
+        students.put(studentId, grown);
+        return true;
+    }
+
+    // false if the student does not take the course
+    public boolean remove(long studentId, long courseId) {
+        Integer course = indexes.get(courseId);
+        int[] taken = students.getOrDefault(studentId, NONE);
+        int at = course == null ? -1 : indexIn(taken, course);
+        if (at < 0) {
+            return false;
+        }
+        // marked before the row loses the entries that reach them
+        touch(course);
+        for (int other : taken) {
+            if (other != course) {
+                rows[course].add(other, -1);
+                rows[other].add(course, -1);
+            }
+        }
+        enrolled[course]--;
+        if (taken.length == 1) {
+            students.remove(studentId);
+        } else {
+            int[] shrunk = new int[taken.length - 1];
+            System.arraycopy(taken, 0, shrunk, 0, at);
+            System.arraycopy(taken, at + 1, shrunk, at, taken.length - at - 1);
+            students.put(studentId, shrunk);
+        }
+        return true;
+    }
+
+    public long[] courses(long studentId) {
+        int[] taken = students.getOrDefault(studentId, NONE);
+        long[] ids = new long[taken.length];
+        for (int i = 0; i < taken.length; i++) {
+            ids[i] = courseIds[taken[i]];
+        }
+        return ids;
+    }
+
+    public int coEnrolled(long courseA, long courseB) {
+        Integer a = indexes.get(courseA);
+        Integer b = indexes.get(courseB);
+        return a == null || b == null ? 0 : rows[a].get(b);
+    }
+
+    public long courseId(int index) {
+        return courseIds[index];
+    }
+
+    // Indexes of the rows changed since the last call, in order; clears them
+    public int[] takeDirty() {
+        int[] taken = dirty.stream().toArray();
+        dirty.clear();
+        return taken;
+    }
+
+    /**
+     * The up to {@code limit} courses most similar to the course at {@code index}, best first, ties
+     * to the lower course id. Pairs with fewer than {@code minCoEnrolled} shared students are noise
+     * and left out.
+     */
+    public Neighbors neighbors(int index, int limit, int minCoEnrolled) {
+        IntCounts row = rows[index];
+        int[] best = new int[limit];
+        double[] scores = new double[limit];
+        int found = 0;
+        for (int slot = 0; slot < row.keys.length; slot++) {
+            int both = row.counts[slot];
+            if (row.keys[slot] == 0 || both < minCoEnrolled) {
+                continue;
+            }
+            int other = row.keys[slot] - 1;
+            double score = both / Math.sqrt((double) enrolled[index] * enrolled[other]);
+            // insertion into the short sorted arrays
+            int at = found;
+            while (at > 0 && ranksAbove(score, other, scores[at - 1], best[at - 1])) {
+                at--;
+            }
+            if (at == limit) {
+                continue;
+            }
+            int moved = Math.min(found, limit - 1) - at;
+            System.arraycopy(best, at, best, at + 1, moved);
+            System.arraycopy(scores, at, scores, at + 1, moved);
+            best[at] = other;
+            scores[at] = score;
+            found = Math.min(found + 1, limit);
+        }
+        long[] ids = new long[found];
+        for (int i = 0; i < found; i++) {
+            ids[i] = courseIds[best[i]];
+        }
+        return new Neighbors(ids, Arrays.copyOf(scores, found));
+    }
+
+    // Course ids by number of students, most first
+    public long[] popular(int limit) {
+        return IntStream.range(0, courses)
+                .filter(i -> enrolled[i] > 0)
+                .boxed()
+                .sorted((a, b) -> enrolled[a] != enrolled[b]
+                        ? Integer.compare(enrolled[b], enrolled[a])
+                        : Long.compare(courseIds[a], courseIds[b]))
+                .limit(limit)
+                .mapToLong(i -> courseIds[i])
+                .toArray();
+    }
+
+    private boolean ranksAbove(double score, int course, double otherScore, int other) {
+        return score > otherScore || score == otherScore && courseIds[course] < courseIds[other];
+    }
+
+    // The course's own row and every row holding it see a new similarity
+    private void touch(int course) {
+        dirty.set(course);
+        IntCounts row = rows[course];
+        for (int slot = 0; slot < row.keys.length; slot++) {
+            if (row.keys[slot] != 0) {
+                dirty.set(row.keys[slot] - 1);
+            }
+        }
+    }
+
+    private int indexOf(long courseId) {
+        Integer index = indexes.get(courseId);
+        if (index != null) {
+            return index;
+        }
+        if (courses == courseIds.length) {
+            courseIds = Arrays.copyOf(courseIds, courses * 2);
+            enrolled = Arrays.copyOf(enrolled, courses * 2);
+            rows = Arrays.copyOf(rows, courses * 2);
+        }
+        courseIds[courses] = courseId;
+        rows[courses] = new IntCounts();
+        indexes.put(courseId, courses);
+        return courses++;
+    }
+
+    private static int indexIn(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // int -> positive int counts, linear probing; a count reaching zero removes its key
+    static final class IntCounts {
+
+        // key + 1, so 0 marks a free slot
+        int[] keys = new int[4];
+        int[] counts = new int[4];
+        int size;
+
+        int get(int key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key + 1) {
+                    return counts[i];
+                }
+            }
+            return 0;
+        }
+
+        void add(int key, int delta) {
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != 0 && keys[i] != key + 1) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == 0) {
+                if (delta <= 0) {
+                    return;
+                }
+                keys[i] = key + 1;
+                counts[i] = delta;
+                if (++size * 2 > keys.length) {
+                    grow();
+                }
+            } else if ((counts[i] += delta) <= 0) {
+                delete(i);
+            }
+        }
+
+        // Backward-shift deletion: later entries of the probe run move up so no tombstones are needed
+        private void delete(int hole) {
+            int mask = keys.length - 1;
+            size--;
+            for (int j = (hole + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+                int home = slot(keys[j] - 1, mask);
+                if (((j - home) & mask) >= ((j - hole) & mask)) {
+                    keys[hole] = keys[j];
+                    counts[hole] = counts[j];
+                    hole = j;
+                }
+            }
+            keys[hole] = 0;
+            counts[hole] = 0;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldCounts = counts;
+            keys = new int[oldKeys.length * 2];
+            counts = new int[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int j = slot(oldKeys[i] - 1, mask);
+                    while (keys[j] != 0) {
+                        j = (j + 1) & mask;
+                    }
+                    keys[j] = oldKeys[i];
+                    counts[j] = oldCounts[i];
+                }
+            }
+        }
+
+        private static int slot(int key, int mask) {
+            int h = key * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.main.lms.utility;
+
+import com.main.lms.dtos.CourseResponseDTO;
+import com.main.lms.dtos.CourseSearchHitDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over the course catalog, ranked with BM25.
+ *
+ * <p>A course is one document made of its title, instructor name and description. Title terms
+ * count {@link #TITLE_WEIGHT} times and instructor terms {@link #INSTRUCTOR_WEIGHT} times, so a
+ * word in the title outranks the same word in a long description.
+ *
+ * <p>Text is lowercased, stripped of accents and split on anything that is not a letter or a
+ * digit; a handful of English stop words are dropped. The last word of a query also matches as a
+ * prefix ("intro alg" finds "algebra" and "algorithms"), which is what a search box needs while
+ * the user is typing.
+ *
+ * <p>Not thread-safe; callers guard it.
+ */
+public final class CourseSearchIndex {
+
+    static final int TITLE_WEIGHT = 3;
+    static final int INSTRUCTOR_WEIGHT = 2;
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+    // A word that only starts with the typed prefix scores a bit below an exact match
+    static final double PREFIX_FACTOR = 0.8;
+    // Shorter prefixes match exactly, "a" would otherwise expand to half the dictionary
+    static final int MIN_PREFIX = 2;
+    static final int MAX_EXPANSIONS = 64;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "with");
+
+    private record Doc(CourseResponseDTO course, Map<String, Integer> terms, int length) {
+    }
+
+    private final Map<Long, Doc> docs = new HashMap<>();
+    // term -> course id -> weighted term frequency; sorted so prefixes are a range scan
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private long totalLength;
+
+    public int size() {
+        return docs.size();
+    }
+
+    // Adds the course, or replaces what was indexed for its id
+    public void put(CourseResponseDTO course) {
+        remove(course.getId());
+        Map<String, Integer> terms = new HashMap<>();
+        int length = count(terms, course.getTitle(), TITLE_WEIGHT)
+                + count(terms, course.getInstructorName(), INSTRUCTOR_WEIGHT)
+                + count(terms, course.getDescription(), 1);
+        docs.put(course.getId(), new Doc(course, terms, length));
+        terms.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(course.getId(), tf));
+        totalLength += length;
+    }
+
+    public void remove(Long courseId) {
+        Doc doc = docs.remove(courseId);
+        if (doc == null) {
+            return;
+        }
+        totalLength -= doc.length();
+        for (String term : doc.terms().keySet()) {
+            Map<Long, Integer> posting = postings.get(term);
+            posting.remove(courseId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    // The best matches, highest score first; any query word may match (OR), more matches rank higher
+    public List<CourseSearchHitDTO> search(String query, int limit) {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (words.isEmpty() || docs.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        double avgLength = (double) totalLength / docs.size();
+        Map<Long, Double> scores = new HashMap<>();
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            // for the prefix word a course counts once, with its best matching term
+            Map<Long, Double> wordScores = new HashMap<>();
+            for (Map.Entry<String, Map<Long, Integer>> posting : matches(word, i == words.size() - 1).entrySet()) {
+                double idf = idf(posting.getValue().size());
+                double factor = posting.getKey().equals(word) ? 1 : PREFIX_FACTOR;
+                posting.getValue().forEach((id, tf) -> {
+                    double norm = tf + K1 * (1 - B + B * docs.get(id).length() / avgLength);
+                    wordScores.merge(id, factor * idf * tf * (K1 + 1) / norm, Math::max);
+                });
+            }
+            wordScores.forEach((id, score) -> scores.merge(id, score, Double::sum));
+        }
+
+        Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(ranking);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.add(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<CourseSearchHitDTO> hits = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Map.Entry<Long, Double> entry = top.poll();
+            hits.add(new CourseSearchHitDTO(docs.get(entry.getKey()).course(), entry.getValue()));
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    // Completions of the query's last word, most common first, as whole queries ("intro alg" -> "intro algebra")
+    public List<String> complete(String query, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String last = words.get(words.size() - 1);
+        String head = String.join(" ", words.subList(0, words.size() - 1));
+        return matches(last, true).entrySet().stream()
+                .sorted(Map.Entry.<String, Map<Long, Integer>>comparingByValue(
+                        Comparator.comparingInt(Map::size)).reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(entry -> head.isEmpty() ? entry.getKey() : head + " " + entry.getKey())
+                .toList();
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private Map<String, Map<Long, Integer>> matches(String word, boolean prefix) {
+        if (!prefix || word.length() < MIN_PREFIX) {
+            Map<Long, Integer> posting = postings.get(word);
+            return posting == null ? Map.of() : Map.of(word, posting);
+        }
+        Map<String, Map<Long, Integer>> expansions = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Integer>> entry : postings.tailMap(word, true).entrySet()) {
+            if (!entry.getKey().startsWith(word) || expansions.size() == MAX_EXPANSIONS) {
+                break;
+            }
+            expansions.put(entry.getKey(), entry.getValue());
+        }
+        return expansions;
+    }
+
+    // BM25 idf, kept positive for words found in most courses
+    private double idf(int documentFrequency) {
+        return Math.log(1 + (docs.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static int count(Map<String, Integer> terms, String text, int weight) {
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            terms.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+}
@@ -0,0 +1,48 @@
+package com.main.lms.utility;
+
+import com.main.lms.dtos.GradeStatisticsDTO;
+
+/**
+ * Summary of a set of grades, in percent of the item's maximum: a {@link TDigest} for quantiles
+ * plus a ten-bucket histogram, count and sum. Its size does not grow with the number of grades,
+ * and sketches of different quizzes, assignments or courses merge into one.
+ *
+ * <p>Not thread-safe; callers guard it.
+ */
+public final class GradeSketch {
+
+    public static final int BUCKETS = 10;
+
+    private final TDigest digest = new TDigest();
+    private final long[] histogram = new long[BUCKETS];
+    private double sum;
+
+    public long count() {
+        return digest.count();
+    }
+
+    // Percentages outside 0-100 (extra credit, a lowered maximum) are kept, in the end buckets
+    public void add(double percent) {
+        digest.add(percent);
+        histogram[Math.max(0, Math.min(BUCKETS - 1, (int) (percent / (100 / BUCKETS))))]++;
+        sum += percent;
+    }
+
+    public void merge(GradeSketch other) {
+        digest.merge(other.digest);
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] += other.histogram[i];
+        }
+        sum += other.sum;
+    }
+
+    public GradeStatisticsDTO toStatistics() {
+        long count = count();
+        if (count == 0) {
+            return new GradeStatisticsDTO(0, null, null, null, null, null, null, null, new long[BUCKETS]);
+        }
+        return new GradeStatisticsDTO(count, sum / count, digest.min(), digest.quantile(0.25),
+                digest.quantile(0.5), digest.quantile(0.75), digest.quantile(0.9), digest.max(),
+                histogram.clone());
+    }
+}
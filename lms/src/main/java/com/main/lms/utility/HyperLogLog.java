@@ -0,0 +1,169 @@
+package com.main.lms.utility;
+
+import java.nio.ByteBuffer;
+
+/**
+ * HyperLogLog sketch for counting distinct ids.
+ *
+ * <p>Each id is hashed to 64 bits; the top {@value #PRECISION} bits pick one of
+ * {@value #REGISTERS} registers, which keeps the longest run of leading zeros seen in the rest.
+ * The estimate has a standard error of about 1.6% at any cardinality and uses Ertl's improved
+ * estimator, so small counts need neither linear counting nor bias tables. The union of two
+ * sketches is the register-wise maximum: merging is exact, and adding an id again or merging the
+ * same sketch twice changes nothing.
+ *
+ * <p>{@link #toBytes()} stores a sketch with few registers set as (index, value) pairs, three
+ * bytes each, and a fuller one as 6-bit packed registers, whichever is smaller.
+ */
+public final class HyperLogLog {
+
+    public static final int PRECISION = 12;
+    public static final int REGISTERS = 1 << PRECISION;
+    // 6 bits per register
+    public static final int MAX_BYTES = 1 + REGISTERS * 6 / 8;
+    // the largest register value: all 64 - PRECISION bits after the index are zero
+    private static final int MAX_VALUE = 64 - PRECISION + 1;
+    private static final byte SPARSE = 1;
+    private static final byte DENSE = 2;
+
+    private final byte[] registers = new byte[REGISTERS];
+
+    public void add(long id) {
+        long hash = mix(id);
+        int index = (int) (hash >>> (64 - PRECISION));
+        // the low bit keeps the value at most MAX_VALUE
+        int value = Long.numberOfLeadingZeros(hash << PRECISION | 1L << (PRECISION - 1)) + 1;
+        if (value > registers[index]) {
+            registers[index] = (byte) value;
+        }
+    }
+
+    // Makes this the union of both sketches; returns whether this changed
+    public boolean merge(HyperLogLog other) {
+        boolean changed = false;
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    public long estimate() {
+        int[] histogram = new int[MAX_VALUE + 1];
+        for (byte register : registers) {
+            histogram[register]++;
+        }
+        if (histogram[0] == REGISTERS) {
+            return 0;
+        }
+        double m = REGISTERS;
+        double z = m * tau(1 - histogram[MAX_VALUE] / m);
+        for (int k = MAX_VALUE - 1; k >= 1; k--) {
+            z = 0.5 * (z + histogram[k]);
+        }
+        z += m * sigma(histogram[0] / m);
+        return Math.round(m * m / (2 * Math.log(2)) / z);
+    }
+
+    public byte[] toBytes() {
+        int set = 0;
+        for (byte register : registers) {
+            if (register != 0) {
+                set++;
+            }
+        }
+        if (1 + 3 * set < MAX_BYTES) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 + 3 * set).put(SPARSE);
+            for (int i = 0; i < REGISTERS; i++) {
+                if (registers[i] != 0) {
+                    buffer.putShort((short) i).put(registers[i]);
+                }
+            }
+            return buffer.array();
+        }
+        byte[] bytes = new byte[MAX_BYTES];
+        bytes[0] = DENSE;
+        // four registers to three bytes
+        for (int i = 0, at = 1; i < REGISTERS; i += 4, at += 3) {
+            int packed = registers[i] << 18 | registers[i + 1] << 12 | registers[i + 2] << 6 | registers[i + 3];
+            bytes[at] = (byte) (packed >>> 16);
+            bytes[at + 1] = (byte) (packed >>> 8);
+            bytes[at + 2] = (byte) packed;
+        }
+        return bytes;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        HyperLogLog sketch = new HyperLogLog();
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("Empty HyperLogLog sketch");
+        }
+        if (bytes[0] == SPARSE && (bytes.length - 1) % 3 == 0) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+            while (buffer.hasRemaining()) {
+                int index = buffer.getShort();
+                byte value = buffer.get();
+                if (index < 0 || index >= REGISTERS || value <= 0 || value > MAX_VALUE) {
+                    throw new IllegalArgumentException("Corrupt HyperLogLog sketch");
+                }
+                sketch.registers[index] = value;
+            }
+        } else if (bytes[0] == DENSE && bytes.length == MAX_BYTES) {
+            for (int i = 0, at = 1; i < REGISTERS; i += 4, at += 3) {
+                int packed = (bytes[at] & 0xFF) << 16 | (bytes[at + 1] & 0xFF) << 8 | bytes[at + 2] & 0xFF;
+                for (int j = 0; j < 4; j++) {
+                    int value = packed >>> (18 - 6 * j) & 0x3F;
+                    if (value > MAX_VALUE) {
+                        throw new IllegalArgumentException("Corrupt HyperLogLog sketch");
+                    }
+                    sketch.registers[i + j] = (byte) value;
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown HyperLogLog sketch format");
+        }
+        return sketch;
+    }
+
+    // SplitMix64 finalizer: consecutive ids spread over all 64 bits. Fixed, sketches are stored.
+    private static long mix(long id) {
+        long z = id + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Ertl, "New cardinality estimation algorithms for HyperLogLog sketches" (2017)
+    private static double sigma(double x) {
+        double y = 1;
+        double z = x;
+        while (true) {
+            x *= x;
+            double next = z + x * y;
+            y += y;
+            if (next == z) {
+                return z;
+            }
+            z = next;
+        }
+    }
+
+    private static double tau(double x) {
+        if (x == 0 || x == 1) {
+            return 0;
+        }
+        double y = 1;
+        double z = 1 - x;
+        while (true) {
+            x = Math.sqrt(x);
+            double previous = z;
+            y *= 0.5;
+            z -= (1 - x) * (1 - x) * y;
+            if (previous == z) {
+                return z / 3;
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.main.lms.utility;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures and their LSH banding.
+ *
+ * <p>A signature keeps, for each of {@value #HASHES} hash functions, the smallest hash of any
+ * shingle in a document. The fraction of positions where two signatures agree estimates the
+ * Jaccard similarity of the two shingle sets, and the signature of a union is the position-wise
+ * minimum, so a document spread over several files can be signed file by file.
+ *
+ * <p>For candidate search the signature is cut into {@value #BANDS} bands of {@value #ROWS} rows.
+ * Documents agreeing on every row of some band share a bucket; a pair at similarity 0.5 shares
+ * one about half the time and a pair at 0.8 almost always.
+ */
+public final class MinHash {
+
+    public static final int BANDS = 16;
+    public static final int ROWS = 4;
+    public static final int HASHES = BANDS * ROWS;
+
+    // Fixed so signatures stay comparable across restarts, they are stored
+    private static final long[] MULTIPLIERS = new long[HASHES];
+    private static final long[] OFFSETS = new long[HASHES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5DEECE66DL);
+        for (int i = 0; i < HASHES; i++) {
+            MULTIPLIERS[i] = random.nextLong() | 1;
+            OFFSETS[i] = random.nextLong();
+        }
+    }
+
+    private MinHash() {
+    }
+
+    public static int[] newSignature() {
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        return signature;
+    }
+
+    public static void add(int[] signature, int shingle) {
+        for (int i = 0; i < HASHES; i++) {
+            signature[i] = Math.min(signature[i], hash(shingle, i));
+        }
+    }
+
+    /**
+     * Adds the {@code words}-word shingles of the text to the signature without holding the text:
+     * words are runs of letters and digits, compared case-insensitively, and the last
+     * {@code words} of them are kept in a ring. A text shorter than one shingle counts as one.
+     *
+     * @return the number of shingles read
+     */
+    public static int addWordShingles(int[] signature, Reader text, int words) throws IOException {
+        int[] ring = new int[words];
+        int seen = 0;
+        int shingles = 0;
+        int word = 0;
+        boolean inWord = false;
+        int c;
+        do {
+            c = text.read();
+            if (c != -1 && Character.isLetterOrDigit(c)) {
+                word = 31 * word + Character.toLowerCase(c);
+                inWord = true;
+            } else if (inWord) {
+                ring[seen++ % words] = word;
+                word = 0;
+                inWord = false;
+                if (seen >= words) {
+                    add(signature, shingle(ring, seen, words));
+                    shingles++;
+                }
+            }
+        } while (c != -1);
+        if (seen > 0 && seen < words) {
+            add(signature, shingle(ring, seen, seen));
+            shingles++;
+        }
+        return shingles;
+    }
+
+    public static double estimate(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    public static int bandKey(int[] signature, int band) {
+        int key = 1;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            key = 31 * key + signature[row];
+        }
+        return key;
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(HASHES * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    public static int[] fromBytes(byte[] bytes) {
+        int[] signature = new int[HASHES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    // The last n words in reading order
+    private static int shingle(int[] ring, int seen, int n) {
+        int hash = 1;
+        for (int i = seen - n; i < seen; i++) {
+            hash = 31 * hash + ring[i % ring.length];
+        }
+        return hash;
+    }
+
+    private static int hash(int shingle, int i) {
+        // the 64-bit finalizer of SplitMix64 over a per-function affine map
+        long z = shingle * MULTIPLIERS[i] + OFFSETS[i];
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int) ((z ^ (z >>> 31)) >>> 33);
+    }
+}
@@ -0,0 +1,177 @@
+package com.main.lms.utility;
+
+import com.main.lms.dtos.QuestionBankEntry;
+import com.main.lms.dtos.SimilarQuestionDTO;
+import com.main.lms.enums.QuestionType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * One course's question bank, indexed for keyword search and for finding questions worded
+ * almost the same.
+ *
+ * <p>Keyword search uses an inverted index over the words of each question, tokenized like the
+ * course catalog ({@link CourseSearchIndex#tokenize}). Every query word must match and the last
+ * one also matches as a prefix. Matches come back newest first.
+ *
+ * <p>Near-duplicates are found with {@link MinHash} signatures over each question's
+ * {@value #SHINGLE}-character shingles. Questions sharing an LSH band land in the same bucket,
+ * so only those candidates are compared.
+ *
+ * <p>Not thread-safe; callers guard it.
+ */
+public final class QuestionBankIndex {
+
+    static final int SHINGLE = 4;
+    static final int MAX_EXPANSIONS = 64;
+
+    private record Entry(QuestionBankEntry question, Set<String> words, int[] signature) {
+    }
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+    // one bucket map per band, keyed by the hash of the band's rows
+    private final List<Map<Integer, Set<Long>>> buckets = new ArrayList<>(MinHash.BANDS);
+
+    public QuestionBankIndex() {
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void put(QuestionBankEntry question) {
+        remove(question.getQuestionId());
+        Long id = question.getQuestionId();
+        Set<String> words = new HashSet<>(CourseSearchIndex.tokenize(question.getContent()));
+        int[] signature = signature(question.getContent());
+        entries.put(id, new Entry(question, words, signature));
+        for (String word : words) {
+            postings.computeIfAbsent(word, w -> new HashSet<>()).add(id);
+        }
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            buckets.get(band).computeIfAbsent(MinHash.bandKey(signature, band), k -> new HashSet<>()).add(id);
+        }
+    }
+
+    public void remove(Long questionId) {
+        Entry entry = entries.remove(questionId);
+        if (entry == null) {
+            return;
+        }
+        for (String word : entry.words()) {
+            removeFrom(postings, word, questionId);
+        }
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            removeFrom(buckets.get(band), MinHash.bandKey(entry.signature(), band), questionId);
+        }
+    }
+
+    // Ids of the questions containing every word of the query, newest first; type may be null
+    public List<Long> search(String query, QuestionType type, int limit) {
+        List<String> words = CourseSearchIndex.tokenize(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        List<Set<Long>> required = new ArrayList<>(words.size());
+        for (int i = 0; i < words.size() - 1; i++) {
+            required.add(postings.getOrDefault(words.get(i), Set.of()));
+        }
+        required.add(prefixMatches(words.get(words.size() - 1)));
+        required.sort(Comparator.comparingInt(Set::size));
+
+        List<Long> ids = new ArrayList<>();
+        for (Long id : required.get(0)) {
+            if (required.stream().allMatch(posting -> posting.contains(id))
+                    && (type == null || entries.get(id).question().getType() == type)) {
+                ids.add(id);
+            }
+        }
+        ids.sort(Comparator.reverseOrder());
+        return ids.size() > limit ? ids.subList(0, limit) : ids;
+    }
+
+    // Questions at least minSimilarity alike to the text, most similar first; excludeId (may be null) is skipped
+    public List<SimilarQuestionDTO> similar(String content, Long excludeId, double minSimilarity, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        int[] signature = signature(content);
+        Set<Long> candidates = new HashSet<>();
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            candidates.addAll(buckets.get(band).getOrDefault(MinHash.bandKey(signature, band), Set.of()));
+        }
+        candidates.remove(excludeId);
+
+        List<SimilarQuestionDTO> similar = new ArrayList<>();
+        for (Long id : candidates) {
+            Entry entry = entries.get(id);
+            double similarity = MinHash.estimate(signature, entry.signature());
+            if (similarity >= minSimilarity) {
+                QuestionBankEntry question = entry.question();
+                similar.add(new SimilarQuestionDTO(id, question.getContent(), question.getType(), similarity));
+            }
+        }
+        similar.sort(Comparator.comparingDouble(SimilarQuestionDTO::getSimilarity).reversed()
+                .thenComparing(SimilarQuestionDTO::getQuestionId, Comparator.reverseOrder()));
+        return similar.size() > limit ? similar.subList(0, limit) : similar;
+    }
+
+    public QuestionBankEntry get(Long questionId) {
+        Entry entry = entries.get(questionId);
+        return entry == null ? null : entry.question();
+    }
+
+    static int[] signature(String content) {
+        int[] signature = MinHash.newSignature();
+        for (int shingle : shingles(content)) {
+            MinHash.add(signature, shingle);
+        }
+        return signature;
+    }
+
+    // Hashes of the overlapping character runs of the normalized text; short texts are one shingle
+    private static Set<Integer> shingles(String content) {
+        String text = String.join(" ", CourseSearchIndex.tokenize(content));
+        Set<Integer> shingles = new HashSet<>();
+        if (text.length() <= SHINGLE) {
+            shingles.add(text.hashCode());
+            return shingles;
+        }
+        for (int i = 0; i + SHINGLE <= text.length(); i++) {
+            shingles.add(text.substring(i, i + SHINGLE).hashCode());
+        }
+        return shingles;
+    }
+
+    private Set<Long> prefixMatches(String prefix) {
+        Set<Long> ids = new HashSet<>();
+        int expansions = 0;
+        for (Map.Entry<String, Set<Long>> posting : postings.tailMap(prefix, true).entrySet()) {
+            if (!posting.getKey().startsWith(prefix) || expansions++ == MAX_EXPANSIONS) {
+                break;
+            }
+            ids.addAll(posting.getValue());
+        }
+        return ids;
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Long>> index, K key, Long id) {
+        Set<Long> ids = index.get(key);
+        ids.remove(id);
+        if (ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+}
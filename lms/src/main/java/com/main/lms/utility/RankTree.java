@@ -0,0 +1,190 @@
+package com.main.lms.utility;
+
+import com.main.lms.dtos.LeaderboardEntryDTO;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Students ranked by score, highest first, as an order-statistic treap: a binary search tree on
+ * (score descending, student id ascending) kept balanced by random heap priorities, where every
+ * node also counts the nodes below it. Updating a score, finding a student's rank and reading the
+ * top k all take O(log n) (plus k), with no re-sorting.
+ *
+ * <p>Ranks are competition ranks: students with equal scores share a rank and the next score
+ * skips the shared places (1, 2, 2, 4).
+ *
+ * <p>Not thread-safe; callers guard it.
+ */
+public final class RankTree {
+
+    private static final class Node {
+        final long student;
+        final double score;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(long student, double score, int priority) {
+            this.student = student;
+            this.score = score;
+            this.priority = priority;
+        }
+    }
+
+    private final SplittableRandom random = new SplittableRandom();
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private Node root;
+
+    public int size() {
+        return nodes.size();
+    }
+
+    // Sets the student's score, adding the student if needed
+    public void put(long student, double score) {
+        Node old = nodes.get(student);
+        if (old != null) {
+            if (old.score == score) {
+                return;
+            }
+            root = delete(root, old);
+        }
+        Node node = new Node(student, score, random.nextInt());
+        nodes.put(student, node);
+        root = insert(root, node);
+    }
+
+    // Adds to the student's score, which starts at 0
+    public void add(long student, double delta) {
+        Node old = nodes.get(student);
+        put(student, old == null ? delta : old.score + delta);
+    }
+
+    public void remove(long student) {
+        Node old = nodes.remove(student);
+        if (old != null) {
+            root = delete(root, old);
+        }
+    }
+
+    // The student's place, or null if the student has no score
+    public LeaderboardEntryDTO entry(long student) {
+        Node node = nodes.get(student);
+        return node == null ? null : new LeaderboardEntryDTO(countAbove(node.score) + 1, student, node.score);
+    }
+
+    // The first k students in rank order
+    public List<LeaderboardEntryDTO> top(int k) {
+        List<LeaderboardEntryDTO> entries = new ArrayList<>(Math.min(k, size()));
+        // iterative in-order walk that stops after k nodes
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        while (entries.size() < k && (node != null || !path.isEmpty())) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+            node = path.pop();
+            int rank = entries.size() + 1;
+            if (!entries.isEmpty() && entries.get(entries.size() - 1).getScore() == node.score) {
+                rank = entries.get(entries.size() - 1).getRank();
+            }
+            entries.add(new LeaderboardEntryDTO(rank, node.student, node.score));
+            node = node.right;
+        }
+        return entries;
+    }
+
+    private int countAbove(double score) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.score > score) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    private static boolean before(Node a, Node b) {
+        return a.score > b.score || a.score == b.score && a.student < b.student;
+    }
+
+    private static Node insert(Node tree, Node node) {
+        if (tree == null) {
+            return node;
+        }
+        if (node.priority > tree.priority) {
+            Node[] parts = split(tree, node);
+            node.left = parts[0];
+            node.right = parts[1];
+            return update(node);
+        }
+        if (before(node, tree)) {
+            tree.left = insert(tree.left, node);
+        } else {
+            tree.right = insert(tree.right, node);
+        }
+        return update(tree);
+    }
+
+    private static Node delete(Node tree, Node node) {
+        if (tree == node) {
+            return merge(tree.left, tree.right);
+        }
+        if (before(node, tree)) {
+            tree.left = delete(tree.left, node);
+        } else {
+            tree.right = delete(tree.right, node);
+        }
+        return update(tree);
+    }
+
+    // Nodes ordered before the key, and the rest
+    private static Node[] split(Node tree, Node key) {
+        if (tree == null) {
+            return new Node[2];
+        }
+        if (before(tree, key)) {
+            Node[] parts = split(tree.right, key);
+            tree.right = parts[0];
+            parts[0] = update(tree);
+            return parts;
+        }
+        Node[] parts = split(tree.left, key);
+        tree.left = parts[1];
+        parts[1] = update(tree);
+        return parts;
+    }
+
+    // Every node of a is ordered before every node of b
+    private static Node merge(Node a, Node b) {
+        if (a == null || b == null) {
+            return a == null ? b : a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            return update(a);
+        }
+        b.left = merge(a, b.left);
+        return update(b);
+    }
+
+    private static Node update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
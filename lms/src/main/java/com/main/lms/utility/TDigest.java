@@ -0,0 +1,226 @@
+package com.main.lms.utility;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch (Dunning's merging t-digest). Values are summarized as centroids, a
+ * mean and a weight each, sorted by mean; the k1 scale function lets centroids near the median
+ * grow large while those at the tails stay small, so extreme quantiles stay accurate. New values
+ * are buffered and folded in with one sort-and-merge pass once the buffer fills.
+ *
+ * <p>Memory is bounded by the compression (about {@code compression} centroids) whatever the
+ * number of values, and a quantile is read with one pass over the centroids. Two digests merge by
+ * feeding one's centroids into the other. Values cannot be removed.
+ *
+ * <p>Not thread-safe; callers guard it.
+ */
+public final class TDigest {
+
+    public static final double DEFAULT_COMPRESSION = 100;
+    private static final int MAX_BUFFER = 512;
+
+    private final double compression;
+    // centroids, sorted by mean
+    private double[] means = new double[8];
+    private double[] weights = new double[8];
+    private int centroids;
+    // values added since the last merge pass
+    private double[] bufferMeans = new double[8];
+    private double[] bufferWeights = new double[8];
+    private int buffered;
+    private double count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    public TDigest(double compression) {
+        if (compression < 10) {
+            throw new IllegalArgumentException("Compression must be at least 10");
+        }
+        this.compression = compression;
+    }
+
+    public long count() {
+        return Math.round(count);
+    }
+
+    // NaN while empty
+    public double min() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    public double max() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Cannot add NaN");
+        }
+        add(value, 1);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void merge(TDigest other) {
+        for (int i = 0; i < other.centroids; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        for (int i = 0; i < other.buffered; i++) {
+            add(other.bufferMeans[i], other.bufferWeights[i]);
+        }
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * The estimated value below which the fraction {@code q} of the values fall, interpolating
+     * between centroid means and out to the exact min and max; NaN while empty.
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        compress();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (centroids == 1) {
+            return means[0];
+        }
+        double index = q * count;
+        // half of each centroid's weight lies on either side of its mean
+        if (index < weights[0] / 2) {
+            return min + (means[0] - min) * index / (weights[0] / 2);
+        }
+        double soFar = weights[0] / 2;
+        for (int i = 0; i < centroids - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2;
+            if (soFar + step > index) {
+                return means[i] + (means[i + 1] - means[i]) * (index - soFar) / step;
+            }
+            soFar += step;
+        }
+        int last = centroids - 1;
+        double tail = weights[last] / 2;
+        return means[last] + (max - means[last]) * Math.min(1, (index - soFar) / tail);
+    }
+
+    private void add(double mean, double weight) {
+        if (buffered == bufferMeans.length) {
+            if (buffered < MAX_BUFFER) {
+                bufferMeans = Arrays.copyOf(bufferMeans, buffered * 2);
+                bufferWeights = Arrays.copyOf(bufferWeights, buffered * 2);
+            } else {
+                compress();
+            }
+        }
+        bufferMeans[buffered] = mean;
+        bufferWeights[buffered++] = weight;
+        count += weight;
+    }
+
+    // Folds the buffer into the centroids, merging neighbours while the scale function allows
+    private void compress() {
+        if (buffered == 0) {
+            return;
+        }
+        sort(bufferMeans, bufferWeights, 0, buffered - 1);
+        int n = centroids + buffered;
+        double[] mergedMeans = new double[n];
+        double[] mergedWeights = new double[n];
+        int merged = 0;
+        double total = count;
+        double soFar = 0;
+        double limit = total * qAt(kAt(0) + 1);
+        double mean = 0;
+        double weight = 0;
+        // both inputs are sorted, so walk them together
+        for (int i = 0, j = 0; i < centroids || j < buffered; ) {
+            double nextMean;
+            double nextWeight;
+            if (j == buffered || i < centroids && means[i] <= bufferMeans[j]) {
+                nextMean = means[i];
+                nextWeight = weights[i++];
+            } else {
+                nextMean = bufferMeans[j];
+                nextWeight = bufferWeights[j++];
+            }
+            if (weight == 0) {
+                mean = nextMean;
+                weight = nextWeight;
+            } else if (soFar + weight + nextWeight <= limit) {
+                weight += nextWeight;
+                mean += (nextMean - mean) * nextWeight / weight;
+            } else {
+                mergedMeans[merged] = mean;
+                mergedWeights[merged++] = weight;
+                soFar += weight;
+                limit = total * qAt(kAt(soFar / total) + 1);
+                mean = nextMean;
+                weight = nextWeight;
+            }
+        }
+        mergedMeans[merged] = mean;
+        mergedWeights[merged++] = weight;
+        means = mergedMeans;
+        weights = mergedWeights;
+        centroids = merged;
+        buffered = 0;
+    }
+
+    // k1 scale function: k = compression / (2 pi) * asin(2q - 1)
+    private double kAt(double q) {
+        return compression / (2 * Math.PI) * Math.asin(Math.min(1, 2 * q - 1));
+    }
+
+    private double qAt(double k) {
+        double angle = Math.min(Math.PI / 2, k * 2 * Math.PI / compression);
+        return (Math.sin(angle) + 1) / 2;
+    }
+
+    // Sorts the parallel arrays by mean; quicksort with insertion sort for short runs
+    private static void sort(double[] keys, double[] values, int from, int to) {
+        while (to - from > 16) {
+            double pivot = keys[(from + to) >>> 1];
+            int i = from;
+            int j = to;
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(keys, values, i++, j--);
+                }
+            }
+            // recurse into the smaller side, loop on the larger
+            if (j - from < to - i) {
+                sort(keys, values, from, j);
+                from = i;
+            } else {
+                sort(keys, values, i, to);
+                to = j;
+            }
+        }
+        for (int i = from + 1; i <= to; i++) {
+            for (int j = i; j > from && keys[j - 1] > keys[j]; j--) {
+                swap(keys, values, j - 1, j);
+            }
+        }
+    }
+
+    private static void swap(double[] keys, double[] values, int a, int b) {
+        double key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        double value = values[a];
+        values[a] = values[b];
+        values[b] = value;
+    }
+}
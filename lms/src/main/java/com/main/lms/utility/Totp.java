@@ -0,0 +1,70 @@
+package com.main.lms.utility;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Time-based one-time codes as in RFC 6238: HMAC-SHA1 over the number of elapsed time steps,
+ * dynamically truncated to six digits. Secrets are 160 random bits, stored Base64 encoded.
+ */
+public final class Totp {
+
+    public static final int DIGITS = 6;
+
+    private static final int MODULUS = 1_000_000;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private Totp() {
+    }
+
+    public static String newSecret() {
+        byte[] secret = new byte[20];
+        RANDOM.nextBytes(secret);
+        return Base64.getEncoder().encodeToString(secret);
+    }
+
+    public static long counter(long epochMillis, long stepMillis) {
+        return Math.floorDiv(epochMillis, stepMillis);
+    }
+
+    public static String code(String secret, long counter) {
+        return code(Base64.getDecoder().decode(secret), counter);
+    }
+
+    static String code(byte[] key, long counter) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA1");
+            mac.init(new SecretKeySpec(key, "HmacSHA1"));
+            byte[] hash = mac.doFinal(ByteBuffer.allocate(Long.BYTES).putLong(counter).array());
+            int offset = hash[hash.length - 1] & 0x0f;
+            int binary = ((hash[offset] & 0x7f) << 24)
+                    | ((hash[offset + 1] & 0xff) << 16)
+                    | ((hash[offset + 2] & 0xff) << 8)
+                    | (hash[offset + 3] & 0xff);
+            return String.format("%0" + DIGITS + "d", binary % MODULUS);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA1 is not available", e);
+        }
+    }
+
+    // Accepts the code for the given step or up to skew steps either side of it
+    public static boolean verify(String secret, String code, long counter, int skew) {
+        if (code == null || code.length() != DIGITS) {
+            return false;
+        }
+        byte[] key = Base64.getDecoder().decode(secret);
+        byte[] given = code.getBytes(StandardCharsets.US_ASCII);
+        boolean matched = false;
+        for (long step = counter - skew; step <= counter + skew; step++) {
+            // every window is compared so the timing does not reveal which one matched
+            matched |= MessageDigest.isEqual(given, code(key, step).getBytes(StandardCharsets.US_ASCII));
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,139 @@
+-- Schema as previously generated by ddl-auto=update. Existing databases are baselined
+-- at this version (spring.flyway.baseline-on-migrate) and start from V2.
+
+create table user (
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    name varchar(255) not null,
+    password varchar(255) not null,
+    role enum ('ADMIN','INSTRUCTOR','STUDENT') not null,
+    primary key (id),
+    constraint uk_user_email unique (email)
+) engine=InnoDB;
+
+create table course (
+    id bigint not null auto_increment,
+    description varchar(255),
+    duration varchar(255) not null,
+    title varchar(255) not null,
+    instructor_id bigint not null,
+    primary key (id),
+    constraint fk_course_instructor foreign key (instructor_id) references user (id) on delete cascade
+) engine=InnoDB;
+
+create table course_materials (
+    course_id bigint not null,
+    material varchar(255),
+    constraint fk_course_materials_course foreign key (course_id) references course (id)
+) engine=InnoDB;
+
+create table lesson (
+    lesson_id bigint not null auto_increment,
+    otp varchar(255) not null,
+    course_id bigint not null,
+    primary key (lesson_id),
+    constraint fk_lesson_course foreign key (course_id) references course (id) on delete cascade
+) engine=InnoDB;
+
+create table question (
+    question_id bigint not null auto_increment,
+    answer varchar(255),
+    question_content varchar(255),
+    type enum ('MCQ','TRUE_FALSE','SHORT_ANSWER') not null,
+    course_id bigint not null,
+    primary key (question_id),
+    constraint fk_question_course foreign key (course_id) references course (id) on delete cascade
+) engine=InnoDB;
+
+create table quiz (
+    quiz_id bigint not null auto_increment,
+    course_id bigint not null,
+    primary key (quiz_id),
+    constraint fk_quiz_course foreign key (course_id) references course (id) on delete cascade
+) engine=InnoDB;
+
+create table quiz_questions (
+    quiz_id bigint not null,
+    question_id bigint not null,
+    constraint fk_quiz_questions_quiz foreign key (quiz_id) references quiz (quiz_id),
+    constraint fk_quiz_questions_question foreign key (question_id) references question (question_id)
+) engine=InnoDB;
+
+create table assignment (
+    assignment_id bigint not null auto_increment,
+    instructions varchar(255) not null,
+    max_grade integer not null,
+    course_id bigint not null,
+    primary key (assignment_id),
+    constraint fk_assignment_course foreign key (course_id) references course (id) on delete cascade
+) engine=InnoDB;
+
+create table enrolled_course (
+    id bigint not null,
+    is_completed bit,
+    is_confirmed bit,
+    course_id bigint not null,
+    student_id bigint not null,
+    primary key (id),
+    constraint fk_enrolled_course_course foreign key (course_id) references course (id) on delete cascade,
+    constraint fk_enrolled_course_student foreign key (student_id) references user (id) on delete cascade
+) engine=InnoDB;
+
+create table notification (
+    notification_id bigint not null,
+    is_read bit not null,
+    notification_message varchar(255) not null,
+    user_id bigint not null,
+    primary key (notification_id),
+    constraint fk_notification_user foreign key (user_id) references user (id) on delete cascade
+) engine=InnoDB;
+
+create table student_quiz (
+    id bigint not null,
+    grade float(53),
+    quiz_id bigint not null,
+    student_id bigint not null,
+    primary key (id),
+    constraint fk_student_quiz_quiz foreign key (quiz_id) references quiz (quiz_id),
+    constraint fk_student_quiz_student foreign key (student_id) references user (id) on delete cascade
+) engine=InnoDB;
+
+create table student_lesson (
+    student_lesson_id bigint not null,
+    lesson_id bigint not null,
+    student_id bigint not null,
+    primary key (student_lesson_id),
+    constraint fk_student_lesson_lesson foreign key (lesson_id) references lesson (lesson_id) on delete cascade,
+    constraint fk_student_lesson_student foreign key (student_id) references user (id) on delete cascade
+) engine=InnoDB;
+
+create table student_assignment (
+    id bigint not null,
+    feedback varchar(255),
+    grade bigint not null,
+    assignment_id bigint not null,
+    course_id bigint not null,
+    student_id bigint not null,
+    primary key (id),
+    constraint fk_student_assignment_assignment foreign key (assignment_id) references assignment (assignment_id) on delete cascade,
+    constraint fk_student_assignment_course foreign key (course_id) references course (id) on delete cascade,
+    constraint fk_student_assignment_student foreign key (student_id) references user (id) on delete cascade
+) engine=InnoDB;
+
+create table student_assignment_files (
+    student_assignment_id bigint not null,
+    file_name varchar(255),
+    constraint fk_student_assignment_files_student_assignment foreign key (student_assignment_id) references student_assignment (id)
+) engine=InnoDB;
+
+-- Pooled id generators, MySQL has no sequences
+create table enrolled_course_seq (next_val bigint) engine=InnoDB;
+insert into enrolled_course_seq values (1);
+create table notification_seq (next_val bigint) engine=InnoDB;
+insert into notification_seq values (1);
+create table student_assignment_seq (next_val bigint) engine=InnoDB;
+insert into student_assignment_seq values (1);
+create table student_lesson_seq (next_val bigint) engine=InnoDB;
+insert into student_lesson_seq values (1);
+create table student_quiz_seq (next_val bigint) engine=InnoDB;
+insert into student_quiz_seq values (1);
@@ -0,0 +1,80 @@
+-- One index per derived finder, see FinderIndexCoverageCheck. Columns used together in a
+-- finder share a composite index; pairs that identify a single row are unique. Check-then-insert
+-- races may have left such pairs duplicated, so each unique constraint is preceded by deleting
+-- all but the oldest row (lowest id) of every pair.
+
+-- UserRepository.findByName, findByEmail (uk_user_email). Names are indexed but not unique: a
+-- migration cannot pick which of two accounts to delete; registration rejects a taken name.
+create index idx_user_name on user (name);
+
+-- CourseRepository.findByInstructorId
+create index idx_course_instructor on course (instructor_id);
+
+-- LessonRepository.findByCourse, QuizRepository.findByCourseId, QuestionRepository.findByCourseId,
+-- AssignmentRepository.findByCourse
+create index idx_lesson_course on lesson (course_id);
+create index idx_quiz_course on quiz (course_id);
+create index idx_question_course on question (course_id);
+create index idx_assignment_course on assignment (course_id);
+
+-- EnrolledCourseRepository.findByStudentAndCourse, findByStudent, findByCourse
+delete duplicate from enrolled_course duplicate
+    join enrolled_course kept on kept.student_id = duplicate.student_id and kept.course_id = duplicate.course_id
+        and kept.id < duplicate.id;
+alter table enrolled_course add constraint uk_enrolled_course_student_course unique (student_id, course_id);
+create index idx_enrolled_course_course on enrolled_course (course_id);
+
+-- StudentQuizRepository.findByStudentAndQuiz, existsStudentQuizByStudentIdAndQuiz, findByStudentId,
+-- findByStudentAndQuiz_Course, findByQuiz, findByQuiz_Course_Id
+delete duplicate from student_quiz duplicate
+    join student_quiz kept on kept.student_id = duplicate.student_id and kept.quiz_id = duplicate.quiz_id
+        and kept.id < duplicate.id;
+alter table student_quiz add constraint uk_student_quiz_student_quiz unique (student_id, quiz_id);
+create index idx_student_quiz_quiz on student_quiz (quiz_id);
+
+-- StudentsLessonRepository.findByStudentAndLesson, findByStudentId, findByStudentAndLesson_Course,
+-- findByLesson_Course_Id
+delete duplicate from student_lesson duplicate
+    join student_lesson kept on kept.student_id = duplicate.student_id and kept.lesson_id = duplicate.lesson_id
+        and kept.student_lesson_id < duplicate.student_lesson_id;
+alter table student_lesson add constraint uk_student_lesson_student_lesson unique (student_id, lesson_id);
+create index idx_student_lesson_lesson on student_lesson (lesson_id);
+
+-- StudentAssignmentRepository.findByAssignmentAndStudent, findByStudentAndCourse, findByCourseAndStudent,
+-- findByStudentId, findByStudent, findByCourse, findByCourse_Id
+-- (student_assignment_files has no cascade, so the duplicates' file names go first)
+delete orphaned from student_assignment_files orphaned
+    join student_assignment duplicate on duplicate.id = orphaned.student_assignment_id
+    join student_assignment kept on kept.assignment_id = duplicate.assignment_id
+        and kept.student_id = duplicate.student_id and kept.id < duplicate.id;
+delete duplicate from student_assignment duplicate
+    join student_assignment kept on kept.assignment_id = duplicate.assignment_id
+        and kept.student_id = duplicate.student_id and kept.id < duplicate.id;
+alter table student_assignment add constraint uk_student_assignment_assignment_student unique (assignment_id, student_id);
+create index idx_student_assignment_student_course on student_assignment (student_id, course_id);
+create index idx_student_assignment_course on student_assignment (course_id);
+
+-- NotificationRepository.findByUserIdAndIsRead, findByUserId
+create index idx_notification_user_read on notification (user_id, is_read);
+
+-- Databases baselined from ddl-auto may predate the pooled generators or hold ids past
+-- their current value. Restart every generator above the highest id in use.
+create table if not exists enrolled_course_seq (next_val bigint) engine=InnoDB;
+delete from enrolled_course_seq;
+insert into enrolled_course_seq select coalesce(max(id), 0) + 51 from enrolled_course;
+
+create table if not exists notification_seq (next_val bigint) engine=InnoDB;
+delete from notification_seq;
+insert into notification_seq select coalesce(max(notification_id), 0) + 51 from notification;
+
+create table if not exists student_assignment_seq (next_val bigint) engine=InnoDB;
+delete from student_assignment_seq;
+insert into student_assignment_seq select coalesce(max(id), 0) + 51 from student_assignment;
+
+create table if not exists student_lesson_seq (next_val bigint) engine=InnoDB;
+delete from student_lesson_seq;
+insert into student_lesson_seq select coalesce(max(student_lesson_id), 0) + 51 from student_lesson;
+
+create table if not exists student_quiz_seq (next_val bigint) engine=InnoDB;
+delete from student_quiz_seq;
+insert into student_quiz_seq select coalesce(max(id), 0) + 51 from student_quiz;
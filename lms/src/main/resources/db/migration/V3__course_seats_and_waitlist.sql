@@ -0,0 +1,22 @@
+-- Seat ledger for capped courses. A course without a row has no capacity limit.
+create table course_seats (
+    course_id bigint not null,
+    capacity integer,
+    taken integer not null default 0,
+    version bigint not null default 0,
+    primary key (course_id),
+    constraint fk_course_seats_course foreign key (course_id) references course (id) on delete cascade
+) engine=InnoDB;
+
+-- WaitlistEntryRepository.findFirstByCourseIdOrderByIdAsc, existsByCourseId, countByCourseIdAndIdLessThan,
+-- existsByCourseIdAndStudentId
+create table waitlist_entry (
+    id bigint not null auto_increment,
+    course_id bigint not null,
+    student_id bigint not null,
+    primary key (id),
+    constraint uk_waitlist_entry_course_student unique (course_id, student_id),
+    constraint fk_waitlist_entry_course foreign key (course_id) references course (id) on delete cascade,
+    constraint fk_waitlist_entry_student foreign key (student_id) references user (id) on delete cascade
+) engine=InnoDB;
+create index idx_waitlist_entry_course on waitlist_entry (course_id, id);
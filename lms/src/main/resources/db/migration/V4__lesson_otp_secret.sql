@@ -0,0 +1,2 @@
+-- Rotating lesson codes. Existing lessons keep their static otp until the instructor opens the live display.
+alter table lesson add column otp_secret varchar(64);
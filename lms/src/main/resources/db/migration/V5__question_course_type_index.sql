@@ -0,0 +1,4 @@
+-- QuestionRepository.findByCourseIdAndType, and findByCourseId through its leading column.
+-- Created before the narrower index is dropped so fk_question_course always has an index.
+create index idx_question_course_type on question (course_id, type);
+drop index idx_question_course on question;
@@ -0,0 +1,13 @@
+-- MinHash signatures of assignment submissions for copy detection, one row per submission.
+-- SubmissionSignatureRepository.findByAssignmentId
+create table submission_signature (
+    student_assignment_id bigint not null,
+    assignment_id bigint not null,
+    student_id bigint not null,
+    signature varbinary(256) not null,
+    shingles integer not null,
+    primary key (student_assignment_id),
+    constraint fk_submission_signature_student_assignment foreign key (student_assignment_id)
+        references student_assignment (id) on delete cascade
+) engine=InnoDB;
+create index idx_submission_signature_assignment on submission_signature (assignment_id);
@@ -0,0 +1,23 @@
+-- Activity-over-time counts rolled up from each instance's activity log.
+-- ActivityRollupRepository.findByGranularityAndBucketStartIn, findCourseBuckets, findTotalBuckets
+create table activity_rollup (
+    id bigint not null auto_increment,
+    granularity enum ('MINUTE','HOUR','DAY') not null,
+    bucket_start bigint not null,
+    activity_type enum ('QUIZ_SUBMITTED','LESSON_ATTENDED','ASSIGNMENT_SUBMITTED','ASSIGNMENT_GRADED',
+        'ENROLLED','UNENROLLED') not null,
+    course_id bigint not null,
+    event_count bigint not null,
+    version bigint,
+    primary key (id),
+    constraint uk_activity_rollup_bucket unique (granularity, bucket_start, activity_type, course_id)
+) engine=InnoDB;
+create index idx_activity_rollup_course on activity_rollup (course_id, granularity, bucket_start);
+
+-- Per instance: the activity log position its rollups have reached
+create table activity_log_checkpoint (
+    node varchar(64) not null,
+    segment bigint not null,
+    segment_offset bigint not null,
+    primary key (node)
+) engine=InnoDB;
@@ -0,0 +1,15 @@
+-- New activity types logged for active student counts
+alter table activity_rollup modify activity_type enum ('QUIZ_SUBMITTED','LESSON_ATTENDED','ASSIGNMENT_SUBMITTED',
+    'ASSIGNMENT_GRADED','ENROLLED','UNENROLLED','LOGGED_IN','MATERIAL_DOWNLOADED') not null;
+
+-- HyperLogLog sketches of the students active per UTC day and course; course 0 is the whole platform.
+-- ActiveStudentSketchRepository.findByDayInAndCourseIdIn, findByCourseIdAndDayBetween
+create table active_student_sketch (
+    id bigint not null auto_increment,
+    course_id bigint not null,
+    activity_day date not null,
+    registers varbinary(3073) not null,
+    version bigint,
+    primary key (id),
+    constraint uk_active_student_sketch_day unique (course_id, activity_day)
+) engine=InnoDB;
@@ -0,0 +1,4 @@
+-- Whether a submission has been graded; its grade stays 0 until then. Submissions graded before
+-- the column existed are the ones with a grade or feedback.
+alter table student_assignment add column graded bit not null default false;
+update student_assignment set graded = true where grade <> 0 or feedback is not null;
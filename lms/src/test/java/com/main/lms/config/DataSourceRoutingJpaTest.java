@@ -0,0 +1,124 @@
+package com.main.lms.config;
+
+import com.main.lms.datasource.ReplicaLagGuard;
+import com.main.lms.datasource.ReplicaRoutingDataSource;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// One open-in-view request against an H2 primary and replica: a read-only lookup, then a write,
+// each in its own transaction on the same request-scoped EntityManager, as in QuizService.submitQuiz
+public class DataSourceRoutingJpaTest {
+
+    @Entity
+    @Table(name = "routing_probe")
+    public static class Probe {
+        @Id
+        private Long id;
+        private String name;
+
+        protected Probe() {
+        }
+
+        Probe(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManager requestEntityManager;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        ReplicaLagGuard lagGuard = new ReplicaLagGuard(replica, dataSource -> Duration.ZERO,
+                Duration.ofSeconds(5), Duration.ofSeconds(1));
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(AvailableSettings.HBM2DDL_AUTO, "none");
+        new DataSourceRoutingConfig().connectionReleaseAfterTransaction().customize(properties);
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(
+                new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, lagGuard)));
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setManagedTypes(PersistenceManagedTypes.of(Probe.class.getName()));
+        factoryBean.setJpaPropertyMap(properties);
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+
+        // what OpenEntityManagerInViewInterceptor does at the start of a request
+        requestEntityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory,
+                new EntityManagerHolder(requestEntityManager));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.unbindResource(factoryBean.getObject());
+        requestEntityManager.close();
+        factoryBean.destroy();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + "-" + System.nanoTime())
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("create table routing_probe (id bigint primary key, name varchar(16))");
+        jdbc.update("insert into routing_probe values (1, ?)", name);
+        return database;
+    }
+
+    private static int rows(EmbeddedDatabase database, long id) {
+        return new JdbcTemplate(database).queryForObject("select count(*) from routing_probe where id = ?",
+                Integer.class, id);
+    }
+
+    @Test
+    void testWriteAfterReadOnlyLookup_ReachesPrimary() {
+        String read = readOnly.execute(status -> requestEntityManager.find(Probe.class, 1L).name);
+        readWrite.executeWithoutResult(status -> requestEntityManager.persist(new Probe(2L, "written")));
+
+        assertEquals("replica", read);
+        assertEquals(1, rows(primary, 2L));
+        assertEquals(0, rows(replica, 2L));
+    }
+}
@@ -0,0 +1,48 @@
+package com.main.lms.config;
+
+import com.main.lms.config.FinderIndexCoverageCheck.Finder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FinderIndexCoverageCheckTest {
+
+    @Test
+    void testCovers_LeadingColumnsInAnyOrder() {
+        List<String> index = List.of("student_id", "quiz_id");
+
+        assertTrue(FinderIndexCoverageCheck.covers(index, Set.of("student_id")));
+        assertTrue(FinderIndexCoverageCheck.covers(index, Set.of("student_id", "quiz_id")));
+        assertTrue(FinderIndexCoverageCheck.covers(index, Set.of("quiz_id", "student_id")));
+    }
+
+    @Test
+    void testCovers_NonLeadingColumn() {
+        List<String> index = List.of("student_id", "quiz_id");
+
+        assertFalse(FinderIndexCoverageCheck.covers(index, Set.of("quiz_id")));
+        assertFalse(FinderIndexCoverageCheck.covers(index, Set.of("student_id", "is_read")));
+        assertFalse(FinderIndexCoverageCheck.covers(index, Set.of("student_id", "quiz_id", "grade")));
+    }
+
+    @Test
+    void testUncovered_ReportsOnlyFindersWithoutIndex() {
+        Finder byUser = new Finder("NotificationRepository.findByUserId", "notification", Set.of("user_id"));
+        Finder byUserAndRead = new Finder("NotificationRepository.findByUserIdAndIsRead", "notification",
+                Set.of("user_id", "is_read"));
+        Finder byRead = new Finder("NotificationRepository.findByIsRead", "notification", Set.of("is_read"));
+        Finder byName = new Finder("UserRepository.findByName", "user", Set.of("name"));
+
+        Map<String, List<List<String>>> indexes = Map.of(
+                "notification", List.of(List.of("notification_id"), List.of("user_id", "is_read")),
+                "user", List.of(List.of("id"), List.of("email")));
+
+        List<Finder> uncovered = FinderIndexCoverageCheck.uncovered(List.of(byUser, byUserAndRead, byRead, byName), indexes);
+
+        assertEquals(List.of(byRead, byName), uncovered);
+    }
+}
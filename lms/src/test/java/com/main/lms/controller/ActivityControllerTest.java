@@ -0,0 +1,106 @@
+package com.main.lms.controller;
+
+import com.main.lms.dtos.ActivityBucketDTO;
+import com.main.lms.entities.CustomUserDetails;
+import com.main.lms.entities.User;
+import com.main.lms.enums.ActivityGranularity;
+import com.main.lms.enums.ActivityType;
+import com.main.lms.enums.UserRole;
+import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.services.ActivityRollupService;
+import com.main.lms.utility.SessionIdUtility;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.*;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.*;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SuppressWarnings("removal")
+@WebMvcTest(ActivityController.class)
+@AutoConfigureMockMvc(addFilters = false)
+public class ActivityControllerTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @MockBean
+        private ActivityRollupService activityRollupService;
+        @MockBean
+        private SessionIdUtility sessionIdUtility;
+
+        private User instructorUser;
+        private CustomUserDetails instructorDetails;
+        private final Instant from = Instant.parse("2024-05-01T00:00:00Z");
+        private final Instant to = Instant.parse("2024-05-02T00:00:00Z");
+
+        @BeforeEach
+        public void setUp() {
+                instructorUser = new User();
+                instructorUser.setId(1L);
+                instructorUser.setName("Instructor");
+                instructorUser.setRole(UserRole.INSTRUCTOR);
+
+                instructorDetails = new CustomUserDetails(instructorUser);
+        }
+
+        @Test
+        public void testGetActivity_Success() throws Exception {
+                // Arrange
+                List<ActivityBucketDTO> buckets = List.of(
+                                new ActivityBucketDTO(from, ActivityType.QUIZ_SUBMITTED, 12));
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(instructorDetails);
+                when(activityRollupService.getActivity(3L, ActivityGranularity.HOUR, from, to, instructorUser))
+                                .thenReturn(buckets);
+
+                // Act & Assert
+                mockMvc.perform(get("/analytics/activity")
+                                .param("courseId", "3")
+                                .param("granularity", "HOUR")
+                                .param("from", "2024-05-01T00:00:00Z")
+                                .param("to", "2024-05-02T00:00:00Z"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data[0].type").value("QUIZ_SUBMITTED"))
+                                .andExpect(jsonPath("$.data[0].count").value(12));
+        }
+
+        @Test
+        public void testGetActivity_AllCoursesNotAdmin() throws Exception {
+                // Arrange
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(instructorDetails);
+                when(activityRollupService.getActivity(null, ActivityGranularity.DAY, from, to, instructorUser))
+                                .thenThrow(new InvalidUser("Only admins can view activity across all courses"));
+
+                // Act & Assert
+                mockMvc.perform(get("/analytics/activity")
+                                .param("granularity", "DAY")
+                                .param("from", "2024-05-01T00:00:00Z")
+                                .param("to", "2024-05-02T00:00:00Z"))
+                                .andExpect(status().isForbidden())
+                                .andExpect(jsonPath("$.success").value(false));
+        }
+
+        @Test
+        public void testGetActivity_BadRange() throws Exception {
+                // Arrange
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(instructorDetails);
+                when(activityRollupService.getActivity(3L, ActivityGranularity.MINUTE, to, from, instructorUser))
+                                .thenThrow(new IllegalArgumentException("from must be before to"));
+
+                // Act & Assert
+                mockMvc.perform(get("/analytics/activity")
+                                .param("courseId", "3")
+                                .param("granularity", "MINUTE")
+                                .param("from", "2024-05-02T00:00:00Z")
+                                .param("to", "2024-05-01T00:00:00Z"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.message").value("from must be before to"));
+        }
+}
@@ -0,0 +1,99 @@
+package com.main.lms.controller;
+
+import com.main.lms.dtos.EnrollmentResponseDTO;
+import com.main.lms.dtos.EnrollmentRow;
+import com.main.lms.dtos.KeysetPage;
+import com.main.lms.services.CourseService;
+import com.main.lms.services.EnrollmentService;
+import com.main.lms.services.LessonService;
+import com.main.lms.services.StudentAssignmentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AdminListingController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@SuppressWarnings("removal")
+public class AdminListingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EnrollmentService enrollmentService;
+
+    @MockBean
+    private StudentAssignmentService studentAssignmentService;
+
+    @MockBean
+    private LessonService lessonService;
+
+    @MockBean
+    private CourseService courseService;
+
+    @Test
+    public void testGetEnrollmentsPage() throws Exception {
+        EnrollmentResponseDTO enrollment = new EnrollmentResponseDTO(2L, "student", "Course", 1L, true);
+        when(enrollmentService.getEnrollmentsPage(10L, 1)).thenReturn(new KeysetPage<>(List.of(enrollment), 11L));
+
+        mockMvc.perform(get("/admin/enrollments").param("after", "10").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.items[0].studentId").value(2))
+                .andExpect(jsonPath("$.data.nextAfter").value(11));
+    }
+
+    @Test
+    public void testGetEnrollmentsPage_SizeIsCapped() throws Exception {
+        when(enrollmentService.getEnrollmentsPage(null, AdminListingController.MAX_PAGE_SIZE))
+                .thenReturn(new KeysetPage<>(List.of(), null));
+
+        mockMvc.perform(get("/admin/enrollments").param("size", "1000000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nextAfter").doesNotExist());
+
+        verify(enrollmentService).getEnrollmentsPage(null, AdminListingController.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExportEnrollments_WritesOneRowPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<EnrollmentRow> sink = invocation.getArgument(0);
+            sink.accept(new EnrollmentRow(1L, 2L, "student", 1L, "Course", true, false));
+            sink.accept(new EnrollmentRow(2L, 3L, "other", 1L, "Course", false, false));
+            return null;
+        }).when(enrollmentService).exportEnrollments(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/admin/enrollments/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"studentName\":\"student\""));
+        assertTrue(lines[1].contains("\"id\":2"));
+    }
+}
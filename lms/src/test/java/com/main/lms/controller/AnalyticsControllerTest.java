@@ -0,0 +1,123 @@
+package com.main.lms.controller;
+
+import com.main.lms.dtos.ActiveStudentSummaryDTO;
+import com.main.lms.dtos.ActiveStudentsDTO;
+import com.main.lms.entities.CustomUserDetails;
+import com.main.lms.entities.User;
+import com.main.lms.enums.UserRole;
+import com.main.lms.exceptions.CourseNotFoundException;
+import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.services.ActiveStudentService;
+import com.main.lms.services.AnalyticsService;
+import com.main.lms.services.ReportService;
+import com.main.lms.utility.SessionIdUtility;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.*;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.*;
+
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SuppressWarnings("removal")
+@WebMvcTest(AnalyticsController.class)
+@AutoConfigureMockMvc(addFilters = false)
+public class AnalyticsControllerTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @MockBean
+        private AnalyticsService analyticsService;
+        @MockBean
+        private ReportService reportService;
+        @MockBean
+        private ActiveStudentService activeStudentService;
+        @MockBean
+        private SessionIdUtility sessionIdUtility;
+
+        private User adminUser;
+        private CustomUserDetails adminDetails;
+
+        @BeforeEach
+        public void setUp() {
+                adminUser = new User();
+                adminUser.setId(1L);
+                adminUser.setName("Admin");
+                adminUser.setRole(UserRole.ADMIN);
+
+                adminDetails = new CustomUserDetails(adminUser);
+        }
+
+        @Test
+        public void testGetActiveStudents_Success() throws Exception {
+                // Arrange
+                LocalDate from = LocalDate.of(2024, 5, 1);
+                LocalDate to = LocalDate.of(2024, 5, 31);
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(adminDetails);
+                when(activeStudentService.getActiveStudents(3L, from, to, adminUser))
+                                .thenReturn(new ActiveStudentsDTO(3L, from, to, 42));
+
+                // Act & Assert
+                mockMvc.perform(get("/admin/analytics/active-students")
+                                .param("courseId", "3")
+                                .param("from", "2024-05-01")
+                                .param("to", "2024-05-31"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.activeStudents").value(42))
+                                .andExpect(jsonPath("$.data.from").value("2024-05-01"));
+        }
+
+        @Test
+        public void testGetActiveStudentSummary_PlatformWide() throws Exception {
+                // Arrange
+                LocalDate date = LocalDate.of(2024, 5, 10);
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(adminDetails);
+                when(activeStudentService.getSummary(null, date, adminUser))
+                                .thenReturn(new ActiveStudentSummaryDTO(null, date, 120, 480, 950));
+
+                // Act & Assert
+                mockMvc.perform(get("/admin/analytics/active-students/summary").param("date", "2024-05-10"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.daily").value(120))
+                                .andExpect(jsonPath("$.data.weekly").value(480))
+                                .andExpect(jsonPath("$.data.monthly").value(950));
+        }
+
+        @Test
+        public void testGetActiveStudentSummary_CourseNotFound() throws Exception {
+                // Arrange
+                LocalDate date = LocalDate.of(2024, 5, 10);
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(adminDetails);
+                when(activeStudentService.getSummary(99L, date, adminUser))
+                                .thenThrow(new CourseNotFoundException("Course not found with ID: 99"));
+
+                // Act & Assert
+                mockMvc.perform(get("/admin/analytics/active-students/summary")
+                                .param("courseId", "99")
+                                .param("date", "2024-05-10"))
+                                .andExpect(status().isNotFound())
+                                .andExpect(jsonPath("$.success").value(false));
+        }
+
+        @Test
+        public void testGetActiveStudents_NotAdmin() throws Exception {
+                // Arrange
+                LocalDate day = LocalDate.of(2024, 5, 10);
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(adminDetails);
+                when(activeStudentService.getActiveStudents(null, day, day, adminUser))
+                                .thenThrow(new InvalidUser("Only admins can view active student counts"));
+
+                // Act & Assert
+                mockMvc.perform(get("/admin/analytics/active-students")
+                                .param("from", "2024-05-10")
+                                .param("to", "2024-05-10"))
+                                .andExpect(status().isForbidden())
+                                .andExpect(jsonPath("$.success").value(false));
+        }
+}
@@ -3,7 +3,9 @@ package com.main.lms.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.main.lms.dtos.*;
 import com.main.lms.entities.User;
+import com.main.lms.enums.ActivityType;
 import com.main.lms.enums.UserRole;
+import com.main.lms.services.ActivityLogService;
 import com.main.lms.services.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -49,6 +51,10 @@ public class AuthControllerTest {
         @MockBean
         private SecurityContextRepository securityContextRepository;
 
+        @SuppressWarnings("removal")
+        @MockBean
+        private ActivityLogService activityLogService;
+
         private ObjectMapper objectMapper = new ObjectMapper();
 
         private User testUser;
@@ -87,6 +93,7 @@ public class AuthControllerTest {
                                 .andExpect(jsonPath("$.success").value(true))
                                 .andExpect(jsonPath("$.message").value("Login successful"))
                                 .andExpect(jsonPath("$.data.name").value("testuser"));
+                verify(activityLogService).record(ActivityType.LOGGED_IN, 1L, null, null);
         }
 
         @Test
@@ -126,6 +133,7 @@ public class AuthControllerTest {
                                 .andExpect(status().isUnauthorized())
                                 .andExpect(jsonPath("$.success").value(false))
                                 .andExpect(jsonPath("$.message").value("Bad credentials"));
+                verifyNoInteractions(activityLogService);
         }
 
         @Test
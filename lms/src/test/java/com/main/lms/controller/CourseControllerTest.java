@@ -4,10 +4,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.main.lms.dtos.*;
 import com.main.lms.entities.CustomUserDetails;
 import com.main.lms.entities.User;
+import com.main.lms.enums.GradebookItemType;
 import com.main.lms.enums.UserRole;
 import com.main.lms.exceptions.CourseNotFoundException;
 import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.services.CourseSearchService;
 import com.main.lms.services.CourseService;
+import com.main.lms.services.GradebookService;
+import com.main.lms.services.LeaderboardService;
 import com.main.lms.utility.SessionIdUtility;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -38,6 +42,12 @@ public class CourseControllerTest {
         @MockBean
         private CourseService courseService;
         @MockBean
+        private GradebookService gradebookService;
+        @MockBean
+        private CourseSearchService courseSearchService;
+        @MockBean
+        private LeaderboardService leaderboardService;
+        @MockBean
         private SessionIdUtility sessionIdUtility;
 
         private ObjectMapper objectMapper = new ObjectMapper();
@@ -215,4 +225,108 @@ public class CourseControllerTest {
                 verify(courseService).updateCourse(eq(courseId), any(CourseRequestDTO.class),
                                 eq(instructorUser.getId()));
         }
-}
\ No newline at end of file
+
+        @Test
+        public void testGetGradebook_Success() throws Exception {
+                // Arrange
+                GradebookDTO gradebook = new GradebookDTO();
+                gradebook.setCourseId(1L);
+                gradebook.setStudentIds(new long[] { 4L });
+                gradebook.setColumnTypes(new GradebookItemType[] { GradebookItemType.QUIZ });
+                gradebook.setColumnIds(new long[] { 7L });
+                gradebook.setScores(new Double[][] { { null } });
+
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(instructorDetails);
+                when(gradebookService.getGradebook(eq(1L), eq(instructorUser), any(GradebookQuery.class)))
+                                .thenReturn(gradebook);
+
+                // Act & Assert
+                mockMvc.perform(get("/courses/{id}/gradebook", 1L)
+                                .param("types", "QUIZ,LESSON")
+                                .param("students", "4,9")
+                                .param("limit", "10"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.studentIds[0]").value(4))
+                                .andExpect(jsonPath("$.data.columnTypes[0]").value("QUIZ"))
+                                .andExpect(jsonPath("$.data.scores[0][0]").isEmpty());
+
+                verify(gradebookService).getGradebook(eq(1L), eq(instructorUser), argThat(query ->
+                                query.getTypes().equals(List.of(GradebookItemType.QUIZ, GradebookItemType.LESSON))
+                                                && query.getStudents().equals(List.of(4L, 9L))
+                                                && query.getLimit() == 10 && query.getOffset() == 0));
+        }
+
+        @Test
+        public void testGetGradebook_NotInstructor() throws Exception {
+                // Arrange
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(instructorDetails);
+                when(gradebookService.getGradebook(eq(1L), eq(instructorUser), any(GradebookQuery.class)))
+                                .thenThrow(new InvalidUser("You are not the instructor of this course"));
+
+                // Act & Assert
+                mockMvc.perform(get("/courses/{id}/gradebook", 1L))
+                                .andExpect(status().isForbidden())
+                                .andExpect(jsonPath("$.success").value(false));
+        }
+
+        @Test
+        public void testSearchCourses_Success() throws Exception {
+                // Arrange
+                CourseResponseDTO course = new CourseResponseDTO(3L, "Instructor", "Intro to Algebra", "10 weeks",
+                                "Linear equations");
+                when(courseSearchService.search("intro alg", 5))
+                                .thenReturn(List.of(new CourseSearchHitDTO(course, 2.5)));
+
+                // Act & Assert
+                mockMvc.perform(get("/courses/search")
+                                .param("q", "intro alg")
+                                .param("limit", "5"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data[0].course.id").value(3))
+                                .andExpect(jsonPath("$.data[0].score").value(2.5));
+        }
+
+        @Test
+        public void testSuggestCourseSearches_Success() throws Exception {
+                // Arrange
+                when(courseSearchService.suggest("intro alg", 10))
+                                .thenReturn(List.of("intro algebra", "intro algorithms"));
+
+                // Act & Assert
+                mockMvc.perform(get("/courses/search/suggest").param("q", "intro alg"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data[1]").value("intro algorithms"));
+        }
+
+        @Test
+        public void testGetLeaderboard_Success() throws Exception {
+                // Arrange
+                LeaderboardDTO leaderboard = new LeaderboardDTO(3,
+                                List.of(new LeaderboardEntryDTO(1, 4L, 18.0), new LeaderboardEntryDTO(1, 9L, 18.0)),
+                                new LeaderboardEntryDTO(3, 7L, 12.0));
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(instructorDetails);
+                when(leaderboardService.getCourseLeaderboard(1L, 2, 7L, instructorUser)).thenReturn(leaderboard);
+
+                // Act & Assert
+                mockMvc.perform(get("/courses/{id}/leaderboard", 1L)
+                                .param("limit", "2")
+                                .param("studentId", "7"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.participants").value(3))
+                                .andExpect(jsonPath("$.data.top[1].rank").value(1))
+                                .andExpect(jsonPath("$.data.student.rank").value(3));
+        }
+
+        @Test
+        public void testGetLeaderboard_NotInstructor() throws Exception {
+                // Arrange
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(instructorDetails);
+                when(leaderboardService.getCourseLeaderboard(1L, 10, null, instructorUser))
+                                .thenThrow(new InvalidUser("You are not the instructor of this course"));
+
+                // Act & Assert
+                mockMvc.perform(get("/courses/{id}/leaderboard", 1L))
+                                .andExpect(status().isForbidden())
+                                .andExpect(jsonPath("$.success").value(false));
+        }
+}
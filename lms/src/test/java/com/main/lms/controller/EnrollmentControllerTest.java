@@ -2,9 +2,15 @@ package com.main.lms.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.main.lms.dtos.ApiResponse;
+import com.main.lms.dtos.BulkEnrollmentReportDTO;
+import com.main.lms.dtos.BulkEnrollmentResultDTO;
+import com.main.lms.dtos.CourseRecommendationDTO;
 import com.main.lms.dtos.EnrollmentResponseDTO;
 import com.main.lms.entities.CustomUserDetails;
 import com.main.lms.entities.User;
+import com.main.lms.enums.BulkEnrollmentStatus;
+import com.main.lms.services.BulkEnrollmentService;
+import com.main.lms.services.CourseRecommendationService;
 import com.main.lms.services.EnrollmentService;
 import com.main.lms.utility.SessionIdUtility;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,6 +33,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -48,6 +55,12 @@ public class EnrollmentControllerTest {
     @MockBean
     private SessionIdUtility sessionIdUtility;
 
+    @MockBean
+    private BulkEnrollmentService bulkEnrollmentService;
+
+    @MockBean
+    private CourseRecommendationService courseRecommendationService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -75,6 +88,22 @@ public class EnrollmentControllerTest {
                 .andExpect(jsonPath("$.success").value(true));
     }
 
+    @Test
+    public void testCreateEnrollment_CourseFull() throws Exception {
+        Long courseId = 1L;
+        EnrollmentResponseDTO waitlisted = new EnrollmentResponseDTO();
+        waitlisted.setWaitlistPosition(4L);
+
+        when(sessionIdUtility.getUserFromSessionId()).thenReturn(userDetails);
+        when(enrollmentService.addEnrollment(courseId, user.getId())).thenReturn(waitlisted);
+
+        mockMvc.perform(post("/enrollments/courses/{courseId}", courseId)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.message").value("Course is full, student added to the waitlist"))
+                .andExpect(jsonPath("$.data.waitlistPosition").value(4));
+    }
+
     @Test
     public void testCreateEnrollment_UserNotLoggedIn() throws Exception {
         Long courseId = 1L;
@@ -211,4 +240,62 @@ public class EnrollmentControllerTest {
                 .andExpect(jsonPath("$.message").value("All enrollments for course"))
                 .andExpect(jsonPath("$.data.length()").value(2));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testBulkEnroll_Csv() throws Exception {
+        BulkEnrollmentReportDTO report = new BulkEnrollmentReportDTO();
+        report.add(new BulkEnrollmentResultDTO(1, 2L, 1L, BulkEnrollmentStatus.ENROLLED));
+        report.add(new BulkEnrollmentResultDTO(2, 3L, 1L, BulkEnrollmentStatus.STUDENT_NOT_FOUND));
+
+        when(bulkEnrollmentService.enroll(any())).thenReturn(report);
+
+        mockMvc.perform(post("/enrollments/bulk")
+                .contentType("text/csv")
+                .content("studentId,courseId\n2,1\n3,1\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.enrolled").value(1))
+                .andExpect(jsonPath("$.data.rejected").value(1))
+                .andExpect(jsonPath("$.data.results[1].status").value("STUDENT_NOT_FOUND"));
+    }
+
+    @Test
+    public void testBulkEnroll_StoppedPartway() throws Exception {
+        BulkEnrollmentReportDTO report = new BulkEnrollmentReportDTO();
+        report.add(new BulkEnrollmentResultDTO(1, 2L, 1L, BulkEnrollmentStatus.ENROLLED));
+        report.fail(new IllegalStateException("Database unavailable"));
+
+        when(bulkEnrollmentService.enroll(any())).thenReturn(report);
+
+        mockMvc.perform(post("/enrollments/bulk")
+                .contentType("text/csv")
+                .content("2,1\n3,1\n"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.data.enrolled").value(1))
+                .andExpect(jsonPath("$.data.failedRow").value(2))
+                .andExpect(jsonPath("$.errors[0]").value("Database unavailable"));
+    }
+
+    @Test
+    public void testBulkEnroll_MalformedJson() throws Exception {
+        mockMvc.perform(post("/enrollments/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"studentId\": 2,"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Failed to import enrollments"));
+    }
+
+    @Test
+    public void testGetRecommendations_Success() throws Exception {
+        when(sessionIdUtility.getUserFromSessionId()).thenReturn(userDetails);
+        when(courseRecommendationService.recommend(user.getId(), 5)).thenReturn(List.of(
+                new CourseRecommendationDTO(7L, 1.5), new CourseRecommendationDTO(3L, 0)));
+
+        mockMvc.perform(get("/enrollments/recommendations").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].courseId").value(7))
+                .andExpect(jsonPath("$.data[1].score").value(0.0));
+    }
+}
@@ -0,0 +1,106 @@
+package com.main.lms.controller;
+
+import com.main.lms.dtos.GradeStatisticsDTO;
+import com.main.lms.entities.CustomUserDetails;
+import com.main.lms.entities.User;
+import com.main.lms.enums.UserRole;
+import com.main.lms.exceptions.CourseNotFoundException;
+import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.services.GradeStatisticsService;
+import com.main.lms.utility.SessionIdUtility;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.*;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.*;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SuppressWarnings("removal")
+@WebMvcTest(GradeStatisticsController.class)
+@AutoConfigureMockMvc(addFilters = false)
+public class GradeStatisticsControllerTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @MockBean
+        private GradeStatisticsService gradeStatisticsService;
+        @MockBean
+        private SessionIdUtility sessionIdUtility;
+
+        private User instructorUser;
+        private CustomUserDetails instructorDetails;
+
+        @BeforeEach
+        public void setUp() {
+                instructorUser = new User();
+                instructorUser.setId(1L);
+                instructorUser.setName("Instructor");
+                instructorUser.setRole(UserRole.INSTRUCTOR);
+
+                instructorDetails = new CustomUserDetails(instructorUser);
+        }
+
+        @Test
+        public void testGetQuizStatistics_Success() throws Exception {
+                // Arrange
+                GradeStatisticsDTO statistics = new GradeStatisticsDTO(2, 70.0, 60.0, 62.5, 70.0, 77.5, 80.0, 80.0,
+                                new long[] { 0, 0, 0, 0, 0, 0, 1, 0, 1, 0 });
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(instructorDetails);
+                when(gradeStatisticsService.getQuizStatistics(3L, instructorUser)).thenReturn(statistics);
+
+                // Act & Assert
+                mockMvc.perform(get("/analytics/quizzes/{quizId}/grades", 3L))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.count").value(2))
+                                .andExpect(jsonPath("$.data.median").value(70.0))
+                                .andExpect(jsonPath("$.data.histogram[6]").value(1));
+        }
+
+        @Test
+        public void testGetMergedStatistics_Success() throws Exception {
+                // Arrange
+                GradeStatisticsDTO statistics = new GradeStatisticsDTO(0, null, null, null, null, null, null, null,
+                                new long[10]);
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(instructorDetails);
+                when(gradeStatisticsService.getMergedStatistics(List.of(1L, 4L), instructorUser))
+                                .thenReturn(statistics);
+
+                // Act & Assert
+                mockMvc.perform(get("/analytics/grades").param("courses", "1,4"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.count").value(0));
+        }
+
+        @Test
+        public void testGetCourseStatistics_NotFound() throws Exception {
+                // Arrange
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(instructorDetails);
+                when(gradeStatisticsService.getMergedStatistics(List.of(5L), instructorUser))
+                                .thenThrow(new CourseNotFoundException("Course not found with ID: 5"));
+
+                // Act & Assert
+                mockMvc.perform(get("/analytics/courses/{courseId}/grades", 5L))
+                                .andExpect(status().isNotFound())
+                                .andExpect(jsonPath("$.success").value(false));
+        }
+
+        @Test
+        public void testGetAssignmentStatistics_NotInstructor() throws Exception {
+                // Arrange
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(instructorDetails);
+                when(gradeStatisticsService.getAssignmentStatistics(20L, instructorUser))
+                                .thenThrow(new InvalidUser("You are not the instructor of this course"));
+
+                // Act & Assert
+                mockMvc.perform(get("/analytics/assignments/{assignmentId}/grades", 20L))
+                                .andExpect(status().isForbidden())
+                                .andExpect(jsonPath("$.success").value(false));
+        }
+}
@@ -1,6 +1,7 @@
 package com.main.lms.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.main.lms.dtos.LessonOtpDTO;
 import com.main.lms.dtos.LessonRequestDTO;
 import com.main.lms.entities.Course;
 import com.main.lms.entities.CustomUserDetails;
@@ -8,6 +9,7 @@ import com.main.lms.entities.Lesson;
 import com.main.lms.entities.User;
 import com.main.lms.exceptions.InvalidUser;
 import com.main.lms.exceptions.ResourceNotFoundException;
+import com.main.lms.services.LessonOtpService;
 import com.main.lms.services.LessonService;
 import com.main.lms.utility.SessionIdUtility;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +22,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 
@@ -44,6 +47,9 @@ public class LessonControllerTest {
     @MockBean
     private SessionIdUtility sessionIdUtility;
 
+    @MockBean
+    private LessonOtpService lessonOtpService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -219,4 +225,30 @@ public class LessonControllerTest {
                 .andExpect(jsonPath("$.message").value("Update failed"))
                 .andExpect(jsonPath("$.errors[0]").value("Update failed"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetCurrentOtp_Success() throws Exception {
+        Lesson lesson = new Lesson();
+        lesson.setLessonId(1L);
+
+        when(sessionIdUtility.getUserFromSessionId()).thenReturn(userDetails);
+        when(lessonService.getLessonForOtpDisplay(1L, user.getId())).thenReturn(lesson);
+        when(lessonOtpService.current(lesson))
+                .thenReturn(new LessonOtpDTO(1L, "005924", Instant.parse("2009-02-13T23:32:00Z")));
+
+        mockMvc.perform(get("/lessons/{id}/otp", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.code").value("005924"))
+                .andExpect(jsonPath("$.data.validUntil").value("2009-02-13T23:32:00Z"));
+    }
+
+    @Test
+    public void testGetCurrentOtp_NotInstructor() throws Exception {
+        when(sessionIdUtility.getUserFromSessionId()).thenReturn(userDetails);
+        when(lessonService.getLessonForOtpDisplay(1L, user.getId()))
+                .thenThrow(new InvalidUser("You are not the instructor of this course"));
+
+        mockMvc.perform(get("/lessons/{id}/otp", 1L))
+                .andExpect(status().isForbidden());
+    }
+}
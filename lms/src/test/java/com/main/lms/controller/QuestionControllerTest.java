@@ -380,4 +380,40 @@ public class QuestionControllerTest {
                 .andExpect(jsonPath("$.message").value("Not Found"))
                 .andExpect(jsonPath("$.errors[0]").value("Question not found"));
     }
-}
\ No newline at end of file
+
+    // Test for searchQuestions method - Success case
+    @Test
+    public void testSearchQuestions_Success() throws Exception {
+        // Arrange
+        when(sessionIdUtility.getUserFromSessionId()).thenReturn(customUserDetails);
+        when(questionService.searchQuestions(eq(1L), eq("2 +"), eq(Optional.of(QuestionType.MCQ)), eq(20),
+                eq(instructor.getId()))).thenReturn(List.of(question));
+        when(questionService.mapToResponseDTO(any(Question.class))).thenReturn(questionResponseDTO);
+
+        // Act
+        ResultActions resultActions = mockMvc.perform(get("/questions/course/{courseId}/search", 1L)
+                .param("q", "2 +")
+                .param("questionType", "MCQ"));
+
+        // Assert
+        resultActions.andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].questionId").value(1));
+    }
+
+    // Test for getSimilarQuestions method - Success case
+    @Test
+    public void testGetSimilarQuestions_Success() throws Exception {
+        // Arrange
+        when(sessionIdUtility.getUserFromSessionId()).thenReturn(customUserDetails);
+        when(questionService.getSimilarQuestions(1L, 10, instructor.getId())).thenReturn(List.of(
+                new SimilarQuestionDTO(2L, "What is 2 + 3?", QuestionType.MCQ, 0.75)));
+
+        // Act
+        ResultActions resultActions = mockMvc.perform(get("/questions/{id}/similar", 1L));
+
+        // Assert
+        resultActions.andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].questionId").value(2))
+                .andExpect(jsonPath("$.data[0].similarity").value(0.75));
+    }
+}
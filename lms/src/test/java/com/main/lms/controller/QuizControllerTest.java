@@ -7,6 +7,7 @@ import com.main.lms.entities.Quiz;
 import com.main.lms.entities.User;
 import com.main.lms.exceptions.InvalidUser;
 import com.main.lms.exceptions.ResourceNotFoundException;
+import com.main.lms.services.LeaderboardService;
 import com.main.lms.services.QuizService;
 import com.main.lms.utility.SessionIdUtility;
 import org.junit.jupiter.api.BeforeEach;
@@ -43,6 +44,9 @@ public class QuizControllerTest {
     @MockBean
     private SessionIdUtility sessionIdUtility;
 
+    @MockBean
+    private LeaderboardService leaderboardService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -249,4 +253,28 @@ public class QuizControllerTest {
                 .andExpect(jsonPath("$.message").value("Quiz not found"))
                 .andExpect(jsonPath("$.errors[0]").value("Quiz not found"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetQuizLeaderboard_Success() throws Exception {
+        LeaderboardDTO leaderboard = new LeaderboardDTO(1, List.of(new LeaderboardEntryDTO(1, 4L, 9.0)), null);
+        when(sessionIdUtility.getUserFromSessionId()).thenReturn(userDetails);
+        when(leaderboardService.getQuizLeaderboard(1L, 10, null, user)).thenReturn(leaderboard);
+
+        mockMvc.perform(get("/quizzes/{quizId}/leaderboard", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.top[0].studentId").value(4))
+                .andExpect(jsonPath("$.data.top[0].score").value(9.0));
+    }
+
+    @Test
+    public void testGetQuizLeaderboard_QuizNotFound() throws Exception {
+        when(sessionIdUtility.getUserFromSessionId()).thenReturn(userDetails);
+        when(leaderboardService.getQuizLeaderboard(1L, 10, null, user))
+                .thenThrow(new ResourceNotFoundException("Quiz not found with ID: 1"));
+
+        mockMvc.perform(get("/quizzes/{quizId}/leaderboard", 1L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Quiz not found with ID: 1"));
+    }
+}
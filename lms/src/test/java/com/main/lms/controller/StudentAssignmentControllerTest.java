@@ -3,9 +3,13 @@ package com.main.lms.controller;
 import com.main.lms.dtos.*;
 import com.main.lms.entities.CustomUserDetails;
 import com.main.lms.entities.User;
+import com.main.lms.enums.BulkGradeStatus;
+import com.main.lms.enums.SimilarityReportStatus;
 import com.main.lms.enums.UserRole;
 import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.services.BulkGradingService;
 import com.main.lms.services.StudentAssignmentService;
+import com.main.lms.services.SubmissionSimilarityService;
 import com.main.lms.utility.SessionIdUtility;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -25,6 +29,7 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -47,6 +52,12 @@ public class StudentAssignmentControllerTest {
         @MockBean
         private SessionIdUtility sessionIdUtility;
 
+        @MockBean
+        private BulkGradingService bulkGradingService;
+
+        @MockBean
+        private SubmissionSimilarityService submissionSimilarityService;
+
         @Autowired
         private ObjectMapper objectMapper;
 
@@ -240,4 +251,79 @@ public class StudentAssignmentControllerTest {
                                 .andExpect(jsonPath("$.message").value("Assignments for user found"))
                                 .andExpect(jsonPath("$.data").isArray());
         }
-}
\ No newline at end of file
+
+        @Test
+        public void testGradeStudentAssignments_Csv() throws Exception {
+                BulkGradeReportDTO report = new BulkGradeReportDTO();
+                report.add(new BulkGradeResultDTO(1, 7L, BulkGradeStatus.GRADED));
+                report.add(new BulkGradeResultDTO(2, 8L, BulkGradeStatus.NOT_INSTRUCTOR));
+
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(userDetails);
+                when(bulkGradingService.grade(any(), eq(1L))).thenReturn(report);
+
+                mockMvc.perform(put("/student-assignments/grades")
+                                .contentType("text/csv")
+                                .content("submissionId,grade,feedback\n7,90,Good\n8,80,\n"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.message").value("1 of 2 submissions graded"))
+                                .andExpect(jsonPath("$.data.results[1].status").value("NOT_INSTRUCTOR"));
+        }
+
+        @Test
+        public void testGradeStudentAssignments_StoppedPartway() throws Exception {
+                BulkGradeReportDTO report = new BulkGradeReportDTO();
+                report.add(new BulkGradeResultDTO(1, 7L, BulkGradeStatus.GRADED));
+                report.fail(new IllegalStateException("Lock wait timeout exceeded"));
+
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(userDetails);
+                when(bulkGradingService.grade(any(), eq(1L))).thenReturn(report);
+
+                mockMvc.perform(put("/student-assignments/grades")
+                                .contentType("text/csv")
+                                .content("7,90,Good\n8,80,\n"))
+                                .andExpect(status().isMultiStatus())
+                                .andExpect(jsonPath("$.success").value(false))
+                                .andExpect(jsonPath("$.data.graded").value(1))
+                                .andExpect(jsonPath("$.data.failedRow").value(2))
+                                .andExpect(jsonPath("$.errors[0]").value("Lock wait timeout exceeded"));
+        }
+
+        @Test
+        public void testGradeStudentAssignments_MalformedJson() throws Exception {
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(userDetails);
+                when(bulkGradingService.grade(any(), eq(1L))).thenAnswer(invocation -> {
+                        Iterator<BulkGradeRow> rows = invocation.getArgument(0);
+                        rows.forEachRemaining(row -> {
+                        });
+                        return new BulkGradeReportDTO();
+                });
+
+                mockMvc.perform(put("/student-assignments/grades")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[{\"submissionId\": 7,"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.message").value("Failed to import grades"));
+        }
+
+        @Test
+        public void testGetSimilarityReport_Running() throws Exception {
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(userDetails);
+                when(submissionSimilarityService.getReport(5L, 1L)).thenReturn(new SimilarityReportDTO(5L,
+                                SimilarityReportStatus.RUNNING, null, 0, List.of(), List.of()));
+
+                mockMvc.perform(get("/student-assignments/assignments/{assignmentId}/similarity", 5L))
+                                .andExpect(status().isAccepted())
+                                .andExpect(jsonPath("$.data.status").value("RUNNING"));
+        }
+
+        @Test
+        public void testGetSimilarityReport_NotInstructor() throws Exception {
+                when(sessionIdUtility.getUserFromSessionId()).thenReturn(userDetails);
+                when(submissionSimilarityService.getReport(5L, 1L))
+                                .thenThrow(new InvalidUser("You are not the instructor of this course"));
+
+                mockMvc.perform(get("/student-assignments/assignments/{assignmentId}/similarity", 5L))
+                                .andExpect(status().isForbidden())
+                                .andExpect(jsonPath("$.success").value(false));
+        }
+}
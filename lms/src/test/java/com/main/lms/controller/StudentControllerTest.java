@@ -1,10 +1,12 @@
 package com.main.lms.controller;
 
 import com.main.lms.dtos.GradeDTO;
+import com.main.lms.dtos.StudentDashboardDTO;
 import com.main.lms.entities.CustomUserDetails;
 import com.main.lms.entities.User;
 import com.main.lms.exceptions.ResourceNotFoundException;
 import com.main.lms.services.QuizService;
+import com.main.lms.services.StudentDashboardService;
 import com.main.lms.utility.SessionIdUtility;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -39,6 +41,9 @@ public class StudentControllerTest {
     @MockBean
     private SessionIdUtility sessionIdUtility;
 
+    @MockBean
+    private StudentDashboardService studentDashboardService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -123,5 +128,28 @@ public class StudentControllerTest {
                 .andExpect(jsonPath("$.errors[0]").value("Grades not found"));
     }
 
-    
-}
\ No newline at end of file
+    @Test
+    public void testGetDashboardForCurrentUser_Success() throws Exception {
+        StudentDashboardDTO dashboard = new StudentDashboardDTO();
+        dashboard.setStudentId(1L);
+        dashboard.setUnreadNotifications(3L);
+        dashboard.getUnavailable().add("attendance");
+
+        when(sessionIdUtility.getUserFromSessionId()).thenReturn(userDetails);
+        when(studentDashboardService.getDashboard(user.getId())).thenReturn(dashboard);
+
+        mockMvc.perform(get("/students/me/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.unreadNotifications").value(3))
+                .andExpect(jsonPath("$.data.unavailable[0]").value("attendance"));
+    }
+
+    @Test
+    public void testGetDashboardForCurrentUser_Unauthenticated() throws Exception {
+        when(sessionIdUtility.getUserFromSessionId()).thenThrow(new ClassCastException());
+
+        mockMvc.perform(get("/students/me/dashboard"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+}
@@ -0,0 +1,121 @@
+package com.main.lms.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two embedded H2 databases stand in for the primary and the replica; each knows its own name
+public class ReplicaRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private final AtomicReference<Duration> lag = new AtomicReference<>(Duration.ZERO);
+    private final AtomicLong clock = new AtomicLong();
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        ReplicaLagGuard lagGuard = new ReplicaLagGuard(replica, dataSource -> lag.get(),
+                Duration.ofSeconds(5), Duration.ofSeconds(1), clock::get);
+        LazyConnectionDataSourceProxy dataSource =
+                new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, lagGuard));
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + "-" + System.nanoTime())
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("create table source (name varchar(16))");
+        jdbc.update("insert into source values (?)", name);
+        return database;
+    }
+
+    private String source() {
+        return jdbcTemplate.queryForObject("select name from source", String.class);
+    }
+
+    @Test
+    void testReadOnlyTransaction_UsesReplica() {
+        assertEquals("replica", readOnly.execute(status -> source()));
+    }
+
+    @Test
+    void testReadWriteTransaction_UsesPrimary() {
+        assertEquals("primary", readWrite.execute(status -> source()));
+    }
+
+    @Test
+    void testNoTransaction_UsesPrimary() {
+        assertEquals("primary", source());
+    }
+
+    @Test
+    void testReplicaBehind_FallsBackToPrimary() {
+        lag.set(Duration.ofSeconds(30));
+
+        assertEquals("primary", readOnly.execute(status -> source()));
+    }
+
+    @Test
+    void testUnknownLag_FallsBackToPrimary() {
+        lag.set(null);
+
+        assertEquals("primary", readOnly.execute(status -> source()));
+    }
+
+    @Test
+    void testLagCheckFails_FallsBackToPrimary() {
+        ReplicaLagGuard failing = new ReplicaLagGuard(replica, dataSource -> {
+            throw new SQLException("replica down");
+        }, Duration.ofSeconds(5), Duration.ofSeconds(1), clock::get);
+
+        assertFalse(failing.replicaUsable());
+    }
+
+    @Test
+    void testLagIsRemeasuredOncePerInterval() {
+        lag.set(Duration.ofSeconds(30));
+        assertEquals("primary", readOnly.execute(status -> source()));
+
+        // Caught up, but the last measurement is still current
+        lag.set(Duration.ZERO);
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        assertEquals("primary", readOnly.execute(status -> source()));
+
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        assertEquals("replica", readOnly.execute(status -> source()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.main.lms.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryBudgetFilterTest {
+
+    private final QueryCountingStatementInspector inspector = new QueryCountingStatementInspector();
+    private SimpleMeterRegistry meterRegistry;
+    private QueryBudgetFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        QueryBudgetProperties properties = new QueryBudgetProperties();
+        properties.setDefaultBudget(10);
+        properties.getEndpoints().put("GET /quizzes/{quizId}", 2);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new QueryBudgetFilter(properties, meterRegistry);
+    }
+
+    // Simulates a handler that runs the given number of SQL statements
+    private FilterChain handlerRunning(int statements) {
+        return (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/quizzes/{quizId}");
+            for (int i = 0; i < statements; i++) {
+                inspector.inspect("select * from quiz where quiz_id=?");
+            }
+        };
+    }
+
+    @Test
+    void testDoFilter_WithinBudget() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/quizzes/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), handlerRunning(2));
+
+        assertEquals(2L, request.getAttribute(QueryBudgetFilter.QUERY_COUNT_ATTRIBUTE));
+        assertNull(meterRegistry.find("lms.query.budget.exceeded").counter());
+        assertEquals(2.0, meterRegistry.get("lms.sql.statements.per.request")
+                .tags("method", "GET", "uri", "/quizzes/{quizId}").summary().totalAmount());
+    }
+
+    @Test
+    void testDoFilter_OverBudget() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/quizzes/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), handlerRunning(5));
+
+        assertEquals(5L, request.getAttribute(QueryBudgetFilter.QUERY_COUNT_ATTRIBUTE));
+        Counter exceeded = meterRegistry.find("lms.query.budget.exceeded")
+                .tags("method", "GET", "uri", "/quizzes/{quizId}").counter();
+        assertNotNull(exceeded);
+        assertEquals(1.0, exceeded.count());
+    }
+
+    @Test
+    void testQueryCounter_CountsNestedWork() {
+        long outer = QueryCounter.count(() -> {
+            inspector.inspect("select 1");
+            long inner = QueryCounter.count(() -> inspector.inspect("select 2"));
+            assertEquals(1, inner);
+        });
+
+        assertEquals(2, outer);
+    }
+}
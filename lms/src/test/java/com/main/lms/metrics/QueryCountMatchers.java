@@ -0,0 +1,41 @@
+package com.main.lms.metrics;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MockMvc matchers over the SQL statement count recorded by {@link QueryBudgetFilter}.
+ * Needs a context with the filter registered, e.g. {@code @SpringBootTest @AutoConfigureMockMvc}:
+ *
+ * <pre>
+ * mockMvc.perform(get("/quizzes/courses/1")).andExpect(QueryCountMatchers.atMost(4));
+ * </pre>
+ */
+public final class QueryCountMatchers {
+
+    private QueryCountMatchers() {
+    }
+
+    public static ResultMatcher atMost(long statements) {
+        return result -> {
+            long actual = statementsOf(result.getRequest().getAttribute(QueryBudgetFilter.QUERY_COUNT_ATTRIBUTE));
+            assertTrue(actual <= statements,
+                    "Expected at most " + statements + " SQL statements but request executed " + actual);
+        };
+    }
+
+    public static ResultMatcher exactly(long statements) {
+        return result -> {
+            long actual = statementsOf(result.getRequest().getAttribute(QueryBudgetFilter.QUERY_COUNT_ATTRIBUTE));
+            assertTrue(actual == statements,
+                    "Expected " + statements + " SQL statements but request executed " + actual);
+        };
+    }
+
+    private static long statementsOf(Object attribute) {
+        assertNotNull(attribute, "No query count recorded, is QueryBudgetFilter registered?");
+        return (Long) attribute;
+    }
+}
@@ -0,0 +1,81 @@
+package com.main.lms.metrics;
+
+import com.main.lms.exceptions.ResourceNotFoundException;
+import com.main.lms.services.CourseService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ServiceMetricsAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private MethodSignature signature;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ServiceMetricsAspect aspect;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new ServiceMetricsAspect(meterRegistry);
+        Method method = CourseService.class.getMethod("getCourseById", Long.class);
+        lenient().when(joinPoint.getSignature()).thenReturn(signature);
+        lenient().when(signature.getMethod()).thenReturn(method);
+    }
+
+    @Test
+    void testTime_RecordsSuccessfulCall() throws Throwable {
+        when(joinPoint.proceed()).thenReturn("result");
+
+        Object result = aspect.time(joinPoint);
+        aspect.time(joinPoint);
+
+        assertEquals("result", result);
+        Timer timer = meterRegistry.find("lms.service")
+                .tags("class", "CourseService", "method", "getCourseById", "exception", "none")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void testTime_RecordsExceptionAndRethrows() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(new ResourceNotFoundException("Course not found"));
+
+        assertThrows(ResourceNotFoundException.class, () -> aspect.time(joinPoint));
+
+        Timer timer = meterRegistry.find("lms.service")
+                .tags("method", "getCourseById", "exception", "ResourceNotFoundException")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void testRepositoryInvocations_CountsOnlyWithinRequest() {
+        RepositoryInvocations.increment();
+        assertEquals(0, RepositoryInvocations.current());
+
+        RepositoryInvocations.start();
+        RepositoryInvocations.increment();
+        RepositoryInvocations.increment();
+        assertEquals(2, RepositoryInvocations.stop());
+        assertEquals(0, RepositoryInvocations.current());
+    }
+}
@@ -0,0 +1,161 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.ActiveStudentSummaryDTO;
+import com.main.lms.dtos.ActiveStudentsDTO;
+import com.main.lms.entities.ActiveStudentSketch;
+import com.main.lms.entities.User;
+import com.main.lms.enums.ActivityType;
+import com.main.lms.enums.UserRole;
+import com.main.lms.exceptions.CourseNotFoundException;
+import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.repositories.ActiveStudentSketchRepository;
+import com.main.lms.repositories.CourseRepository;
+import com.main.lms.services.ActiveStudentService.Key;
+import com.main.lms.utility.ActivityLog.Event;
+import com.main.lms.utility.HyperLogLog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ActiveStudentServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 10);
+    private static final long DAY_MILLIS = DAY.toEpochDay() * 86_400_000L;
+
+    @Mock
+    private ActiveStudentSketchRepository sketchRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @InjectMocks
+    private ActiveStudentService activeStudentService;
+
+    @Captor
+    private ArgumentCaptor<List<ActiveStudentSketch>> created;
+
+    private User admin;
+
+    @BeforeEach
+    public void setUp() {
+        admin = new User();
+        admin.setId(1L);
+        admin.setRole(UserRole.ADMIN);
+    }
+
+    private static ActiveStudentSketch row(LocalDate day, long courseId, long... studentIds) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long studentId : studentIds) {
+            sketch.add(studentId);
+        }
+        ActiveStudentSketch row = new ActiveStudentSketch();
+        row.setDay(day);
+        row.setCourseId(courseId);
+        row.setRegisters(sketch.toBytes());
+        return row;
+    }
+
+    @Test
+    public void testCollect_StudentActivityOnlyPerCourseAndPlatform() {
+        Map<Key, HyperLogLog> sketches = new HashMap<>();
+
+        ActiveStudentService.collect(sketches, new Event(DAY_MILLIS + 5, ActivityType.QUIZ_SUBMITTED, 4, 3, 9));
+        ActiveStudentService.collect(sketches, new Event(DAY_MILLIS + 6, ActivityType.LOGGED_IN, 5, 0, 0));
+        // graded by the instructor, not the student's doing
+        ActiveStudentService.collect(sketches, new Event(DAY_MILLIS + 7, ActivityType.ASSIGNMENT_GRADED, 6, 3, 20));
+        ActiveStudentService.collect(sketches, new Event(DAY_MILLIS - 1, ActivityType.LESSON_ATTENDED, 4, 3, 8));
+
+        assertEquals(Set.of(new Key(DAY, 0), new Key(DAY, 3), new Key(DAY.minusDays(1), 0),
+                new Key(DAY.minusDays(1), 3)), sketches.keySet());
+        assertEquals(2, sketches.get(new Key(DAY, 0)).estimate());
+        assertEquals(1, sketches.get(new Key(DAY, 3)).estimate());
+    }
+
+    @Test
+    public void testMerge_CreatesMissingRowsAndUnionsExistingOnes() {
+        ActiveStudentSketch unchanged = row(DAY, 3, 4, 5);
+        byte[] unchangedBytes = unchanged.getRegisters();
+        ActiveStudentSketch grown = row(DAY, 0, 4);
+        when(sketchRepository.findByDayInAndCourseIdIn(Set.of(DAY), Set.of(0L, 3L, 7L)))
+                .thenReturn(List.of(unchanged, grown));
+        Map<Key, HyperLogLog> sketches = new HashMap<>();
+        for (long student : new long[] { 4, 5 }) {
+            ActiveStudentService.collect(sketches, new Event(DAY_MILLIS, ActivityType.QUIZ_SUBMITTED, student, 3, 9));
+        }
+        ActiveStudentService.collect(sketches, new Event(DAY_MILLIS, ActivityType.MATERIAL_DOWNLOADED, 6, 7, 0));
+
+        activeStudentService.merge(sketches);
+
+        assertSame(unchangedBytes, unchanged.getRegisters());
+        assertEquals(3, HyperLogLog.fromBytes(grown.getRegisters()).estimate());
+        verify(sketchRepository).saveAll(created.capture());
+        assertEquals(1, created.getValue().size());
+        assertEquals(7L, created.getValue().get(0).getCourseId());
+        assertEquals(DAY, created.getValue().get(0).getDay());
+    }
+
+    @Test
+    public void testGetActiveStudents_StudentsCountedOnceAcrossDays() {
+        when(courseRepository.existsById(3L)).thenReturn(true);
+        when(sketchRepository.findByCourseIdAndDayBetween(3L, DAY.minusDays(1), DAY)).thenReturn(List.of(
+                row(DAY.minusDays(1), 3, 4, 5, 6),
+                row(DAY, 3, 5, 6, 7)));
+
+        ActiveStudentsDTO activeStudents = activeStudentService.getActiveStudents(3L, DAY.minusDays(1), DAY, admin);
+
+        assertEquals(4, activeStudents.getActiveStudents());
+        assertEquals(3L, activeStudents.getCourseId());
+    }
+
+    @Test
+    public void testGetSummary_DailyWeeklyMonthly() {
+        when(sketchRepository.findByCourseIdAndDayBetween(0L, DAY.minusDays(29), DAY)).thenReturn(List.of(
+                row(DAY.minusDays(20), 0, 1, 2, 3),
+                row(DAY.minusDays(6), 0, 3, 4),
+                row(DAY, 0, 4, 5)));
+
+        ActiveStudentSummaryDTO summary = activeStudentService.getSummary(null, DAY, admin);
+
+        assertEquals(2, summary.getDaily());
+        assertEquals(3, summary.getWeekly());
+        assertEquals(5, summary.getMonthly());
+        assertNull(summary.getCourseId());
+        verifyNoInteractions(courseRepository);
+    }
+
+    @Test
+    public void testGetSummary_NotAdmin_Throws() {
+        User instructor = new User();
+        instructor.setId(2L);
+        instructor.setRole(UserRole.INSTRUCTOR);
+
+        assertThrows(InvalidUser.class, () -> activeStudentService.getSummary(3L, DAY, instructor));
+        verifyNoInteractions(sketchRepository);
+    }
+
+    @Test
+    public void testGetActiveStudents_UnknownCourseOrBadRange_Throws() {
+        when(courseRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(CourseNotFoundException.class,
+                () -> activeStudentService.getActiveStudents(99L, DAY, DAY, admin));
+        assertThrows(IllegalArgumentException.class,
+                () -> activeStudentService.getActiveStudents(null, DAY, DAY.minusDays(1), admin));
+        assertThrows(IllegalArgumentException.class,
+                () -> activeStudentService.getActiveStudents(null, DAY.minusDays(400), DAY, admin));
+        verifyNoInteractions(sketchRepository);
+    }
+}
@@ -0,0 +1,238 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.ActivityBucketDTO;
+import com.main.lms.entities.ActivityLogCheckpoint;
+import com.main.lms.entities.ActivityRollup;
+import com.main.lms.entities.Course;
+import com.main.lms.entities.User;
+import com.main.lms.enums.ActivityGranularity;
+import com.main.lms.enums.ActivityType;
+import com.main.lms.enums.UserRole;
+import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.repositories.ActivityLogCheckpointRepository;
+import com.main.lms.repositories.ActivityRollupRepository;
+import com.main.lms.repositories.CourseRepository;
+import com.main.lms.utility.ActivityLog.Event;
+import com.main.lms.utility.ActivityLog.Position;
+import com.main.lms.utility.HyperLogLog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ActivityRollupServiceTest {
+
+    private static final long HOUR = 3_600_000L;
+    private static final long NOW = Duration.ofDays(10).toMillis();
+
+    @Mock
+    private ActivityLogService activityLogService;
+
+    @Mock
+    private ActiveStudentService activeStudentService;
+
+    @Mock
+    private ActivityRollupRepository rollupRepository;
+
+    @Mock
+    private ActivityLogCheckpointRepository checkpointRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @InjectMocks
+    private ActivityRollupService activityRollupService;
+
+    @Captor
+    private ArgumentCaptor<List<ActivityRollup>> created;
+
+    @Captor
+    private ArgumentCaptor<Map<ActiveStudentService.Key, HyperLogLog>> sketches;
+
+    private final Position start = new Position(0, 16);
+    private User instructor;
+
+    @BeforeEach
+    public void setUp() {
+        activityRollupService.clock = () -> NOW;
+        instructor = new User();
+        instructor.setId(1L);
+        instructor.setRole(UserRole.INSTRUCTOR);
+    }
+
+    private void stubScan(Position from, Position to, Event... events) throws Exception {
+        when(activityLogService.scan(eq(from), any())).thenAnswer(invocation -> {
+            Consumer<Event> sink = invocation.getArgument(1);
+            for (Event event : events) {
+                sink.accept(event);
+            }
+            return to;
+        });
+    }
+
+    @Test
+    public void testRollup_AddsCountsToEveryGranularityAndSavesCheckpoint() throws Exception {
+        Position end = new Position(0, 124);
+        when(checkpointRepository.findById("local")).thenReturn(Optional.empty());
+        when(activityLogService.start()).thenReturn(start);
+        when(activityLogService.end()).thenReturn(end);
+        stubScan(start, end,
+                new Event(HOUR + 1_000, ActivityType.QUIZ_SUBMITTED, 4, 3, 9),
+                new Event(HOUR + 2_000, ActivityType.QUIZ_SUBMITTED, 5, 3, 9),
+                new Event(HOUR + 61_000, ActivityType.ENROLLED, 6, 3, 0));
+        ActivityRollup existing = new ActivityRollup();
+        existing.setGranularity(ActivityGranularity.HOUR);
+        existing.setBucketStart(HOUR);
+        existing.setActivityType(ActivityType.QUIZ_SUBMITTED);
+        existing.setCourseId(3L);
+        existing.setEventCount(5L);
+        when(rollupRepository.findByGranularityAndBucketStartIn(ActivityGranularity.MINUTE,
+                Set.of(HOUR, HOUR + 60_000))).thenReturn(List.of());
+        when(rollupRepository.findByGranularityAndBucketStartIn(ActivityGranularity.HOUR, Set.of(HOUR)))
+                .thenReturn(List.of(existing));
+        when(rollupRepository.findByGranularityAndBucketStartIn(ActivityGranularity.DAY, Set.of(0L)))
+                .thenReturn(List.of());
+
+        activityRollupService.rollup();
+
+        assertEquals(7L, existing.getEventCount());
+        verify(rollupRepository).saveAll(created.capture());
+        // two minute rows, the hour's enrollment row and two day rows
+        assertEquals(5, created.getValue().size());
+        ActivityRollup day = created.getValue().stream()
+                .filter(row -> row.getGranularity() == ActivityGranularity.DAY
+                        && row.getActivityType() == ActivityType.QUIZ_SUBMITTED)
+                .findFirst().orElseThrow();
+        assertEquals(2L, day.getEventCount());
+        assertEquals(0L, day.getBucketStart());
+
+        ArgumentCaptor<ActivityLogCheckpoint> checkpoint = ArgumentCaptor.forClass(ActivityLogCheckpoint.class);
+        verify(checkpointRepository).save(checkpoint.capture());
+        assertEquals("local", checkpoint.getValue().getNode());
+        assertEquals(124L, checkpoint.getValue().getOffset());
+        verify(rollupRepository).deleteOlderThan(ActivityGranularity.MINUTE, Duration.ofDays(8).toMillis());
+        verify(activityLogService).deleteBefore(start, NOW - Duration.ofDays(30).toMillis());
+
+        // the two quiz submitters, in course 3 and on the platform; enrolling is not activity
+        verify(activeStudentService).merge(sketches.capture());
+        LocalDate day = LocalDate.ofEpochDay(0);
+        assertEquals(Set.of(new ActiveStudentService.Key(day, 3), new ActiveStudentService.Key(day, 0)),
+                sketches.getValue().keySet());
+        assertEquals(2, sketches.getValue().get(new ActiveStudentService.Key(day, 3)).estimate());
+    }
+
+    @Test
+    public void testRollup_NothingNew_OnlyMovesCheckpoint() throws Exception {
+        ActivityLogCheckpoint checkpoint = new ActivityLogCheckpoint();
+        checkpoint.setNode("local");
+        checkpoint.setSegment(2L);
+        checkpoint.setOffset(52L);
+        Position from = new Position(2, 52);
+        when(checkpointRepository.findById("local")).thenReturn(Optional.of(checkpoint));
+        when(activityLogService.end()).thenReturn(from);
+        stubScan(from, from);
+
+        activityRollupService.rollup();
+
+        verify(rollupRepository, never()).saveAll(any());
+        verifyNoInteractions(activeStudentService);
+        verify(checkpointRepository).save(checkpoint);
+        verify(activityLogService).deleteBefore(from, NOW - Duration.ofDays(30).toMillis());
+    }
+
+    @Test
+    public void testRollup_CheckpointPastEndOfLog_StartsOver() throws Exception {
+        ActivityLogCheckpoint checkpoint = new ActivityLogCheckpoint();
+        checkpoint.setNode("local");
+        checkpoint.setSegment(9L);
+        checkpoint.setOffset(16L);
+        Position end = new Position(0, 52);
+        when(checkpointRepository.findById("local")).thenReturn(Optional.of(checkpoint));
+        when(activityLogService.hasSegment(9L)).thenReturn(false);
+        when(activityLogService.start()).thenReturn(start);
+        when(activityLogService.end()).thenReturn(end);
+        stubScan(start, end, new Event(HOUR, ActivityType.LESSON_ATTENDED, 4, 3, 8));
+
+        activityRollupService.rollup();
+
+        verify(rollupRepository).saveAll(created.capture());
+        assertEquals(3, created.getValue().size());
+        assertEquals(0L, checkpoint.getSegment());
+        assertEquals(52L, checkpoint.getOffset());
+    }
+
+    @Test
+    public void testRollup_CheckpointPastEndOfItsSegment_ResumesFromEnd() throws Exception {
+        ActivityLogCheckpoint checkpoint = new ActivityLogCheckpoint();
+        checkpoint.setNode("local");
+        checkpoint.setSegment(2L);
+        checkpoint.setOffset(88L);
+        Position end = new Position(2, 52);
+        when(checkpointRepository.findById("local")).thenReturn(Optional.of(checkpoint));
+        when(activityLogService.hasSegment(2L)).thenReturn(true);
+        when(activityLogService.end()).thenReturn(end);
+        stubScan(end, end);
+
+        activityRollupService.rollup();
+
+        verify(activityLogService, never()).start();
+        verify(rollupRepository, never()).saveAll(any());
+        assertEquals(2L, checkpoint.getSegment());
+        assertEquals(52L, checkpoint.getOffset());
+    }
+
+    @Test
+    public void testGetActivity_CourseOfAnotherInstructor_Throws() {
+        User other = new User();
+        other.setId(2L);
+        Course course = new Course();
+        course.setId(3L);
+        course.setInstructor(other);
+        when(courseRepository.findById(3L)).thenReturn(Optional.of(course));
+
+        assertThrows(InvalidUser.class, () -> activityRollupService.getActivity(3L, ActivityGranularity.HOUR,
+                Instant.ofEpochMilli(0), Instant.ofEpochMilli(HOUR * 24), instructor));
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    public void testGetActivity_AllCourses_AdminOnly() {
+        List<ActivityBucketDTO> totals = List.of(new ActivityBucketDTO(HOUR, ActivityType.ENROLLED, 4L));
+        when(rollupRepository.findTotalBuckets(ActivityGranularity.HOUR, 0L, HOUR * 24)).thenReturn(totals);
+        User admin = new User();
+        admin.setId(9L);
+        admin.setRole(UserRole.ADMIN);
+
+        assertEquals(totals, activityRollupService.getActivity(null, ActivityGranularity.HOUR,
+                Instant.ofEpochMilli(0), Instant.ofEpochMilli(HOUR * 24), admin));
+        assertThrows(InvalidUser.class, () -> activityRollupService.getActivity(null, ActivityGranularity.HOUR,
+                Instant.ofEpochMilli(0), Instant.ofEpochMilli(HOUR * 24), instructor));
+    }
+
+    @Test
+    public void testGetActivity_TooManyBuckets_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> activityRollupService.getActivity(3L,
+                ActivityGranularity.MINUTE, Instant.ofEpochMilli(0), Instant.ofEpochMilli(HOUR * 24 * 30), instructor));
+        assertThrows(IllegalArgumentException.class, () -> activityRollupService.getActivity(3L,
+                ActivityGranularity.DAY, Instant.ofEpochMilli(HOUR), Instant.ofEpochMilli(HOUR), instructor));
+        verifyNoInteractions(courseRepository, rollupRepository);
+    }
+}
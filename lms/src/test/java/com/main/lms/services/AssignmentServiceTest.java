@@ -1,6 +1,7 @@
 package com.main.lms.services;
 
 import com.main.lms.dtos.AssignmentResponseDTO;
+import com.main.lms.dtos.AssignmentRow;
 import com.main.lms.dtos.CreateAssignmentDTO;
 import com.main.lms.entities.*;
 import com.main.lms.enums.UserRole;
@@ -110,7 +111,7 @@ public class AssignmentServiceTest {
         verify(enrolledCourseRepository).findByCourse(course);
         verify(notificationService).notifyUser(instructor.getId(),
                 "New Assignment Created Successfully for course " + course.getTitle());
-        verify(notificationService).notifyUser(student.getId(),
+        verify(notificationService).notifyUsers(List.of(student),
                 "New Assignment has been posted for course " + course.getTitle());
     }
 
@@ -211,7 +212,7 @@ public class AssignmentServiceTest {
         verify(assignmentRepository).save(assignment);
         verify(notificationService).notifyUser(instructor.getId(),
                 "Assignment Updated Successfully for course " + course.getTitle());
-        verify(notificationService).notifyUser(student.getId(),
+        verify(notificationService).notifyUsers(List.of(student),
                 "Assignment Updated Successfully for course " + course.getTitle());
     }
 
@@ -366,9 +367,10 @@ public class AssignmentServiceTest {
     @Test
     public void testGetAssignmentByCourseId_Success() {
         // Arrange
-        List<Assignment> assignments = Arrays.asList(assignment);
-        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
-        when(assignmentRepository.findByCourse(course)).thenReturn(assignments);
+        List<AssignmentRow> assignments = Arrays.asList(new AssignmentRow(assignment.getAssignmentId(), course.getId(),
+                instructor.getName(), course.getTitle(), course.getDuration(), course.getDescription(),
+                assignment.getInstructions(), assignment.getMaxGrade()));
+        when(assignmentRepository.findRowsByCourseId(course.getId())).thenReturn(assignments);
 
         // Act
         List<AssignmentResponseDTO> responseDTOs = assignmentService.getAssignmentbyCourseId(course.getId());
@@ -381,15 +383,17 @@ public class AssignmentServiceTest {
         assertEquals(assignment.getCourse().getId(), responseDTO.getCourse().getId());
         assertEquals(assignment.getInstructions(), responseDTO.getInstructions());
         assertEquals(assignment.getMaxGrade(), responseDTO.getMaxGrade());
+        assertEquals(instructor.getName(), responseDTO.getCourse().getInstructorName());
 
-        verify(courseRepository).findById(course.getId());
-        verify(assignmentRepository).findByCourse(course);
+        verify(assignmentRepository).findRowsByCourseId(course.getId());
+        verify(courseRepository, never()).existsById(anyLong());
     }
 
     @Test
     public void testGetAssignmentByCourseId_CourseNotFound() {
         // Arrange
-        when(courseRepository.findById(course.getId())).thenReturn(Optional.empty());
+        when(assignmentRepository.findRowsByCourseId(course.getId())).thenReturn(Collections.emptyList());
+        when(courseRepository.existsById(course.getId())).thenReturn(false);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () ->
@@ -397,7 +401,6 @@ public class AssignmentServiceTest {
 
         assertEquals("Course not found with ID: " + course.getId(), exception.getMessage());
 
-        verify(courseRepository).findById(course.getId());
-        verify(assignmentRepository, never()).findByCourse(any(Course.class));
+        verify(courseRepository).existsById(course.getId());
     }
 }
\ No newline at end of file
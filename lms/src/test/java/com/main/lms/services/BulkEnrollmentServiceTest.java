@@ -0,0 +1,222 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.BulkEnrollmentReportDTO;
+import com.main.lms.dtos.BulkEnrollmentResultDTO;
+import com.main.lms.dtos.BulkEnrollmentRow;
+import com.main.lms.dtos.EnrollmentKey;
+import com.main.lms.entities.Course;
+import com.main.lms.entities.EnrolledCourse;
+import com.main.lms.entities.User;
+import com.main.lms.enums.BulkEnrollmentStatus;
+import com.main.lms.enums.UserRole;
+import com.main.lms.repositories.CourseRepository;
+import com.main.lms.repositories.EnrolledCourseRepository;
+import com.main.lms.repositories.UserRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BulkEnrollmentServiceTest {
+
+    @Mock
+    private EnrolledCourseRepository enrollmentRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private AsyncNotificationService asyncNotificationService;
+
+    @Mock
+    private CourseSeatService courseSeatService;
+
+    @Mock
+    private CourseRecommendationService courseRecommendationService;
+
+    @Mock
+    private ActivityLogService activityLogService;
+
+    @InjectMocks
+    private BulkEnrollmentService bulkEnrollmentService;
+
+    @Captor
+    private ArgumentCaptor<List<EnrolledCourse>> saved;
+
+    private User student;
+    private User otherStudent;
+    private User instructor;
+    private Course course;
+
+    @BeforeEach
+    public void setUp() {
+        student = user(1L, UserRole.STUDENT);
+        otherStudent = user(2L, UserRole.STUDENT);
+        instructor = user(3L, UserRole.INSTRUCTOR);
+
+        course = new Course();
+        course.setId(10L);
+        course.setTitle("Course Title");
+        course.setInstructor(instructor);
+    }
+
+    private static User user(Long id, UserRole role) {
+        User user = new User();
+        user.setId(id);
+        user.setName("User " + id);
+        user.setRole(role);
+        return user;
+    }
+
+    private static BulkEnrollmentRow row(int row, Long studentId, Long courseId) {
+        return new BulkEnrollmentRow(row, studentId, courseId, null);
+    }
+
+    private static List<BulkEnrollmentStatus> statuses(BulkEnrollmentReportDTO report) {
+        return report.getResults().stream().map(BulkEnrollmentResultDTO::getStatus).toList();
+    }
+
+    @Test
+    public void testEnroll_ReportsEveryRowInOrder() {
+        List<BulkEnrollmentRow> rows = List.of(
+                row(1, 1L, 10L),
+                row(2, 1L, 10L),
+                row(3, 2L, 10L),
+                row(4, 3L, 10L),
+                row(5, 99L, 10L),
+                row(6, 1L, 99L),
+                new BulkEnrollmentRow(7, null, null, "Ids must be numbers"));
+
+        when(userRepository.findAllById(anyCollection())).thenReturn(List.of(student, otherStudent, instructor));
+        when(courseRepository.findAllById(anyCollection())).thenReturn(List.of(course));
+        when(enrollmentRepository.findKeys(anyCollection(), anyCollection()))
+                .thenReturn(List.of(new EnrollmentKey(2L, 10L)));
+        when(enrollmentRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BulkEnrollmentReportDTO report = bulkEnrollmentService.enroll(rows.iterator());
+
+        assertEquals(List.of(
+                BulkEnrollmentStatus.ENROLLED,
+                BulkEnrollmentStatus.DUPLICATE_ROW,
+                BulkEnrollmentStatus.ALREADY_ENROLLED,
+                BulkEnrollmentStatus.NOT_A_STUDENT,
+                BulkEnrollmentStatus.STUDENT_NOT_FOUND,
+                BulkEnrollmentStatus.COURSE_NOT_FOUND,
+                BulkEnrollmentStatus.INVALID_ROW), statuses(report));
+        assertEquals(7, report.getTotal());
+        assertEquals(1, report.getEnrolled());
+        assertEquals(6, report.getRejected());
+
+        verify(enrollmentRepository, times(1)).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        assertEquals(student, saved.getValue().get(0).getStudent());
+        assertEquals(course, saved.getValue().get(0).getCourse());
+        verify(courseSeatService).add(10L, 1);
+        verify(asyncNotificationService).notifyUsers(eq(List.of(student)), contains("Course Title"));
+        verify(asyncNotificationService).notifyUsers(eq(List.of(instructor)), startsWith("1 new students"));
+    }
+
+    @Test
+    public void testEnroll_LooksUpEachChunkOnce() {
+        List<BulkEnrollmentRow> rows = new ArrayList<>();
+        for (int i = 1; i <= BulkEnrollmentService.CHUNK_SIZE + 1; i++) {
+            rows.add(row(i, (long) i, 10L));
+        }
+
+        when(userRepository.findAllById(anyCollection())).thenReturn(List.of());
+        when(courseRepository.findAllById(anyCollection())).thenReturn(List.of(course));
+        when(enrollmentRepository.findKeys(anyCollection(), anyCollection())).thenReturn(List.of());
+
+        BulkEnrollmentReportDTO report = bulkEnrollmentService.enroll(rows.iterator());
+
+        assertEquals(BulkEnrollmentService.CHUNK_SIZE + 1, report.getRejected());
+        verify(userRepository, times(2)).findAllById(anyCollection());
+        verify(enrollmentRepository, times(2)).findKeys(anyCollection(), anyCollection());
+        // The course is remembered from the first chunk
+        verify(courseRepository, times(1)).findAllById(anyCollection());
+        verify(enrollmentRepository, never()).saveAll(anyList());
+        verifyNoInteractions(asyncNotificationService);
+    }
+
+    @Test
+    public void testEnroll_ConcurrentEnrollment_RetriesRowByRow() {
+        List<BulkEnrollmentRow> rows = List.of(row(1, 1L, 10L), row(2, 2L, 10L));
+
+        when(userRepository.findAllById(anyCollection())).thenReturn(List.of(student, otherStudent));
+        when(courseRepository.findAllById(anyCollection())).thenReturn(List.of(course));
+        when(enrollmentRepository.findKeys(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(enrollmentRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(enrollmentRepository.save(any(EnrolledCourse.class))).thenAnswer(invocation -> {
+            EnrolledCourse enrollment = invocation.getArgument(0);
+            if (enrollment.getStudent() == otherStudent) {
+                throw new DataIntegrityViolationException("duplicate");
+            }
+            return enrollment;
+        });
+
+        BulkEnrollmentReportDTO report = bulkEnrollmentService.enroll(rows.iterator());
+
+        assertEquals(List.of(BulkEnrollmentStatus.ENROLLED, BulkEnrollmentStatus.ALREADY_ENROLLED), statuses(report));
+        verify(asyncNotificationService).notifyUsers(eq(List.of(student)), anyString());
+    }
+
+    @Test
+    public void testEnroll_UploadBreaksOff_ReportsCommittedChunksAndFailedRow() {
+        List<BulkEnrollmentRow> rows = new ArrayList<>();
+        for (int i = 1; i <= BulkEnrollmentService.CHUNK_SIZE + 3; i++) {
+            rows.add(row(i, 1L, 10L));
+        }
+        Iterator<BulkEnrollmentRow> read = rows.iterator();
+        Iterator<BulkEnrollmentRow> breaksOff = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public BulkEnrollmentRow next() {
+                if (!read.hasNext()) {
+                    throw new UncheckedIOException(new IOException("Connection reset"));
+                }
+                return read.next();
+            }
+        };
+
+        when(userRepository.findAllById(anyCollection())).thenReturn(List.of(student));
+        when(courseRepository.findAllById(anyCollection())).thenReturn(List.of(course));
+        when(enrollmentRepository.findKeys(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(enrollmentRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BulkEnrollmentReportDTO report = bulkEnrollmentService.enroll(breaksOff);
+
+        // the first chunk is committed, the three rows read after it are not
+        assertEquals(BulkEnrollmentService.CHUNK_SIZE, report.getTotal());
+        assertEquals(1, report.getEnrolled());
+        assertEquals(BulkEnrollmentService.CHUNK_SIZE + 1, report.getFailedRow());
+        assertTrue(report.getError().contains("Connection reset"));
+        verify(enrollmentRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    public void testEnroll_EmptyUpload() {
+        BulkEnrollmentReportDTO report = bulkEnrollmentService.enroll(Collections.emptyIterator());
+
+        assertEquals(0, report.getTotal());
+        verifyNoInteractions(userRepository, courseRepository, enrollmentRepository, asyncNotificationService);
+    }
+}
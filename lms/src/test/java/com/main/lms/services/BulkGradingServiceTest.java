@@ -0,0 +1,193 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.BulkGradeReportDTO;
+import com.main.lms.dtos.BulkGradeResultDTO;
+import com.main.lms.dtos.BulkGradeRow;
+import com.main.lms.entities.Assignment;
+import com.main.lms.entities.Course;
+import com.main.lms.entities.StudentAssignment;
+import com.main.lms.entities.User;
+import com.main.lms.enums.BulkGradeStatus;
+import com.main.lms.repositories.StudentAssignmentRepository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BulkGradingServiceTest {
+
+    @Mock
+    private StudentAssignmentRepository studentAssignmentRepository;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private GradeStatisticsService gradeStatisticsService;
+
+    @Mock
+    private ActivityLogService activityLogService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private BulkGradingService bulkGradingService;
+
+    private Course course;
+    private Course otherCourse;
+    private Assignment assignment;
+
+    @BeforeEach
+    public void setUp() {
+        course = course(10L, 1L);
+        otherCourse = course(20L, 2L);
+
+        assignment = new Assignment();
+        assignment.setAssignmentId(5L);
+        assignment.setCourse(course);
+        assignment.setMaxGrade(100);
+    }
+
+    private static Course course(Long id, Long instructorId) {
+        User instructor = new User();
+        instructor.setId(instructorId);
+        Course course = new Course();
+        course.setId(id);
+        course.setInstructor(instructor);
+        return course;
+    }
+
+    private StudentAssignment submission(Long id, Course course) {
+        StudentAssignment submission = new StudentAssignment();
+        submission.setId(id);
+        submission.setCourse(course);
+        submission.setAssignment(assignment);
+        submission.setFeedback("Old feedback");
+        return submission;
+    }
+
+    private static BulkGradeRow row(int row, Long submissionId, Long grade, String feedback) {
+        return new BulkGradeRow(row, submissionId, grade, feedback, null);
+    }
+
+    private static List<BulkGradeStatus> statuses(BulkGradeReportDTO report) {
+        return report.getResults().stream().map(BulkGradeResultDTO::getStatus).toList();
+    }
+
+    @Test
+    public void testGrade_ReportsEveryRowInOrder() {
+        StudentAssignment first = submission(1L, course);
+        StudentAssignment second = submission(2L, course);
+        StudentAssignment foreign = submission(3L, otherCourse);
+        List<BulkGradeRow> rows = List.of(
+                row(1, 1L, 90L, "Well done"),
+                row(2, 2L, 80L, null),
+                row(3, 1L, 95L, null),
+                row(4, 3L, 70L, null),
+                row(5, 99L, 70L, null),
+                row(6, 2L, 101L, null),
+                new BulkGradeRow(7, null, null, null, "Ids and grades must be whole numbers"));
+        when(studentAssignmentRepository.findForGrading(anyCollection())).thenReturn(List.of(first, second, foreign));
+
+        BulkGradeReportDTO report = bulkGradingService.grade(rows.iterator(), 1L);
+
+        assertEquals(List.of(
+                BulkGradeStatus.GRADED,
+                BulkGradeStatus.GRADED,
+                BulkGradeStatus.DUPLICATE_ROW,
+                BulkGradeStatus.NOT_INSTRUCTOR,
+                BulkGradeStatus.SUBMISSION_NOT_FOUND,
+                BulkGradeStatus.GRADE_OUT_OF_RANGE,
+                BulkGradeStatus.INVALID_ROW), statuses(report));
+        assertEquals(2, report.getGraded());
+        assertEquals(5, report.getRejected());
+
+        assertEquals(90L, first.getGrade());
+        assertEquals("Well done", first.getFeedback());
+        assertEquals(80L, second.getGrade());
+        // no feedback in the row keeps the current one
+        assertEquals("Old feedback", second.getFeedback());
+        assertEquals(0L, foreign.getGrade());
+        assertTrue(first.isGraded());
+        assertFalse(foreign.isGraded());
+        verify(studentAssignmentRepository, times(1)).flush();
+        verify(studentAssignmentRepository, never()).save(any());
+        verify(leaderboardService).beginWrite();
+        verify(leaderboardService).assignmentGraded(10L, null, 0L, 90L, 0L);
+        verify(leaderboardService).assignmentGraded(10L, null, 0L, 80L, 0L);
+        verifyNoMoreInteractions(leaderboardService);
+        verify(gradeStatisticsService).assignmentGraded(10L);
+        verifyNoMoreInteractions(gradeStatisticsService);
+    }
+
+    @Test
+    public void testGrade_LooksUpEachChunkOnce() {
+        List<BulkGradeRow> rows = new ArrayList<>();
+        for (int i = 1; i <= BulkGradingService.CHUNK_SIZE + 1; i++) {
+            rows.add(row(i, (long) i, 50L, null));
+        }
+        when(studentAssignmentRepository.findForGrading(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> submission(id, course)).toList();
+        });
+
+        BulkGradeReportDTO report = bulkGradingService.grade(rows.iterator(), 1L);
+
+        assertEquals(BulkGradingService.CHUNK_SIZE + 1, report.getGraded());
+        verify(studentAssignmentRepository, times(2)).findForGrading(anyCollection());
+        verify(studentAssignmentRepository, times(2)).flush();
+    }
+
+    @Test
+    public void testGrade_ChunkFails_ReportsCommittedChunksAndFailedRow() {
+        List<BulkGradeRow> rows = new ArrayList<>();
+        for (int i = 1; i <= BulkGradingService.CHUNK_SIZE + 1; i++) {
+            rows.add(row(i, (long) i, 50L, null));
+        }
+        when(studentAssignmentRepository.findForGrading(anyCollection()))
+                .thenAnswer(invocation -> {
+                    Collection<Long> ids = invocation.getArgument(0);
+                    return ids.stream().map(id -> submission(id, course)).toList();
+                })
+                .thenThrow(new QueryTimeoutException("Lock wait timeout exceeded"));
+
+        BulkGradeReportDTO report = bulkGradingService.grade(rows.iterator(), 1L);
+
+        assertEquals(BulkGradingService.CHUNK_SIZE, report.getGraded());
+        assertEquals(BulkGradingService.CHUNK_SIZE + 1, report.getFailedRow());
+        assertEquals("Lock wait timeout exceeded", report.getError());
+        // one transaction per chunk, the first committed and the second rolled back
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(1)).commit(any());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(entityManager, times(2)).clear();
+        verify(leaderboardService, times(BulkGradingService.CHUNK_SIZE))
+                .assignmentGraded(eq(10L), any(), eq(0L), eq(50L), anyLong());
+    }
+
+    @Test
+    public void testGrade_NothingToGrade() {
+        BulkGradeReportDTO report = bulkGradingService.grade(
+                List.of(new BulkGradeRow(1, null, null, null, "Expected submissionId and grade")).iterator(), 1L);
+
+        assertEquals(1, report.getRejected());
+        verifyNoInteractions(studentAssignmentRepository);
+    }
+}
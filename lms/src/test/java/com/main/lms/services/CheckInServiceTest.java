@@ -0,0 +1,288 @@
+package com.main.lms.services;
+
+import com.main.lms.entities.*;
+import com.main.lms.exceptions.CourseNotFoundException;
+import com.main.lms.repositories.EnrolledCourseRepository;
+import com.main.lms.repositories.LessonRepository;
+import com.main.lms.repositories.StudentsLessonRepository;
+import com.main.lms.repositories.UserRepository;
+import com.main.lms.utility.Totp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CheckInServiceTest {
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private EnrolledCourseRepository enrollmentRepository;
+
+    @Mock
+    private StudentsLessonRepository studentLessonsRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ActivityLogService activityLogService;
+
+    @Spy
+    private LessonOtpService lessonOtpService = new LessonOtpService();
+
+    @InjectMocks
+    private CheckInService checkInService;
+
+    @Captor
+    private ArgumentCaptor<List<StudentLesson>> saved;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private User student;
+    private Course course;
+    private Lesson lesson;
+
+    @BeforeEach
+    public void setUp() {
+        checkInService.nanoClock = clock::get;
+
+        student = new User();
+        student.setId(1L);
+        student.setName("John Doe");
+
+        course = new Course();
+        course.setId(1L);
+        course.setTitle("Math 101");
+
+        lesson = new Lesson();
+        lesson.setLessonId(1L);
+        lesson.setCourse(course);
+        lesson.setOtp("123456");
+    }
+
+    private void roster(List<Long> enrolled, List<Long> attended) {
+        when(lessonRepository.findById(1L)).thenReturn(Optional.of(lesson));
+        when(enrollmentRepository.findStudentIdsByCourseId(1L)).thenReturn(enrolled);
+        when(studentLessonsRepository.findStudentIdsByLessonId(1L)).thenReturn(attended);
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    @Test
+    public void testCheckIn_Success() {
+        roster(List.of(1L, 2L), List.of());
+
+        StudentLesson result = checkInService.checkIn(1L, "123456", student);
+
+        assertEquals(student, result.getStudent());
+        assertEquals(lesson, result.getLesson());
+        // queued, not yet written
+        verify(studentLessonsRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    public void testCheckIn_LessonNotFound() {
+        when(lessonRepository.findById(1L)).thenReturn(Optional.empty());
+
+        Exception exception = assertThrows(RuntimeException.class, () -> checkInService.checkIn(1L, "123456", student));
+
+        assertEquals("Lesson not found with ID: 1", exception.getMessage());
+    }
+
+    @Test
+    public void testCheckIn_StudentNotEnrolled() {
+        roster(List.of(2L), List.of());
+
+        Exception exception = assertThrows(CourseNotFoundException.class,
+                () -> checkInService.checkIn(1L, "123456", student));
+
+        assertEquals("Student is not enrolled in this course", exception.getMessage());
+    }
+
+    @Test
+    public void testCheckIn_InvalidOtp() {
+        roster(List.of(1L), List.of());
+
+        Exception exception = assertThrows(RuntimeException.class, () -> checkInService.checkIn(1L, "000000", student));
+
+        assertEquals("OTP is invalid", exception.getMessage());
+    }
+
+    @Test
+    public void testCheckIn_AlreadyAttended() {
+        roster(List.of(1L), List.of(1L));
+
+        Exception exception = assertThrows(RuntimeException.class, () -> checkInService.checkIn(1L, "123456", student));
+
+        assertEquals("Student is already enrolled in this lesson", exception.getMessage());
+    }
+
+    @Test
+    public void testCheckIn_DuplicateRejectedWithoutQuery() {
+        roster(List.of(1L), List.of());
+        checkInService.checkIn(1L, "123456", student);
+
+        assertThrows(RuntimeException.class, () -> checkInService.checkIn(1L, "123456", student));
+
+        // the roster was loaded once and nothing else was read
+        verify(lessonRepository, times(1)).findById(1L);
+        verify(studentLessonsRepository, times(1)).findStudentIdsByLessonId(1L);
+        verify(studentLessonsRepository, never()).findByStudentAndLesson(any(), any());
+    }
+
+    @Test
+    public void testCheckIn_FlushesFullBatch() {
+        List<Long> enrolled = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            enrolled.add(id);
+        }
+        roster(enrolled, List.of());
+        when(userRepository.getReferenceById(anyLong())).thenAnswer(invocation -> user(invocation.getArgument(0)));
+        when(lessonRepository.getReferenceById(1L)).thenReturn(lesson);
+
+        for (long id = 1; id <= 50; id++) {
+            checkInService.checkIn(1L, "123456", user(id));
+        }
+
+        verify(studentLessonsRepository, times(1)).saveAll(saved.capture());
+        assertEquals(50, saved.getValue().size());
+        assertEquals(50L, saved.getValue().get(49).getStudent().getId());
+    }
+
+    @Test
+    public void testFlush_DuplicateFromAnotherInstance_KeepsTheRest() {
+        roster(List.of(1L, 2L), List.of());
+        when(userRepository.getReferenceById(anyLong())).thenAnswer(invocation -> user(invocation.getArgument(0)));
+        when(lessonRepository.getReferenceById(1L)).thenReturn(lesson);
+        when(studentLessonsRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(studentLessonsRepository.save(any(StudentLesson.class))).thenAnswer(invocation -> {
+            StudentLesson row = invocation.getArgument(0);
+            if (row.getStudent().getId() == 1L) {
+                throw new DataIntegrityViolationException("duplicate");
+            }
+            return row;
+        });
+        checkInService.checkIn(1L, "123456", student);
+        checkInService.checkIn(1L, "123456", user(2L));
+
+        checkInService.flushPending();
+
+        verify(studentLessonsRepository, times(2)).save(any(StudentLesson.class));
+    }
+
+    @Test
+    public void testFlushPending_EvictsExpiredRostersOnceWritten() {
+        roster(List.of(1L, 2L), List.of());
+        when(userRepository.getReferenceById(anyLong())).thenAnswer(invocation -> user(invocation.getArgument(0)));
+        when(lessonRepository.getReferenceById(1L)).thenReturn(lesson);
+        when(studentLessonsRepository.saveAll(anyList()))
+                .thenThrow(new RuntimeException("Connection refused"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        checkInService.checkIn(1L, "123456", student);
+
+        clock.addAndGet(Duration.ofMinutes(2).toNanos());
+        checkInService.flushPending();
+        // the write failed, the check-in is queued again and its roster kept
+        assertTrue(checkInService.rosters.containsKey(1L));
+
+        checkInService.flushPending();
+
+        verify(studentLessonsRepository, times(2)).saveAll(anyList());
+        assertTrue(checkInService.rosters.isEmpty());
+    }
+
+    @Test
+    public void testFlush_DatabaseDown_ReturnsWithCheckInsQueued() {
+        List<Long> enrolled = new ArrayList<>();
+        for (long id = 1; id <= 120; id++) {
+            enrolled.add(id);
+        }
+        roster(enrolled, List.of());
+        when(userRepository.getReferenceById(anyLong())).thenAnswer(invocation -> user(invocation.getArgument(0)));
+        when(lessonRepository.getReferenceById(1L)).thenReturn(lesson);
+        when(studentLessonsRepository.saveAll(anyList())).thenThrow(new RuntimeException("Connection refused"));
+
+        // the 50th and 100th check-ins each flush a full batch, which fails
+        for (long id = 1; id <= 120; id++) {
+            checkInService.checkIn(1L, "123456", user(id));
+        }
+        checkInService.flush();
+
+        // every flush stopped at its first failed batch
+        verify(studentLessonsRepository, times(3)).saveAll(anyList());
+        assertTrue(checkInService.rosters.containsKey(1L));
+    }
+
+    @Test
+    public void testCheckIn_NewlyEnrolledStudent_ReloadsRoster() {
+        when(lessonRepository.findById(1L)).thenReturn(Optional.of(lesson));
+        when(enrollmentRepository.findStudentIdsByCourseId(1L)).thenReturn(List.of(2L), List.of(1L, 2L));
+        when(studentLessonsRepository.findStudentIdsByLessonId(1L)).thenReturn(List.of());
+        checkInService.checkIn(1L, "123456", user(2L));
+
+        clock.addAndGet(Duration.ofSeconds(6).toNanos());
+        StudentLesson result = checkInService.checkIn(1L, "123456", student);
+
+        assertEquals(student, result.getStudent());
+        // the check-in made before the reload is still known
+        assertThrows(RuntimeException.class, () -> checkInService.checkIn(1L, "123456", user(2L)));
+    }
+
+    @Test
+    public void testCheckIn_RotatingCode() {
+        lesson.setOtpSecret(Totp.newSecret());
+        roster(List.of(1L), List.of());
+        String code = lessonOtpService.current(lesson).getCode();
+
+        checkInService.checkIn(1L, code, student);
+
+        Exception exception = assertThrows(RuntimeException.class, () -> checkInService.checkIn(1L, "123456", user(2L)));
+        assertEquals("Student is not enrolled in this course", exception.getMessage());
+        // verified from the roster, the lesson was read once
+        verify(lessonRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    public void testAttendanceDeleted_StudentCanCheckInAgain() {
+        roster(List.of(1L, 2L), List.of(1L));
+        assertThrows(RuntimeException.class, () -> checkInService.checkIn(1L, "123456", student));
+
+        checkInService.attendanceDeleted(1L, 1L);
+
+        assertEquals(student, checkInService.checkIn(1L, "123456", student).getStudent());
+    }
+
+    @Test
+    public void testEvict_PicksUpNewOtp() {
+        roster(List.of(1L, 2L), List.of());
+        checkInService.checkIn(1L, "123456", student);
+
+        Lesson updated = new Lesson();
+        updated.setLessonId(1L);
+        updated.setCourse(course);
+        updated.setOtp("654321");
+        when(lessonRepository.findById(1L)).thenReturn(Optional.of(updated));
+        checkInService.evict(1L);
+
+        Exception exception = assertThrows(RuntimeException.class, () -> checkInService.checkIn(1L, "123456", user(2L)));
+        assertEquals("OTP is invalid", exception.getMessage());
+    }
+}
@@ -0,0 +1,100 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.CourseRecommendationDTO;
+import com.main.lms.dtos.EnrollmentKey;
+import com.main.lms.repositories.EnrolledCourseRepository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CourseRecommendationServiceTest {
+
+    @Mock
+    private EnrolledCourseRepository enrollmentRepository;
+
+    @InjectMocks
+    private CourseRecommendationService courseRecommendationService;
+
+    private static List<Long> courseIds(List<CourseRecommendationDTO> recommendations) {
+        return recommendations.stream().map(CourseRecommendationDTO::getCourseId).toList();
+    }
+
+    @Test
+    public void testRecommend_FromRebuildThenIncrementalRefresh() {
+        // students 1 and 2 took 10 and 20, students 3 and 4 took 10 and 30
+        when(enrollmentRepository.streamAllKeys()).thenReturn(Stream.of(
+                new EnrollmentKey(1L, 10L), new EnrollmentKey(1L, 20L),
+                new EnrollmentKey(2L, 10L), new EnrollmentKey(2L, 20L),
+                new EnrollmentKey(3L, 10L), new EnrollmentKey(3L, 30L),
+                new EnrollmentKey(4L, 10L), new EnrollmentKey(4L, 30L)));
+        courseRecommendationService.rebuild();
+
+        courseRecommendationService.enrolled(5L, 20L);
+        List<CourseRecommendationDTO> recommendations = courseRecommendationService.recommend(5L, 10);
+        assertEquals(List.of(10L, 30L), courseIds(recommendations));
+        assertTrue(recommendations.get(0).getScore() > 0);
+        assertEquals(0, recommendations.get(1).getScore());
+
+        // two more students taking 20 and 30 make them similar once the rows are refreshed
+        courseRecommendationService.enrolled(6L, 20L);
+        courseRecommendationService.enrolled(6L, 30L);
+        courseRecommendationService.enrolled(7L, 20L);
+        courseRecommendationService.enrolled(7L, 30L);
+        courseRecommendationService.enrolled(8L, 30L);
+        courseRecommendationService.unenrolled(8L, 30L);
+        courseRecommendationService.refresh();
+        recommendations = courseRecommendationService.recommend(5L, 10);
+        assertEquals(List.of(10L, 30L), courseIds(recommendations));
+        assertEquals(recommendations.get(0).getScore(), recommendations.get(1).getScore(), 1e-9);
+        assertTrue(recommendations.get(1).getScore() > 0);
+    }
+
+    @Test
+    public void testRecommend_NewStudentGetsPopularCourses() {
+        when(enrollmentRepository.streamAllKeys()).thenReturn(Stream.of(
+                new EnrollmentKey(1L, 10L), new EnrollmentKey(2L, 10L), new EnrollmentKey(2L, 20L)));
+        courseRecommendationService.rebuild();
+
+        assertEquals(List.of(10L), courseIds(courseRecommendationService.recommend(9L, 1)));
+        assertEquals(List.of(10L, 20L), courseIds(courseRecommendationService.recommend(9L, 10)));
+    }
+
+    @Test
+    public void testRebuild_ReplaysEnrollmentsMadeDuringTheScan() {
+        // students 1 and 2 took 10 and 20; student 3 enrolls in 10 and 30 while the scan runs
+        when(enrollmentRepository.streamAllKeys()).thenReturn(Stream.of(
+                new EnrollmentKey(1L, 10L), new EnrollmentKey(1L, 20L),
+                new EnrollmentKey(2L, 10L), new EnrollmentKey(2L, 20L))
+                .peek(key -> {
+                    if (key.getStudentId() == 2L && key.getCourseId() == 20L) {
+                        courseRecommendationService.enrolled(3L, 10L);
+                        courseRecommendationService.enrolled(3L, 30L);
+                    }
+                }));
+
+        courseRecommendationService.rebuild();
+
+        assertEquals(List.of(20L), courseIds(courseRecommendationService.recommend(3L, 1)));
+    }
+
+    @Test
+    public void testRebuild_FailureKeepsServing() {
+        courseRecommendationService.enrolled(1L, 10L);
+        courseRecommendationService.refresh();
+        when(enrollmentRepository.streamAllKeys()).thenThrow(new RuntimeException("database down"));
+
+        courseRecommendationService.rebuild();
+
+        assertEquals(List.of(10L), courseIds(courseRecommendationService.recommend(2L, 10)));
+    }
+}
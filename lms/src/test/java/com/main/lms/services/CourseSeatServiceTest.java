@@ -0,0 +1,90 @@
+package com.main.lms.services;
+
+import com.main.lms.entities.CourseSeats;
+import com.main.lms.repositories.CourseSeatsRepository;
+import com.main.lms.repositories.EnrolledCourseRepository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CourseSeatServiceTest {
+
+    @Mock
+    private CourseSeatsRepository seatsRepository;
+
+    @Mock
+    private EnrolledCourseRepository enrollmentRepository;
+
+    @InjectMocks
+    private CourseSeatService courseSeatService;
+
+    @Test
+    public void testTake_SeatFree() {
+        when(seatsRepository.takeSeat(1L)).thenReturn(1);
+
+        assertTrue(courseSeatService.take(1L));
+        verify(seatsRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    public void testTake_CourseFull() {
+        when(seatsRepository.takeSeat(1L)).thenReturn(0);
+        when(seatsRepository.existsById(1L)).thenReturn(true);
+
+        assertFalse(courseSeatService.take(1L));
+    }
+
+    @Test
+    public void testTake_UncappedCourse() {
+        when(seatsRepository.takeSeat(1L)).thenReturn(0);
+        when(seatsRepository.existsById(1L)).thenReturn(false);
+
+        assertTrue(courseSeatService.take(1L));
+    }
+
+    @Test
+    public void testSetCapacity_ExistingLedger() {
+        when(seatsRepository.updateCapacity(1L, 30)).thenReturn(1);
+
+        courseSeatService.setCapacity(1L, 30);
+
+        verify(seatsRepository, never()).save(any(CourseSeats.class));
+    }
+
+    @Test
+    public void testSetCapacity_CreatesLedgerFromEnrollments() {
+        when(seatsRepository.updateCapacity(1L, 30)).thenReturn(0);
+        when(enrollmentRepository.countByCourseId(1L)).thenReturn(12L);
+
+        courseSeatService.setCapacity(1L, 30);
+
+        ArgumentCaptor<CourseSeats> seats = ArgumentCaptor.forClass(CourseSeats.class);
+        verify(seatsRepository).save(seats.capture());
+        assertEquals(1L, seats.getValue().getCourseId());
+        assertEquals(30, seats.getValue().getCapacity());
+        assertEquals(12, seats.getValue().getTaken());
+    }
+
+    @Test
+    public void testSetCapacity_LedgerCreatedConcurrently() {
+        when(seatsRepository.updateCapacity(1L, 30)).thenReturn(0, 1);
+        when(seatsRepository.save(any(CourseSeats.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        courseSeatService.setCapacity(1L, 30);
+
+        verify(seatsRepository, times(2)).updateCapacity(1L, 30);
+    }
+
+    @Test
+    public void testSetCapacity_Negative() {
+        assertThrows(RuntimeException.class, () -> courseSeatService.setCapacity(1L, -1));
+        verifyNoInteractions(seatsRepository);
+    }
+}
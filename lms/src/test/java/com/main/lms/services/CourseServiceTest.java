@@ -8,6 +8,7 @@ import com.main.lms.exceptions.CourseNotFoundException;
 import com.main.lms.repositories.CourseRepository;
 import com.main.lms.repositories.UserRepository;
 import com.main.lms.services.CourseService;
+import com.main.lms.utility.CacheInvalidator;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,6 +32,15 @@ public class CourseServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
+    @Mock
+    private CourseSearchService courseSearchService;
+
+    @Mock
+    private ActivityLogService activityLogService;
+
     @InjectMocks
     private CourseService courseService;
 
@@ -118,6 +128,7 @@ public class CourseServiceTest {
         assertEquals(course.getTitle(), result.getTitle());
         verify(userRepository, times(1)).findById(instructor.getId());
         verify(courseRepository, times(1)).save(any(Course.class));
+        verify(courseSearchService, times(1)).index(result);
     }
 
     @Test
@@ -163,6 +174,8 @@ public class CourseServiceTest {
         // Assert
         verify(courseRepository, times(1)).findById(1L);
         verify(courseRepository, times(1)).deleteById(1L);
+        verify(cacheInvalidator, times(1)).evictCourse(1L);
+        verify(courseSearchService, times(1)).remove(1L);
     }
 
 
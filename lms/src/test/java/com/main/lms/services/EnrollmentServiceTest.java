@@ -5,11 +5,14 @@ import com.main.lms.dtos.EnrollmentResponseDTO;
 import com.main.lms.entities.Course;
 import com.main.lms.entities.EnrolledCourse;
 import com.main.lms.entities.User;
+import com.main.lms.entities.WaitlistEntry;
 import com.main.lms.enums.UserRole;
 import com.main.lms.exceptions.CourseNotFoundException;
+import com.main.lms.exceptions.InvalidUser;
 import com.main.lms.repositories.CourseRepository;
 import com.main.lms.repositories.EnrolledCourseRepository;
 import com.main.lms.repositories.UserRepository;
+import com.main.lms.repositories.WaitlistEntryRepository;
 import com.main.lms.services.EnrollmentService;
 import com.main.lms.services.NotificationService;
 
@@ -18,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.*;
 
@@ -39,6 +43,18 @@ public class EnrollmentServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private CourseSeatService courseSeatService;
+
+    @Mock
+    private WaitlistEntryRepository waitlistRepository;
+
+    @Mock
+    private CourseRecommendationService courseRecommendationService;
+
+    @Mock
+    private ActivityLogService activityLogService;
+
     @InjectMocks
     private EnrollmentService enrollmentService;
 
@@ -140,8 +156,8 @@ public class EnrollmentServiceTest {
 
     @Test
     public void testGetEnrollmentsByStudent() {
-        when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
-        when(enrollmentRepository.findByStudent(student)).thenReturn(Arrays.asList(enrolledCourse));
+        when(enrollmentRepository.findResponsesByStudentId(student.getId())).thenReturn(Arrays.asList(
+                new EnrollmentResponseDTO(student.getId(), student.getName(), course.getTitle(), course.getId(), true)));
 
         List<EnrollmentResponseDTO> result = enrollmentService.getEnrollmentsByStudent(student.getId());
 
@@ -151,13 +167,13 @@ public class EnrollmentServiceTest {
         assertEquals(student.getId(), dto.getStudentId());
         assertEquals(course.getId(), dto.getCourseId());
 
-        verify(enrollmentRepository, times(1)).findByStudent(student);
+        verify(enrollmentRepository, times(1)).findResponsesByStudentId(student.getId());
     }
 
     @Test
     public void testGetEnrollmentsByCourse() {
-        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
-        when(enrollmentRepository.findByCourse(course)).thenReturn(Arrays.asList(enrolledCourse));
+        when(enrollmentRepository.findResponsesByCourseId(course.getId())).thenReturn(Arrays.asList(
+                new EnrollmentResponseDTO(student.getId(), student.getName(), course.getTitle(), course.getId(), true)));
 
         List<EnrollmentResponseDTO> result = enrollmentService.getEnrollmentsByCourse(course.getId());
 
@@ -167,7 +183,15 @@ public class EnrollmentServiceTest {
         assertEquals(student.getId(), dto.getStudentId());
         assertEquals(course.getId(), dto.getCourseId());
 
-        verify(enrollmentRepository, times(1)).findByCourse(course);
+        verify(enrollmentRepository, times(1)).findResponsesByCourseId(course.getId());
+    }
+
+    @Test
+    public void testGetEnrollmentsByCourse_CourseNotFound() {
+        when(enrollmentRepository.findResponsesByCourseId(course.getId())).thenReturn(Collections.emptyList());
+        when(courseRepository.existsById(course.getId())).thenReturn(false);
+
+        assertThrows(CourseNotFoundException.class, () -> enrollmentService.getEnrollmentsByCourse(course.getId()));
     }
 
     @Test
@@ -175,11 +199,13 @@ public class EnrollmentServiceTest {
         when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
         when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
         when(enrollmentRepository.findByStudentAndCourse(student, course)).thenReturn(Collections.emptyList());
+        when(courseSeatService.take(course.getId())).thenReturn(true);
         when(enrollmentRepository.save(any(EnrolledCourse.class))).thenReturn(enrolledCourse);
 
         EnrollmentResponseDTO result = enrollmentService.addEnrollment(course.getId(), student.getId());
 
         assertNotNull(result);
+        assertTrue(result.isConfirmed());
         assertEquals(student.getId(), result.getStudentId());
         assertEquals(course.getId(), result.getCourseId());
 
@@ -187,6 +213,7 @@ public class EnrollmentServiceTest {
         verify(userRepository, times(1)).findById(student.getId());
         verify(enrollmentRepository, times(1)).findByStudentAndCourse(student, course);
         verify(enrollmentRepository, times(1)).save(any(EnrolledCourse.class));
+        verify(courseRecommendationService).enrolled(student.getId(), course.getId());
         verify(notificationService, times(1)).notifyUser(student.getId(),
                 "You have been enrolled in a the following course: " + course.getTitle());
         verify(notificationService, times(1)).notifyUser(instructor.getId(),
@@ -247,4 +274,141 @@ public class EnrollmentServiceTest {
         verify(notificationService, never()).notifyUser(anyLong(), anyString());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testAddEnrollment_CourseFull_JoinsWaitlist() {
+        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
+        when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
+        when(enrollmentRepository.findByStudentAndCourse(student, course)).thenReturn(Collections.emptyList());
+        when(courseSeatService.take(course.getId())).thenReturn(false);
+        when(waitlistRepository.save(any(WaitlistEntry.class))).thenAnswer(invocation -> {
+            WaitlistEntry entry = invocation.getArgument(0);
+            entry.setId(7L);
+            return entry;
+        });
+        when(waitlistRepository.findFirstByCourseIdOrderByIdAsc(course.getId()))
+                .thenReturn(Optional.of(new WaitlistEntry()));
+        when(waitlistRepository.countByCourseIdAndIdLessThan(course.getId(), 7L)).thenReturn(2L);
+
+        EnrollmentResponseDTO result = enrollmentService.addEnrollment(course.getId(), student.getId());
+
+        assertFalse(result.isConfirmed());
+        assertEquals(3L, result.getWaitlistPosition());
+        verify(enrollmentRepository, never()).save(any(EnrolledCourse.class));
+        verify(notificationService, times(1)).notifyUser(student.getId(),
+                "The following course is full, you have been added to its waitlist: " + course.getTitle());
+    }
+
+    @Test
+    public void testAddEnrollment_OthersWaiting_QueuesBehindThem() {
+        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
+        when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
+        when(enrollmentRepository.findByStudentAndCourse(student, course)).thenReturn(Collections.emptyList());
+        when(waitlistRepository.existsByCourseId(course.getId())).thenReturn(true);
+        when(waitlistRepository.save(any(WaitlistEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(waitlistRepository.findFirstByCourseIdOrderByIdAsc(course.getId())).thenReturn(Optional.empty());
+
+        EnrollmentResponseDTO result = enrollmentService.addEnrollment(course.getId(), student.getId());
+
+        assertFalse(result.isConfirmed());
+        // The seat counter is not touched while anyone is waiting
+        verify(courseSeatService, never()).take(anyLong());
+    }
+
+    @Test
+    public void testAddEnrollment_AlreadyWaitlisted() {
+        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
+        when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
+        when(enrollmentRepository.findByStudentAndCourse(student, course)).thenReturn(Collections.emptyList());
+        when(waitlistRepository.existsByCourseIdAndStudentId(course.getId(), student.getId())).thenReturn(true);
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> enrollmentService.addEnrollment(course.getId(), student.getId()));
+        assertEquals("Student is already on the waitlist for this course", exception.getMessage());
+        verifyNoInteractions(courseSeatService);
+    }
+
+    @Test
+    public void testAddEnrollment_ConcurrentDuplicate_ReleasesSeat() {
+        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
+        when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
+        when(enrollmentRepository.findByStudentAndCourse(student, course)).thenReturn(Collections.emptyList());
+        when(courseSeatService.take(course.getId())).thenReturn(true);
+        when(enrollmentRepository.save(any(EnrolledCourse.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> enrollmentService.addEnrollment(course.getId(), student.getId()));
+        assertEquals("Student is already enrolled in this course", exception.getMessage());
+        verify(courseSeatService, times(1)).release(course.getId());
+        verify(notificationService, never()).notifyUser(anyLong(), anyString());
+    }
+
+    @Test
+    public void testDeleteEnrollment_PromotesOldestWaitlistEntry() {
+        User waiting = new User();
+        waiting.setId(5L);
+        waiting.setRole(UserRole.STUDENT);
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setId(3L);
+        entry.setStudent(waiting);
+        entry.setCourse(course);
+
+        when(enrollmentRepository.findById(1L)).thenReturn(Optional.of(enrolledCourse));
+        when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
+        when(waitlistRepository.findFirstByCourseIdOrderByIdAsc(course.getId()))
+                .thenReturn(Optional.of(entry), Optional.empty());
+        when(courseSeatService.take(course.getId())).thenReturn(true);
+        when(waitlistRepository.claim(3L)).thenReturn(1);
+
+        enrollmentService.deleteEnrollmentById(1L, student.getId());
+
+        InOrder inOrder = inOrder(enrollmentRepository, courseSeatService);
+        inOrder.verify(enrollmentRepository).deleteById(1L);
+        inOrder.verify(courseSeatService).release(course.getId());
+        inOrder.verify(courseSeatService).take(course.getId());
+        ArgumentCaptor<EnrolledCourse> promoted = ArgumentCaptor.forClass(EnrolledCourse.class);
+        verify(enrollmentRepository).save(promoted.capture());
+        assertEquals(waiting, promoted.getValue().getStudent());
+        verify(notificationService).notifyUser(waiting.getId(),
+                "A seat opened up and you have been enrolled in the following course: " + course.getTitle());
+    }
+
+    @Test
+    public void testDeleteEnrollment_EntryClaimedElsewhere_ReturnsSeat() {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setId(3L);
+
+        when(enrollmentRepository.findById(1L)).thenReturn(Optional.of(enrolledCourse));
+        when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
+        when(waitlistRepository.findFirstByCourseIdOrderByIdAsc(course.getId()))
+                .thenReturn(Optional.of(entry), Optional.empty());
+        when(courseSeatService.take(course.getId())).thenReturn(true);
+        when(waitlistRepository.claim(3L)).thenReturn(0);
+
+        enrollmentService.deleteEnrollmentById(1L, student.getId());
+
+        verify(courseSeatService, times(2)).release(course.getId());
+        verify(enrollmentRepository, never()).save(any(EnrolledCourse.class));
+    }
+
+    @Test
+    public void testSetCourseCapacity_NotInstructor() {
+        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
+        when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
+
+        assertThrows(InvalidUser.class, () -> enrollmentService.setCourseCapacity(course.getId(), 30, student.getId()));
+        verifyNoInteractions(courseSeatService);
+    }
+
+    @Test
+    public void testSetCourseCapacity_FillsOpenedSeats() {
+        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
+        when(userRepository.findById(instructor.getId())).thenReturn(Optional.of(instructor));
+        when(waitlistRepository.findFirstByCourseIdOrderByIdAsc(course.getId())).thenReturn(Optional.empty());
+
+        enrollmentService.setCourseCapacity(course.getId(), 30, instructor.getId());
+
+        verify(courseSeatService).setCapacity(course.getId(), 30);
+        verify(waitlistRepository).findFirstByCourseIdOrderByIdAsc(course.getId());
+    }
+}
@@ -0,0 +1,236 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.GradeStatisticsDTO;
+import com.main.lms.dtos.GradebookCell;
+import com.main.lms.dtos.GradebookColumn;
+import com.main.lms.entities.Assignment;
+import com.main.lms.entities.Course;
+import com.main.lms.entities.Quiz;
+import com.main.lms.entities.User;
+import com.main.lms.enums.UserRole;
+import com.main.lms.exceptions.CourseNotFoundException;
+import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.repositories.AssignmentRepository;
+import com.main.lms.repositories.CourseRepository;
+import com.main.lms.repositories.QuizRepository;
+import com.main.lms.repositories.StudentAssignmentRepository;
+import com.main.lms.repositories.StudentQuizRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GradeStatisticsServiceTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private AssignmentRepository assignmentRepository;
+
+    @Mock
+    private StudentQuizRepository studentQuizRepository;
+
+    @Mock
+    private StudentAssignmentRepository studentAssignmentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private GradeStatisticsService gradeStatisticsService;
+
+    private final AtomicLong clock = new AtomicLong();
+    private User instructor;
+    private Course course;
+    private Quiz quiz;
+
+    @BeforeEach
+    public void setUp() {
+        gradeStatisticsService.nanoClock = clock::get;
+        instructor = new User();
+        instructor.setId(1L);
+        instructor.setRole(UserRole.INSTRUCTOR);
+        course = new Course();
+        course.setId(10L);
+        course.setInstructor(instructor);
+        quiz = new Quiz();
+        quiz.setQuizId(3L);
+        quiz.setCourse(course);
+    }
+
+    // quiz 3 has 10 questions, assignment 20 is out of 50
+    private void stubGrades() {
+        when(quizRepository.findGradebookColumns(10L)).thenReturn(List.of(new GradebookColumn(3L, 10)));
+        when(studentQuizRepository.findGradebookCells(10L)).thenReturn(List.of(
+                new GradebookCell(4L, 3L, 8.0),
+                new GradebookCell(5L, 3L, 6.0),
+                new GradebookCell(6L, 3L, null)));
+        when(assignmentRepository.findGradebookColumns(10L)).thenReturn(List.of(new GradebookColumn(20L, 50)));
+        when(studentAssignmentRepository.findGradebookCells(10L)).thenReturn(List.of(
+                new GradebookCell(5L, 20L, 50L),
+                new GradebookCell(6L, 20L, 20L),
+                // submitted, not graded yet
+                new GradebookCell(7L, 20L, null)));
+    }
+
+    @Test
+    public void testCourseStatistics_GradesInPercent() {
+        stubGrades();
+        when(courseRepository.findAllById(Set.of(10L))).thenReturn(List.of(course));
+
+        GradeStatisticsDTO statistics = gradeStatisticsService.getMergedStatistics(List.of(10L), instructor);
+
+        assertEquals(4, statistics.getCount());
+        assertEquals(70.0, statistics.getMean(), 1e-9);
+        assertEquals(40.0, statistics.getMin());
+        assertEquals(100.0, statistics.getMax());
+        assertEquals(70.0, statistics.getMedian(), 1e-9);
+        assertArrayEquals(new long[] { 0, 0, 0, 0, 1, 0, 1, 0, 1, 1 }, statistics.getHistogram());
+    }
+
+    @Test
+    public void testQuizSubmitted_UpdatesLoadedSketches() {
+        stubGrades();
+        when(quizRepository.findById(3L)).thenReturn(Optional.of(quiz));
+        gradeStatisticsService.getQuizStatistics(3L, instructor);
+
+        gradeStatisticsService.quizSubmitted(10L, 3L, 10, 10, gradeStatisticsService.beginWrite());
+        // sketches not loaded yet are left alone
+        gradeStatisticsService.quizSubmitted(11L, 12L, 10, 10, gradeStatisticsService.beginWrite());
+
+        GradeStatisticsDTO statistics = gradeStatisticsService.getQuizStatistics(3L, instructor);
+        assertEquals(3, statistics.getCount());
+        assertEquals(80.0, statistics.getMean(), 1e-9);
+        assertEquals(100.0, statistics.getMax());
+        verify(studentQuizRepository, times(1)).findGradebookCells(10L);
+    }
+
+    @Test
+    public void testQuizSubmitted_WhileLoading_NotCountedTwice() {
+        stubGrades();
+        when(quizRepository.findById(3L)).thenReturn(Optional.of(quiz));
+        // the submission of 8/10 by student 4 is saved before the load reads it, but reported after
+        long write = gradeStatisticsService.beginWrite();
+        gradeStatisticsService.getQuizStatistics(3L, instructor);
+        gradeStatisticsService.quizSubmitted(10L, 3L, 8, 10, write);
+
+        assertEquals(2, gradeStatisticsService.getQuizStatistics(3L, instructor).getCount());
+        verify(studentQuizRepository, times(2)).findGradebookCells(10L);
+    }
+
+    @Test
+    public void testQuizSubmitted_AfterLoadReadButBeforeInstall_Replayed() {
+        stubGrades();
+        when(quizRepository.findById(3L)).thenReturn(Optional.of(quiz));
+        // reported once the load's queries are done, while its transaction commits
+        doAnswer(invocation -> {
+            gradeStatisticsService.quizSubmitted(10L, 3L, 10, 10, gradeStatisticsService.beginWrite());
+            return null;
+        }).doNothing().when(transactionManager).commit(any());
+
+        gradeStatisticsService.getQuizStatistics(3L, instructor);
+        GradeStatisticsDTO statistics = gradeStatisticsService.getQuizStatistics(3L, instructor);
+
+        assertEquals(3, statistics.getCount());
+        verify(studentQuizRepository, times(1)).findGradebookCells(10L);
+    }
+
+    @Test
+    public void testAssignmentGraded_WhileLoading_SketchesNotKept() {
+        stubGrades();
+        when(quizRepository.findById(3L)).thenReturn(Optional.of(quiz));
+        doAnswer(invocation -> {
+            gradeStatisticsService.assignmentGraded(10L);
+            return null;
+        }).doNothing().when(transactionManager).commit(any());
+
+        gradeStatisticsService.getQuizStatistics(3L, instructor);
+        gradeStatisticsService.getQuizStatistics(3L, instructor);
+
+        verify(studentAssignmentRepository, times(2)).findGradebookCells(10L);
+    }
+
+    @Test
+    public void testAssignmentGraded_RebuildsSketches() {
+        stubGrades();
+        Assignment assignment = new Assignment();
+        assignment.setAssignmentId(20L);
+        assignment.setCourse(course);
+        when(assignmentRepository.findById(20L)).thenReturn(Optional.of(assignment));
+        assertEquals(2, gradeStatisticsService.getAssignmentStatistics(20L, instructor).getCount());
+
+        gradeStatisticsService.assignmentGraded(10L);
+        gradeStatisticsService.getAssignmentStatistics(20L, instructor);
+
+        verify(studentAssignmentRepository, times(2)).findGradebookCells(10L);
+    }
+
+    @Test
+    public void testSketches_ReloadedAfterTtl() {
+        stubGrades();
+        when(quizRepository.findById(3L)).thenReturn(Optional.of(quiz));
+        gradeStatisticsService.getQuizStatistics(3L, instructor);
+
+        clock.addAndGet(Duration.ofMinutes(11).toNanos());
+        gradeStatisticsService.getQuizStatistics(3L, instructor);
+
+        verify(studentQuizRepository, times(2)).findGradebookCells(10L);
+    }
+
+    @Test
+    public void testMergedStatistics_AcrossCourses() {
+        stubGrades();
+        Course other = new Course();
+        other.setId(11L);
+        other.setInstructor(instructor);
+        when(courseRepository.findAllById(Set.of(10L, 11L))).thenReturn(List.of(course, other));
+        when(quizRepository.findGradebookColumns(11L)).thenReturn(List.of(new GradebookColumn(7L, 4)));
+        when(studentQuizRepository.findGradebookCells(11L)).thenReturn(List.of(new GradebookCell(8L, 7L, 1.0)));
+        when(assignmentRepository.findGradebookColumns(11L)).thenReturn(List.of());
+        when(studentAssignmentRepository.findGradebookCells(11L)).thenReturn(List.of());
+
+        GradeStatisticsDTO statistics = gradeStatisticsService.getMergedStatistics(List.of(10L, 11L), instructor);
+
+        assertEquals(5, statistics.getCount());
+        assertEquals(25.0, statistics.getMin());
+        assertEquals(61.0, statistics.getMean(), 1e-9);
+    }
+
+    @Test
+    public void testMergedStatistics_MissingCourse() {
+        when(courseRepository.findAllById(Set.of(10L, 11L))).thenReturn(List.of(course));
+
+        assertThrows(CourseNotFoundException.class,
+                () -> gradeStatisticsService.getMergedStatistics(List.of(10L, 11L), instructor));
+        verifyNoInteractions(studentQuizRepository);
+    }
+
+    @Test
+    public void testQuizStatistics_NotInstructor() {
+        User other = new User();
+        other.setId(2L);
+        other.setRole(UserRole.INSTRUCTOR);
+        when(quizRepository.findById(3L)).thenReturn(Optional.of(quiz));
+
+        assertThrows(InvalidUser.class, () -> gradeStatisticsService.getQuizStatistics(3L, other));
+        verifyNoInteractions(studentQuizRepository);
+    }
+}
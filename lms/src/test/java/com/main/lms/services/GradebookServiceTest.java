@@ -0,0 +1,168 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.EnrollmentResponseDTO;
+import com.main.lms.dtos.GradebookCell;
+import com.main.lms.dtos.GradebookColumn;
+import com.main.lms.dtos.GradebookDTO;
+import com.main.lms.dtos.GradebookQuery;
+import com.main.lms.entities.Course;
+import com.main.lms.entities.User;
+import com.main.lms.enums.GradebookItemType;
+import com.main.lms.enums.UserRole;
+import com.main.lms.exceptions.CourseNotFoundException;
+import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.repositories.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GradebookServiceTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private EnrolledCourseRepository enrollmentRepository;
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private AssignmentRepository assignmentRepository;
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private StudentQuizRepository studentQuizRepository;
+
+    @Mock
+    private StudentAssignmentRepository studentAssignmentRepository;
+
+    @Mock
+    private StudentsLessonRepository studentsLessonRepository;
+
+    @InjectMocks
+    private GradebookService gradebookService;
+
+    private User instructor;
+    private Course course;
+
+    @BeforeEach
+    public void setUp() {
+        instructor = new User();
+        instructor.setId(1L);
+        instructor.setRole(UserRole.INSTRUCTOR);
+
+        course = new Course();
+        course.setId(10L);
+        course.setTitle("Math 101");
+        course.setInstructor(instructor);
+    }
+
+    private static EnrollmentResponseDTO enrolled(Long studentId, String name) {
+        return new EnrollmentResponseDTO(studentId, name, "Math 101", 10L, true);
+    }
+
+    private void stubCourse() {
+        when(courseRepository.findById(10L)).thenReturn(Optional.of(course));
+        // out of id order on purpose, rows come back sorted
+        when(enrollmentRepository.findResponsesByCourseId(10L)).thenReturn(List.of(
+                enrolled(5L, "Eve"), enrolled(3L, "Carl"), enrolled(4L, "Dana")));
+    }
+
+    @Test
+    public void testGetGradebook_FillsMatrix() {
+        stubCourse();
+        when(quizRepository.findGradebookColumns(10L)).thenReturn(List.of(new GradebookColumn(7L, 5)));
+        when(assignmentRepository.findGradebookColumns(10L)).thenReturn(List.of(new GradebookColumn(8L, 100)));
+        when(lessonRepository.findGradebookColumns(10L)).thenReturn(List.of(new GradebookColumn(9L, 1)));
+        when(studentQuizRepository.findGradebookCells(10L)).thenReturn(List.of(
+                new GradebookCell(3L, 7L, 4.0), new GradebookCell(5L, 7L, null)));
+        when(studentAssignmentRepository.findGradebookCells(10L)).thenReturn(List.of(
+                new GradebookCell(4L, 8L, 90L),
+                // a student who has since left the course
+                new GradebookCell(6L, 8L, 70L)));
+        when(studentsLessonRepository.findGradebookCells(10L)).thenReturn(List.of(new GradebookCell(5L, 9L, 1)));
+
+        GradebookDTO gradebook = gradebookService.getGradebook(10L, instructor, new GradebookQuery());
+
+        assertArrayEquals(new long[]{3L, 4L, 5L}, gradebook.getStudentIds());
+        assertArrayEquals(new String[]{"Carl", "Dana", "Eve"}, gradebook.getStudentNames());
+        assertArrayEquals(new GradebookItemType[]{GradebookItemType.QUIZ, GradebookItemType.ASSIGNMENT,
+                GradebookItemType.LESSON}, gradebook.getColumnTypes());
+        assertArrayEquals(new long[]{7L, 8L, 9L}, gradebook.getColumnIds());
+        assertArrayEquals(new double[]{5, 100, 1}, gradebook.getMaxScores());
+        assertArrayEquals(new Double[][]{
+                {4.0, null, 0.0},
+                {null, 90.0, 0.0},
+                // submitted but ungraded quiz
+                {null, null, 1.0}}, gradebook.getScores());
+        assertEquals(3, gradebook.getTotalStudents());
+        assertNull(gradebook.getNextOffset());
+    }
+
+    @Test
+    public void testGetGradebook_FiltersAndPages() {
+        stubCourse();
+        when(assignmentRepository.findGradebookColumns(10L)).thenReturn(List.of(
+                new GradebookColumn(8L, 100), new GradebookColumn(11L, 50)));
+        when(studentAssignmentRepository.findGradebookCells(10L)).thenReturn(List.of(
+                new GradebookCell(3L, 11L, 40L), new GradebookCell(4L, 11L, 45L), new GradebookCell(5L, 11L, 50L)));
+
+        GradebookQuery query = new GradebookQuery();
+        query.setTypes(List.of(GradebookItemType.ASSIGNMENT));
+        query.setStudents(List.of(3L, 5L));
+        query.setLimit(1);
+        query.setColumnOffset(1);
+        GradebookDTO gradebook = gradebookService.getGradebook(10L, instructor, query);
+
+        assertArrayEquals(new long[]{3L}, gradebook.getStudentIds());
+        assertArrayEquals(new long[]{11L}, gradebook.getColumnIds());
+        assertArrayEquals(new Double[][]{{40.0}}, gradebook.getScores());
+        assertEquals(2, gradebook.getTotalStudents());
+        assertEquals(2, gradebook.getTotalColumns());
+        assertEquals(1, gradebook.getNextOffset());
+        // columns of other kinds are neither listed nor filled
+        verifyNoInteractions(quizRepository, lessonRepository, studentQuizRepository, studentsLessonRepository);
+    }
+
+    @Test
+    public void testGetGradebook_NotInstructor() {
+        User other = new User();
+        other.setId(2L);
+        other.setRole(UserRole.INSTRUCTOR);
+        when(courseRepository.findById(10L)).thenReturn(Optional.of(course));
+
+        assertThrows(InvalidUser.class, () -> gradebookService.getGradebook(10L, other, new GradebookQuery()));
+        verifyNoInteractions(enrollmentRepository);
+    }
+
+    @Test
+    public void testGetGradebook_CourseNotFound() {
+        when(courseRepository.findById(10L)).thenReturn(Optional.empty());
+
+        assertThrows(CourseNotFoundException.class,
+                () -> gradebookService.getGradebook(10L, instructor, new GradebookQuery()));
+    }
+
+    @Test
+    public void testGetGradebook_LimitTooLarge() {
+        when(courseRepository.findById(10L)).thenReturn(Optional.of(course));
+        GradebookQuery query = new GradebookQuery();
+        query.setLimit(GradebookService.MAX_LIMIT + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> gradebookService.getGradebook(10L, instructor, query));
+    }
+}
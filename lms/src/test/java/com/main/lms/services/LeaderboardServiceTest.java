@@ -0,0 +1,174 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.GradebookCell;
+import com.main.lms.dtos.LeaderboardDTO;
+import com.main.lms.dtos.LeaderboardEntryDTO;
+import com.main.lms.entities.Course;
+import com.main.lms.entities.Quiz;
+import com.main.lms.entities.User;
+import com.main.lms.enums.UserRole;
+import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.repositories.CourseRepository;
+import com.main.lms.repositories.QuizRepository;
+import com.main.lms.repositories.StudentAssignmentRepository;
+import com.main.lms.repositories.StudentQuizRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LeaderboardServiceTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private StudentQuizRepository studentQuizRepository;
+
+    @Mock
+    private StudentAssignmentRepository studentAssignmentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private LeaderboardService leaderboardService;
+
+    private final AtomicLong clock = new AtomicLong();
+    private User instructor;
+    private Course course;
+    private Quiz quiz;
+
+    @BeforeEach
+    public void setUp() {
+        leaderboardService.nanoClock = clock::get;
+        instructor = new User();
+        instructor.setId(1L);
+        instructor.setRole(UserRole.INSTRUCTOR);
+        course = new Course();
+        course.setId(10L);
+        course.setInstructor(instructor);
+        quiz = new Quiz();
+        quiz.setQuizId(3L);
+        quiz.setCourse(course);
+    }
+
+    private void stubCourse() {
+        when(courseRepository.findById(10L)).thenReturn(Optional.of(course));
+        when(studentQuizRepository.findGradebookCells(10L)).thenReturn(List.of(
+                new GradebookCell(4L, 3L, 8.0),
+                new GradebookCell(5L, 3L, 6.0),
+                new GradebookCell(6L, 3L, null)));
+        when(studentAssignmentRepository.findGradebookCells(10L)).thenReturn(List.of(
+                new GradebookCell(5L, 20L, 50L),
+                new GradebookCell(6L, 20L, 30L),
+                // submitted, not graded yet
+                new GradebookCell(8L, 21L, null)));
+    }
+
+    @Test
+    public void testCourseLeaderboard_SumsQuizAndAssignmentPoints() {
+        stubCourse();
+
+        LeaderboardDTO leaderboard = leaderboardService.getCourseLeaderboard(10L, 10, 4L, instructor);
+
+        assertEquals(3, leaderboard.getParticipants());
+        assertEquals(List.of(
+                new LeaderboardEntryDTO(1, 5L, 56),
+                new LeaderboardEntryDTO(2, 6L, 30),
+                new LeaderboardEntryDTO(3, 4L, 8)), leaderboard.getTop());
+        assertEquals(new LeaderboardEntryDTO(3, 4L, 8), leaderboard.getStudent());
+    }
+
+    @Test
+    public void testUpdates_KeepLoadedBoardsCurrent() {
+        stubCourse();
+        when(quizRepository.findById(3L)).thenReturn(Optional.of(quiz));
+        leaderboardService.getCourseLeaderboard(10L, 10, null, instructor);
+
+        leaderboardService.quizSubmitted(10L, 3L, 7L, 9, leaderboardService.beginWrite());
+        leaderboardService.assignmentGraded(10L, 4L, 0, 40, leaderboardService.beginWrite());
+        // boards not loaded yet are left alone
+        leaderboardService.quizSubmitted(11L, 12L, 7L, 9, leaderboardService.beginWrite());
+
+        LeaderboardDTO quizBoard = leaderboardService.getQuizLeaderboard(3L, 1, 5L, instructor);
+        assertEquals(3, quizBoard.getParticipants());
+        assertEquals(List.of(new LeaderboardEntryDTO(1, 7L, 9)), quizBoard.getTop());
+        assertEquals(new LeaderboardEntryDTO(3, 5L, 6), quizBoard.getStudent());
+
+        LeaderboardDTO courseBoard = leaderboardService.getCourseLeaderboard(10L, 2, 7L, instructor);
+        assertEquals(List.of(
+                new LeaderboardEntryDTO(1, 5L, 56),
+                new LeaderboardEntryDTO(2, 4L, 48)), courseBoard.getTop());
+        assertEquals(new LeaderboardEntryDTO(4, 7L, 9), courseBoard.getStudent());
+        verify(studentQuizRepository, times(1)).findGradebookCells(10L);
+    }
+
+    @Test
+    public void testAssignmentGraded_WrittenWhileLoading_NotCountedTwice() {
+        stubCourse();
+        // the grade of 50 is committed before the load reads it, but reported after
+        long write = leaderboardService.beginWrite();
+        leaderboardService.getCourseLeaderboard(10L, 10, null, instructor);
+        leaderboardService.assignmentGraded(10L, 5L, 0, 50, write);
+
+        LeaderboardDTO leaderboard = leaderboardService.getCourseLeaderboard(10L, 1, null, instructor);
+
+        assertEquals(List.of(new LeaderboardEntryDTO(1, 5L, 56)), leaderboard.getTop());
+        verify(studentAssignmentRepository, times(2)).findGradebookCells(10L);
+    }
+
+    @Test
+    public void testQuizSubmitted_AfterLoadReadButBeforeInstall_Replayed() {
+        stubCourse();
+        // reported once the load's queries are done, while its transaction commits
+        doAnswer(invocation -> {
+            leaderboardService.quizSubmitted(10L, 3L, 7L, 9, leaderboardService.beginWrite());
+            return null;
+        }).doNothing().when(transactionManager).commit(any());
+
+        leaderboardService.getCourseLeaderboard(10L, 10, null, instructor);
+        LeaderboardDTO leaderboard = leaderboardService.getCourseLeaderboard(10L, 10, 7L, instructor);
+
+        assertEquals(new LeaderboardEntryDTO(3, 7L, 9), leaderboard.getStudent());
+        verify(studentQuizRepository, times(1)).findGradebookCells(10L);
+    }
+
+    @Test
+    public void testBoards_ReloadedAfterTtl() {
+        stubCourse();
+        leaderboardService.getCourseLeaderboard(10L, 10, null, instructor);
+
+        clock.addAndGet(Duration.ofMinutes(11).toNanos());
+        leaderboardService.getCourseLeaderboard(10L, 10, null, instructor);
+
+        verify(studentAssignmentRepository, times(2)).findGradebookCells(10L);
+    }
+
+    @Test
+    public void testCourseLeaderboard_NotInstructor() {
+        User other = new User();
+        other.setId(2L);
+        other.setRole(UserRole.INSTRUCTOR);
+        when(courseRepository.findById(10L)).thenReturn(Optional.of(course));
+
+        assertThrows(InvalidUser.class, () -> leaderboardService.getCourseLeaderboard(10L, 10, null, other));
+        verifyNoInteractions(studentQuizRepository);
+    }
+}
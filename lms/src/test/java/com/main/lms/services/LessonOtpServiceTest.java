@@ -0,0 +1,77 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.LessonOtpDTO;
+import com.main.lms.entities.Lesson;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LessonOtpServiceTest {
+
+    // RFC 6238 SHA-1 seed; at 1234567890s the code is 005924, the next steps give 590587 and 240500
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("12345678901234567890".getBytes(StandardCharsets.US_ASCII));
+    private static final long NOW = 1_234_567_890_000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private LessonOtpService lessonOtpService;
+    private Lesson lesson;
+
+    @BeforeEach
+    public void setUp() {
+        lessonOtpService = new LessonOtpService();
+        lessonOtpService.clock = clock::get;
+
+        lesson = new Lesson();
+        lesson.setLessonId(1L);
+        lesson.setOtp("123456");
+        lesson.setOtpSecret(SECRET);
+    }
+
+    @Test
+    public void testMatches_StaticOtpWithoutSecret() {
+        lesson.setOtpSecret(null);
+
+        assertTrue(lessonOtpService.matches(lesson, "123456"));
+        assertFalse(lessonOtpService.matches(lesson, "005924"));
+    }
+
+    @Test
+    public void testMatches_RotatingCode() {
+        assertTrue(lessonOtpService.matches(lesson, "005924"));
+        // the static otp stops working once the lesson rotates
+        assertFalse(lessonOtpService.matches(lesson, "123456"));
+    }
+
+    @Test
+    public void testMatches_ClockSkew() {
+        // a phone a step ahead of the display
+        assertTrue(lessonOtpService.matches(lesson, "590587"));
+        assertFalse(lessonOtpService.matches(lesson, "240500"));
+    }
+
+    @Test
+    public void testMatches_CodeExpires() {
+        clock.addAndGet(30_000);
+        assertTrue(lessonOtpService.matches(lesson, "005924"));
+
+        clock.addAndGet(30_000);
+        assertFalse(lessonOtpService.matches(lesson, "005924"));
+    }
+
+    @Test
+    public void testCurrent_ValidUntilEndOfStep() {
+        LessonOtpDTO otp = lessonOtpService.current(lesson);
+
+        assertEquals(1L, otp.getLessonId());
+        assertEquals("005924", otp.getCode());
+        assertEquals(Instant.ofEpochMilli(1_234_567_920_000L), otp.getValidUntil());
+    }
+}
@@ -34,6 +34,9 @@ public class LessonServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private CheckInService checkInService;
+
     @InjectMocks
     private LessonService lessonService;
 
@@ -87,6 +90,7 @@ public class LessonServiceTest {
         assertEquals(1L, createdLesson.getLessonId());
         assertEquals(course, createdLesson.getCourse());
         assertEquals("123456", createdLesson.getOtp());
+        assertNotNull(createdLesson.getOtpSecret());
 
         verify(courseRepository).findById(course.getId());
         verify(lessonRepository).save(any(Lesson.class));
@@ -207,6 +211,7 @@ public class LessonServiceTest {
         verify(courseRepository).findById(newCourseId);
         verify(lessonRepository).save(lesson);
         verify(notificationService).notifyUser(instructor.getId(), "Lesson Updated Successfully for course " + course.getTitle());
+        verify(checkInService).evict(lessonId);
     }
 
     @Test
@@ -319,4 +324,33 @@ public class LessonServiceTest {
         verify(courseRepository).findById(courseId);
         verify(lessonRepository, never()).findByCourse(any(Course.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetLessonForOtpDisplay_EnablesRotation() {
+        when(lessonRepository.findById(lesson.getLessonId())).thenReturn(Optional.of(lesson));
+        when(lessonRepository.save(lesson)).thenReturn(lesson);
+
+        Lesson result = lessonService.getLessonForOtpDisplay(lesson.getLessonId(), instructor.getId());
+
+        assertNotNull(result.getOtpSecret());
+        verify(checkInService).evict(lesson.getLessonId());
+    }
+
+    @Test
+    public void testGetLessonForOtpDisplay_KeepsExistingSecret() {
+        lesson.setOtpSecret("secret");
+        when(lessonRepository.findById(lesson.getLessonId())).thenReturn(Optional.of(lesson));
+
+        Lesson result = lessonService.getLessonForOtpDisplay(lesson.getLessonId(), instructor.getId());
+
+        assertEquals("secret", result.getOtpSecret());
+        verify(lessonRepository, never()).save(any(Lesson.class));
+    }
+
+    @Test
+    public void testGetLessonForOtpDisplay_NotInstructor() {
+        when(lessonRepository.findById(lesson.getLessonId())).thenReturn(Optional.of(lesson));
+
+        assertThrows(InvalidUser.class, () -> lessonService.getLessonForOtpDisplay(lesson.getLessonId(), 99L));
+    }
+}
@@ -16,6 +16,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -99,4 +100,25 @@ public class NotificationServiceTest {
         // Since emailUtility.sendEmail is commented out, verify it was not called
         verifyNoInteractions(emailUtility);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testNotifyUsers_SavesAllInOneCall() {
+        // Arrange
+        User other = new User();
+        other.setId(2L);
+        String message = "Test notification message";
+
+        // Act
+        notificationService.notifyUsers(List.of(user, other), message);
+
+        // Assert
+        verify(notificationRepository, times(1)).saveAll(argThat((List<Notification> notifications) ->
+                notifications.size() == 2 &&
+                notifications.get(0).getUser().equals(user) &&
+                notifications.get(1).getUser().equals(other) &&
+                notifications.stream().allMatch(n -> n.getNotificationMessage().equals(message) && !n.getIsRead())
+        ));
+        verify(notificationRepository, never()).save(any(Notification.class));
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -0,0 +1,84 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.QuestionBankEntry;
+import com.main.lms.entities.Course;
+import com.main.lms.entities.Question;
+import com.main.lms.enums.QuestionType;
+import com.main.lms.repositories.QuestionRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class QuestionBankServiceTest {
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @InjectMocks
+    private QuestionBankService questionBankService;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @BeforeEach
+    public void setUp() {
+        questionBankService.nanoClock = clock::get;
+    }
+
+    private static Question question(Long id, String content) {
+        Course course = new Course();
+        course.setId(1L);
+        Question question = new Question();
+        question.setQuestionId(id);
+        question.setCourse(course);
+        question.setQuestionContent(content);
+        question.setType(QuestionType.MCQ);
+        return question;
+    }
+
+    @Test
+    public void testSearch_LoadsBankOnceAndKeepsItCurrent() {
+        when(questionRepository.findBankEntries(1L)).thenReturn(List.of(
+                new QuestionBankEntry(1L, "What is the derivative of x squared?", QuestionType.MCQ)));
+
+        assertEquals(List.of(1L), questionBankService.search(1L, "derivative", null, 10));
+
+        questionBankService.add(question(2L, "Find the derivative of sin x"));
+        assertEquals(List.of(2L, 1L), questionBankService.search(1L, "derivative", null, 10));
+
+        questionBankService.remove(1L, 1L);
+        assertEquals(List.of(2L), questionBankService.search(1L, "derivative", null, 10));
+        verify(questionRepository, times(1)).findBankEntries(1L);
+    }
+
+    @Test
+    public void testAdd_BankNotLoaded() {
+        questionBankService.add(question(2L, "Find the derivative of sin x"));
+
+        verifyNoInteractions(questionRepository);
+    }
+
+    @Test
+    public void testSimilar_ReloadsAfterTtl() {
+        when(questionRepository.findBankEntries(1L)).thenReturn(
+                List.of(new QuestionBankEntry(1L, "What is the derivative of x squared?", QuestionType.MCQ)),
+                List.of());
+
+        assertEquals(1, questionBankService.similar(1L, "what is the derivative of x squared", null, 0.8, 5).size());
+
+        clock.addAndGet(Duration.ofMinutes(11).toNanos());
+        assertTrue(questionBankService.similar(1L, "what is the derivative of x squared", null, 0.8, 5).isEmpty());
+        verify(questionRepository, times(2)).findBankEntries(1L);
+    }
+}
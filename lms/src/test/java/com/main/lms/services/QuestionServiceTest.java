@@ -35,6 +35,9 @@ public class QuestionServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private QuestionBankService questionBankService;
+
     @InjectMocks
     private QuestionService questionService;
 
@@ -98,6 +101,7 @@ public class QuestionServiceTest {
 
         verify(courseRepository).findById(course.getId());
         verify(questionRepository).save(any(Question.class));
+        verify(questionBankService).add(result);
         verify(notificationService).notifyUser(instructor.getId(), "New Question has been posted for course " + course.getTitle());
     }
 
@@ -194,7 +198,7 @@ public class QuestionServiceTest {
 
         when(courseRepository.existsById(course.getId())).thenReturn(true);
         when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
-        when(questionRepository.findByCourseId(course.getId())).thenReturn(questions);
+        when(questionRepository.findByCourseIdAndType(course.getId(), QuestionType.MCQ)).thenReturn(questions);
 
         // Act
         List<Question> result = questionService.getFilteredQuestions(course.getId(), questionType, userId);
@@ -206,7 +210,42 @@ public class QuestionServiceTest {
 
         verify(courseRepository).existsById(course.getId());
         verify(courseRepository).findById(course.getId());
-        verify(questionRepository).findByCourseId(course.getId());
+        verify(questionRepository).findByCourseIdAndType(course.getId(), QuestionType.MCQ);
+        verify(questionRepository, never()).findByCourseId(anyLong());
+    }
+
+    @Test
+    public void testSearchQuestions_KeepsIndexOrder() {
+        // Arrange
+        Question older = new Question();
+        older.setQuestionId(2L);
+        older.setCourse(course);
+        Question newer = new Question();
+        newer.setQuestionId(3L);
+        newer.setCourse(course);
+
+        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
+        when(questionBankService.search(course.getId(), "sum", QuestionType.MCQ, 20)).thenReturn(List.of(3L, 2L));
+        // the database hands rows back in its own order
+        when(questionRepository.findAllById(List.of(3L, 2L))).thenReturn(List.of(older, newer));
+
+        // Act
+        List<Question> result = questionService.searchQuestions(course.getId(), "sum", Optional.of(QuestionType.MCQ),
+                20, instructor.getId());
+
+        // Assert
+        assertEquals(List.of(newer, older), result);
+    }
+
+    @Test
+    public void testSearchQuestions_InvalidUser() {
+        // Arrange
+        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
+
+        // Act & Assert
+        assertThrows(InvalidUser.class, () ->
+                questionService.searchQuestions(course.getId(), "sum", Optional.empty(), 20, 99L));
+        verifyNoInteractions(questionBankService);
     }
 
     @Test
@@ -300,6 +339,7 @@ public class QuestionServiceTest {
         // Assert
         verify(questionRepository, times(2)).findById(question.getQuestionId());
         verify(questionRepository).deleteById(question.getQuestionId());
+        verify(questionBankService).remove(course.getId(), question.getQuestionId());
         verify(notificationService).notifyUser(instructor.getId(), "Question Deleted Successfully for course " + course.getTitle());
     }
 
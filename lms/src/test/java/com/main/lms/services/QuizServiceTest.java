@@ -36,6 +36,15 @@ public class QuizServiceTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private GradeStatisticsService gradeStatisticsService;
+
+    @Mock
+    private ActivityLogService activityLogService;
+
     @InjectMocks
     private QuizService quizService;
 
@@ -4,6 +4,7 @@ import com.main.lms.dtos.CreateStudentAssignmentDTO;
 import com.main.lms.dtos.EnrollmentResponseDTO;
 import com.main.lms.dtos.GradeAssignmentDTO;
 import com.main.lms.dtos.StudentAssignmentResponseDTO;
+import com.main.lms.dtos.StudentAssignmentRow;
 import com.main.lms.entities.*;
 import com.main.lms.enums.UserRole;
 import com.main.lms.exceptions.CourseNotFoundException;
@@ -46,6 +47,18 @@ public class StudentAssignmentServiceTest {
     @Mock
     private EnrollmentService enrollmentService;
 
+    @Mock
+    private SubmissionSimilarityService submissionSimilarityService;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private GradeStatisticsService gradeStatisticsService;
+
+    @Mock
+    private ActivityLogService activityLogService;
+
     @InjectMocks
     private StudentAssignmentService studentAssignmentService;
 
@@ -54,6 +67,7 @@ public class StudentAssignmentServiceTest {
     private Course course;
     private Assignment assignment;
     private StudentAssignment studentAssignment;
+    private StudentAssignmentRow studentAssignmentRow;
 
     @BeforeEach
     public void setUp() {
@@ -88,6 +102,10 @@ public class StudentAssignmentServiceTest {
         studentAssignment.setCourse(course);
         studentAssignment.setStudent(student);
         studentAssignment.setFileNames(new ArrayList<>());
+
+        // Same submission as returned by the list queries
+        studentAssignmentRow = new StudentAssignmentRow(1L, course.getId(), instructor.getName(), course.getTitle(),
+                null, null, student.getName(), null, UserRole.STUDENT, 0L, false, 100, null);
     }
 
     @Test
@@ -218,8 +236,8 @@ public class StudentAssignmentServiceTest {
     @Test
     public void testGetAllStudentAssignments() {
         // Arrange
-        List<StudentAssignment> assignments = Arrays.asList(studentAssignment);
-        when(studentAssignmentRepository.findAll()).thenReturn(assignments);
+        List<StudentAssignmentRow> assignments = Arrays.asList(studentAssignmentRow);
+        when(studentAssignmentRepository.findAllRows()).thenReturn(assignments);
 
         // Act
         List<StudentAssignmentResponseDTO> responseDTOs = studentAssignmentService.getAllStudentAssignments();
@@ -229,15 +247,14 @@ public class StudentAssignmentServiceTest {
         assertEquals(1, responseDTOs.size());
         assertEquals(studentAssignment.getId(), responseDTOs.get(0).getId());
 
-        verify(studentAssignmentRepository).findAll();
+        verify(studentAssignmentRepository).findAllRows();
     }
 
     @Test
     public void testGetStudentAssignmentsByCourseId_Success() {
         // Arrange
-        List<StudentAssignment> assignments = Arrays.asList(studentAssignment);
-        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
-        when(studentAssignmentRepository.findByCourse(course)).thenReturn(assignments);
+        List<StudentAssignmentRow> assignments = Arrays.asList(studentAssignmentRow);
+        when(studentAssignmentRepository.findRowsByCourseId(course.getId())).thenReturn(assignments);
 
         // Act
         List<StudentAssignmentResponseDTO> responseDTOs = studentAssignmentService.getStudentAssignmentsByCourseId(course.getId());
@@ -246,15 +263,18 @@ public class StudentAssignmentServiceTest {
         assertNotNull(responseDTOs);
         assertEquals(1, responseDTOs.size());
         assertEquals(studentAssignment.getId(), responseDTOs.get(0).getId());
+        assertEquals(course.getId(), responseDTOs.get(0).getCourse().getId());
+        assertEquals(student.getName(), responseDTOs.get(0).getStudent().getName());
 
-        verify(courseRepository).findById(course.getId());
-        verify(studentAssignmentRepository).findByCourse(course);
+        verify(studentAssignmentRepository).findRowsByCourseId(course.getId());
+        verify(courseRepository, never()).existsById(anyLong());
     }
 
     @Test
     public void testGetStudentAssignmentsByCourseId_CourseNotFound() {
         // Arrange
-        when(courseRepository.findById(course.getId())).thenReturn(Optional.empty());
+        when(studentAssignmentRepository.findRowsByCourseId(course.getId())).thenReturn(Collections.emptyList());
+        when(courseRepository.existsById(course.getId())).thenReturn(false);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () ->
@@ -262,8 +282,7 @@ public class StudentAssignmentServiceTest {
 
         assertEquals("Course not found with ID: " + course.getId(), exception.getMessage());
 
-        verify(courseRepository).findById(course.getId());
-        verify(studentAssignmentRepository, never()).findByCourse(any(Course.class));
+        verify(courseRepository).existsById(course.getId());
     }
 
     @Test
@@ -327,8 +346,8 @@ public class StudentAssignmentServiceTest {
     @Test
     public void testGetAssignmentsForStudent_Success() {
         // Arrange
-        List<StudentAssignment> assignments = Arrays.asList(studentAssignment);
-        when(studentAssignmentRepository.findByStudentId(student.getId())).thenReturn(assignments);
+        List<StudentAssignmentRow> assignments = Arrays.asList(studentAssignmentRow);
+        when(studentAssignmentRepository.findRowsByStudentId(student.getId())).thenReturn(assignments);
 
         // Act
         List<StudentAssignmentResponseDTO> responseDTOs = studentAssignmentService.getAssignmentsForStudent(student.getId());
@@ -338,7 +357,7 @@ public class StudentAssignmentServiceTest {
         assertEquals(1, responseDTOs.size());
         assertEquals(studentAssignment.getId(), responseDTOs.get(0).getId());
 
-        verify(studentAssignmentRepository).findByStudentId(student.getId());
+        verify(studentAssignmentRepository).findRowsByStudentId(student.getId());
     }
 
     @Test
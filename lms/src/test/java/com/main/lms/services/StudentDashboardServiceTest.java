@@ -0,0 +1,164 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.AssignmentRow;
+import com.main.lms.dtos.CourseAttendanceDTO;
+import com.main.lms.dtos.EnrollmentResponseDTO;
+import com.main.lms.dtos.GradeDTO;
+import com.main.lms.dtos.StudentDashboardDTO;
+import com.main.lms.repositories.AssignmentRepository;
+import com.main.lms.repositories.EnrolledCourseRepository;
+import com.main.lms.repositories.NotificationRepository;
+import com.main.lms.repositories.StudentQuizRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StudentDashboardServiceTest {
+
+    @Mock
+    private EnrolledCourseRepository enrollmentRepository;
+
+    @Mock
+    private AssignmentRepository assignmentRepository;
+
+    @Mock
+    private StudentQuizRepository studentQuizRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @InjectMocks
+    private StudentDashboardService studentDashboardService;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @BeforeEach
+    public void setUp() {
+        studentDashboardService.nanoClock = clock::get;
+        studentDashboardService.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        studentDashboardService.shutdown();
+    }
+
+    private void stubSections() {
+        when(enrollmentRepository.findResponsesByStudentId(1L)).thenReturn(List.of(
+                new EnrollmentResponseDTO(1L, "John Doe", "Math 101", 10L, true)));
+        when(assignmentRepository.findPendingRowsByStudentId(1L)).thenReturn(List.of(
+                new AssignmentRow(5L, 10L, "Instructor", "Math 101", "10", "Algebra", "Solve it", 100)));
+        when(studentQuizRepository.findRecentGrades(1L, PageRequest.of(0, StudentDashboardService.RECENT_GRADES)))
+                .thenReturn(List.of(new GradeDTO(1L, 7L, 4.0, 5)));
+        when(enrollmentRepository.findAttendanceByStudentId(1L)).thenReturn(List.of(
+                new CourseAttendanceDTO(10L, "Math 101", 12L, 9L)));
+    }
+
+    @Test
+    public void testGetDashboard_GathersEverySection() {
+        stubSections();
+        when(notificationRepository.countByUserIdAndIsRead(1L, false)).thenReturn(3L);
+
+        StudentDashboardDTO dashboard = studentDashboardService.getDashboard(1L);
+
+        assertEquals("Math 101", dashboard.getEnrollments().get(0).getCourseTitle());
+        assertEquals(5L, dashboard.getPendingAssignments().get(0).getId());
+        assertEquals("Instructor", dashboard.getPendingAssignments().get(0).getCourse().getInstructorName());
+        assertEquals(5, dashboard.getRecentGrades().get(0).getMaxGrade());
+        assertEquals(9L, dashboard.getAttendance().get(0).getAttendedLessons());
+        assertEquals(3L, dashboard.getUnreadNotifications());
+        assertTrue(dashboard.getUnavailable().isEmpty());
+    }
+
+    @Test
+    public void testGetDashboard_CachedBriefly() {
+        stubSections();
+        when(notificationRepository.countByUserIdAndIsRead(1L, false)).thenReturn(3L, 4L);
+
+        studentDashboardService.getDashboard(1L);
+        clock.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertEquals(3L, studentDashboardService.getDashboard(1L).getUnreadNotifications());
+
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertEquals(4L, studentDashboardService.getDashboard(1L).getUnreadNotifications());
+        verify(enrollmentRepository, times(2)).findResponsesByStudentId(1L);
+    }
+
+    @Test
+    public void testGetDashboard_SlowSectionMissesDeadline() {
+        ReflectionTestUtils.setField(studentDashboardService, "deadline", Duration.ofMillis(100));
+        stubSections();
+        when(notificationRepository.countByUserIdAndIsRead(1L, false)).thenAnswer(invocation -> {
+            new CountDownLatch(1).await();
+            return 3L;
+        });
+
+        StudentDashboardDTO dashboard = studentDashboardService.getDashboard(1L);
+
+        assertNull(dashboard.getUnreadNotifications());
+        assertEquals(List.of("unreadNotifications"), dashboard.getUnavailable());
+        assertEquals(1, dashboard.getEnrollments().size());
+
+        // partial dashboards are not cached
+        studentDashboardService.getDashboard(1L);
+        verify(enrollmentRepository, times(2)).findResponsesByStudentId(1L);
+    }
+
+    @Test
+    public void testGetDashboard_QueriesBoundedByPermits() {
+        ReflectionTestUtils.setField(studentDashboardService, "maxConcurrentQueries", 2);
+        studentDashboardService.start();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger mostRunning = new AtomicInteger();
+        Answer<Object> query = invocation -> {
+            mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return List.of();
+        };
+        when(enrollmentRepository.findResponsesByStudentId(1L)).thenAnswer(query);
+        when(assignmentRepository.findPendingRowsByStudentId(1L)).thenAnswer(query);
+        when(studentQuizRepository.findRecentGrades(eq(1L), any())).thenAnswer(query);
+        when(enrollmentRepository.findAttendanceByStudentId(1L)).thenAnswer(query);
+        when(notificationRepository.countByUserIdAndIsRead(1L, false)).thenAnswer(invocation -> {
+            query.answer(invocation);
+            return 0L;
+        });
+
+        StudentDashboardDTO dashboard = studentDashboardService.getDashboard(1L);
+
+        assertTrue(dashboard.getUnavailable().isEmpty());
+        assertTrue(mostRunning.get() <= 2);
+    }
+
+    @Test
+    public void testGetDashboard_FailedSection() {
+        stubSections();
+        when(notificationRepository.countByUserIdAndIsRead(anyLong(), anyBoolean()))
+                .thenThrow(new RuntimeException("Connection reset"));
+
+        StudentDashboardDTO dashboard = studentDashboardService.getDashboard(1L);
+
+        assertEquals(List.of("unreadNotifications"), dashboard.getUnavailable());
+        assertNotNull(dashboard.getAttendance());
+    }
+}
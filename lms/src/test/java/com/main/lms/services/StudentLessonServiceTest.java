@@ -35,6 +35,9 @@ public class StudentLessonServiceTest {
     @Mock
     private EnrollmentService enrollmentService;
 
+    @Mock
+    private CheckInService checkInService;
+
     @InjectMocks
     private StudentLessonService studentLessonService;
 
@@ -79,6 +82,7 @@ public class StudentLessonServiceTest {
         studentLesson = new StudentLesson();
         studentLesson.setStudentId(1L);
         studentLesson.setStudent(student);
+        studentLesson.setLessonId(1L);
         studentLesson.setLesson(lesson);
 
         // Initialize Enrollment
@@ -88,92 +92,18 @@ public class StudentLessonServiceTest {
         enrollment.setCourse(course);
     }
 
-    // Test for createStudentLesson method - Success case
+    // Check-ins go through the roster fast path; its cases are in CheckInServiceTest
     @Test
-    public void testCreateStudentLesson_Success() {
+    public void testCreateStudentLesson_DelegatesToCheckIn() {
         // Arrange
-        when(lessonRepository.findById(lesson.getLessonId())).thenReturn(Optional.of(lesson));
-        when(enrollmentService.getEnrollmentByStudentAndCourse(student.getId(), lesson.getCourse().getId()))
-                .thenReturn(Optional.of(new EnrollmentResponseDTO()));
-        when(studentLessonsRepository.findByStudentAndLesson(student, lesson)).thenReturn(Optional.empty());
-        when(studentLessonsRepository.save(any(StudentLesson.class))).thenAnswer(invocation -> {
-            StudentLesson sl = invocation.getArgument(0);
-            sl.setStudentId(1L);
-            return sl;
-        });
+        when(checkInService.checkIn(lesson.getLessonId(), "123456", student)).thenReturn(studentLesson);
 
         // Act
         StudentLesson result = studentLessonService.createStudentLesson(createStudentLessonDTO, student);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(student, result.getStudent());
-        assertEquals(lesson, result.getLesson());
-    }
-
-    // Test for createStudentLesson - Lesson not found
-    @Test
-    public void testCreateStudentLesson_LessonNotFound() {
-        // Arrange
-        when(lessonRepository.findById(lesson.getLessonId())).thenReturn(Optional.empty());
-
-        // Act & Assert
-        Exception exception = assertThrows(RuntimeException.class, () -> {
-            studentLessonService.createStudentLesson(createStudentLessonDTO, student);
-        });
-
-        assertEquals("Lesson not found with ID: " + lesson.getLessonId(), exception.getMessage());
-    }
-
-    // Test for createStudentLesson - Student not enrolled in course
-    @Test
-    public void testCreateStudentLesson_StudentNotEnrolled() {
-        // Arrange
-        when(lessonRepository.findById(lesson.getLessonId())).thenReturn(Optional.of(lesson));
-        when(enrollmentService.getEnrollmentByStudentAndCourse(student.getId(), lesson.getCourse().getId()))
-                .thenReturn(Optional.empty());
-
-        // Act & Assert
-        Exception exception = assertThrows(CourseNotFoundException.class, () -> {
-            studentLessonService.createStudentLesson(createStudentLessonDTO, student);
-        });
-
-        assertEquals("Student is not enrolled in this course", exception.getMessage());
-    }
-
-    // Test for createStudentLesson - Invalid OTP
-    @Test
-    public void testCreateStudentLesson_InvalidOtp() {
-        // Arrange
-        createStudentLessonDTO.setOtp("000000"); // Invalid OTP
-        when(lessonRepository.findById(lesson.getLessonId())).thenReturn(Optional.of(lesson));
-        when(enrollmentService.getEnrollmentByStudentAndCourse(student.getId(), lesson.getCourse().getId()))
-                .thenReturn(Optional.of(new EnrollmentResponseDTO()));
-
-        // Act & Assert
-        Exception exception = assertThrows(RuntimeException.class, () -> {
-            studentLessonService.createStudentLesson(createStudentLessonDTO, student);
-        });
-
-        assertEquals("OTP is invalid", exception.getMessage());
-    }
-
-    // Test for createStudentLesson - Student already enrolled in lesson
-    @Test
-    public void testCreateStudentLesson_StudentAlreadyEnrolledInLesson() {
-        // Arrange
-        when(lessonRepository.findById(lesson.getLessonId())).thenReturn(Optional.of(lesson));
-        when(enrollmentService.getEnrollmentByStudentAndCourse(student.getId(), lesson.getCourse().getId()))
-                .thenReturn(Optional.of(new EnrollmentResponseDTO()));
-        when(studentLessonsRepository.findByStudentAndLesson(student, lesson))
-                .thenReturn(Optional.of(studentLesson));
-
-        // Act & Assert
-        Exception exception = assertThrows(RuntimeException.class, () -> {
-            studentLessonService.createStudentLesson(createStudentLessonDTO, student);
-        });
-
-        assertEquals("Student is already enrolled in this lesson", exception.getMessage());
+        assertEquals(studentLesson, result);
+        verifyNoInteractions(lessonRepository, studentLessonsRepository, enrollmentService);
     }
 
     // Test for getStudentLessonById - Not found
@@ -251,6 +181,7 @@ public class StudentLessonServiceTest {
 
         // Assert
         verify(studentLessonsRepository, times(1)).delete(studentLesson);
+        verify(checkInService).attendanceDeleted(studentLesson.getLessonId(), 1L);
     }
 
     // Test for deleteStudentLessonById - Not found
@@ -0,0 +1,147 @@
+package com.main.lms.services;
+
+import com.main.lms.dtos.SimilarityReportDTO;
+import com.main.lms.dtos.SubmissionPairDTO;
+import com.main.lms.entities.Assignment;
+import com.main.lms.entities.Course;
+import com.main.lms.entities.StudentAssignment;
+import com.main.lms.entities.SubmissionSignature;
+import com.main.lms.entities.User;
+import com.main.lms.enums.SimilarityReportStatus;
+import com.main.lms.exceptions.InvalidUser;
+import com.main.lms.repositories.AssignmentRepository;
+import com.main.lms.repositories.StudentAssignmentRepository;
+import com.main.lms.repositories.SubmissionSignatureRepository;
+import com.main.lms.utility.MinHash;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SubmissionSimilarityServiceTest {
+
+    @Mock
+    private SubmissionSignatureRepository signatureRepository;
+
+    @Mock
+    private StudentAssignmentRepository studentAssignmentRepository;
+
+    @Mock
+    private AssignmentRepository assignmentRepository;
+
+    @InjectMocks
+    private SubmissionSimilarityService submissionSimilarityService;
+
+    private Assignment assignment;
+
+    @BeforeEach
+    public void setUp() {
+        User instructor = new User();
+        instructor.setId(1L);
+        Course course = new Course();
+        course.setId(1L);
+        course.setInstructor(instructor);
+        assignment = new Assignment();
+        assignment.setAssignmentId(5L);
+        assignment.setCourse(course);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        submissionSimilarityService.shutdown();
+    }
+
+    private static SubmissionSignature row(Long id, Long studentId, String text) throws IOException {
+        int[] signature = MinHash.newSignature();
+        SubmissionSignature row = new SubmissionSignature();
+        row.setStudentAssignmentId(id);
+        row.setAssignmentId(5L);
+        row.setStudentId(studentId);
+        row.setShingles(MinHash.addWordShingles(signature, new StringReader(text), 5));
+        row.setSignature(MinHash.toBytes(signature));
+        return row;
+    }
+
+    private static StudentAssignment submission(Long id, Long studentId) {
+        StudentAssignment submission = new StudentAssignment();
+        submission.setId(id);
+        submission.setStudentId(studentId);
+        submission.setFileNames(List.of(studentId + "_Biology_essay.txt"));
+        return submission;
+    }
+
+    @Test
+    public void testCompare_ReportsCopiedPairOnly() throws IOException {
+        String essay = "Photosynthesis turns light water and carbon dioxide into glucose and oxygen "
+                + "inside the chloroplasts of plant cells during the day";
+        when(studentAssignmentRepository.findUnsignedByAssignmentId(5L)).thenReturn(List.of());
+        when(assignmentRepository.findById(5L)).thenReturn(Optional.of(assignment));
+        when(signatureRepository.findByAssignmentId(5L)).thenReturn(List.of(
+                row(10L, 2L, essay),
+                row(11L, 3L, essay.toUpperCase()),
+                row(12L, 4L, "Cellular respiration releases the energy stored in glucose inside the mitochondria"),
+                row(13L, 5L, "")));
+
+        submissionSimilarityService.compare(5L);
+        SimilarityReportDTO report = submissionSimilarityService.getReport(5L, 1L);
+
+        assertEquals(SimilarityReportStatus.DONE, report.getStatus());
+        assertEquals(3, report.getSubmissions());
+        assertEquals(1, report.getPairs().size());
+        SubmissionPairDTO pair = report.getPairs().get(0);
+        assertEquals(List.of(10L, 11L), List.of(pair.getFirstSubmissionId(), pair.getSecondSubmissionId()));
+        assertEquals(1.0, pair.getSimilarity());
+    }
+
+    @Test
+    public void testCompare_UnreadableSubmissionListedNotFailed() throws IOException {
+        SubmissionSimilarityService service = spy(submissionSimilarityService);
+        StudentAssignment unreadable = submission(20L, 6L);
+        StudentAssignment readable = submission(21L, 7L);
+        when(studentAssignmentRepository.findUnsignedByAssignmentId(5L)).thenReturn(List.of(unreadable, readable));
+        doThrow(new IOException("Permission denied")).when(service).sign(20L, 5L, 6L, unreadable.getFileNames());
+        doNothing().when(service).sign(21L, 5L, 7L, readable.getFileNames());
+        when(assignmentRepository.findById(5L)).thenReturn(Optional.of(assignment));
+        when(signatureRepository.findByAssignmentId(5L)).thenReturn(List.of(
+                row(10L, 2L, "Mitochondria are the powerhouse of the cell and release energy from glucose"),
+                row(21L, 7L, "Chloroplasts capture light so the plant can build sugar from carbon dioxide")));
+
+        service.compare(5L);
+        SimilarityReportDTO report = service.getReport(5L, 1L);
+
+        assertEquals(SimilarityReportStatus.DONE, report.getStatus());
+        assertEquals(2, report.getSubmissions());
+        assertEquals(List.of(20L), report.getUnreadable());
+    }
+
+    @Test
+    public void testGetReport_StartsInBackground() {
+        when(assignmentRepository.findById(5L)).thenReturn(Optional.of(assignment));
+
+        SimilarityReportDTO report = submissionSimilarityService.getReport(5L, 1L);
+
+        assertEquals(SimilarityReportStatus.RUNNING, report.getStatus());
+        assertTrue(report.getPairs().isEmpty());
+    }
+
+    @Test
+    public void testGetReport_NotInstructor() {
+        when(assignmentRepository.findById(5L)).thenReturn(Optional.of(assignment));
+
+        assertThrows(InvalidUser.class, () -> submissionSimilarityService.getReport(5L, 2L));
+        verifyNoInteractions(signatureRepository);
+    }
+}
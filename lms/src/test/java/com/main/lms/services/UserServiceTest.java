@@ -14,6 +14,7 @@ import com.main.lms.entities.User;
 import com.main.lms.enums.UserRole;
 import com.main.lms.repositories.UserRepository;
 import com.main.lms.services.UserService;
+import com.main.lms.utility.CacheInvalidator;
 
 import java.util.Optional;
 
@@ -35,6 +36,9 @@ public class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
     @InjectMocks
     private UserService userService;
 
@@ -141,6 +145,21 @@ public class UserServiceTest {
         verify(userRepository, times(0)).save(any(User.class));
     }
 
+    @Test
+    public void testRegisterUser_NameAlreadyInUse() {
+        when(userRepository.findByEmail(registerUserDTO.getEmail())).thenReturn(Optional.empty());
+        when(userRepository.findByName(registerUserDTO.getName())).thenReturn(Optional.of(user));
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            userService.registerUser(registerUserDTO);
+        });
+
+        assertEquals("Name already in use", exception.getMessage());
+        verify(userRepository, times(1)).findByName(registerUserDTO.getName());
+        verify(passwordEncoder, times(0)).encode(anyString());
+        verify(userRepository, times(0)).save(any(User.class));
+    }
+
     @Test
     public void testCreateUser_Success() {
         when(userRepository.findByEmail(registerUserDTO.getEmail())).thenReturn(Optional.empty());
@@ -279,6 +298,7 @@ public class UserServiceTest {
 
         verify(userRepository, times(1)).findById(1L);
         verify(userRepository, times(1)).deleteById(1L);
+        verify(cacheInvalidator, times(1)).evictUser(1L);
     }
 
     @Test
@@ -292,6 +312,7 @@ public class UserServiceTest {
         assertEquals("User not found", exception.getMessage());
         verify(userRepository, times(1)).findById(2L);
         verify(userRepository, times(0)).deleteById(anyLong());
+        verify(cacheInvalidator, never()).evictUser(anyLong());
     }
 
     @Test
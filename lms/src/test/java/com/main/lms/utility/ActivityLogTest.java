@@ -0,0 +1,144 @@
+package com.main.lms.utility;
+
+import com.main.lms.enums.ActivityType;
+import com.main.lms.utility.ActivityLog.Event;
+import com.main.lms.utility.ActivityLog.Position;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ActivityLogTest {
+
+    // room for three records per segment
+    private static final long SEGMENT_BYTES = ActivityLog.HEADER_BYTES + 3 * ActivityLog.RECORD_BYTES;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testAppendAndScan_ResumesFromReturnedPosition() throws IOException {
+        try (ActivityLog log = new ActivityLog(directory, 1 << 20)) {
+            Position start = log.start();
+            log.append(List.of(event(1000, ActivityType.QUIZ_SUBMITTED, 3), event(1001, ActivityType.ENROLLED, 4)));
+
+            List<Event> first = new ArrayList<>();
+            Position next = log.scan(start, first::add);
+            log.append(List.of(event(1002, ActivityType.LESSON_ATTENDED, 3)));
+            List<Event> second = new ArrayList<>();
+            Position end = log.scan(next, second::add);
+
+            assertEquals(List.of(event(1000, ActivityType.QUIZ_SUBMITTED, 3), event(1001, ActivityType.ENROLLED, 4)),
+                    first);
+            assertEquals(List.of(event(1002, ActivityType.LESSON_ATTENDED, 3)), second);
+            assertEquals(log.end(), end);
+            assertTrue(end.isAfter(next));
+        }
+    }
+
+    @Test
+    public void testAppend_RollsSegmentsAndSplitsOversizedBatches() throws IOException {
+        try (ActivityLog log = new ActivityLog(directory, SEGMENT_BYTES)) {
+            log.append(List.of(event(1, ActivityType.ENROLLED, 1), event(2, ActivityType.ENROLLED, 1)));
+            // does not fit after the first two, so starts a segment of its own
+            List<Event> batch = List.of(event(3, ActivityType.ENROLLED, 1), event(4, ActivityType.ENROLLED, 1),
+                    event(5, ActivityType.ENROLLED, 1), event(6, ActivityType.ENROLLED, 1));
+            int written = log.append(batch);
+            written += log.append(batch.subList(written, batch.size()));
+
+            List<Long> timestamps = new ArrayList<>();
+            log.scan(log.start(), event -> timestamps.add(event.timestamp()));
+
+            assertEquals(4, written);
+            assertEquals(3, log.segmentCount());
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), timestamps);
+        }
+    }
+
+    @Test
+    public void testAppend_TimestampsNeverDecrease() throws IOException {
+        try (ActivityLog log = new ActivityLog(directory, 1 << 20)) {
+            log.append(List.of(event(500, ActivityType.ENROLLED, 1)));
+            log.append(List.of(event(499, ActivityType.UNENROLLED, 1), event(700, ActivityType.ENROLLED, 1)));
+
+            List<Long> timestamps = new ArrayList<>();
+            log.scan(log.start(), event -> timestamps.add(event.timestamp()));
+
+            assertEquals(List.of(500L, 500L, 700L), timestamps);
+        }
+    }
+
+    @Test
+    public void testReopen_CutsTornRecordAndKeepsAppending() throws IOException {
+        try (ActivityLog log = new ActivityLog(directory, 1 << 20)) {
+            log.append(List.of(event(10, ActivityType.ASSIGNMENT_SUBMITTED, 2),
+                    event(20, ActivityType.ASSIGNMENT_GRADED, 2)));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel file = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // half of a third record, as a crash mid-write would leave it
+            file.truncate(ActivityLog.HEADER_BYTES + 2L * ActivityLog.RECORD_BYTES);
+            file.position(file.size());
+            file.write(ByteBuffer.allocate(ActivityLog.RECORD_BYTES / 2));
+        }
+
+        try (ActivityLog log = new ActivityLog(directory, 1 << 20)) {
+            log.append(List.of(event(5, ActivityType.ENROLLED, 2)));
+            List<Event> events = new ArrayList<>();
+            log.scan(log.start(), events::add);
+
+            assertEquals(List.of(event(10, ActivityType.ASSIGNMENT_SUBMITTED, 2),
+                    event(20, ActivityType.ASSIGNMENT_GRADED, 2), event(20, ActivityType.ENROLLED, 2)), events);
+        }
+    }
+
+    @Test
+    public void testDeleteBefore_OnlyOldSegmentsBehindPosition() throws IOException {
+        try (ActivityLog log = new ActivityLog(directory, SEGMENT_BYTES)) {
+            log.append(List.of(event(100, ActivityType.ENROLLED, 1), event(200, ActivityType.ENROLLED, 1),
+                    event(300, ActivityType.ENROLLED, 1)));
+            log.append(List.of(event(400, ActivityType.ENROLLED, 1), event(500, ActivityType.ENROLLED, 1),
+                    event(600, ActivityType.ENROLLED, 1)));
+            log.append(List.of(event(700, ActivityType.ENROLLED, 1)));
+            Position end = log.end();
+
+            // the second segment ends at 600, not before 450
+            assertEquals(1, log.deleteBefore(end, 450));
+            assertFalse(log.hasSegment(0));
+            assertTrue(log.hasSegment(1));
+            assertEquals(0, log.deleteBefore(end, 450));
+            // the newest segment is never deleted
+            assertEquals(1, log.deleteBefore(end, Long.MAX_VALUE));
+
+            List<Long> timestamps = new ArrayList<>();
+            Position scanned = log.scan(new Position(0, ActivityLog.HEADER_BYTES),
+                    event -> timestamps.add(event.timestamp()));
+            assertEquals(List.of(700L), timestamps);
+            assertEquals(end, scanned);
+            assertEquals(1, log.segmentCount());
+        }
+    }
+
+    @Test
+    public void testOpen_RejectsTinySegments() {
+        assertThrows(IllegalArgumentException.class, () -> new ActivityLog(directory, ActivityLog.HEADER_BYTES));
+    }
+
+    private static Event event(long timestamp, ActivityType type, long courseId) {
+        return new Event(timestamp, type, 7, courseId, 11);
+    }
+}
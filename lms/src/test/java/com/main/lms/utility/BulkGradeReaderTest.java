@@ -0,0 +1,63 @@
+package com.main.lms.utility;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.main.lms.dtos.BulkGradeRow;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkGradeReaderTest {
+
+    private static List<BulkGradeRow> read(Iterator<BulkGradeRow> rows) {
+        List<BulkGradeRow> list = new ArrayList<>();
+        rows.forEachRemaining(list::add);
+        return list;
+    }
+
+    private static ByteArrayInputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testCsv_QuotedFeedback() {
+        String csv = "feedback,grade,submission_id\r\n"
+                + "\"Good, but cite \"\"sources\"\"\",90,1\r\n"
+                + "\"Line one\nline two\",75,2\n"
+                + "\n"
+                + ",60,3\n";
+
+        List<BulkGradeRow> rows = read(BulkGradeReader.csv(body(csv)));
+
+        assertEquals(3, rows.size());
+        assertEquals(new BulkGradeRow(1, 1L, 90L, "Good, but cite \"sources\"", null), rows.get(0));
+        assertEquals(new BulkGradeRow(2, 2L, 75L, "Line one\nline two", null), rows.get(1));
+        assertEquals(new BulkGradeRow(3, 3L, 60L, null, null), rows.get(2));
+    }
+
+    @Test
+    public void testCsv_NoHeaderAndBadRows() {
+        List<BulkGradeRow> rows = read(BulkGradeReader.csv(body("1,90\n2\n3,ninety,Nice\n")));
+
+        assertEquals(new BulkGradeRow(1, 1L, 90L, null, null), rows.get(0));
+        assertEquals("Expected submissionId and grade", rows.get(1).getError());
+        assertEquals("Ids and grades must be whole numbers", rows.get(2).getError());
+    }
+
+    @Test
+    public void testJson_Lines() throws IOException {
+        String json = "{\"submissionId\": 1, \"grade\": 90, \"feedback\": \" \"}\n{\"submissionId\": 2, \"grade\": 80}\n";
+
+        List<BulkGradeRow> rows = read(BulkGradeReader.json(body(json), new ObjectMapper()));
+
+        assertEquals(new BulkGradeRow(1, 1L, 90L, null, null), rows.get(0));
+        assertEquals(new BulkGradeRow(2, 2L, 80L, null, null), rows.get(1));
+    }
+}
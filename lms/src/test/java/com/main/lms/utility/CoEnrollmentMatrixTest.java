@@ -0,0 +1,103 @@
+package com.main.lms.utility;
+
+import com.main.lms.utility.CoEnrollmentMatrix.Neighbors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CoEnrollmentMatrixTest {
+
+    private CoEnrollmentMatrix matrix;
+
+    @BeforeEach
+    public void setUp() {
+        matrix = new CoEnrollmentMatrix();
+        // students 1-3 take 10 and 20, student 3 also 30, students 4-5 take 30 and 40
+        for (long student = 1; student <= 3; student++) {
+            matrix.add(student, 10L);
+            matrix.add(student, 20L);
+        }
+        matrix.add(3L, 30L);
+        matrix.add(4L, 30L);
+        matrix.add(4L, 40L);
+        matrix.add(5L, 30L);
+        matrix.add(5L, 40L);
+    }
+
+    private int indexOf(long courseId) {
+        for (int i = 0; i < matrix.size(); i++) {
+            if (matrix.courseId(i) == courseId) {
+                return i;
+            }
+        }
+        throw new AssertionError(courseId);
+    }
+
+    @Test
+    public void testAdd_CountsSharedStudents() {
+        assertEquals(3, matrix.coEnrolled(10L, 20L));
+        assertEquals(1, matrix.coEnrolled(20L, 30L));
+        assertEquals(2, matrix.coEnrolled(40L, 30L));
+        assertEquals(0, matrix.coEnrolled(10L, 40L));
+        assertFalse(matrix.add(1L, 10L));
+        assertArrayEquals(new long[]{10L, 20L, 30L}, matrix.courses(3L));
+    }
+
+    @Test
+    public void testNeighbors_CosineBestFirst() {
+        Neighbors neighbors = matrix.neighbors(indexOf(30L), 5, 1);
+
+        // 40: 2 / sqrt(3 * 2), 10 and 20: 1 / sqrt(3 * 3), tied and ordered by id
+        assertArrayEquals(new long[]{40L, 10L, 20L}, neighbors.courseIds());
+        assertEquals(2 / Math.sqrt(6), neighbors.scores()[0], 1e-9);
+        assertArrayEquals(new long[]{40L}, matrix.neighbors(indexOf(30L), 5, 2).courseIds());
+        assertArrayEquals(new long[]{40L, 10L}, matrix.neighbors(indexOf(30L), 2, 1).courseIds());
+    }
+
+    @Test
+    public void testRemove_UndoesAddAndMarksAffectedRows() {
+        matrix.takeDirty();
+
+        assertTrue(matrix.remove(3L, 30L));
+        assertFalse(matrix.remove(3L, 30L));
+
+        assertEquals(0, matrix.coEnrolled(10L, 30L));
+        assertArrayEquals(new long[]{10L, 20L}, matrix.courses(3L));
+        int[] dirty = matrix.takeDirty();
+        assertEquals(4, dirty.length);
+        assertEquals(0, matrix.takeDirty().length);
+        assertArrayEquals(new long[]{40L}, matrix.neighbors(indexOf(30L), 5, 1).courseIds());
+    }
+
+    @Test
+    public void testPopular() {
+        assertArrayEquals(new long[]{10L, 20L, 30L}, matrix.popular(3));
+    }
+
+    @Test
+    public void testIntCounts_MatchesReferenceUnderChurn() {
+        CoEnrollmentMatrix.IntCounts counts = new CoEnrollmentMatrix.IntCounts();
+        int[] expected = new int[200];
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(expected.length);
+            int delta = random.nextBoolean() ? 1 : -1;
+            if (expected[key] + delta >= 0) {
+                counts.add(key, delta);
+                expected[key] += delta;
+            }
+        }
+        int present = 0;
+        for (int key = 0; key < expected.length; key++) {
+            assertEquals(expected[key], counts.get(key));
+            if (expected[key] > 0) {
+                present++;
+            }
+        }
+        assertEquals(present, counts.size);
+    }
+}
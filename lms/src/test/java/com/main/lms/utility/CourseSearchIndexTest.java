@@ -0,0 +1,76 @@
+package com.main.lms.utility;
+
+import com.main.lms.dtos.CourseResponseDTO;
+import com.main.lms.dtos.CourseSearchHitDTO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CourseSearchIndexTest {
+
+    private CourseSearchIndex index;
+
+    private static CourseResponseDTO course(Long id, String instructor, String title, String description) {
+        return new CourseResponseDTO(id, instructor, title, "10 weeks", description);
+    }
+
+    private static List<Long> ids(List<CourseSearchHitDTO> hits) {
+        return hits.stream().map(hit -> hit.getCourse().getId()).toList();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        index = new CourseSearchIndex();
+        index.put(course(1L, "Ada Lovelace", "Linear Algebra", "Vectors, matrices and linear maps"));
+        index.put(course(2L, "Alan Turing", "Algorithms", "Sorting, graphs and a little algebra"));
+        index.put(course(3L, "Grace Hopper", "Compilers", "Parsing and code generation"));
+    }
+
+    @Test
+    public void testTokenize_FoldsCaseAccentsAndStopWords() {
+        assertEquals(List.of("intro", "cafe", "101"), CourseSearchIndex.tokenize("Intro to Caf\u00e9-101!"));
+        assertEquals(List.of(), CourseSearchIndex.tokenize("  "));
+    }
+
+    @Test
+    public void testSearch_TitleOutranksDescription() {
+        assertEquals(List.of(1L, 2L), ids(index.search("algebra", 10)));
+    }
+
+    @Test
+    public void testSearch_LastWordIsPrefix() {
+        assertEquals(List.of(2L), ids(index.search("algor", 10)));
+        assertEquals(List.of(3L), ids(index.search("hopp", 10)));
+        // only the last word expands
+        assertEquals(List.of(1L, 2L), ids(index.search("hopp algebra", 10)));
+    }
+
+    @Test
+    public void testSearch_LimitAndRemove() {
+        assertEquals(List.of(1L), ids(index.search("algebra", 1)));
+
+        index.remove(1L);
+
+        assertEquals(List.of(2L), ids(index.search("algebra", 10)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testPut_ReplacesPreviousVersion() {
+        index.put(course(3L, "Grace Hopper", "Databases", "Query planning"));
+
+        assertEquals(List.of(), index.search("parsing", 10));
+        assertEquals(List.of(3L), ids(index.search("databases", 10)));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void testComplete_MostCommonFirst() {
+        assertEquals(List.of("linear algebra", "linear algorithms"), index.complete("linear alg", 5));
+        assertEquals(List.of("algebra"), index.complete("alg", 1));
+    }
+}
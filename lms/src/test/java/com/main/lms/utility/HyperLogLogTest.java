@@ -0,0 +1,80 @@
+package com.main.lms.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HyperLogLogTest {
+
+    @Test
+    public void testEstimate_WithinThreeStandardErrors() {
+        for (int count : new int[] { 1_000, 20_000, 500_000 }) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (long id = 1; id <= count; id++) {
+                sketch.add(id);
+            }
+            assertEquals(count, sketch.estimate(), count * 0.05, "count=" + count);
+        }
+    }
+
+    @Test
+    public void testEstimate_SmallCountsNearlyExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        assertEquals(0, sketch.estimate());
+        for (long id = 1; id <= 50; id++) {
+            sketch.add(id);
+            // adding again changes nothing
+            sketch.add(id);
+        }
+        assertEquals(50, sketch.estimate(), 1);
+    }
+
+    @Test
+    public void testMerge_EstimatesTheUnion() {
+        HyperLogLog monday = new HyperLogLog();
+        HyperLogLog tuesday = new HyperLogLog();
+        for (long id = 0; id < 3_000; id++) {
+            monday.add(id);
+        }
+        for (long id = 2_000; id < 5_000; id++) {
+            tuesday.add(id);
+        }
+
+        assertTrue(monday.merge(tuesday));
+        assertFalse(monday.merge(tuesday));
+        assertEquals(5_000, monday.estimate(), 5_000 * 0.05);
+    }
+
+    @Test
+    public void testBytes_RoundTripSparseAndDense() {
+        HyperLogLog few = new HyperLogLog();
+        for (long id = 0; id < 30; id++) {
+            few.add(id);
+        }
+        HyperLogLog many = new HyperLogLog();
+        for (long id = 0; id < 100_000; id++) {
+            many.add(id);
+        }
+
+        byte[] sparse = few.toBytes();
+        byte[] dense = many.toBytes();
+        assertTrue(sparse.length <= 1 + 3 * 30);
+        assertEquals(HyperLogLog.MAX_BYTES, dense.length);
+        assertArrayEquals(sparse, HyperLogLog.fromBytes(sparse).toBytes());
+        assertArrayEquals(dense, HyperLogLog.fromBytes(dense).toBytes());
+        assertEquals(many.estimate(), HyperLogLog.fromBytes(dense).estimate());
+    }
+
+    @Test
+    public void testFromBytes_RejectsCorruptSketches() {
+        byte[] empty = new HyperLogLog().toBytes();
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[] { 1, 0x7F, 0, 1 }));
+        assertThrows(IllegalArgumentException.class,
+                () -> HyperLogLog.fromBytes(Arrays.copyOf(new byte[] { 2 }, 10)));
+        assertEquals(1, empty.length);
+        assertEquals(0, HyperLogLog.fromBytes(empty).estimate());
+    }
+}
@@ -0,0 +1,57 @@
+package com.main.lms.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MinHashTest {
+
+    private static int[] sign(String text) throws IOException {
+        int[] signature = MinHash.newSignature();
+        MinHash.addWordShingles(signature, new StringReader(text), 5);
+        return signature;
+    }
+
+    @Test
+    public void testAddWordShingles_IgnoresCaseAndPunctuation() throws IOException {
+        int[] signature = MinHash.newSignature();
+        int shingles = MinHash.addWordShingles(signature,
+                new StringReader("The mitochondria is the powerhouse of the cell."), 5);
+
+        assertEquals(4, shingles);
+        assertArrayEquals(signature, sign("the MITOCHONDRIA is the\npowerhouse -- of the cell"));
+        assertNotEquals(1.0, MinHash.estimate(signature, sign("the cell is the powerhouse of the mitochondria")));
+    }
+
+    @Test
+    public void testAddWordShingles_ShortText() throws IOException {
+        int[] signature = MinHash.newSignature();
+
+        assertEquals(1, MinHash.addWordShingles(signature, new StringReader("two words"), 5));
+        assertEquals(0, MinHash.addWordShingles(MinHash.newSignature(), new StringReader(" ... "), 5));
+    }
+
+    @Test
+    public void testSignature_OfUnionIsPositionWiseMinimum() throws IOException {
+        int[] first = sign("one two three four five six");
+        int[] second = sign("seven eight nine ten eleven twelve");
+        int[] both = MinHash.newSignature();
+        MinHash.addWordShingles(both, new StringReader("one two three four five six"), 5);
+        MinHash.addWordShingles(both, new StringReader("seven eight nine ten eleven twelve"), 5);
+
+        for (int i = 0; i < MinHash.HASHES; i++) {
+            assertEquals(Math.min(first[i], second[i]), both[i]);
+        }
+    }
+
+    @Test
+    public void testBytes_RoundTrip() throws IOException {
+        int[] signature = sign("copied essays share most of their five word runs");
+
+        assertEquals(MinHash.HASHES * 4, MinHash.toBytes(signature).length);
+        assertArrayEquals(signature, MinHash.fromBytes(MinHash.toBytes(signature)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.main.lms.utility;
+
+import com.main.lms.dtos.QuestionBankEntry;
+import com.main.lms.dtos.SimilarQuestionDTO;
+import com.main.lms.enums.QuestionType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuestionBankIndexTest {
+
+    private QuestionBankIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new QuestionBankIndex();
+        index.put(new QuestionBankEntry(1L, "What is the derivative of x squared?", QuestionType.MCQ));
+        index.put(new QuestionBankEntry(2L, "Find the derivative of sin x", QuestionType.SHORT_ANSWER));
+        index.put(new QuestionBankEntry(3L, "Name the capital city of France.", QuestionType.MCQ));
+    }
+
+    @Test
+    public void testSearch_EveryWordMustMatch() {
+        assertEquals(List.of(2L, 1L), index.search("derivative", null, 10));
+        assertEquals(List.of(1L), index.search("derivative", QuestionType.MCQ, 10));
+        assertEquals(List.of(1L), index.search("derivative squ", null, 10));
+        assertEquals(List.of(), index.search("derivative france", null, 10));
+        assertEquals(List.of(2L), index.search("derivative", null, 1));
+    }
+
+    @Test
+    public void testSimilar_FindsRewordingOnly() {
+        List<SimilarQuestionDTO> similar = index.similar("what is the DERIVATIVE of x squared", null, 0.8, 10);
+
+        assertEquals(1, similar.size());
+        assertEquals(1L, similar.get(0).getQuestionId());
+        assertEquals(1.0, similar.get(0).getSimilarity());
+        assertTrue(index.similar("What is the derivative of x squared?", 1L, 0.8, 10).isEmpty());
+    }
+
+    @Test
+    public void testSignature_EstimatesJaccard() {
+        int[] a = QuestionBankIndex.signature("the quick brown fox jumps over the lazy dog");
+        int[] b = QuestionBankIndex.signature("the quick brown fox jumped over the lazy dog");
+        int[] c = QuestionBankIndex.signature("completely unrelated sentence about databases");
+
+        assertTrue(MinHash.estimate(a, b) > 0.5);
+        assertTrue(MinHash.estimate(a, c) < 0.2);
+    }
+
+    @Test
+    public void testRemove() {
+        index.remove(1L);
+
+        assertEquals(List.of(2L), index.search("derivative", null, 10));
+        assertTrue(index.similar("What is the derivative of x squared?", null, 0.8, 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,82 @@
+package com.main.lms.utility;
+
+import com.main.lms.dtos.LeaderboardEntryDTO;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RankTreeTest {
+
+    @Test
+    public void testTop_CompetitionRanks() {
+        RankTree tree = new RankTree();
+        tree.put(1L, 7);
+        tree.put(2L, 9);
+        tree.put(3L, 9);
+        tree.put(4L, 5);
+
+        assertEquals(List.of(
+                new LeaderboardEntryDTO(1, 2L, 9),
+                new LeaderboardEntryDTO(1, 3L, 9),
+                new LeaderboardEntryDTO(3, 1L, 7)), tree.top(3));
+        assertEquals(new LeaderboardEntryDTO(4, 4L, 5), tree.entry(4L));
+        assertEquals(new LeaderboardEntryDTO(1, 3L, 9), tree.entry(3L));
+        assertNull(tree.entry(5L));
+    }
+
+    @Test
+    public void testPutAddAndRemove_MoveStudents() {
+        RankTree tree = new RankTree();
+        tree.put(1L, 7);
+        tree.put(2L, 9);
+
+        tree.add(1L, 3);
+        tree.add(3L, 1);
+        assertEquals(List.of(1L, 2L, 3L), tree.top(10).stream().map(LeaderboardEntryDTO::getStudentId).toList());
+
+        tree.remove(1L);
+        tree.put(2L, 0);
+        assertEquals(2, tree.size());
+        assertEquals(new LeaderboardEntryDTO(1, 3L, 1), tree.entry(3L));
+        assertEquals(new LeaderboardEntryDTO(2, 2L, 0), tree.entry(2L));
+    }
+
+    @Test
+    public void testRanks_MatchSortedReferenceUnderChurn() {
+        RankTree tree = new RankTree();
+        Map<Long, Double> scores = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5_000; i++) {
+            long student = random.nextInt(300);
+            if (random.nextInt(5) == 0) {
+                tree.remove(student);
+                scores.remove(student);
+            } else {
+                double score = random.nextInt(50);
+                tree.put(student, score);
+                scores.put(student, score);
+            }
+        }
+
+        List<Map.Entry<Long, Double>> sorted = new ArrayList<>(scores.entrySet());
+        sorted.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        List<LeaderboardEntryDTO> top = tree.top(sorted.size());
+        assertEquals(sorted.size(), tree.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            long student = sorted.get(i).getKey();
+            double score = sorted.get(i).getValue();
+            int rank = (int) scores.values().stream().filter(other -> other > score).count() + 1;
+            assertEquals(new LeaderboardEntryDTO(rank, student, score), top.get(i));
+            assertEquals(top.get(i), tree.entry(student));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.main.lms.utility;
+
+import com.main.lms.dtos.GradeStatisticsDTO;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TDigestTest {
+
+    @Test
+    public void testQuantile_CloseToExactRank() {
+        Random random = new Random(7);
+        double[] values = new double[100_000];
+        TDigest digest = new TDigest();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian() * 15 + 70;
+            digest.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertEquals(values.length, digest.count());
+        assertEquals(values[0], digest.quantile(0));
+        assertEquals(values[values.length - 1], digest.quantile(1));
+        for (double q : new double[] { 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99 }) {
+            assertEquals(q, rank(values, digest.quantile(q)), 0.005, "q=" + q);
+        }
+    }
+
+    @Test
+    public void testMerge_MatchesOneDigest() {
+        Random random = new Random(11);
+        double[] values = new double[20_000];
+        TDigest[] parts = { new TDigest(), new TDigest(), new TDigest() };
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() * 100;
+            parts[i % parts.length].add(values[i]);
+        }
+        Arrays.sort(values);
+        TDigest merged = new TDigest();
+        for (TDigest part : parts) {
+            merged.merge(part);
+        }
+
+        assertEquals(values.length, merged.count());
+        assertEquals(values[0], merged.min());
+        assertEquals(values[values.length - 1], merged.max());
+        for (double q : new double[] { 0.1, 0.5, 0.9 }) {
+            assertEquals(q, rank(values, merged.quantile(q)), 0.01, "q=" + q);
+        }
+    }
+
+    @Test
+    public void testFewValues_KeptExactly() {
+        TDigest digest = new TDigest();
+        assertTrue(Double.isNaN(digest.quantile(0.5)));
+        for (double value : new double[] { 40, 90, 60, 70, 80 }) {
+            digest.add(value);
+        }
+
+        assertEquals(70, digest.quantile(0.5));
+        assertEquals(40, digest.quantile(0));
+        assertEquals(90, digest.quantile(1));
+        assertThrows(IllegalArgumentException.class, () -> digest.quantile(1.5));
+    }
+
+    @Test
+    public void testGradeSketch_StatisticsAndHistogram() {
+        GradeSketch sketch = new GradeSketch();
+        assertNull(sketch.toStatistics().getMedian());
+        GradeSketch other = new GradeSketch();
+        for (double percent : new double[] { 0, 15, 50 }) {
+            sketch.add(percent);
+        }
+        for (double percent : new double[] { 95, 100, 110 }) {
+            other.add(percent);
+        }
+        sketch.merge(other);
+
+        GradeStatisticsDTO statistics = sketch.toStatistics();
+        assertEquals(6, statistics.getCount());
+        assertEquals(61.666, statistics.getMean(), 0.001);
+        assertEquals(0.0, statistics.getMin());
+        assertEquals(110.0, statistics.getMax());
+        // 100 and above go in the last bucket
+        assertArrayEquals(new long[] { 1, 1, 0, 0, 0, 1, 0, 0, 0, 3 }, statistics.getHistogram());
+    }
+
+    // Fraction of the sorted values below the estimate
+    private static double rank(double[] sorted, double estimate) {
+        int below = Arrays.binarySearch(sorted, estimate);
+        return (below < 0 ? -below - 1 : below) / (double) sorted.length;
+    }
+}
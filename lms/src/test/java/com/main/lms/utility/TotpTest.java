@@ -0,0 +1,57 @@
+package com.main.lms.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TotpTest {
+
+    // RFC 6238 appendix B SHA-1 seed; the six-digit codes are the last six digits of the reference values
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("12345678901234567890".getBytes(StandardCharsets.US_ASCII));
+
+    private static long counterAt(long epochSeconds) {
+        return Totp.counter(epochSeconds * 1000, 30_000);
+    }
+
+    @Test
+    public void testCode_MatchesRfc6238Vectors() {
+        assertEquals("287082", Totp.code(SECRET, counterAt(59)));
+        assertEquals("081804", Totp.code(SECRET, counterAt(1111111109)));
+        assertEquals("050471", Totp.code(SECRET, counterAt(1111111111)));
+        assertEquals("005924", Totp.code(SECRET, counterAt(1234567890)));
+        assertEquals("279037", Totp.code(SECRET, counterAt(2000000000)));
+    }
+
+    @Test
+    public void testVerify_WithinSkew() {
+        long counter = counterAt(1234567890);
+        String previous = Totp.code(SECRET, counter - 1);
+        String next = Totp.code(SECRET, counter + 1);
+
+        assertTrue(Totp.verify(SECRET, "005924", counter, 1));
+        assertTrue(Totp.verify(SECRET, previous, counter, 1));
+        assertTrue(Totp.verify(SECRET, next, counter, 1));
+        assertFalse(Totp.verify(SECRET, previous, counter, 0));
+    }
+
+    @Test
+    public void testVerify_RejectsMalformedCodes() {
+        long counter = counterAt(1234567890);
+
+        assertFalse(Totp.verify(SECRET, null, counter, 1));
+        assertFalse(Totp.verify(SECRET, "5924", counter, 1));
+        assertFalse(Totp.verify(SECRET, "00005924", counter, 1));
+    }
+
+    @Test
+    public void testNewSecret_IsRandom() {
+        String secret = Totp.newSecret();
+
+        assertEquals(20, Base64.getDecoder().decode(secret).length);
+        assertNotEquals(secret, Totp.newSecret());
+    }
+}